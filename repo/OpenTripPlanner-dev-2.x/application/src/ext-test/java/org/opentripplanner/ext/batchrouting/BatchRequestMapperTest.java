@@ -0,0 +1,70 @@
+package org.opentripplanner.ext.batchrouting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+class BatchRequestMapperTest {
+
+  private final BatchRequestMapper subject = new BatchRequestMapper(
+    RouteRequest.of().withNumItineraries(5).buildDefault()
+  );
+
+  @Test
+  void parse() throws IOException {
+    var input = """
+      {"id":"1","from":{"lat":59.9,"lon":10.7},"to":{"stopId":"F:S1"},"dateTime":"2025-03-01T08:00:00+01:00"}
+
+      {"id":"2","from":{"stopId":"F:S2"},"to":{"lat":60.0,"lon":11.0},"dateTime":"2025-03-01T09:00:00Z","arriveBy":true,"numItineraries":1}
+      """;
+
+    var result = subject.parse(new StringReader(input));
+    assertEquals(2, result.size());
+
+    var first = result.get(0);
+    assertEquals("1", first.id());
+    assertEquals(59.9, first.request().from().lat);
+    assertEquals(10.7, first.request().from().lng);
+    assertEquals(new FeedScopedId("F", "S1"), first.request().to().stopId);
+    assertEquals(Instant.parse("2025-03-01T07:00:00Z"), first.request().dateTime());
+    assertFalse(first.request().arriveBy());
+    assertEquals(5, first.request().numItineraries());
+
+    var second = result.get(1);
+    assertEquals("2", second.id());
+    assertEquals(new FeedScopedId("F", "S2"), second.request().from().stopId);
+    assertTrue(second.request().arriveBy());
+    assertEquals(1, second.request().numItineraries());
+  }
+
+  @Test
+  void reportLineNumberOfInvalidRequest() {
+    var input = """
+      {"id":"1","from":{"lat":59.9,"lon":10.7},"to":{"stopId":"F:S1"},"dateTime":"2025-03-01T08:00:00Z"}
+      {"id":"2","from":{"lat":59.9},"to":{"stopId":"F:S1"},"dateTime":"2025-03-01T08:00:00Z"}
+      """;
+    var ex = assertThrows(IllegalArgumentException.class, () ->
+      subject.parse(new StringReader(input))
+    );
+    assertTrue(ex.getMessage().startsWith("Invalid request on line 2"), ex.getMessage());
+  }
+
+  @Test
+  void missingDateTime() {
+    var input = """
+      {"id":"1","from":{"lat":59.9,"lon":10.7},"to":{"stopId":"F:S1"}}
+      """;
+    var ex = assertThrows(IllegalArgumentException.class, () ->
+      subject.parse(new StringReader(input))
+    );
+    assertTrue(ex.getMessage().contains("'dateTime'"), ex.getMessage());
+  }
+}
@@ -0,0 +1,152 @@
+package org.opentripplanner.ext.batchrouting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressType;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.response.RoutingError;
+import org.opentripplanner.routing.api.response.RoutingErrorCode;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+
+class BatchRoutingServiceTest {
+
+  private static final GenericLocation ORIGIN_A = GenericLocation.fromCoordinate(60.0, 10.0);
+  private static final GenericLocation ORIGIN_B = GenericLocation.fromCoordinate(60.1, 10.1);
+
+  /** Requests to this latitude run until they are interrupted. */
+  private static final double SLOW_LAT = 1.0;
+
+  private final AtomicInteger accessSearches = new AtomicInteger();
+
+  private final BatchRoutingService subject = new BatchRoutingService(
+    new ForkJoinPool(4),
+    Duration.ofSeconds(30)
+  );
+
+  @AfterEach
+  void tearDown() {
+    subject.shutdown();
+  }
+
+  @Test
+  void routeAllRequestsAndShareAccess() throws InterruptedException {
+    var requests = new ArrayList<BatchRouteRequest>();
+    IntStream.range(0, 50).forEach(i -> requests.add(request("A" + i, ORIGIN_A, 61.0 + i)));
+    IntStream.range(0, 30).forEach(i -> requests.add(request("B" + i, ORIGIN_B, 61.0 + i)));
+
+    var results = new ArrayList<BatchRouteResult>();
+    subject.route(requests, this::route, r -> r, results::add);
+
+    assertEquals(
+      requests.stream().map(BatchRouteRequest::id).collect(Collectors.toSet()),
+      results.stream().map(BatchRouteResult::id).collect(Collectors.toSet())
+    );
+    assertEquals(80, results.size());
+    assertEquals(2, accessSearches.get());
+  }
+
+  @Test
+  void failedRequestDoesNotAbortBatch() throws InterruptedException {
+    var requests = List.of(
+      request("ok", ORIGIN_A, 61.0),
+      request("failed", ORIGIN_A, 0.0),
+      request("ok too", ORIGIN_B, 61.0)
+    );
+
+    var failed = new ArrayList<String>();
+    var ok = new ArrayList<String>();
+    subject.route(
+      requests,
+      this::route,
+      r -> r,
+      r -> (r.exception() == null ? ok : failed).add(r.id())
+    );
+
+    assertEquals(List.of("failed"), failed);
+    assertEquals(Set.of("ok", "ok too"), Set.copyOf(ok));
+  }
+
+  @Test
+  void interruptRequestsRunningLongerThanTheTimeout() throws InterruptedException {
+    // One worker thread, so the requests after the slow one run in the interrupted thread
+    var service = new BatchRoutingService(new ForkJoinPool(1), Duration.ofMillis(50));
+    var requests = List.of(
+      request("slow", ORIGIN_A, SLOW_LAT),
+      request("ok", ORIGIN_A, 61.0),
+      request("ok too", ORIGIN_A, 62.0)
+    );
+
+    var results = new ArrayList<BatchRouteResult>();
+    try {
+      service.route(requests, this::route, r -> r, results::add);
+    } finally {
+      service.shutdown();
+    }
+
+    var failed = results.stream().filter(r -> r.exception() != null).toList();
+    assertEquals(List.of("slow"), failed.stream().map(BatchRouteResult::id).toList());
+    assertInstanceOf(OTPRequestTimeoutException.class, failed.getFirst().exception());
+    assertEquals(3, results.size());
+  }
+
+  @Test
+  void groupByOrigin() {
+    var groups = BatchRoutingService.groupByOrigin(
+      List.of(
+        request("1", ORIGIN_A, 61.0),
+        request("2", ORIGIN_B, 61.0),
+        request("3", new GenericLocation("A with label", null, 60.0, 10.0), 62.0)
+      )
+    );
+    assertEquals(
+      List.of(List.of("1", "3"), List.of("2")),
+      groups.stream().map(g -> g.stream().map(BatchRouteRequest::id).toList()).toList()
+    );
+  }
+
+  private RoutingResponse route(RouteRequest request, AccessEgressCache cache) {
+    if (request.to().lat == 0.0) {
+      throw new IllegalStateException("Expected failure");
+    }
+    while (request.to().lat == SLOW_LAT) {
+      OTPRequestTimeoutException.checkForTimeout();
+    }
+    cache.findAccessEgresses(
+      request,
+      StreetMode.WALK,
+      AccessEgressType.ACCESS,
+      Duration.ofMinutes(20),
+      100,
+      () -> {
+        accessSearches.incrementAndGet();
+        return List.of();
+      }
+    );
+    return RoutingResponse.ofError(new RoutingError(RoutingErrorCode.NO_TRANSIT_CONNECTION, null));
+  }
+
+  private static BatchRouteRequest request(String id, GenericLocation from, double toLat) {
+    return new BatchRouteRequest(
+      id,
+      RouteRequest.of()
+        .withFrom(from)
+        .withTo(GenericLocation.fromCoordinate(toLat, 11.0))
+        .buildRequest()
+    );
+  }
+}
@@ -0,0 +1,35 @@
+package org.opentripplanner.ext.flex;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.flex.flexpathcalculator.DirectFlexPathCalculator;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCalculator;
+import org.opentripplanner.routing.graph.Graph;
+
+class FlexPathCalculatorsTest {
+
+  @Test
+  void streetCalculatorsAreSharedWithinTheRequest() {
+    var graph = new Graph();
+    graph.hasStreets = true;
+
+    var subject = new FlexPathCalculators(graph, FlexParameters.defaultValues());
+
+    assertInstanceOf(StreetFlexPathCalculator.class, subject.access());
+    assertInstanceOf(StreetFlexPathCalculator.class, subject.egress());
+    assertSame(subject.access(), subject.access());
+    assertSame(subject.egress(), subject.egress());
+    assertNotSame(subject.access(), subject.egress());
+  }
+
+  @Test
+  void directCalculatorsWithoutStreets() {
+    var subject = new FlexPathCalculators(new Graph(), FlexParameters.defaultValues());
+
+    assertInstanceOf(DirectFlexPathCalculator.class, subject.access());
+    assertInstanceOf(DirectFlexPathCalculator.class, subject.egress());
+  }
+}
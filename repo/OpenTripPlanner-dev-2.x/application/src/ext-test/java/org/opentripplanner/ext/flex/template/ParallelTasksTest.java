@@ -0,0 +1,78 @@
+package org.opentripplanner.ext.flex.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+
+class ParallelTasksTest {
+
+  private static final List<Integer> ITEMS = IntStream.range(0, 100).boxed().toList();
+  private static final List<Integer> EXPECTED = ITEMS.stream()
+    .flatMap(ParallelTasksTest::map)
+    .toList();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void mapInCallingThread() {
+    assertEquals(EXPECTED, ParallelTasks.flatMap(ITEMS, ParallelTasksTest::map, null));
+  }
+
+  @Test
+  void mapInParallelInTheOrderOfTheItems() {
+    assertEquals(EXPECTED, ParallelTasks.flatMap(ITEMS, ParallelTasksTest::map, executor));
+  }
+
+  @Test
+  void mapInCallingThreadIfThePoolIsBusy() {
+    blockPool();
+
+    assertEquals(EXPECTED, ParallelTasks.flatMap(ITEMS, ParallelTasksTest::map, executor));
+  }
+
+  @Test
+  void timeoutIfTheCallingThreadIsInterrupted() {
+    blockPool();
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(OTPRequestTimeoutException.class, () ->
+        ParallelTasks.flatMap(ITEMS, ParallelTasksTest::map, executor)
+      );
+    } finally {
+      // Clear the interrupted flag
+      Thread.interrupted();
+    }
+  }
+
+  private static Stream<Integer> map(int item) {
+    return Stream.of(item, -item);
+  }
+
+  /** Keep the only pool thread busy, so the calling thread must run all tasks. */
+  private void blockPool() {
+    executor.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+}
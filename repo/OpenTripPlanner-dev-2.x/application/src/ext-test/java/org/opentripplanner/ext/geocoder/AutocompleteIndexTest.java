@@ -0,0 +1,133 @@
+package org.opentripplanner.ext.geocoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+
+class AutocompleteIndexTest {
+
+  private static final WgsCoordinate BERLIN = new WgsCoordinate(52.52, 13.40);
+  private static final WgsCoordinate POTSDAM = new WgsCoordinate(52.39, 13.06);
+
+  private static final AutocompleteIndex<String> INDEX = AutocompleteIndex.<String>of()
+    .add("alexanderplatz", List.of("Alexanderplatz"), List.of(), BERLIN)
+    .add("alexanderplatz-bus", List.of("Alexanderplatz Bus"), List.of("A1"), BERLIN)
+    .add("hauptbahnhof-berlin", List.of("Hauptbahnhof"), List.of(), BERLIN)
+    .add("hauptbahnhof-potsdam", List.of("Potsdam Hauptbahnhof"), List.of(), POTSDAM)
+    .add("zurich", List.of("Zürich Straße"), List.of(), BERLIN)
+    .add("meridian", List.of("Meridian Ave N & N 148th St"), List.of(), BERLIN)
+    .add("arts-center", List.of("Arts Center"), List.of("4456"), BERLIN)
+    .build();
+
+  @Test
+  void tokenize() {
+    assertEquals(
+      List.of("meridian", "ave", "n", "n", "148", "st"),
+      AutocompleteIndex.tokenize("Meridian Ave N & N 148th St", true)
+    );
+    assertEquals(
+      List.of("zurich", "strasse", "at", "1"),
+      AutocompleteIndex.tokenize("Zürich-Strasse at 1", false)
+    );
+    assertEquals(List.of("zurich"), AutocompleteIndex.tokenize("at Zürich", true));
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+    {
+      "alex, alex, false, 0",
+      "alxe, alex, false, 1",
+      "alexnader, alexanderplatz, false, 6",
+      "alexnader, alexanderplatz, true, 1",
+      "hbf, hauptbahnhof, true, 2",
+    }
+  )
+  void editDistance(String token, String term, boolean prefix, int expected) {
+    assertEquals(expected, AutocompleteIndex.editDistance(token, term, prefix));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+    strings = {
+      "alexanderplatz",
+      "Alexa",
+      "alexnaderplatz",
+      "aleyanderplazt",
+      "ALEXANDER",
+      "alexanderplatz bus",
+      "bus alexa",
+      "a1",
+    }
+  )
+  void prefixAndTypos(String query) {
+    var result = INDEX.query(query, null).toList();
+    assertTrue(result.contains("alexanderplatz-bus"), result.toString());
+  }
+
+  @Test
+  void allTokensMustMatch() {
+    assertEquals(List.of("alexanderplatz-bus"), INDEX.query("alexanderplatz bu", null).toList());
+    assertEquals(List.of(), INDEX.query("alexanderplatz tram", null).toList());
+  }
+
+  @Test
+  void shortNameIsRankedFirst() {
+    assertEquals(
+      List.of("alexanderplatz", "alexanderplatz-bus"),
+      INDEX.query("alexanderplatz", null).toList()
+    );
+  }
+
+  @Test
+  void focus() {
+    assertEquals(
+      List.of("hauptbahnhof-berlin", "hauptbahnhof-potsdam"),
+      INDEX.query("hauptbahnhof", BERLIN).toList()
+    );
+    assertEquals(
+      List.of("hauptbahnhof-potsdam", "hauptbahnhof-berlin"),
+      INDEX.query("hauptbahnhof", POTSDAM).toList()
+    );
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "zurich", "Zürich Str", "zuerich", "the zurich" })
+  void diacriticsAndStopWords(String query) {
+    assertEquals(List.of("zurich"), INDEX.query(query, null).toList());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "meridian 148", "meridian 148th", "148 meridian av" })
+  void numberSuffix(String query) {
+    assertEquals(List.of("meridian"), INDEX.query(query, null).toList());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "4456", "445" })
+  void code(String query) {
+    assertEquals(List.of("arts-center"), INDEX.query(query, null).toList());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "", " ", "&" })
+  void emptyQuery(String query) {
+    assertEquals(List.of(), INDEX.query(query, null).toList());
+  }
+
+  @Test
+  void duplicateNamesAreReturnedOnce() {
+    var index = AutocompleteIndex.<String>of()
+      .add("far", List.of("Lichterfelde Ost"), List.of(), POTSDAM)
+      .add("near", List.of("Lichterfelde Ost"), List.of(), BERLIN)
+      .build();
+
+    assertEquals(List.of("near"), index.query("lich", BERLIN).toList());
+    assertEquals(List.of("far"), index.query("lich", POTSDAM).toList());
+  }
+}
@@ -0,0 +1,177 @@
+package org.opentripplanner.ext.geocoder;
+
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TimetableRepository;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Compare the Lucene completion suggester with the in-memory {@link AutocompleteIndex} for
+ * autocomplete of stop names. The stop names are made up of random words, and the queries are
+ * prefixes of stop names as they are typed, some with a typo. The build time and memory of the
+ * whole {@link LuceneIndex}, and the autocomplete query latency, are printed for both.
+ * This is not a unit test, run it manually:
+ * <pre>
+ * GeocoderIndexBenchmark [nStops] [nQueries]
+ * </pre>
+ */
+public class GeocoderIndexBenchmark {
+
+  private static final String[] WORDS = {
+    "alexander",
+    "bahnhof",
+    "central",
+    "church",
+    "east",
+    "garden",
+    "hauptbahnhof",
+    "hill",
+    "lake",
+    "main",
+    "market",
+    "meridian",
+    "north",
+    "park",
+    "platz",
+    "river",
+    "school",
+    "south",
+    "station",
+    "street",
+    "university",
+    "west",
+  };
+  private static final int WARM_UP_ROUNDS = 3;
+
+  public static void main(String[] args) {
+    int nStops = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    int nQueries = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+    new GeocoderIndexBenchmark().run(nStops, nQueries);
+  }
+
+  private void run(int nStops, int nQueries) {
+    var random = new Random(42);
+    var transitService = createTransitService(random, nStops);
+    var queries = createQueries(random, transitService, nQueries);
+    var focus = new WgsCoordinate(59.91, 10.75);
+
+    System.out.printf("Geocoder benchmark: %d stops, %d queries%n", nStops, nQueries);
+
+    var lucene = build("Lucene", () -> new LuceneIndex(transitService, null, false));
+    var inMemory = build("In-memory", () -> new LuceneIndex(transitService, null, true));
+
+    for (int i = 0; i < WARM_UP_ROUNDS; ++i) {
+      query(lucene, queries, null);
+      query(inMemory, queries, focus);
+    }
+    print("Lucene", query(lucene, queries, null), queries.size());
+    print("In-memory", query(inMemory, queries, null), queries.size());
+    print("In-memory, focus", query(inMemory, queries, focus), queries.size());
+  }
+
+  private static TransitService createTransitService(Random random, int nStops) {
+    var testModel = TimetableRepositoryForTest.of();
+    var siteRepository = testModel.siteRepositoryBuilder();
+    for (int i = 0; i < nStops; ++i) {
+      var name = new StringBuilder();
+      int nWords = 1 + random.nextInt(3);
+      for (int w = 0; w < nWords; ++w) {
+        name.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+      }
+      name.append(random.nextInt(1000));
+      siteRepository.withRegularStop(
+        testModel
+          .stop(name.toString())
+          .withId(id("S" + i))
+          .withCode(Integer.toString(i))
+          .withCoordinate(59.5 + random.nextDouble(), 10.0 + random.nextDouble() * 2)
+          .build()
+      );
+    }
+    var timetableRepository = new TimetableRepository(siteRepository.build(), new Deduplicator());
+    timetableRepository.index();
+    return new DefaultTransitService(timetableRepository);
+  }
+
+  /**
+   * Create the queries a user would send while typing the name of a stop, one for each character
+   * typed after the first two. One in ten names has two characters swapped.
+   */
+  private static List<String> createQueries(
+    Random random,
+    TransitService transitService,
+    int nQueries
+  ) {
+    var names = transitService
+      .listStopLocations()
+      .stream()
+      .map(it -> it.getName().toString())
+      .toList();
+    var queries = new ArrayList<String>(nQueries);
+    while (queries.size() < nQueries) {
+      var name = names.get(random.nextInt(names.size())).toCharArray();
+      if (random.nextInt(10) == 0) {
+        int i = 1 + random.nextInt(name.length - 2);
+        char c = name[i];
+        name[i] = name[i + 1];
+        name[i + 1] = c;
+      }
+      for (int length = 3; length <= name.length && queries.size() < nQueries; ++length) {
+        queries.add(new String(name, 0, length));
+      }
+    }
+    return queries;
+  }
+
+  private static LuceneIndex build(String name, Supplier<LuceneIndex> factory) {
+    long memoryBefore = usedMemory();
+    long start = System.nanoTime();
+    var index = factory.get();
+    long nanos = System.nanoTime() - start;
+    long memory = usedMemory() - memoryBefore;
+    System.out.printf(
+      "%-18s build: %6d ms  memory: %6d kB%n",
+      name,
+      nanos / 1_000_000,
+      memory / 1024
+    );
+    return index;
+  }
+
+  private static long query(LuceneIndex index, List<String> queries, WgsCoordinate focus) {
+    long start = System.nanoTime();
+    long count = 0;
+    for (var query : queries) {
+      count += index.queryStopLocations(query, true, focus).count();
+    }
+    // Use the result, so the queries are not removed by the JIT compiler
+    if (count < 0) {
+      throw new IllegalStateException();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static void print(String name, long nanos, int nQueries) {
+    System.out.printf(
+      "%-18s query: %8.1f µs/query  %6d ms total%n",
+      name,
+      nanos / 1000.0 / nQueries,
+      nanos / 1_000_000
+    );
+  }
+
+  private static long usedMemory() {
+    var runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
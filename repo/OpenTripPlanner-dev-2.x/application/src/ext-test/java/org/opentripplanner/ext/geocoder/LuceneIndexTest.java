@@ -30,6 +30,7 @@ import org.opentripplanner.transit.model.organization.Agency;
 import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.model.site.StopLocationsGroup;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TimetableRepository;
 
@@ -93,6 +94,8 @@ class LuceneIndexTest {
 
   static LuceneIndex index;
 
+  static LuceneIndex inMemoryAutocompleteIndex;
+
   static StopClusterMapper mapper;
 
   @BeforeAll
@@ -163,6 +166,7 @@ class LuceneIndexTest {
       timetableRepository
     );
     index = new LuceneIndex(transitService, stopConsolidationService);
+    inMemoryAutocompleteIndex = new LuceneIndex(transitService, stopConsolidationService, true);
     mapper = new StopClusterMapper(transitService, stopConsolidationService);
   }
 
@@ -191,6 +195,57 @@ class LuceneIndexTest {
     assertEquals(List.of(FIVE_POINTS_STATION), result1);
   }
 
+  @Nested
+  class InMemoryAutocomplete {
+
+    @Test
+    void stopLocations() {
+      var result1 = inMemoryAutocompleteIndex.queryStopLocations("lich", true).toList();
+      assertEquals(1, result1.size());
+      assertEquals(
+        LICHTERFELDE_OST_1.getName().toString(),
+        result1.getFirst().getName().toString()
+      );
+
+      var result2 = inMemoryAutocompleteIndex
+        .queryStopLocations("alexan", true)
+        .collect(Collectors.toSet());
+      assertEquals(Set.of(ALEXANDERPLATZ_BUS, ALEXANDERPLATZ_RAIL), result2);
+    }
+
+    @Test
+    void stopLocationGroups() {
+      assertEquals(List.of(ALEXANDERPLATZ_STATION), queryGroups("alex"));
+      assertEquals(List.of(BERLIN_HAUPTBAHNHOF_STATION), queryGroups("haupt"));
+      assertEquals(List.of(FIVE_POINTS_STATION), queryGroups("five points"));
+      assertEquals(List.of(FIVE_POINTS_STATION), queryGroups("fife poi"));
+    }
+
+    @Test
+    void stopCode() {
+      var result = inMemoryAutocompleteIndex.queryStopLocations("445", true).toList();
+      assertEquals(List.of(ARTS_CENTER), result);
+    }
+
+    @Test
+    void focus() {
+      var result = inMemoryAutocompleteIndex
+        .queryStopLocations("lichterfelde", true, LICHTERFELDE_OST_2.getCoordinate())
+        .toList();
+      assertEquals(List.of(LICHTERFELDE_OST_2), result);
+    }
+
+    @Test
+    void clustersUseLucene() {
+      var result = inMemoryAutocompleteIndex.queryStopClusters("alexanderplatz").toList();
+      assertEquals(ALEXANDERPLATZ_STATION.getId(), result.getFirst().primary().id());
+    }
+
+    private static List<StopLocationsGroup> queryGroups(String query) {
+      return inMemoryAutocompleteIndex.queryStopLocationGroups(query, true).toList();
+    }
+  }
+
   @Nested
   class StopClusters {
 
@@ -0,0 +1,60 @@
+package org.opentripplanner.ext.isochrone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.speed.CarSpeedProfiles;
+
+class IsochroneCacheTest {
+
+  private static final Instant TIME = Instant.parse("2026-03-02T08:00:00Z");
+  private static final List<Duration> CUTOFFS = List.of(Duration.ofMinutes(10));
+
+  private final Graph graph = new Graph();
+  private final IsochroneCache subject = new IsochroneCache(graph);
+  private int calculations = 0;
+
+  @Test
+  void cachePerRequest() {
+    get(StreetMode.CAR);
+    get(StreetMode.CAR);
+    assertEquals(1, calculations);
+
+    get(StreetMode.WALK);
+    assertEquals(2, calculations);
+    assertEquals(2, subject.size());
+  }
+
+  @Test
+  void clearWhenCarSpeedProfilesAreReplaced() {
+    get(StreetMode.CAR);
+    get(StreetMode.WALK);
+
+    graph.setCarSpeedProfiles(CarSpeedProfiles.of(ZoneId.of("Europe/Oslo")).build());
+    get(StreetMode.CAR);
+    get(StreetMode.WALK);
+
+    assertEquals(4, calculations);
+    assertEquals(2, subject.size());
+  }
+
+  private void get(StreetMode mode) {
+    var request = new IsochroneRequest(
+      new WgsCoordinate(60.0, 10.0),
+      TIME,
+      mode,
+      CUTOFFS
+    ).snapToCell();
+    subject.get(request, r -> {
+      ++calculations;
+      return List.of();
+    });
+  }
+}
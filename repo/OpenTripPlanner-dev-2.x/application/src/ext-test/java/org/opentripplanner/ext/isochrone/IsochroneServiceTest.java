@@ -0,0 +1,152 @@
+package org.opentripplanner.ext.isochrone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.ext.isochrone.IsochroneService.ReachedPoint;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.algorithm.GraphRoutingTest;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.linking.LinkingContextFactory;
+import org.opentripplanner.routing.linking.VertexLinkerTestFactory;
+import org.opentripplanner.routing.linking.internal.VertexCreationService;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+
+class IsochroneServiceTest extends GraphRoutingTest {
+
+  private static final Instant TIME = Instant.parse("2026-03-02T08:00:00Z");
+  private static final int SIZE = 5;
+
+  private final IntersectionVertex[][] grid = new IntersectionVertex[SIZE][SIZE];
+  private IsochroneService subject;
+
+  /**
+   * A grid of streets 55 meters apart. The origin is in the south-west corner.
+   */
+  @BeforeEach
+  void setUp() {
+    var model = modelOf(
+      new Builder() {
+        @Override
+        public void build() {
+          for (int i = 0; i < SIZE; ++i) {
+            for (int j = 0; j < SIZE; ++j) {
+              grid[i][j] = intersection("V" + i + j, 60.0 + i * 0.0005, 10.0 + j * 0.001);
+              if (i > 0) {
+                biStreet(grid[i - 1][j], grid[i][j], 55);
+              }
+              if (j > 0) {
+                biStreet(grid[i][j - 1], grid[i][j], 55);
+              }
+            }
+          }
+        }
+      }
+    );
+    var linkingContextFactory = new LinkingContextFactory(
+      model.graph(),
+      new VertexCreationService(VertexLinkerTestFactory.of(model.graph()))
+    );
+    subject = new IsochroneService(
+      linkingContextFactory,
+      RouteRequest.defaultValue(),
+      request -> List.of()
+    );
+  }
+
+  @Test
+  void walkIsochrones() {
+    var result = subject.calculate(
+      new IsochroneRequest(
+        new WgsCoordinate(60.0, 10.0),
+        TIME,
+        StreetMode.WALK,
+        List.of(Duration.ofMinutes(10), Duration.ofMinutes(2))
+      )
+    );
+
+    assertEquals(2, result.size());
+
+    // Walking a block takes about 41 seconds, three blocks are too far for 2 minutes
+    var twoMinutes = result.get(0);
+    assertEquals(Duration.ofMinutes(2), twoMinutes.cutoff());
+    assertTrue(covers(twoMinutes, grid[0][1]));
+    assertTrue(covers(twoMinutes, grid[1][0]));
+    assertFalse(covers(twoMinutes, grid[0][3]));
+    assertFalse(covers(twoMinutes, grid[SIZE - 1][SIZE - 1]));
+
+    var tenMinutes = result.get(1);
+    assertEquals(Duration.ofMinutes(10), tenMinutes.cutoff());
+    assertTrue(covers(tenMinutes, grid[SIZE - 1][SIZE - 1]));
+  }
+
+  @Test
+  void tooFewPointsGiveEmptyPolygon() {
+    var request = new IsochroneRequest(
+      new WgsCoordinate(60.0, 10.0),
+      TIME,
+      StreetMode.WALK,
+      List.of(Duration.ofMinutes(1), Duration.ofMinutes(5))
+    );
+    var points = List.of(
+      new ReachedPoint(new Coordinate(10.0, 60.0), 0),
+      new ReachedPoint(new Coordinate(10.001, 60.0), 120),
+      new ReachedPoint(new Coordinate(10.0, 60.001), 120)
+    );
+
+    var result = IsochroneService.toIsochrones(points, request, 100);
+
+    assertTrue(result.get(0).geometry().isEmpty());
+    assertFalse(result.get(1).geometry().isEmpty());
+  }
+
+  @Test
+  void snapToCell() {
+    var request = new IsochroneRequest(
+      new WgsCoordinate(60.00012, 10.00031),
+      Instant.parse("2026-03-02T08:14:59Z"),
+      StreetMode.CAR,
+      List.of(Duration.ofMinutes(30), Duration.ofMinutes(15), Duration.ofMinutes(30))
+    );
+    var other = new IsochroneRequest(
+      new WgsCoordinate(60.00021, 10.00019),
+      Instant.parse("2026-03-02T08:00:01Z"),
+      StreetMode.CAR,
+      List.of(Duration.ofMinutes(15), Duration.ofMinutes(30))
+    );
+
+    assertEquals(List.of(Duration.ofMinutes(15), Duration.ofMinutes(30)), request.cutoffs());
+    assertEquals(request.snapToCell(), other.snapToCell());
+    assertEquals(TIME, request.snapToCell().dateTime());
+  }
+
+  @Test
+  void invalidRequest() {
+    var origin = new WgsCoordinate(60.0, 10.0);
+    var cutoffs = List.of(Duration.ofMinutes(15));
+    assertThrows(IllegalArgumentException.class, () ->
+      new IsochroneRequest(origin, TIME, StreetMode.FLEXIBLE, cutoffs)
+    );
+    assertThrows(IllegalArgumentException.class, () ->
+      new IsochroneRequest(origin, TIME, StreetMode.CAR, List.of())
+    );
+    assertThrows(IllegalArgumentException.class, () ->
+      new IsochroneRequest(origin, TIME, StreetMode.CAR, List.of(Duration.ofHours(3)))
+    );
+  }
+
+  private static boolean covers(Isochrone isochrone, IntersectionVertex vertex) {
+    var point = GeometryUtils.getGeometryFactory().createPoint(vertex.getCoordinate());
+    return isochrone.geometry().covers(point);
+  }
+}
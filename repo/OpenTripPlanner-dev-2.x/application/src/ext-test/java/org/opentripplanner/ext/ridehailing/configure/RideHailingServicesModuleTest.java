@@ -5,8 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.ridehailing.service.localfleet.LocalFleetService;
 import org.opentripplanner.ext.ridehailing.service.uber.UberService;
 import org.opentripplanner.framework.json.ObjectMappers;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.config.RouterConfig;
 
 class RideHailingServicesModuleTest {
@@ -23,16 +25,22 @@ class RideHailingServicesModuleTest {
               "clientId": "secret-id",
               "clientSecret": "very-secret",
               "wheelchairAccessibleProductId": "product-id-accessible-by-wheelchair"
+            },
+            {
+              "type": "local-fleet",
+              "positionsFile": "fleet.json",
+              "currency": "EUR"
             }
           ]
       }
       """;
     var jsonNode = ObjectMappers.ignoringExtraFields().readTree(json);
-    var services = module.services(new RouterConfig(jsonNode, json, false));
+    var services = module.services(new RouterConfig(jsonNode, json, false), new Graph());
 
-    assertEquals(1, services.size());
+    assertEquals(2, services.size());
 
     var uberService = services.get(0);
     assertInstanceOf(UberService.class, uberService);
+    assertInstanceOf(LocalFleetService.class, services.get(1));
   }
 }
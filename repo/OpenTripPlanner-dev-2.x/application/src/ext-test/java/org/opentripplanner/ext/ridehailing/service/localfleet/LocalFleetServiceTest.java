@@ -0,0 +1,210 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
+import org.opentripplanner.ext.ridehailing.model.ArrivalTime;
+import org.opentripplanner.ext.ridehailing.model.RideHailingProvider;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.transit.model.basic.Money;
+
+class LocalFleetServiceTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final String STANDARD = "standard";
+  private static final String XL = "xl";
+  private static final double LAT = 60.0;
+
+  /** A straight street with a vertex about every 550 meters, the pickup is at the first. */
+  private final Graph graph = createGraph(5);
+  private final WgsCoordinate pickup = new WgsCoordinate(LAT, 10.0);
+
+  @Test
+  void nearestVehicleOfEachRideType() {
+    var subject = service(
+      Duration.ofMinutes(15),
+      vehicle("a", STANDARD, 3, false),
+      vehicle("b", STANDARD, 1, false),
+      vehicle("c", XL, 4, true)
+    );
+
+    var result = subject.arrivalTimes(pickup, false);
+
+    assertEquals(List.of(STANDARD, XL), result.stream().map(ArrivalTime::rideType).toList());
+    assertEquals(RideHailingProvider.LOCAL_FLEET, result.get(0).provider());
+    assertTrue(result.get(0).duration().isPositive());
+    assertTrue(result.get(0).duration().compareTo(result.get(1).duration()) < 0);
+  }
+
+  @Test
+  void onlyWheelchairAccessibleVehicles() {
+    var subject = service(
+      Duration.ofMinutes(15),
+      vehicle("a", STANDARD, 1, false),
+      vehicle("b", XL, 4, true)
+    );
+
+    var result = subject.arrivalTimes(pickup, true);
+
+    assertEquals(List.of(XL), result.stream().map(ArrivalTime::rideType).toList());
+  }
+
+  @Test
+  void excludeVehiclesBeyondMaxPickupDuration() {
+    var subject = service(Duration.ofSeconds(1), vehicle("a", STANDARD, 4, false));
+
+    assertEquals(List.of(), subject.arrivalTimes(pickup, false));
+  }
+
+  @Test
+  void excludeVehiclesFarFromAStreet() {
+    var subject = service(
+      Duration.ofMinutes(15),
+      new FleetVehicle("far", STANDARD, LAT + 0.05, 10.01, false)
+    );
+
+    assertEquals(List.of(), subject.arrivalTimes(pickup, false));
+  }
+
+  @Test
+  void emptyFleet() {
+    var subject = service(Duration.ofMinutes(15));
+
+    assertEquals(List.of(), subject.arrivalTimes(pickup, false));
+    assertEquals(List.of(), subject.rideEstimates(pickup, pickup, false));
+  }
+
+  @Test
+  void rideEstimates() {
+    var subject = service(Duration.ofMinutes(15), vehicle("a", STANDARD, 1, false));
+    var end = new WgsCoordinate(LAT, 10.04);
+    double km =
+      SphericalDistanceLibrary.distance(
+        pickup.latitude(),
+        pickup.longitude(),
+        end.latitude(),
+        end.longitude()
+      ) /
+      1000;
+
+    var result = subject.rideEstimates(pickup, end, false);
+
+    assertEquals(1, result.size());
+    var estimate = result.get(0);
+    assertEquals(STANDARD, estimate.productName());
+    assertEquals(subject.arrivalTimes(pickup, false).get(0).duration(), estimate.arrival());
+    assertEquals(Money.ofFractionalAmount(EUR, (float) (2.5 + 1.5 * km)), estimate.minPrice());
+    assertEquals(
+      Money.ofFractionalAmount(EUR, (float) (2.5 + 1.5 * km * 1.5)),
+      estimate.maxPrice()
+    );
+  }
+
+  @Test
+  void positionsAreOnlyReadByTheUpdater() {
+    var reads = new AtomicInteger();
+    var subject = new LocalFleetService(
+      () -> {
+        reads.incrementAndGet();
+        return Optional.of(List.of(vehicle("a", STANDARD, 1, false)));
+      },
+      new LocalFleetServiceParameters("not-used.json", Duration.ofMinutes(15), EUR, 2.5, 1.5),
+      graph,
+      RouteRequest.defaultValue()
+    );
+
+    assertEquals(List.of(), subject.arrivalTimes(pickup, false));
+    assertEquals(0, reads.get());
+
+    var updater = new FleetPositionUpdater(subject);
+    updater.runPolling();
+    assertEquals(1, subject.arrivalTimes(pickup, false).size());
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  void keepPositionsIfTheFeedCanNotBeRead() {
+    var fail = new AtomicBoolean(false);
+    var subject = new LocalFleetService(
+      () -> {
+        if (fail.get()) {
+          throw new IOException("Feed is down");
+        }
+        return Optional.of(List.of(vehicle("a", STANDARD, 1, false)));
+      },
+      new LocalFleetServiceParameters("not-used.json", Duration.ofMinutes(15), EUR, 2.5, 1.5),
+      graph,
+      RouteRequest.defaultValue()
+    );
+    var updater = new FleetPositionUpdater(subject);
+    updater.runPolling();
+    fail.set(true);
+    updater.runPolling();
+
+    assertEquals(1, subject.arrivalTimes(pickup, false).size());
+  }
+
+  private LocalFleetService service(Duration maxPickupDuration, FleetVehicle... vehicles) {
+    var parameters = new LocalFleetServiceParameters(
+      "not-used.json",
+      maxPickupDuration,
+      EUR,
+      2.5,
+      1.5
+    );
+    var fleet = List.of(vehicles);
+    var service = new LocalFleetService(
+      () -> Optional.of(fleet),
+      parameters,
+      graph,
+      RouteRequest.defaultValue()
+    );
+    new FleetPositionUpdater(service).runPolling();
+    return service;
+  }
+
+  /** A vehicle at the vertex with the given index on the street. */
+  private static FleetVehicle vehicle(
+    String id,
+    String rideType,
+    int vertex,
+    boolean wheelchairAccessible
+  ) {
+    return new FleetVehicle(id, rideType, LAT, lon(vertex), wheelchairAccessible);
+  }
+
+  private static double lon(int vertex) {
+    return 10.0 + vertex * 0.01;
+  }
+
+  private static Graph createGraph(int nVertices) {
+    var graph = new Graph();
+    StreetVertex prev = null;
+    for (int i = 0; i < nVertices; ++i) {
+      var v = intersectionVertex("V" + i, LAT, lon(i));
+      graph.addVertex(v);
+      if (prev != null) {
+        streetEdge(prev, v);
+        streetEdge(v, prev);
+      }
+      prev = v;
+    }
+    graph.index();
+    return graph;
+  }
+}
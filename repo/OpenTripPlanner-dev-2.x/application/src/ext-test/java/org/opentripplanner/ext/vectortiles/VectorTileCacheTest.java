@@ -0,0 +1,116 @@
+package org.opentripplanner.ext.vectortiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTileResponseFactory.RenderedTile;
+import org.opentripplanner.service.vehiclerental.model.TestVehicleRentalStationBuilder;
+
+class VectorTileCacheTest {
+
+  private static final double LON = 10.75;
+  private static final double LAT = 59.91;
+  private static final int Z = 10;
+  // The tile containing LON, LAT at zoom level Z
+  private static final int X = 542;
+  private static final int Y = 297;
+
+  private static final List<LayerParameters<LayerType>> LAYERS = List.of(
+    new TestLayer("rental", LayerType.VehicleRental, "Digitransit"),
+    new TestLayer("stops", LayerType.Stop, "Digitransit"),
+    new TestLayer("realtimeStops", LayerType.Stop, "DigitransitRealtime")
+  );
+
+  private final VectorTileCache subject = new VectorTileCache(
+    new VectorTileCacheParameters(Duration.ofMinutes(1), 100, List.of(), 10, 10, List.of()),
+    LAYERS,
+    null
+  );
+  private final AtomicInteger renderCount = new AtomicInteger();
+
+  @Test
+  void cachedTileIsOnlyRenderedOnce() {
+    var key = subject.keyOf("rental,stops", Z, X, Y, Locale.ENGLISH, 0);
+    render(key);
+    render(key);
+    assertEquals(1, renderCount.get());
+    assertEquals(1, subject.size());
+
+    // The same language in another country shares the tile
+    render(subject.keyOf("rental,stops", Z, X, Y, Locale.UK, 0));
+    assertEquals(1, renderCount.get());
+  }
+
+  @Test
+  void invalidateTilesAroundPosition() {
+    var rentalTile = subject.keyOf("rental", Z, X, Y, Locale.ENGLISH, 0);
+    var stopTile = subject.keyOf("stops", Z, X, Y, Locale.ENGLISH, 0);
+    var otherRentalTile = subject.keyOf("rental", Z, X + 3, Y, Locale.ENGLISH, 0);
+    render(rentalTile);
+    render(stopTile);
+    render(otherRentalTile);
+
+    subject.invalidate(LON, LAT, Set.of(LayerType.VehicleRental));
+    assertEquals(2, subject.size());
+
+    renderCount.set(0);
+    render(rentalTile);
+    render(stopTile);
+    render(otherRentalTile);
+    assertEquals(1, renderCount.get());
+  }
+
+  @Test
+  void changedRentalPlaceInvalidatesRentalTiles() {
+    var rentalTile = subject.keyOf("rental", Z, X, Y, Locale.ENGLISH, 0);
+    render(rentalTile);
+
+    subject.vehicleRentalPlaceChanged(
+      null,
+      new TestVehicleRentalStationBuilder().withCoordinates(LAT, LON).build()
+    );
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void repeatedLayerName() {
+    var tile = subject.keyOf("rental,rental", Z, X, Y, Locale.ENGLISH, 0);
+    render(tile);
+    render(tile);
+    assertEquals(1, renderCount.get());
+
+    // The removal from the layer index does not fail either
+    subject.invalidate(LON, LAT, Set.of(LayerType.VehicleRental));
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void onlyRealtimeLayersDependOnTheSnapshotVersion() {
+    assertEquals(
+      subject.keyOf("stops", Z, X, Y, Locale.ENGLISH, 1),
+      subject.keyOf("stops", Z, X, Y, Locale.ENGLISH, 2)
+    );
+    assertNotEquals(
+      subject.keyOf("stops,realtimeStops", Z, X, Y, Locale.ENGLISH, 1),
+      subject.keyOf("stops,realtimeStops", Z, X, Y, Locale.ENGLISH, 2)
+    );
+  }
+
+  private void render(VectorTileCache.Key key) {
+    subject.get(key, () -> {
+      renderCount.incrementAndGet();
+      return new RenderedTile(new byte[] { 1 }, 60);
+    });
+  }
+
+  private record TestLayer(String name, LayerType type, String mapper)
+    implements LayerParameters<LayerType> {}
+}
@@ -17,10 +17,12 @@ import graphql.execution.instrumentation.parameters.InstrumentationValidationPar
 import graphql.language.Document;
 import graphql.schema.GraphQLTypeUtil;
 import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import java.util.List;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 
 /**
  * Using this instrumentation we can precisely measure how queries and data fetchers are executed
@@ -29,6 +31,10 @@ import java.util.List;
  * There are two types of metrics: one for query execution, and another for resolver timing. The
  * timers are registered to micrometer using graphql.timer.query and graphql.timer.resolver.
  * <p>
+ * When the query is executed with a {@link TransitDataLoaderRegistry}, the number of values
+ * requested from and fetched by each data loader is recorded using graphql.dataloader.loads and
+ * graphql.dataloader.fetches, and the time spent fetching using graphql.timer.dataloader.
+ * <p>
  * ### See also: - https://github.com/symbaloo/graphql-micrometer/blob/main/src/main/kotlin/com/symbaloo/graphqlmicrometer/MicrometerInstrumentation.kt
  * - https://github.com/graphql-java-kickstart/graphql-spring-boot/blob/master/graphql-spring-boot-autoconfigure/src/main/java/graphql/kickstart/autoconfigure/web/servlet/metrics/MetricsInstrumentation.java
  * - https://github.com/apollographql/apollo-tracing - [TracingInstrumentation]
@@ -37,10 +43,14 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
 
   private static final String QUERY_TIME_METRIC_NAME = "graphql.timer.query";
   private static final String RESOLVER_TIME_METRIC_NAME = "graphql.timer.resolver";
+  private static final String DATA_LOADER_TIME_METRIC_NAME = "graphql.timer.dataloader";
+  private static final String DATA_LOADER_LOADS_METRIC_NAME = "graphql.dataloader.loads";
+  private static final String DATA_LOADER_FETCHES_METRIC_NAME = "graphql.dataloader.fetches";
   private static final String OPERATION_NAME_TAG = "operationName";
   private static final String OPERATION = "operation";
   private static final String PARENT = "parent";
   private static final String FIELD = "field";
+  private static final String LOADER = "loader";
   private static final String TIMER_DESCRIPTION =
     "Timer that records the time to fetch the data by Operation Name";
 
@@ -63,9 +73,16 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
     InstrumentationState state
   ) {
     Timer.Sample sample = Timer.start(meterRegistry);
-    return whenCompleted((res, err) ->
-      sample.stop(buildQueryTimer(((TraceState) state).operationName, "execution"))
-    );
+    return whenCompleted((res, err) -> {
+      String operationName = ((TraceState) state).operationName;
+      sample.stop(buildQueryTimer(operationName, "execution"));
+      if (
+        parameters.getExecutionInput().getDataLoaderRegistry() instanceof
+          TransitDataLoaderRegistry registry
+      ) {
+        recordDataLoaderStatistics(operationName, registry);
+      }
+    });
   }
 
   @Override
@@ -130,6 +147,40 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
     });
   }
 
+  private void recordDataLoaderStatistics(
+    String operationName,
+    TransitDataLoaderRegistry registry
+  ) {
+    registry.forEachStatistics((loader, statistics) -> {
+      buildDataLoaderSummary(DATA_LOADER_LOADS_METRIC_NAME, operationName, loader).record(
+        statistics.loads()
+      );
+      buildDataLoaderSummary(DATA_LOADER_FETCHES_METRIC_NAME, operationName, loader).record(
+        statistics.fetches()
+      );
+      Timer.builder(DATA_LOADER_TIME_METRIC_NAME)
+        .description("Timer that records the time data loaders spend fetching by Operation Name")
+        .tag(OPERATION_NAME_TAG, operationName)
+        .tag(LOADER, loader)
+        .tags(tags)
+        .register(meterRegistry)
+        .record(statistics.fetchTime());
+    });
+  }
+
+  private DistributionSummary buildDataLoaderSummary(
+    String name,
+    String operationName,
+    String loader
+  ) {
+    return DistributionSummary.builder(name)
+      .description("The number of values per query of a data loader by Operation Name")
+      .tag(OPERATION_NAME_TAG, operationName)
+      .tag(LOADER, loader)
+      .tags(tags)
+      .register(meterRegistry);
+  }
+
   private Timer buildQueryTimer(String operationName, String operation) {
     return Timer.builder(QUERY_TIME_METRIC_NAME)
       .description(TIMER_DESCRIPTION)
@@ -0,0 +1,97 @@
+package org.opentripplanner.ext.batchrouting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.framework.json.ObjectMappers;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * Parse a batch of requests in the NDJSON format, one JSON object per line:
+ * <pre>
+ * {"id":"1","from":{"lat":59.91,"lon":10.75},"to":{"stopId":"RB:NSR:StopPlace:337"},
+ *  "dateTime":"2025-03-01T08:00:00+01:00","arriveBy":false,"numItineraries":3}
+ * </pre>
+ * Only {@code id}, {@code from}, {@code to} and {@code dateTime} are required. All other
+ * parameters are taken from the default route request in the router configuration. Blank lines
+ * are ignored.
+ */
+class BatchRequestMapper {
+
+  private static final ObjectMapper MAPPER = ObjectMappers.ignoringExtraFields();
+
+  private final RouteRequest defaultRequest;
+
+  BatchRequestMapper(RouteRequest defaultRequest) {
+    this.defaultRequest = defaultRequest;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a line is not a valid request, the message contains the
+   *                                  line number.
+   */
+  List<BatchRouteRequest> parse(Reader input) throws IOException {
+    var result = new ArrayList<BatchRouteRequest>();
+    var reader = new BufferedReader(input);
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      ++lineNumber;
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        result.add(map(MAPPER.readTree(line)));
+      } catch (JsonProcessingException | IllegalArgumentException | DateTimeParseException e) {
+        throw new IllegalArgumentException(
+          "Invalid request on line %d: %s".formatted(lineNumber, e.getMessage()),
+          e
+        );
+      }
+    }
+    return result;
+  }
+
+  BatchRouteRequest map(JsonNode node) {
+    var builder = defaultRequest
+      .copyOf()
+      .withFrom(mapLocation(required(node, "from")))
+      .withTo(mapLocation(required(node, "to")))
+      .withDateTime(OffsetDateTime.parse(required(node, "dateTime").asText()).toInstant());
+
+    if (node.has("arriveBy")) {
+      builder.withArriveBy(node.get("arriveBy").asBoolean());
+    }
+    if (node.has("numItineraries")) {
+      builder.withNumItineraries(node.get("numItineraries").asInt());
+    }
+    return new BatchRouteRequest(required(node, "id").asText(), builder.buildRequest());
+  }
+
+  private static GenericLocation mapLocation(JsonNode node) {
+    if (node.hasNonNull("stopId")) {
+      return new GenericLocation(null, FeedScopedId.parse(node.get("stopId").asText()), null, null);
+    }
+    if (node.hasNonNull("lat") && node.hasNonNull("lon")) {
+      return GenericLocation.fromCoordinate(node.get("lat").asDouble(), node.get("lon").asDouble());
+    }
+    throw new IllegalArgumentException("A location must have a 'stopId' or 'lat' and 'lon'.");
+  }
+
+  private static JsonNode required(JsonNode node, String name) {
+    var value = node.get(name);
+    if (value == null || value.isNull()) {
+      throw new IllegalArgumentException("The '" + name + "' parameter is required.");
+    }
+    return value;
+  }
+}
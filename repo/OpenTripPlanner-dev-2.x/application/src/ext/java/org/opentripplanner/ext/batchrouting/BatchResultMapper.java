@@ -0,0 +1,90 @@
+package org.opentripplanner.ext.batchrouting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.opentripplanner.framework.json.ObjectMappers;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.Leg;
+import org.opentripplanner.model.plan.Place;
+import org.opentripplanner.model.plan.TransitLeg;
+import org.opentripplanner.model.plan.leg.StreetLeg;
+import org.opentripplanner.routing.error.RoutingValidationException;
+
+/**
+ * Map a {@link BatchRouteResult} to a single line of JSON. The format is a compact summary of
+ * each itinerary, intended for bulk analysis (price calculation, travel time matrices), not for
+ * presenting the itinerary to a user.
+ */
+class BatchResultMapper {
+
+  private static final ObjectMapper MAPPER = ObjectMappers.ignoringExtraFields();
+
+  static String mapToJsonLine(BatchRouteResult result) {
+    var root = MAPPER.createObjectNode();
+    root.put("id", result.id());
+
+    if (result.exception() != null) {
+      var errors = root.putArray("errors");
+      if (result.exception() instanceof RoutingValidationException e) {
+        e.getRoutingErrors().forEach(it -> errors.add(it.code.name()));
+      } else {
+        errors.add("SYSTEM_ERROR");
+      }
+    } else {
+      var response = result.response();
+      var itineraries = root.putArray("itineraries");
+      response.getTripPlan().itineraries.forEach(it -> mapItinerary(it, itineraries.addObject()));
+      if (!response.getRoutingErrors().isEmpty()) {
+        var errors = root.putArray("errors");
+        response.getRoutingErrors().forEach(it -> errors.add(it.code.name()));
+      }
+    }
+    try {
+      return MAPPER.writeValueAsString(root);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void mapItinerary(Itinerary itinerary, ObjectNode node) {
+    node.put("startTime", itinerary.startTime().toOffsetDateTime().toString());
+    node.put("endTime", itinerary.endTime().toOffsetDateTime().toString());
+    node.put("duration", itinerary.totalDuration().toSeconds());
+    node.put("generalizedCost", itinerary.generalizedCost());
+    node.put("transfers", itinerary.numberOfTransfers());
+    node.put("walkDistance", Math.round(itinerary.totalWalkDistanceMeters()));
+    var legs = node.putArray("legs");
+    itinerary.legs().forEach(it -> mapLeg(it, legs.addObject()));
+  }
+
+  private static void mapLeg(Leg leg, ObjectNode node) {
+    node.put("mode", mode(leg));
+    node.put("startTime", leg.startTime().toOffsetDateTime().toString());
+    node.put("endTime", leg.endTime().toOffsetDateTime().toString());
+    mapPlace(leg.from(), node.putObject("from"));
+    mapPlace(leg.to(), node.putObject("to"));
+    if (leg.isTransitLeg()) {
+      node.put("route", leg.route().getId().toString());
+      node.put("trip", leg.trip().getId().toString());
+    }
+  }
+
+  private static void mapPlace(Place place, ObjectNode node) {
+    if (place.stop != null) {
+      node.put("stopId", place.stop.getId().toString());
+    }
+    node.put("lat", place.coordinate.latitude());
+    node.put("lon", place.coordinate.longitude());
+  }
+
+  private static String mode(Leg leg) {
+    if (leg instanceof TransitLeg transitLeg) {
+      return transitLeg.mode().name();
+    }
+    if (leg instanceof StreetLeg streetLeg) {
+      return streetLeg.getMode().name();
+    }
+    return leg.getClass().getSimpleName();
+  }
+}
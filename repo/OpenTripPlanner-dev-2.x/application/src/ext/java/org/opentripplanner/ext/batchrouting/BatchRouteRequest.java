@@ -0,0 +1,15 @@
+package org.opentripplanner.ext.batchrouting;
+
+import java.util.Objects;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * One request in a batch, the id is passed through to the result so the client can match the
+ * results, which are returned in completion order, with its requests.
+ */
+public record BatchRouteRequest(String id, RouteRequest request) {
+  public BatchRouteRequest {
+    Objects.requireNonNull(id);
+    Objects.requireNonNull(request);
+  }
+}
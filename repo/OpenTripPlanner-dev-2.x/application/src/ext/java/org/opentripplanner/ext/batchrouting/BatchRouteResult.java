@@ -0,0 +1,26 @@
+package org.opentripplanner.ext.batchrouting;
+
+import javax.annotation.Nullable;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+
+/**
+ * The result of one request in a batch. Exactly one of {@code response} and {@code exception} is
+ * set, an exception in one request does not abort the batch.
+ */
+public record BatchRouteResult(
+  BatchRouteRequest request,
+  @Nullable RoutingResponse response,
+  @Nullable RuntimeException exception
+) {
+  public static BatchRouteResult ok(BatchRouteRequest request, RoutingResponse response) {
+    return new BatchRouteResult(request, response, null);
+  }
+
+  public static BatchRouteResult failed(BatchRouteRequest request, RuntimeException exception) {
+    return new BatchRouteResult(request, null, exception);
+  }
+
+  public String id() {
+    return request.id();
+  }
+}
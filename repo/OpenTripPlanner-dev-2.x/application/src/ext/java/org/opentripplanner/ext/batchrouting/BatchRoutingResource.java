@@ -0,0 +1,104 @@
+package org.opentripplanner.ext.batchrouting;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.List;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.framework.time.ZoneIdFallback;
+import org.opentripplanner.routing.algorithm.RoutingWorker;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+
+/**
+ * Route many requests in one HTTP request, see the BatchRoutingApi sandbox documentation. The
+ * requests are posted as NDJSON, and the results are streamed back as NDJSON while they are
+ * computed.
+ */
+@Path("/batch")
+public class BatchRoutingResource {
+
+  static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  private final OtpServerRequestContext serverContext;
+
+  public BatchRoutingResource(@Context OtpServerRequestContext serverContext) {
+    this.serverContext = serverContext;
+  }
+
+  @POST
+  @Path("/plan")
+  @Consumes({ APPLICATION_NDJSON, MediaType.TEXT_PLAIN })
+  @Produces(APPLICATION_NDJSON)
+  public Response plan(InputStream body) {
+    List<BatchRouteRequest> requests;
+    try {
+      requests = new BatchRequestMapper(serverContext.defaultRouteRequest()).parse(
+        new InputStreamReader(body, UTF_8)
+      );
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    // The server context is created for this HTTP request, so all requests in the batch use the
+    // same transit data snapshot
+    var zoneId = ZoneIdFallback.zoneId(serverContext.transitService().getTimeZone());
+    var service = serverContext.batchRoutingService();
+
+    StreamingOutput stream = os -> {
+      var writer = new BufferedWriter(new OutputStreamWriter(os, UTF_8));
+      try {
+        service.route(
+          requests,
+          (request, accessEgressCache) -> route(request, zoneId, accessEgressCache),
+          BatchResultMapper::mapToJsonLine,
+          line -> {
+            try {
+              writer.write(line);
+              writer.newLine();
+              writer.flush();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }
+        );
+      } catch (InterruptedException e) {
+        // The HTTP transaction timeout interrupts the thread
+        Thread.currentThread().interrupt();
+        throw new OTPRequestTimeoutException();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.flush();
+    };
+    return Response.ok(stream).build();
+  }
+
+  private RoutingResponse route(
+    RouteRequest request,
+    ZoneId zoneId,
+    AccessEgressCache accessEgressCache
+  ) {
+    request.validateOriginAndDestination();
+    return new RoutingWorker(serverContext, request, zoneId, accessEgressCache).route();
+  }
+}
@@ -0,0 +1,236 @@
+package org.opentripplanner.ext.batchrouting;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Route a batch of requests in parallel on a fork-join pool.
+ * <p>
+ * All requests in a batch are routed with the same router, and with that the same transit data
+ * snapshot. The requests are grouped by origin. The first request in each group is routed alone,
+ * then the rest of the group is routed in parallel reusing the access search of the first, see
+ * {@link AccessEgressCache}. Egress searches are shared between all requests in the batch with
+ * the same destination.
+ * <p>
+ * The results are mapped in the worker threads, and handed over to the consumer in the calling
+ * thread in completion order.
+ * <p>
+ * The worker threads are not interrupted by the web server when the HTTP request times out, so
+ * the service interrupts each request in the batch which runs longer than the request timeout.
+ * The requests running when the batch is cancelled are interrupted too. An interrupted request
+ * fails with a timeout, the other requests in the batch are not affected.
+ * <p>
+ * The service is shared by all batches, and owns the pool. It must be shut down together with
+ * the server, see {@link #shutdown()}.
+ */
+public class BatchRoutingService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchRoutingService.class);
+
+  private final ForkJoinPool pool;
+  private final Duration requestTimeout;
+  private final ScheduledExecutorService timeoutScheduler;
+
+  /**
+   * @param requestTimeout The maximum routing time of each request in a batch, zero or negative
+   *                       for no timeout.
+   */
+  public BatchRoutingService(ForkJoinPool pool, Duration requestTimeout) {
+    this.pool = Objects.requireNonNull(pool);
+    this.requestTimeout = Objects.requireNonNull(requestTimeout);
+    this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("batch-routing-timeout").setDaemon(true).build()
+    );
+  }
+
+  /**
+   * Route all requests and pass the mapped results to the consumer. This method returns when all
+   * results are consumed. If the consumer throws an exception or the calling thread is
+   * interrupted, the requests not yet started are skipped and the running requests are
+   * interrupted.
+   *
+   * @param router Route a single request, using the given cache for access/egress searches.
+   */
+  public <T> void route(
+    List<BatchRouteRequest> requests,
+    BiFunction<RouteRequest, AccessEgressCache, RoutingResponse> router,
+    Function<BatchRouteResult, T> mapper,
+    Consumer<T> consumer
+  ) throws InterruptedException {
+    if (requests.isEmpty()) {
+      return;
+    }
+    var batch = new Batch<>(router, mapper);
+    var groups = groupByOrigin(requests);
+    LOG.debug("Route batch of {} requests from {} origins", requests.size(), groups.size());
+
+    var task = pool.submit(() ->
+      ForkJoinTask.invokeAll(
+        groups.stream().map(g -> ForkJoinTask.adapt(() -> batch.routeGroup(g))).toList()
+      )
+    );
+    try {
+      for (int i = 0; i < requests.size(); ++i) {
+        consumer.accept(batch.results.take());
+      }
+    } finally {
+      batch.cancel();
+      task.cancel(false);
+    }
+  }
+
+  /**
+   * Stop accepting new batches, the running requests are completed.
+   */
+  public void shutdown() {
+    pool.shutdown();
+    timeoutScheduler.shutdown();
+  }
+
+  static List<List<BatchRouteRequest>> groupByOrigin(List<BatchRouteRequest> requests) {
+    var groups = new LinkedHashMap<Origin, List<BatchRouteRequest>>();
+    for (var it : requests) {
+      var from = it.request().from();
+      groups
+        .computeIfAbsent(new Origin(from.stopId, from.lat, from.lng), k -> new ArrayList<>())
+        .add(it);
+    }
+    return List.copyOf(groups.values());
+  }
+
+  private record Origin(
+    @Nullable FeedScopedId stopId,
+    @Nullable Double lat,
+    @Nullable Double lng
+  ) {}
+
+  /**
+   * The state of one call to {@link #route(List, Function, Consumer)}.
+   */
+  private class Batch<T> {
+
+    private final BiFunction<RouteRequest, AccessEgressCache, RoutingResponse> router;
+    private final Function<BatchRouteResult, T> mapper;
+    private final AccessEgressCache accessEgressCache = new AccessEgressCache();
+    private final BlockingQueue<T> results = new LinkedBlockingQueue<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private final Set<RunningRequest> running = ConcurrentHashMap.newKeySet();
+
+    private Batch(
+      BiFunction<RouteRequest, AccessEgressCache, RoutingResponse> router,
+      Function<BatchRouteResult, T> mapper
+    ) {
+      this.router = router;
+      this.mapper = mapper;
+    }
+
+    private void cancel() {
+      cancelled.set(true);
+      running.forEach(RunningRequest::interrupt);
+    }
+
+    private void routeGroup(List<BatchRouteRequest> group) {
+      // Route the first request alone to populate the cache with the access for the group
+      route(group.getFirst());
+      if (group.size() > 1) {
+        ForkJoinTask.invokeAll(
+          group
+            .subList(1, group.size())
+            .stream()
+            .map(it -> ForkJoinTask.adapt(() -> route(it)))
+            .toList()
+        );
+      }
+    }
+
+    private void route(BatchRouteRequest request) {
+      if (cancelled.get()) {
+        return;
+      }
+      T result;
+      var runningRequest = new RunningRequest();
+      running.add(runningRequest);
+      try {
+        // The batch may be cancelled after the check above, before this request is registered
+        if (cancelled.get()) {
+          runningRequest.interrupt();
+        }
+        var response = router.apply(request.request(), accessEgressCache);
+        result = mapper.apply(BatchRouteResult.ok(request, response));
+      } catch (RuntimeException e) {
+        LOG.debug("Batch request {} failed: {}", request.id(), e.getMessage(), e);
+        result = mapper.apply(BatchRouteResult.failed(request, e));
+      } finally {
+        running.remove(runningRequest);
+        runningRequest.done();
+      }
+      // Every request must produce a result, the consumer waits for one per request
+      results.add(result);
+    }
+  }
+
+  /**
+   * A request routed in the current worker thread. The thread is interrupted when the request
+   * times out or the batch is cancelled, like the web server does for the HTTP request thread.
+   */
+  private class RunningRequest {
+
+    private final Thread thread = Thread.currentThread();
+
+    @Nullable
+    private final Future<?> timeout;
+
+    private boolean done = false;
+
+    private RunningRequest() {
+      this.timeout = requestTimeout.isPositive()
+        ? timeoutScheduler.schedule(this::interrupt, requestTimeout.toNanos(), TimeUnit.NANOSECONDS)
+        : null;
+    }
+
+    private synchronized void interrupt() {
+      if (!done) {
+        thread.interrupt();
+      }
+    }
+
+    /**
+     * Call this in the worker thread when the request is done. The interrupt flag is cleared, so
+     * it does not affect the next request routed by the thread.
+     */
+    private void done() {
+      synchronized (this) {
+        done = true;
+      }
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      Thread.interrupted();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package org.opentripplanner.ext.batchrouting.configure;
+
+import dagger.Module;
+import dagger.Provides;
+import jakarta.inject.Singleton;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import javax.annotation.Nullable;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.standalone.config.RouterConfig;
+
+/**
+ * This module creates the batch routing service if the batch routing API is on. The service is
+ * shut down together with the server, see {@code OTPMain}.
+ */
+@Module
+public class BatchRoutingModule {
+
+  /**
+   * All batches share one pool, so running several batches at the same time does not use more
+   * threads than there are processors. Each request in a batch is subject to the API processing
+   * timeout.
+   */
+  @Provides
+  @Singleton
+  @Nullable
+  static BatchRoutingService batchRoutingService(RouterConfig config) {
+    if (OTPFeature.BatchRoutingApi.isOff()) {
+      return null;
+    }
+    var pool = new ForkJoinPool(
+      Runtime.getRuntime().availableProcessors(),
+      BatchRoutingModule::newWorkerThread,
+      null,
+      false
+    );
+    return new BatchRoutingService(pool, config.server().apiProcessingTimeout());
+  }
+
+  private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+    var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("batch-routing-" + thread.getPoolIndex());
+    return thread;
+  }
+}
@@ -7,6 +7,7 @@ import javax.annotation.Nullable;
 import org.opentripplanner.ext.carpooling.CarpoolingRepository;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.carpooling.internal.DefaultCarpoolingRepository;
+import org.opentripplanner.ext.carpooling.routing.InsertionPool;
 import org.opentripplanner.ext.carpooling.service.DefaultCarpoolingService;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.routing.linking.VertexLinker;
@@ -16,6 +17,15 @@ import org.opentripplanner.transit.service.TransitService;
 @Module
 public class CarpoolingModule {
 
+  /**
+   * Insertion evaluation is CPU-bound A* routing, use at most half the cores so concurrent
+   * carpool requests do not starve the rest of the request handling.
+   */
+  private static final int INSERTION_POOL_SIZE = Math.max(
+    1,
+    Runtime.getRuntime().availableProcessors() / 2
+  );
+
   @Provides
   @Singleton
   @Nullable
@@ -26,13 +36,27 @@ public class CarpoolingModule {
     return new DefaultCarpoolingRepository();
   }
 
+  /**
+   * The pool is shut down together with the server, see {@code OTPMain}.
+   */
+  @Provides
+  @Singleton
+  @Nullable
+  public static InsertionPool provideInsertionPool() {
+    if (OTPFeature.CarPooling.isOff()) {
+      return null;
+    }
+    return new InsertionPool(INSERTION_POOL_SIZE);
+  }
+
   @Provides
   @Nullable
   public static CarpoolingService provideCarpoolingService(
     @Nullable CarpoolingRepository repository,
     StreetLimitationParametersService streetLimitationParametersService,
     TransitService transitService,
-    VertexLinker vertexLinker
+    VertexLinker vertexLinker,
+    @Nullable InsertionPool insertionPool
   ) {
     if (OTPFeature.CarPooling.isOff()) {
       return null;
@@ -41,7 +65,8 @@ public class CarpoolingModule {
       repository,
       streetLimitationParametersService,
       transitService,
-      vertexLinker
+      vertexLinker,
+      insertionPool
     );
   }
 }
@@ -99,6 +99,62 @@ public class PassengerDelayConstraints {
     return true;
   }
 
+  /**
+   * Checks if a partially routed insertion is already certain to violate the delay constraints.
+   * <p>
+   * Only the first {@code knownSegments} segments of the modified route have been routed, so
+   * {@code modifiedCumulativePrefix[0..knownSegments]} are exact. Any stop further out in the
+   * modified route is reached no earlier than {@code modifiedCumulativePrefix[knownSegments]},
+   * which gives a lower bound on its delay. If any existing passenger is delayed more than
+   * {@code maxDelay} even with this lower bound, the insertion can be rejected without routing the
+   * remaining segments.
+   *
+   * @param originalCumulativeDurations Cumulative duration to each point in original route
+   * @param modifiedCumulativePrefix Cumulative duration to each point in modified route, only the
+   *                                 first {@code knownSegments + 1} elements are used
+   * @param knownSegments Number of modified route segments routed so far
+   * @param pickupPos Position where passenger pickup is inserted (1-indexed)
+   * @param dropoffPos Position where passenger dropoff is inserted (1-indexed)
+   * @return true if an existing passenger is guaranteed to experience an unacceptable delay
+   */
+  public boolean lowerBoundExceedsMaxDelay(
+    Duration[] originalCumulativeDurations,
+    Duration[] modifiedCumulativePrefix,
+    int knownSegments,
+    int pickupPos,
+    int dropoffPos
+  ) {
+    if (originalCumulativeDurations.length <= 2) {
+      return false;
+    }
+
+    Duration knownTime = modifiedCumulativePrefix[knownSegments];
+
+    for (
+      int originalIndex = 1;
+      originalIndex < originalCumulativeDurations.length - 1;
+      originalIndex++
+    ) {
+      int modifiedIndex = InsertionPosition.mapOriginalIndex(originalIndex, pickupPos, dropoffPos);
+
+      Duration modifiedTimeLowerBound = modifiedIndex <= knownSegments
+        ? modifiedCumulativePrefix[modifiedIndex]
+        : knownTime;
+      Duration delay = modifiedTimeLowerBound.minus(originalCumulativeDurations[originalIndex]);
+
+      if (delay.compareTo(maxDelay) > 0) {
+        LOG.trace(
+          "Insertion pruned: stop at position {} delayed by at least {}s (max: {}s)",
+          originalIndex,
+          delay.getSeconds(),
+          maxDelay.getSeconds()
+        );
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Gets the configured maximum delay.
    *
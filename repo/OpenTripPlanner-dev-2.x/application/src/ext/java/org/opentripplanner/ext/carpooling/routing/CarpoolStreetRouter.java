@@ -1,11 +1,14 @@
 package org.opentripplanner.ext.carpooling.routing;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.PathComparator;
 import org.opentripplanner.core.model.i18n.NonLocalizedString;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
@@ -44,6 +47,10 @@ import org.slf4j.LoggerFactory;
  *   <li><strong>Vertex Linking:</strong> Creates temporary vertices at coordinate locations</li>
  *   <li><strong>Error Handling:</strong> Returns null on routing failure (logged as warning)</li>
  * </ul>
+ * <p>
+ * The router is thread-safe, so it can be used by the pooled {@link InsertionEvaluator}. Vertex
+ * creation is synchronized and each waypoint is linked only once per router, the A* searches run
+ * concurrently.
  *
  * @see InsertionEvaluator for usage in insertion evaluation
  */
@@ -56,6 +63,9 @@ public class CarpoolStreetRouter {
   private final VertexLinker vertexLinker;
   private final TemporaryVerticesContainer temporaryVerticesContainer;
 
+  /** Temporary vertices created for waypoints, guarded by {@code this}. */
+  private final Map<WgsCoordinate, Set<Vertex>> waypointVertices = new HashMap<>();
+
   /**
    * Creates a new carpool street router.
    *
@@ -115,7 +125,8 @@ public class CarpoolStreetRouter {
    * This method first checks if vertices already exist in the LinkingContext (which
    * contains pre-linked vertices for the passenger's origin and destination). If not
    * found (e.g., for driver trip waypoints), it creates a temporary vertex on-demand
-   * using VertexLinker and adds it to the TemporaryVerticesContainer for automatic cleanup.
+   * using VertexLinker and adds it to the TemporaryVerticesContainer for automatic cleanup. The
+   * created vertex is reused if the same coordinate is routed from or to again.
    * <p>
    * This follows the pattern used in VertexCreationService but uses VertexLinker directly
    * to respect package boundaries (VertexCreationService is in the 'internal' package).
@@ -130,6 +141,14 @@ public class CarpoolStreetRouter {
       return vertices;
     }
 
+    synchronized (this) {
+      return waypointVertices.computeIfAbsent(new WgsCoordinate(location.getCoordinate()), c ->
+        createWaypointVertex(location)
+      );
+    }
+  }
+
+  private Set<Vertex> createWaypointVertex(GenericLocation location) {
     var coordinate = location.getCoordinate();
     var tempVertex = new TemporaryStreetLocation(
       coordinate,
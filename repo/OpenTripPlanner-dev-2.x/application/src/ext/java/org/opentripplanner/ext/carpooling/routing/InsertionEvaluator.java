@@ -4,11 +4,19 @@ import static org.opentripplanner.ext.carpooling.util.GraphPathUtils.calculateCu
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.ext.carpooling.constraints.PassengerDelayConstraints;
 import org.opentripplanner.ext.carpooling.model.CarpoolTrip;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.linking.LinkingContext;
@@ -28,6 +36,23 @@ import org.slf4j.LoggerFactory;
  * <p>
  * This follows the established OTP pattern of separating candidate generation
  * from evaluation, similar to {@code TransferGenerator} and {@code OptimizePathDomainService}.
+ *
+ * <h2>Pooled mode</h2>
+ * When created with an {@link InsertionPool}, the evaluator runs in pooled mode, intended for
+ * trips with many existing stops and therefore many candidate positions:
+ * <ul>
+ *   <li>Each distinct (from, to) segment is routed once per request using a {@link SegmentCache},
+ *       also across trips evaluated by the same evaluator.</li>
+ *   <li>Candidates are evaluated concurrently in the pool. Completed candidates tighten a
+ *       shared bound on the additional duration, which lets the other candidates stop early.</li>
+ *   <li>A candidate is pruned as soon as the segments routed so far prove that it can not beat
+ *       the bound, or that it will violate the {@link PassengerDelayConstraints}.</li>
+ *   <li>The request thread waits at most the given timeout for the pool. If the timeout is
+ *       reached, or the request thread is interrupted by the web server, the remaining tasks are
+ *       cancelled and an {@link OTPRequestTimeoutException} is thrown.</li>
+ * </ul>
+ * Pooled mode returns the same insertion as the sequential mode, given that the routing function
+ * is deterministic.
  */
 public class InsertionEvaluator {
 
@@ -39,6 +64,15 @@ public class InsertionEvaluator {
   private final PassengerDelayConstraints delayConstraints;
   private final LinkingContext linkingContext;
 
+  @Nullable
+  private final InsertionPool pool;
+
+  @Nullable
+  private final SegmentCache segmentCache;
+
+  /** The {@link System#nanoTime()} when the request times out, only used in pooled mode. */
+  private final long deadline;
+
   /**
    * Creates an evaluator with the specified routing function, delay constraints, and linking context.
    *
@@ -50,10 +84,44 @@ public class InsertionEvaluator {
     RoutingFunction routingFunction,
     PassengerDelayConstraints delayConstraints,
     LinkingContext linkingContext
+  ) {
+    this(routingFunction, delayConstraints, linkingContext, null, Duration.ZERO);
+  }
+
+  /**
+   * Creates an evaluator running in pooled mode if a pool is given. A new evaluator should be
+   * created for each routing request, since the segment cache and the timeout are bound to the
+   * request.
+   *
+   * @param routingFunction Function that performs A* routing between coordinates, must be
+   *                        thread-safe if a pool is given
+   * @param delayConstraints Constraints for acceptable passenger delays
+   * @param linkingContext Linking context with pre-linked vertices for routing
+   * @param pool Pool used to evaluate candidates concurrently, or null for sequential
+   *             evaluation without segment caching
+   * @param timeout The maximum time this evaluator waits for the pool, counted from now
+   */
+  public InsertionEvaluator(
+    RoutingFunction routingFunction,
+    PassengerDelayConstraints delayConstraints,
+    LinkingContext linkingContext,
+    @Nullable InsertionPool pool,
+    Duration timeout
   ) {
     this.routingFunction = routingFunction;
     this.delayConstraints = delayConstraints;
     this.linkingContext = linkingContext;
+    this.pool = pool;
+    this.segmentCache = pool == null ? null : new SegmentCache(routingFunction, linkingContext);
+    this.deadline = System.nanoTime() + timeout.toNanos();
+  }
+
+  /**
+   * The number of distinct segments routed by this evaluator in pooled mode, or -1 in sequential
+   * mode where segments are not tracked.
+   */
+  public int routedSegmentCount() {
+    return segmentCache == null ? -1 : segmentCache.routingCount();
   }
 
   /**
@@ -107,6 +175,10 @@ public class InsertionEvaluator {
     WgsCoordinate passengerPickup,
     WgsCoordinate passengerDropoff
   ) {
+    if (pool != null) {
+      return findBestInsertionPooled(trip, viablePositions, passengerPickup, passengerDropoff);
+    }
+
     GraphPath<State, Edge, Vertex>[] baselineSegments = routeBaselineSegments(trip.routePoints());
     if (baselineSegments == null) {
       LOG.warn("Could not route baseline for trip {}", trip.getId());
@@ -291,6 +363,250 @@ public class InsertionEvaluator {
     return segments;
   }
 
+  /**
+   * Pooled mode version of {@link #findBestInsertion}. All candidates are evaluated concurrently,
+   * but the result is selected in position order, using the same rules as the sequential mode.
+   */
+  @Nullable
+  private InsertionCandidate findBestInsertionPooled(
+    CarpoolTrip trip,
+    List<InsertionPosition> viablePositions,
+    WgsCoordinate passengerPickup,
+    WgsCoordinate passengerDropoff
+  ) {
+    GraphPath<State, Edge, Vertex>[] baselineSegments = routeBaselineSegmentsPooled(
+      trip.routePoints()
+    );
+    if (baselineSegments == null) {
+      LOG.warn("Could not route baseline for trip {}", trip.getId());
+      return null;
+    }
+
+    Duration[] cumulativeDurations = calculateCumulativeDurations(baselineSegments);
+    Duration baselineDuration = cumulativeDurations[cumulativeDurations.length - 1];
+
+    // The best additional duration found so far, candidates that can not beat it are pruned
+    var bound = new AtomicReference<>(trip.deviationBudget());
+
+    var futures = viablePositions
+      .stream()
+      .map(position ->
+        pool.submit(() -> {
+          var candidate = evaluateInsertionPruned(
+            trip,
+            position.pickupPos(),
+            position.dropoffPos(),
+            passengerPickup,
+            passengerDropoff,
+            baselineSegments,
+            cumulativeDurations,
+            baselineDuration,
+            bound
+          );
+          if (candidate != null) {
+            bound.accumulateAndGet(candidate.additionalDuration(), InsertionEvaluator::min);
+          }
+          return candidate;
+        })
+      )
+      .toList();
+
+    InsertionCandidate bestCandidate = null;
+    Duration minAdditionalDuration = INITIAL_ADDITIONAL_DURATION;
+
+    for (InsertionCandidate candidate : awaitAll(futures)) {
+      if (candidate == null) {
+        continue;
+      }
+      Duration additionalDuration = candidate.additionalDuration();
+      if (
+        additionalDuration.compareTo(minAdditionalDuration) < 0 &&
+        additionalDuration.compareTo(trip.deviationBudget()) <= 0
+      ) {
+        minAdditionalDuration = additionalDuration;
+        bestCandidate = candidate;
+      }
+    }
+
+    LOG.debug(
+      "Evaluated {} positions for trip {}, {} distinct segments routed so far",
+      viablePositions.size(),
+      trip.getId(),
+      segmentCache.routingCount()
+    );
+    return bestCandidate;
+  }
+
+  /**
+   * Routes all baseline segments concurrently through the segment cache.
+   *
+   * @return Array of routed segments, or null if any segment fails to route
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  private GraphPath<State, Edge, Vertex>[] routeBaselineSegmentsPooled(
+    List<WgsCoordinate> routePoints
+  ) {
+    var futures = IntStream.range(0, routePoints.size() - 1)
+      .mapToObj(i ->
+        pool.submit(() -> segmentCache.route(routePoints.get(i), routePoints.get(i + 1)))
+      )
+      .toList();
+
+    GraphPath<State, Edge, Vertex>[] segments = awaitAll(futures).toArray(new GraphPath[0]);
+    for (int i = 0; i < segments.length; i++) {
+      if (segments[i] == null) {
+        LOG.debug("Baseline routing failed for segment {} → {}", i, i + 1);
+        return null;
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Evaluates an insertion like {@link #evaluateInsertion}, but gives up as soon as the segments
+   * routed so far prove the candidate can not be selected. Reused baseline segments are known up
+   * front, the new segments are routed in route order. After each segment two lower bounds are
+   * checked:
+   * <ul>
+   *   <li>The known segment durations (unknown segments count as zero) give a lower bound on the
+   *       additional duration. If it is above {@code bound} the candidate is pruned.</li>
+   *   <li>The cumulative duration of the routed prefix gives a lower bound on the delay of every
+   *       existing stop, see {@link PassengerDelayConstraints#lowerBoundExceedsMaxDelay}.</li>
+   * </ul>
+   */
+  @Nullable
+  private InsertionCandidate evaluateInsertionPruned(
+    CarpoolTrip trip,
+    int pickupPos,
+    int dropoffPos,
+    WgsCoordinate passengerPickup,
+    WgsCoordinate passengerDropoff,
+    GraphPath<State, Edge, Vertex>[] baselineSegments,
+    Duration[] originalCumulativeDurations,
+    Duration baselineDuration,
+    AtomicReference<Duration> bound
+  ) {
+    List<WgsCoordinate> originalPoints = trip.routePoints();
+    List<WgsCoordinate> modifiedPoints = new ArrayList<>(originalPoints);
+    modifiedPoints.add(pickupPos, passengerPickup);
+    modifiedPoints.add(dropoffPos, passengerDropoff);
+
+    int nSegments = modifiedPoints.size() - 1;
+    @SuppressWarnings("unchecked")
+    GraphPath<State, Edge, Vertex>[] segments = new GraphPath[nSegments];
+
+    // The duration of all segments known so far, starting with the reused baseline segments
+    Duration knownDuration = Duration.ZERO;
+    for (int i = 0; i < nSegments; i++) {
+      int baselineIndex = getBaselineSegmentIndex(i, originalPoints, modifiedPoints);
+      if (baselineIndex >= 0 && baselineIndex < baselineSegments.length) {
+        segments[i] = baselineSegments[baselineIndex];
+        knownDuration = knownDuration.plus(duration(segments[i]));
+      }
+    }
+
+    Duration[] modifiedCumulativeDurations = new Duration[nSegments + 1];
+    modifiedCumulativeDurations[0] = Duration.ZERO;
+
+    for (int i = 0; i < nSegments; i++) {
+      if (segments[i] == null) {
+        segments[i] = segmentCache.route(modifiedPoints.get(i), modifiedPoints.get(i + 1));
+        if (segments[i] == null) {
+          LOG.trace("Routing failed for new segment {} → {}", i, i + 1);
+          return null;
+        }
+        knownDuration = knownDuration.plus(duration(segments[i]));
+
+        if (knownDuration.minus(baselineDuration).compareTo(bound.get()) > 0) {
+          LOG.trace(
+            "Insertion at pickup={}, dropoff={} pruned, additional duration exceeds {}s",
+            pickupPos,
+            dropoffPos,
+            bound.get().getSeconds()
+          );
+          return null;
+        }
+      }
+      modifiedCumulativeDurations[i + 1] = modifiedCumulativeDurations[i].plus(
+        duration(segments[i])
+      );
+
+      if (
+        delayConstraints.lowerBoundExceedsMaxDelay(
+          originalCumulativeDurations,
+          modifiedCumulativeDurations,
+          i + 1,
+          pickupPos,
+          dropoffPos
+        )
+      ) {
+        return null;
+      }
+    }
+
+    if (
+      !delayConstraints.satisfiesConstraints(
+        originalCumulativeDurations,
+        modifiedCumulativeDurations,
+        pickupPos,
+        dropoffPos
+      )
+    ) {
+      return null;
+    }
+
+    return new InsertionCandidate(
+      trip,
+      pickupPos,
+      dropoffPos,
+      Arrays.asList(segments),
+      baselineDuration,
+      modifiedCumulativeDurations[nSegments]
+    );
+  }
+
+  private static Duration duration(GraphPath<State, Edge, Vertex> segment) {
+    return Duration.between(
+      segment.states.getFirst().getTime(),
+      segment.states.getLast().getTime()
+    );
+  }
+
+  private static Duration min(Duration a, Duration b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  /**
+   * Wait for the given futures until the deadline and return the results in the same order. If
+   * the deadline is reached or the request thread is interrupted, the remaining tasks are
+   * cancelled and an {@link OTPRequestTimeoutException} is thrown. Runtime exceptions thrown in
+   * the worker threads are rethrown.
+   */
+  private <T> List<T> awaitAll(List<Future<T>> futures) {
+    var result = new ArrayList<T>(futures.size());
+    try {
+      for (var future : futures) {
+        result.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+      }
+      return result;
+    } catch (InterruptedException | TimeoutException e) {
+      // The web server interrupts the request thread when the request times out
+      cancelAll(futures);
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      cancelAll(futures);
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static void cancelAll(List<? extends Future<?>> futures) {
+    futures.forEach(f -> f.cancel(true));
+  }
+
   /**
    * Maps a modified route segment index to the corresponding baseline segment index.
    * Returns -1 if the segment cannot be reused (endpoints don't match).
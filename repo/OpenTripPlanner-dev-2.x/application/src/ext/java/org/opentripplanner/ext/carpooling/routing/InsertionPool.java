@@ -0,0 +1,35 @@
+package org.opentripplanner.ext.carpooling.routing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.opentripplanner.framework.concurrent.OtpRequestThreadFactory;
+
+/**
+ * The bounded thread pool used to evaluate carpool insertion candidates concurrently. The pool is
+ * shared by all requests and owned by the application, it must be shut down together with the
+ * server, see {@link #shutdown()}.
+ */
+public class InsertionPool {
+
+  private final ExecutorService executor;
+
+  public InsertionPool(int size) {
+    this.executor = Executors.newFixedThreadPool(
+      size,
+      OtpRequestThreadFactory.of("carpool-insertion-%d")
+    );
+  }
+
+  <T> Future<T> submit(Callable<T> task) {
+    return executor.submit(task);
+  }
+
+  /**
+   * Stop accepting new tasks, tasks already submitted are completed.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,105 @@
+package org.opentripplanner.ext.carpooling.routing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.linking.LinkingContext;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Per-request cache of routed street segments, keyed by the (from, to) coordinate pair.
+ * <p>
+ * When evaluating insertion positions for pooled rides the same segment is needed by many
+ * candidates: {@code stop[i] → pickup} is shared by every dropoff position after {@code i}, and
+ * {@code pickup → dropoff} by every candidate with adjacent positions. This cache makes sure each
+ * distinct segment is routed exactly once, also when candidates are evaluated concurrently. A
+ * thread asking for a segment that is currently being routed by another thread waits for that
+ * result instead of starting a second A* search.
+ * <p>
+ * Failed routings ({@code null} results) are cached as well; a segment that could not be routed
+ * for one candidate will not be routable for the next one either.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE, but it is not meant to outlive a single routing request; it holds on
+ * to paths through temporary vertices which are disposed when the request completes.
+ */
+class SegmentCache {
+
+  private final RoutingFunction routingFunction;
+  private final LinkingContext linkingContext;
+  private final Map<SegmentKey, CompletableFuture<GraphPath<State, Edge, Vertex>>> segments =
+    new ConcurrentHashMap<>();
+  private final AtomicInteger routingCount = new AtomicInteger();
+
+  SegmentCache(RoutingFunction routingFunction, LinkingContext linkingContext) {
+    this.routingFunction = routingFunction;
+    this.linkingContext = linkingContext;
+  }
+
+  /**
+   * Return the path from {@code from} to {@code to}, routing it if it is not already cached.
+   *
+   * @return the routed path, or null if routing failed
+   */
+  @Nullable
+  GraphPath<State, Edge, Vertex> route(WgsCoordinate from, WgsCoordinate to) {
+    var key = new SegmentKey(from, to);
+    var existing = segments.get(key);
+    if (existing != null) {
+      return join(existing);
+    }
+
+    var future = new CompletableFuture<GraphPath<State, Edge, Vertex>>();
+    existing = segments.putIfAbsent(key, future);
+    if (existing != null) {
+      return join(existing);
+    }
+
+    try {
+      routingCount.incrementAndGet();
+      future.complete(
+        routingFunction.route(
+          GenericLocation.fromCoordinate(from.latitude(), from.longitude()),
+          GenericLocation.fromCoordinate(to.latitude(), to.longitude()),
+          linkingContext
+        )
+      );
+    } catch (RuntimeException e) {
+      // Do not cache exceptions (timeouts, interrupts), let the next caller retry
+      segments.remove(key, future);
+      future.completeExceptionally(e);
+      throw e;
+    }
+    return join(future);
+  }
+
+  /**
+   * The number of times the underlying routing function has been called. This is the number of
+   * distinct segments requested, and is exposed for logging and benchmarking.
+   */
+  int routingCount() {
+    return routingCount.get();
+  }
+
+  private static GraphPath<State, Edge, Vertex> join(
+    CompletableFuture<GraphPath<State, Edge, Vertex>> future
+  ) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw e;
+    }
+  }
+
+  private record SegmentKey(WgsCoordinate from, WgsCoordinate to) {}
+}
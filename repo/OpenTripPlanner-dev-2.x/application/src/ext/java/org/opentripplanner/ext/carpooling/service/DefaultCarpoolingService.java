@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.carpooling.CarpoolingRepository;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.carpooling.constraints.PassengerDelayConstraints;
@@ -13,6 +14,7 @@ import org.opentripplanner.ext.carpooling.internal.CarpoolItineraryMapper;
 import org.opentripplanner.ext.carpooling.routing.CarpoolStreetRouter;
 import org.opentripplanner.ext.carpooling.routing.InsertionCandidate;
 import org.opentripplanner.ext.carpooling.routing.InsertionEvaluator;
+import org.opentripplanner.ext.carpooling.routing.InsertionPool;
 import org.opentripplanner.ext.carpooling.routing.InsertionPosition;
 import org.opentripplanner.ext.carpooling.routing.InsertionPositionFinder;
 import org.opentripplanner.ext.carpooling.util.BeelineEstimator;
@@ -51,7 +53,9 @@ import org.slf4j.LoggerFactory;
  *       (capacity, direction, beeline delay estimates). No routing is performed in this phase.</li>
  *   <li><strong>Insertion Evaluation ({@link InsertionEvaluator}):</strong> For viable positions,
  *       computes actual routes using A* street routing. Evaluates all feasible insertion positions
- *       and selects the one minimizing additional travel time while satisfying delay constraints.</li>
+ *       and selects the one minimizing additional travel time while satisfying delay constraints.
+ *       If an insertion pool is configured, positions are evaluated concurrently with a
+ *       per-request segment cache and early pruning, see the pooled mode of the evaluator.</li>
  * </ol>
  *
  * <h2>Component Dependencies</h2>
@@ -84,6 +88,9 @@ public class DefaultCarpoolingService implements CarpoolingService {
   private final InsertionPositionFinder positionFinder;
   private final VertexLinker vertexLinker;
 
+  @Nullable
+  private final InsertionPool insertionPool;
+
   /**
    * Creates a new carpooling service with the specified dependencies.
    * <p>
@@ -102,6 +109,23 @@ public class DefaultCarpoolingService implements CarpoolingService {
     StreetLimitationParametersService streetLimitationParametersService,
     TransitService transitService,
     VertexLinker vertexLinker
+  ) {
+    this(repository, streetLimitationParametersService, transitService, vertexLinker, null);
+  }
+
+  /**
+   * Creates a new carpooling service evaluating insertion positions concurrently in the given
+   * pool. The request waits at most the street routing timeout for the pool.
+   *
+   * @param insertionPool bounded pool for insertion evaluation, or null to evaluate positions
+   *        sequentially
+   */
+  public DefaultCarpoolingService(
+    CarpoolingRepository repository,
+    StreetLimitationParametersService streetLimitationParametersService,
+    TransitService transitService,
+    VertexLinker vertexLinker,
+    @Nullable InsertionPool insertionPool
   ) {
     this.repository = repository;
     this.streetLimitationParametersService = streetLimitationParametersService;
@@ -110,6 +134,7 @@ public class DefaultCarpoolingService implements CarpoolingService {
     this.delayConstraints = new PassengerDelayConstraints();
     this.positionFinder = new InsertionPositionFinder(delayConstraints, new BeelineEstimator());
     this.vertexLinker = vertexLinker;
+    this.insertionPool = insertionPool;
   }
 
   @Override
@@ -172,7 +197,9 @@ public class DefaultCarpoolingService implements CarpoolingService {
       var insertionEvaluator = new InsertionEvaluator(
         router::route,
         delayConstraints,
-        linkingContext
+        linkingContext,
+        insertionPool,
+        request.preferences().street().routingTimeout()
       );
 
       // Find optimal insertions for remaining trips
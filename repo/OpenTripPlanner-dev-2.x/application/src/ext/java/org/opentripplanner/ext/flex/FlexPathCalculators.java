@@ -0,0 +1,52 @@
+package org.opentripplanner.ext.flex;
+
+import com.google.common.base.Suppliers;
+import java.util.function.Supplier;
+import org.opentripplanner.ext.flex.flexpathcalculator.DirectFlexPathCalculator;
+import org.opentripplanner.ext.flex.flexpathcalculator.FlexPathCalculator;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCalculator;
+import org.opentripplanner.routing.graph.Graph;
+
+/**
+ * The flex path calculators used by all flex searches of one routing request. The direct flex
+ * search and the flex access and egress searches start the one-to-many street searches from the
+ * same vertices, so sharing the calculators lets every flex trip reuse the shortest path trees
+ * already calculated for the request. The calculators are thread-safe.
+ */
+public class FlexPathCalculators {
+
+  private final Supplier<FlexPathCalculator> access;
+  private final Supplier<FlexPathCalculator> egress;
+
+  /**
+   * The calculators are created when they are first used, so this is cheap to create for requests
+   * not using flex.
+   */
+  public FlexPathCalculators(Graph graph, FlexParameters flexParameters) {
+    this.access = Suppliers.memoize(() -> create(graph, flexParameters, false));
+    this.egress = Suppliers.memoize(() -> create(graph, flexParameters, true));
+  }
+
+  /** Calculate the paths from the access stops, searching forward from each of them. */
+  public FlexPathCalculator access() {
+    return access.get();
+  }
+
+  /** Calculate the paths to the egress stops, searching in reverse from each of them. */
+  public FlexPathCalculator egress() {
+    return egress.get();
+  }
+
+  private static FlexPathCalculator create(
+    Graph graph,
+    FlexParameters flexParameters,
+    boolean reverseDirection
+  ) {
+    if (graph.hasStreets) {
+      return new StreetFlexPathCalculator(reverseDirection, flexParameters.maxFlexTripDuration());
+    }
+    // this is only really useful in tests. in real world scenarios you're unlikely to get useful
+    // results if you don't have streets
+    return new DirectFlexPathCalculator();
+  }
+}
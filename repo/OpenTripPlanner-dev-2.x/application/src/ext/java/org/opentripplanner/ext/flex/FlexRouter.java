@@ -7,12 +7,11 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.core.model.id.FeedScopedId;
-import org.opentripplanner.ext.flex.flexpathcalculator.DirectFlexPathCalculator;
 import org.opentripplanner.ext.flex.flexpathcalculator.FlexPathCalculator;
-import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCalculator;
 import org.opentripplanner.ext.flex.template.DirectFlexPath;
 import org.opentripplanner.ext.flex.template.FlexAccessEgressCallbackAdapter;
 import org.opentripplanner.ext.flex.template.FlexAccessFactory;
@@ -70,7 +69,8 @@ public class FlexRouter {
     int additionalPastSearchDays,
     int additionalFutureSearchDays,
     Collection<NearbyStop> streetAccesses,
-    Collection<NearbyStop> streetEgresses
+    Collection<NearbyStop> streetEgresses,
+    FlexPathCalculators flexPathCalculators
   ) {
     this.graph = graph;
     this.transitService = transitService;
@@ -90,21 +90,8 @@ public class FlexRouter {
       graph.ellipsoidToGeoidDifference
     );
 
-    if (graph.hasStreets) {
-      this.accessFlexPathCalculator = new StreetFlexPathCalculator(
-        false,
-        flexParameters.maxFlexTripDuration()
-      );
-      this.egressFlexPathCalculator = new StreetFlexPathCalculator(
-        true,
-        flexParameters.maxFlexTripDuration()
-      );
-    } else {
-      // this is only really useful in tests. in real world scenarios you're unlikely to get useful
-      // results if you don't have streets
-      this.accessFlexPathCalculator = new DirectFlexPathCalculator();
-      this.egressFlexPathCalculator = new DirectFlexPathCalculator();
-    }
+    this.accessFlexPathCalculator = flexPathCalculators.access();
+    this.egressFlexPathCalculator = flexPathCalculators.egress();
 
     ZoneId tz = transitService.getTimeZone();
     LocalDate searchDate = LocalDate.ofInstant(requestedTime, tz);
@@ -147,7 +134,11 @@ public class FlexRouter {
     return itineraries;
   }
 
-  public Collection<FlexAccessEgress> createFlexAccesses() {
+  /**
+   * @param executor The executor to create the flex accesses in parallel with, if
+   *                 {@code null} they are created in the calling thread.
+   */
+  public Collection<FlexAccessEgress> createFlexAccesses(@Nullable ExecutorService executor) {
     OTPRequestTimeoutException.checkForTimeout();
 
     return new FlexAccessFactory(
@@ -155,17 +146,21 @@ public class FlexRouter {
       accessFlexPathCalculator,
       flexParameters.maxTransferDuration(),
       matcher
-    ).createFlexAccesses(streetAccesses, dates);
+    ).createFlexAccesses(streetAccesses, dates, executor);
   }
 
-  public Collection<FlexAccessEgress> createFlexEgresses() {
+  /**
+   * @param executor The executor to create the flex egresses in parallel with, if
+   *                 {@code null} they are created in the calling thread.
+   */
+  public Collection<FlexAccessEgress> createFlexEgresses(@Nullable ExecutorService executor) {
     OTPRequestTimeoutException.checkForTimeout();
     return new FlexEgressFactory(
       callbackService,
       egressFlexPathCalculator,
       flexParameters.maxTransferDuration(),
       matcher
-    ).createFlexEgresses(streetEgresses, dates);
+    ).createFlexEgresses(streetEgresses, dates, executor);
   }
 
   private List<FlexServiceDate> createFlexServiceDates(
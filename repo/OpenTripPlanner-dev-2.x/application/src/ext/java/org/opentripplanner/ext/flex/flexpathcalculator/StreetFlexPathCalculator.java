@@ -1,8 +1,11 @@
 package org.opentripplanner.ext.flex.flexpathcalculator;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
@@ -30,10 +33,16 @@ import org.opentripplanner.street.search.strategy.DominanceFunctions;
  * configured so that the caching is done with either the origin or destination vertex as the key.
  * The one-to-many search will then either be done in the forward or the reverse direction depending
  * on this configuration.
+ * <p>
+ * The calculator is thread-safe, so it can be shared by the flex searches of a request running in
+ * parallel. Each ShortestPathTree is only calculated once, other threads needing the same tree
+ * wait for it. The search runs outside the cache map, so searches from other vertices are never
+ * blocked by it.
  */
 public class StreetFlexPathCalculator implements FlexPathCalculator {
 
-  private final Map<Vertex, ShortestPathTree<State, Edge, Vertex>> cache = new HashMap<>();
+  private final ConcurrentMap<Vertex, Future<ShortestPathTree<State, Edge, Vertex>>> cache =
+    new ConcurrentHashMap<>();
   private final boolean reverseDirection;
   private final Duration maxFlexTripDuration;
 
@@ -54,13 +63,7 @@ public class StreetFlexPathCalculator implements FlexPathCalculator {
     Vertex originVertex = reverseDirection ? tov : fromv;
     Vertex destinationVertex = reverseDirection ? fromv : tov;
 
-    ShortestPathTree<State, Edge, Vertex> shortestPathTree;
-    if (cache.containsKey(originVertex)) {
-      shortestPathTree = cache.get(originVertex);
-    } else {
-      shortestPathTree = routeToMany(originVertex);
-      cache.put(originVertex, shortestPathTree);
-    }
+    var shortestPathTree = shortestPathTree(originVertex);
 
     GraphPath<State, Edge, Vertex> path = shortestPathTree.getPath(destinationVertex);
     if (path == null) {
@@ -78,6 +81,31 @@ public class StreetFlexPathCalculator implements FlexPathCalculator {
     );
   }
 
+  private ShortestPathTree<State, Edge, Vertex> shortestPathTree(Vertex originVertex) {
+    var tree = cache.get(originVertex);
+    if (tree == null) {
+      var task = new FutureTask<>(() -> routeToMany(originVertex));
+      tree = cache.putIfAbsent(originVertex, task);
+      if (tree == null) {
+        tree = task;
+        task.run();
+      }
+    }
+    try {
+      return tree.get();
+    } catch (InterruptedException e) {
+      // The request thread is interrupted when the request times out
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      // Let the next caller search again, the search may fail because the request timed out
+      cache.remove(originVertex, tree);
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
   private ShortestPathTree<State, Edge, Vertex> routeToMany(Vertex vertex) {
     // TODO: This is incorrect, the configured defaults are not used.
     var routingRequest = RouteRequest.of().withArriveBy(reverseDirection).buildDefault();
@@ -3,6 +3,8 @@ package org.opentripplanner.ext.flex.template;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.flex.FlexAccessEgress;
 import org.opentripplanner.ext.flex.flexpathcalculator.FlexPathCalculator;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
@@ -26,16 +28,22 @@ public class FlexAccessFactory {
     this.templateFactory = FlexTemplateFactory.of(pathCalculator, maxTransferDuration);
   }
 
+  /**
+   * @param executor The executor to create the flex accesses of the templates in parallel with, if
+   *                 {@code null} they are created in the calling thread.
+   */
   public List<FlexAccessEgress> createFlexAccesses(
     Collection<NearbyStop> streetAccesses,
-    List<FlexServiceDate> dates
+    List<FlexServiceDate> dates,
+    @Nullable ExecutorService executor
   ) {
     var flexAccessTemplates = calculateFlexAccessTemplates(streetAccesses, dates);
-
-    return flexAccessTemplates
-      .stream()
-      .flatMap(template -> template.createFlexAccessEgressStream(callbackService))
-      .toList();
+    // The templates share the flex path calculator, which is thread-safe
+    return ParallelTasks.flatMap(
+      flexAccessTemplates,
+      template -> template.createFlexAccessEgressStream(callbackService),
+      executor
+    );
   }
 
   List<FlexAccessTemplate> calculateFlexAccessTemplates(
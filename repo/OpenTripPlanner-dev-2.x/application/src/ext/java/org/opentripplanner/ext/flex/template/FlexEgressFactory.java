@@ -3,6 +3,8 @@ package org.opentripplanner.ext.flex.template;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.flex.FlexAccessEgress;
 import org.opentripplanner.ext.flex.flexpathcalculator.FlexPathCalculator;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
@@ -26,16 +28,22 @@ public class FlexEgressFactory {
     this.templateFactory = FlexTemplateFactory.of(pathCalculator, maxTransferDuration);
   }
 
+  /**
+   * @param executor The executor to create the flex egresses of the templates in parallel with, if
+   *                 {@code null} they are created in the calling thread.
+   */
   public List<FlexAccessEgress> createFlexEgresses(
     Collection<NearbyStop> streetEgresses,
-    List<FlexServiceDate> dates
+    List<FlexServiceDate> dates,
+    @Nullable ExecutorService executor
   ) {
     var flexEgressTemplates = calculateFlexEgressTemplates(streetEgresses, dates);
-
-    return flexEgressTemplates
-      .stream()
-      .flatMap(template -> template.createFlexAccessEgressStream(callbackService))
-      .toList();
+    // The templates share the flex path calculator, which is thread-safe
+    return ParallelTasks.flatMap(
+      flexEgressTemplates,
+      template -> template.createFlexAccessEgressStream(callbackService),
+      executor
+    );
   }
 
   List<FlexEgressTemplate> calculateFlexEgressTemplates(
@@ -0,0 +1,90 @@
+package org.opentripplanner.ext.flex.template;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+
+/**
+ * Map the flex templates of a request to flex accesses or egresses, in parallel if an executor is
+ * given.
+ * <p>
+ * The executor is shared with the transit searches of all requests, so the templates are split
+ * into a few tasks, and the request thread runs the tasks no pool thread has started yet. The web
+ * server interrupts the request thread when the request times out. The request thread then cancels
+ * the tasks, which interrupts the pool threads running them.
+ */
+final class ParallelTasks {
+
+  /** The maximum number of tasks the items are split into. */
+  private static final int MAX_TASKS = Runtime.getRuntime().availableProcessors();
+
+  private ParallelTasks() {}
+
+  /**
+   * Map each item to a stream and concatenate the results, in the order of the items.
+   *
+   * @param executor The executor to map the items in parallel with, if {@code null} the items are
+   *                 mapped in the calling thread.
+   */
+  static <T, R> List<R> flatMap(
+    List<T> items,
+    Function<? super T, Stream<R>> mapper,
+    @Nullable ExecutorService executor
+  ) {
+    if (executor == null || items.size() < 2) {
+      return items.stream().flatMap(mapper).toList();
+    }
+
+    int taskSize = (items.size() + MAX_TASKS - 1) / MAX_TASKS;
+    List<FutureTask<List<R>>> tasks = Lists.partition(items, taskSize)
+      .stream()
+      .map(part ->
+        new FutureTask<>(() -> {
+          OTPRequestTimeoutException.checkForTimeout();
+          return part.stream().flatMap(mapper).toList();
+        })
+      )
+      .toList();
+    try {
+      for (var task : tasks) {
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          // The task is run in this thread below
+        }
+      }
+      var result = new ArrayList<R>();
+      for (var task : tasks) {
+        // Run the task in this thread if no pool thread has started it yet, so it does not queue
+        // behind the transit searches in the pool. This does nothing if it is started.
+        task.run();
+        result.addAll(await(task));
+      }
+      return result;
+    } finally {
+      tasks.forEach(task -> task.cancel(true));
+    }
+  }
+
+  private static <R> List<R> await(FutureTask<List<R>> task) {
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      // The web server interrupts the request thread when the request times out
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,372 @@
+package org.opentripplanner.ext.geocoder;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+
+/**
+ * A compact memory-resident index used to autocomplete names and codes while the user is typing.
+ * It is an alternative to the Lucene completion suggester in {@link LuceneIndex}.
+ * <p>
+ * Names and codes are split into normalized tokens: lower case, without diacritics, without
+ * English stop words and without the number suffixes in American street names ("148th" becomes
+ * "148"). The unique tokens are kept in one sorted array, with a posting list of the entries
+ * containing each token. A query token is found by binary search, and is matched exactly, as a
+ * prefix or with a small edit distance. All query tokens must match, except stop words.
+ * <p>
+ * The matches are ranked by how well each token matches, how much of the name is covered by the
+ * query and, if a focus point is given, by the distance to it. Entries with the same name are
+ * only returned once, like the Lucene suggester does.
+ * <p>
+ * This class is thread-safe, it is not changed after it is built.
+ */
+class AutocompleteIndex<T> {
+
+  static final int MAX_RESULTS = 25;
+
+  private static final double EXACT_MATCH = 1.0;
+  private static final double PREFIX_MATCH = 0.8;
+  private static final double FUZZY_MATCH = 0.5;
+  private static final double NAME_COVERAGE_WEIGHT = 0.5;
+
+  /** The weight of a result at the focus point, it is halved at {@link #FOCUS_DISTANCE_M}. */
+  private static final double FOCUS_WEIGHT = 1.0;
+  private static final double FOCUS_DISTANCE_M = 5_000;
+
+  /** The first characters of a token must match exactly for a fuzzy match. */
+  private static final int NON_FUZZY_PREFIX = 2;
+  private static final int MIN_FUZZY_LENGTH = 4;
+  private static final int MIN_TWO_EDITS_LENGTH = 8;
+
+  private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern NUMBER_SUFFIX = Pattern.compile("(\\d+)(st|nd|rd|th)");
+  private static final Set<String> STOP_WORDS = Set.of(
+    "a",
+    "an",
+    "and",
+    "at",
+    "in",
+    "of",
+    "on",
+    "the",
+    "to"
+  );
+
+  private final List<T> values;
+  private final String[] labels;
+  private final int[] nameTokenCount;
+  private final double[] latitudes;
+  private final double[] longitudes;
+
+  /** The unique tokens of all entries, in natural order. */
+  private final String[] terms;
+
+  /** The entries containing each term, in increasing order. */
+  private final int[][] postings;
+
+  private AutocompleteIndex(Builder<T> builder) {
+    this.values = List.copyOf(builder.values);
+    this.labels = builder.labels.toArray(String[]::new);
+    this.nameTokenCount = builder.nameTokenCount.toArray();
+    this.latitudes = builder.latitudes.stream().mapToDouble(Double::doubleValue).toArray();
+    this.longitudes = builder.longitudes.stream().mapToDouble(Double::doubleValue).toArray();
+    this.terms = builder.postings.keySet().stream().sorted().toArray(String[]::new);
+    this.postings = new int[terms.length][];
+    for (int i = 0; i < terms.length; ++i) {
+      postings[i] = builder.postings.get(terms[i]).toArray();
+    }
+  }
+
+  static <T> Builder<T> of() {
+    return new Builder<>();
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  int numberOfTerms() {
+    return terms.length;
+  }
+
+  /**
+   * Find the best matches for the given text, the last token of the text is matched as a prefix.
+   *
+   * @param focus If set, the entries close to this point are ranked higher.
+   */
+  Stream<T> query(String text, @Nullable WgsCoordinate focus) {
+    var tokens = tokenize(text, false);
+    if (tokens.isEmpty()) {
+      return Stream.empty();
+    }
+    boolean allStopWords = tokens.stream().allMatch(STOP_WORDS::contains);
+
+    var state = new QueryState(values.size());
+    for (int i = 0; i < tokens.size(); ++i) {
+      var token = tokens.get(i);
+      boolean required = allStopWords || !STOP_WORDS.contains(token);
+      state.startToken(required);
+      matchToken(token, i == tokens.size() - 1, state);
+    }
+    return rank(state, focus).map(values::get);
+  }
+
+  /**
+   * Split a text into normalized tokens. If {@code removeStopWords} is false the stop words are
+   * kept, the query needs them since a stop word may be the prefix of a longer word.
+   */
+  static List<String> tokenize(String text, boolean removeStopWords) {
+    var normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+      .replaceAll("")
+      .toLowerCase(Locale.ROOT);
+
+    var tokens = new ArrayList<String>();
+    for (var token : SEPARATOR.split(normalized)) {
+      if (token.isEmpty() || (removeStopWords && STOP_WORDS.contains(token))) {
+        continue;
+      }
+      tokens.add(NUMBER_SUFFIX.matcher(token).matches() ? token.replaceAll("\\D", "") : token);
+    }
+    return tokens;
+  }
+
+  private void matchToken(String token, boolean last, QueryState state) {
+    int start = Arrays.binarySearch(terms, token);
+    if (start >= 0) {
+      state.add(postings[start], EXACT_MATCH);
+      ++start;
+    } else {
+      start = -start - 1;
+    }
+    for (int i = start; i < terms.length && terms[i].startsWith(token); ++i) {
+      state.add(postings[i], PREFIX_MATCH);
+    }
+
+    if (token.length() < MIN_FUZZY_LENGTH) {
+      return;
+    }
+    int maxEdits = token.length() < MIN_TWO_EDITS_LENGTH ? 1 : 2;
+    var prefix = token.substring(0, NON_FUZZY_PREFIX);
+    int i = Arrays.binarySearch(terms, prefix);
+    for (i = i < 0 ? -i - 1 : i; i < terms.length && terms[i].startsWith(prefix); ++i) {
+      var term = terms[i];
+      if (term.startsWith(token)) {
+        // Already added as an exact or prefix match
+        continue;
+      }
+      if (Math.abs(term.length() - token.length()) > maxEdits && !last) {
+        continue;
+      }
+      if (editDistance(token, term, last) <= maxEdits) {
+        state.add(postings[i], FUZZY_MATCH);
+      }
+    }
+  }
+
+  private Stream<Integer> rank(QueryState state, @Nullable WgsCoordinate focus) {
+    var candidates = state.matches();
+    int n = candidates.size();
+    var hits = new Hit[n];
+    for (int i = 0; i < n; ++i) {
+      int entry = candidates.get(i);
+      double coverage = Math.min(1.0, (double) state.nRequired / nameTokenCount[entry]);
+      double score = state.score[entry] + NAME_COVERAGE_WEIGHT * coverage;
+      if (focus != null) {
+        double distance = SphericalDistanceLibrary.fastDistance(
+          focus.latitude(),
+          focus.longitude(),
+          latitudes[entry],
+          longitudes[entry]
+        );
+        score += (FOCUS_WEIGHT * FOCUS_DISTANCE_M) / (FOCUS_DISTANCE_M + distance);
+      }
+      hits[i] = new Hit(entry, score);
+    }
+    Arrays.sort(
+      hits,
+      Comparator.comparingDouble(Hit::score)
+        .reversed()
+        .thenComparing(hit -> labels[hit.entry])
+        .thenComparingInt(Hit::entry)
+    );
+
+    var seenLabels = new HashSet<String>();
+    return Arrays.stream(hits)
+      .map(Hit::entry)
+      .filter(entry -> seenLabels.add(labels[entry]))
+      .limit(MAX_RESULTS);
+  }
+
+  /**
+   * The optimal string alignment distance, the Levenshtein distance where swapping two adjacent
+   * characters counts as one edit. If {@code prefix} is true, the distance to the closest prefix
+   * of the term is returned.
+   */
+  static int editDistance(String token, String term, boolean prefix) {
+    int m = token.length();
+    int n = term.length();
+    int[] prev2 = new int[n + 1];
+    int[] prev = new int[n + 1];
+    int[] row = new int[n + 1];
+
+    for (int j = 0; j <= n; ++j) {
+      prev[j] = j;
+    }
+    for (int i = 1; i <= m; ++i) {
+      row[0] = i;
+      for (int j = 1; j <= n; ++j) {
+        int cost = token.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+        int d = Math.min(Math.min(prev[j] + 1, row[j - 1] + 1), prev[j - 1] + cost);
+        if (
+          i > 1 &&
+          j > 1 &&
+          token.charAt(i - 1) == term.charAt(j - 2) &&
+          token.charAt(i - 2) == term.charAt(j - 1)
+        ) {
+          d = Math.min(d, prev2[j - 2] + 1);
+        }
+        row[j] = d;
+      }
+      var tmp = prev2;
+      prev2 = prev;
+      prev = row;
+      row = tmp;
+    }
+    if (!prefix) {
+      return prev[n];
+    }
+    int min = prev[0];
+    for (int j = 1; j <= n; ++j) {
+      min = Math.min(min, prev[j]);
+    }
+    return min;
+  }
+
+  private record Hit(int entry, double score) {}
+
+  /**
+   * Keep track of the entries matching the query tokens so far. An entry can match a token with
+   * more than one term, only the best match is counted. This relies on the terms being added in
+   * order of decreasing score for each token.
+   */
+  private static class QueryState {
+
+    private final double[] score;
+    private final int[] lastToken;
+    private final int[] requiredMatches;
+    private final TIntArrayList candidates = new TIntArrayList();
+    private int token = 0;
+    private int nRequired = 0;
+    private boolean required;
+
+    private QueryState(int nEntries) {
+      this.score = new double[nEntries];
+      this.lastToken = new int[nEntries];
+      this.requiredMatches = new int[nEntries];
+    }
+
+    void startToken(boolean required) {
+      ++token;
+      this.required = required;
+      if (required) {
+        ++nRequired;
+      }
+    }
+
+    void add(int[] entries, double tokenScore) {
+      for (int entry : entries) {
+        if (lastToken[entry] == token) {
+          continue;
+        }
+        lastToken[entry] = token;
+        if (required) {
+          if (requiredMatches[entry] != nRequired - 1) {
+            continue;
+          }
+          if (nRequired == 1) {
+            candidates.add(entry);
+          }
+          ++requiredMatches[entry];
+        }
+        score[entry] += tokenScore;
+      }
+    }
+
+    TIntArrayList matches() {
+      var result = new TIntArrayList();
+      for (int i = 0; i < candidates.size(); ++i) {
+        int entry = candidates.get(i);
+        if (requiredMatches[entry] == nRequired) {
+          result.add(entry);
+        }
+      }
+      return result;
+    }
+  }
+
+  static class Builder<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final List<String> labels = new ArrayList<>();
+    private final TIntArrayList nameTokenCount = new TIntArrayList();
+    private final List<Double> latitudes = new ArrayList<>();
+    private final List<Double> longitudes = new ArrayList<>();
+    private final Map<String, TIntArrayList> postings = new HashMap<>();
+
+    private Builder() {}
+
+    /**
+     * Add an entry with its names and codes. The first name is used to detect duplicates.
+     */
+    Builder<T> add(
+      T value,
+      Collection<String> names,
+      Collection<String> codes,
+      WgsCoordinate coordinate
+    ) {
+      int entry = values.size();
+      values.add(value);
+      labels.add(names.isEmpty() ? String.join(" ", codes) : names.iterator().next());
+      latitudes.add(coordinate.latitude());
+      longitudes.add(coordinate.longitude());
+
+      int count = 0;
+      boolean first = true;
+      for (var text : Stream.concat(names.stream(), codes.stream()).toList()) {
+        var tokens = tokenize(text, true);
+        if (first) {
+          count = tokens.size();
+          first = false;
+        }
+        for (var token : tokens) {
+          var list = postings.computeIfAbsent(token, t -> new TIntArrayList());
+          // Entries are added in increasing order, so only the last needs to be checked
+          if (list.isEmpty() || list.get(list.size() - 1) != entry) {
+            list.add(entry);
+          }
+        }
+      }
+      nameTokenCount.add(Math.max(1, count));
+      return this;
+    }
+
+    AutocompleteIndex<T> build() {
+      return new AutocompleteIndex<>(this);
+    }
+  }
+}
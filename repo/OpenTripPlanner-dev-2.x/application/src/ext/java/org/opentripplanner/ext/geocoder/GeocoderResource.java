@@ -14,6 +14,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.transit.model.site.StopLocation;
 
@@ -51,6 +53,9 @@ public class GeocoderResource {
    * @param autocomplete Whether we should use the query string to do a prefix match
    * @param stops        Search for stops, either by name or stop code
    * @param clusters     Search for clusters by their name
+   * @param focusLat     The latitude of a point to rank the results close to it higher, only used
+   *                     for autocomplete together with {@code focusLon}
+   * @param focusLon     The longitude of the focus point
    * @return list of results in the format expected by GeocoderBuiltin.js in the OTP Leaflet
    * client
    */
@@ -59,10 +64,13 @@ public class GeocoderResource {
     @QueryParam("query") String query,
     @QueryParam("autocomplete") @DefaultValue("false") boolean autocomplete,
     @QueryParam("stops") @DefaultValue("true") boolean stops,
-    @QueryParam("clusters") @DefaultValue("false") boolean clusters
+    @QueryParam("clusters") @DefaultValue("false") boolean clusters,
+    @QueryParam("focusLat") Double focusLat,
+    @QueryParam("focusLon") Double focusLon
   ) {
+    var focus = WgsCoordinate.creatOptionalCoordinate(focusLat, focusLon);
     return Response.status(Response.Status.OK)
-      .entity(query(query, autocomplete, stops, clusters))
+      .entity(query(query, autocomplete, stops, clusters, focus))
       .build();
   }
 
@@ -78,24 +86,29 @@ public class GeocoderResource {
     String query,
     boolean autocomplete,
     boolean stops,
-    boolean clusters
+    boolean clusters,
+    @Nullable WgsCoordinate focus
   ) {
     List<SearchResult> results = new ArrayList<>();
 
     if (stops) {
-      results.addAll(queryStopLocations(query, autocomplete));
+      results.addAll(queryStopLocations(query, autocomplete, focus));
     }
 
     if (clusters) {
-      results.addAll(queryStations(query, autocomplete));
+      results.addAll(queryStations(query, autocomplete, focus));
     }
 
     return results;
   }
 
-  private Collection<SearchResult> queryStopLocations(String query, boolean autocomplete) {
+  private Collection<SearchResult> queryStopLocations(
+    String query,
+    boolean autocomplete,
+    @Nullable WgsCoordinate focus
+  ) {
     return luceneIndex
-      .queryStopLocations(query, autocomplete)
+      .queryStopLocations(query, autocomplete, focus)
       .map(sl ->
         new SearchResult(
           sl.getCoordinate().latitude(),
@@ -107,9 +120,13 @@ public class GeocoderResource {
       .collect(Collectors.toList());
   }
 
-  private Collection<? extends SearchResult> queryStations(String query, boolean autocomplete) {
+  private Collection<? extends SearchResult> queryStations(
+    String query,
+    boolean autocomplete,
+    @Nullable WgsCoordinate focus
+  ) {
     return luceneIndex
-      .queryStopLocationGroups(query, autocomplete)
+      .queryStopLocationGroups(query, autocomplete, focus)
       .map(sc ->
         new SearchResult(
           sc.getCoordinate().latitude(),
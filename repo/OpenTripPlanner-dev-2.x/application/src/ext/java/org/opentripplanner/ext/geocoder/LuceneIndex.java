@@ -44,6 +44,7 @@ import org.apache.lucene.store.ByteBuffersDirectory;
 import org.opentripplanner.core.model.i18n.I18NString;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.site.StopLocationsGroup;
 import org.opentripplanner.transit.service.DefaultTransitService;
@@ -68,16 +69,34 @@ public class LuceneIndex implements Serializable {
   private final SuggestIndexSearcher searcher;
   private final StopClusterMapper stopClusterMapper;
 
+  /**
+   * The in-memory indexes used for autocomplete instead of the Lucene suggester, these are only
+   * built if enabled.
+   */
+  @Nullable
+  private final AutocompleteIndex<FeedScopedId> stopLocationAutocomplete;
+
+  @Nullable
+  private final AutocompleteIndex<FeedScopedId> stopLocationsGroupAutocomplete;
+
   /**
    * Since the {@link TransitService} is request scoped, we don't inject it into this class.
    * However, we do need some methods in the service and that's why we instantiate it manually in this
    * constructor.
+   *
+   * @param inMemoryAutocomplete Use the {@link AutocompleteIndex} for autocomplete queries of stop
+   *                             locations and groups, instead of the Lucene suggester.
    */
   public LuceneIndex(
     TimetableRepository timetableRepository,
-    StopConsolidationService stopConsolidationService
+    StopConsolidationService stopConsolidationService,
+    boolean inMemoryAutocomplete
   ) {
-    this(new DefaultTransitService(timetableRepository), stopConsolidationService);
+    this(
+      new DefaultTransitService(timetableRepository),
+      stopConsolidationService,
+      inMemoryAutocomplete
+    );
   }
 
   /**
@@ -86,6 +105,17 @@ public class LuceneIndex implements Serializable {
   LuceneIndex(
     TransitService transitService,
     @Nullable StopConsolidationService stopConsolidationService
+  ) {
+    this(transitService, stopConsolidationService, false);
+  }
+
+  /**
+   * This method is only visible for testing.
+   */
+  LuceneIndex(
+    TransitService transitService,
+    @Nullable StopConsolidationService stopConsolidationService,
+    boolean inMemoryAutocomplete
   ) {
     this.transitService = transitService;
     this.stopClusterMapper = new StopClusterMapper(transitService, stopConsolidationService);
@@ -99,6 +129,38 @@ public class LuceneIndex implements Serializable {
       )
     );
 
+    if (inMemoryAutocomplete) {
+      var stopLocations = AutocompleteIndex.<FeedScopedId>of();
+      transitService
+        .listStopLocations()
+        .forEach(it ->
+          stopLocations.add(
+            it.getId(),
+            names(ListUtils.ofNullable(it.getName())),
+            ListUtils.ofNullable(it.getCode()),
+            it.getCoordinate()
+          )
+        );
+      var groups = AutocompleteIndex.<FeedScopedId>of();
+      transitService
+        .listStopLocationGroups()
+        .forEach(it ->
+          groups.add(
+            it.getId(),
+            names(ListUtils.ofNullable(it.getName())),
+            List.of(),
+            it.getCoordinate()
+          )
+        );
+      this.stopLocationAutocomplete = stopLocations.build();
+      this.stopLocationsGroupAutocomplete = groups.build();
+    } else {
+      this.stopLocationAutocomplete = null;
+      this.stopLocationsGroupAutocomplete = null;
+    }
+    // The suggest field is only used for autocomplete, skip it if the in-memory index is used
+    boolean suggest = !inMemoryAutocomplete;
+
     var directory = new ByteBuffersDirectory();
 
     try {
@@ -119,7 +181,8 @@ public class LuceneIndex implements Serializable {
               ListUtils.ofNullable(stopLocation.getName()),
               ListUtils.ofNullable(stopLocation.getCode()),
               stopLocation.getCoordinate().latitude(),
-              stopLocation.getCoordinate().longitude()
+              stopLocation.getCoordinate().longitude(),
+              suggest
             )
           );
 
@@ -134,7 +197,8 @@ public class LuceneIndex implements Serializable {
               ListUtils.ofNullable(stopLocationsGroup.getName()),
               List.of(),
               stopLocationsGroup.getCoordinate().latitude(),
-              stopLocationsGroup.getCoordinate().longitude()
+              stopLocationsGroup.getCoordinate().longitude(),
+              suggest
             )
           );
 
@@ -152,7 +216,8 @@ public class LuceneIndex implements Serializable {
               stopCluster.names(),
               stopCluster.codes(),
               stopCluster.coordinate().lat(),
-              stopCluster.coordinate().lon()
+              stopCluster.coordinate().lon(),
+              false
             )
           );
       }
@@ -165,12 +230,44 @@ public class LuceneIndex implements Serializable {
   }
 
   public Stream<StopLocation> queryStopLocations(String query, boolean autocomplete) {
+    return queryStopLocations(query, autocomplete, null);
+  }
+
+  /**
+   * @param focus If set, the stops close to this point are ranked higher. This is only supported
+   *              by the in-memory autocomplete index.
+   */
+  public Stream<StopLocation> queryStopLocations(
+    String query,
+    boolean autocomplete,
+    @Nullable WgsCoordinate focus
+  ) {
+    if (autocomplete && stopLocationAutocomplete != null) {
+      return stopLocationAutocomplete.query(query, focus).map(transitService::getStopLocation);
+    }
     return matchingDocuments(StopLocation.class, query, autocomplete).map(document ->
       transitService.getStopLocation(FeedScopedId.parse(document.get(ID)))
     );
   }
 
   public Stream<StopLocationsGroup> queryStopLocationGroups(String query, boolean autocomplete) {
+    return queryStopLocationGroups(query, autocomplete, null);
+  }
+
+  /**
+   * @param focus If set, the groups close to this point are ranked higher. This is only supported
+   *              by the in-memory autocomplete index.
+   */
+  public Stream<StopLocationsGroup> queryStopLocationGroups(
+    String query,
+    boolean autocomplete,
+    @Nullable WgsCoordinate focus
+  ) {
+    if (autocomplete && stopLocationsGroupAutocomplete != null) {
+      return stopLocationsGroupAutocomplete
+        .query(query, focus)
+        .map(transitService::getStopLocationsGroup);
+    }
     return matchingDocuments(StopLocationsGroup.class, query, autocomplete).map(document ->
       transitService.getStopLocationsGroup(FeedScopedId.parse(document.get(ID)))
     );
@@ -189,6 +286,10 @@ public class LuceneIndex implements Serializable {
     return matchingDocuments(StopCluster.class, query, false).map(this::toStopCluster);
   }
 
+  private static List<String> names(Collection<I18NString> names) {
+    return names.stream().map(Objects::toString).toList();
+  }
+
   private StopCluster toStopCluster(Document document) {
     var primaryId = FeedScopedId.parse(document.get(ID));
     var primary = stopClusterMapper.toLocation(primaryId);
@@ -226,7 +327,8 @@ public class LuceneIndex implements Serializable {
     Collection<I18NString> names,
     Collection<String> codes,
     double latitude,
-    double longitude
+    double longitude,
+    boolean suggest
   ) {
     String typeName = type.getSimpleName();
 
@@ -239,14 +341,18 @@ public class LuceneIndex implements Serializable {
     for (var name : names) {
       document.add(new TextField(NAME, Objects.toString(name), Store.YES));
       document.add(new TextField(NAME_NGRAM, Objects.toString(name), Store.YES));
-      document.add(new ContextSuggestField(SUGGEST, Objects.toString(name), 1, typeName));
+      if (suggest) {
+        document.add(new ContextSuggestField(SUGGEST, Objects.toString(name), 1, typeName));
+      }
     }
     document.add(new StoredField(LAT, latitude));
     document.add(new StoredField(LON, longitude));
 
     for (var code : codes) {
       document.add(new TextField(CODE, code, Store.YES));
-      document.add(new ContextSuggestField(SUGGEST, code, 1, typeName));
+      if (suggest) {
+        document.add(new ContextSuggestField(SUGGEST, code, 1, typeName));
+      }
     }
 
     try {
@@ -23,7 +23,11 @@ public class GeocoderModule {
     @Nullable StopConsolidationService stopConsolidationService
   ) {
     if (OTPFeature.SandboxAPIGeocoder.isOn()) {
-      return new LuceneIndex(timetableRepository, stopConsolidationService);
+      return new LuceneIndex(
+        timetableRepository,
+        stopConsolidationService,
+        OTPFeature.GeocoderAutocompleteIndex.isOn()
+      );
     } else {
       return null;
     }
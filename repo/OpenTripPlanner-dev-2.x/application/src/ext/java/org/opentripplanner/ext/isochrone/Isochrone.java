@@ -0,0 +1,10 @@
+package org.opentripplanner.ext.isochrone;
+
+import java.time.Duration;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * The area reachable within the cutoff duration. The geometry is a polygon, which is empty if the
+ * reachable area is too small to form a polygon.
+ */
+public record Isochrone(Duration cutoff, Geometry geometry) {}
@@ -0,0 +1,79 @@
+package org.opentripplanner.ext.isochrone;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.speed.CarSpeedProfiles;
+
+/**
+ * Cache the isochrones per origin cell, departure period, mode and cutoffs, see
+ * {@link IsochroneRequest#snapToCell()}. The street graph version and, for car isochrones, the
+ * car speed profiles are part of the key, so isochrones calculated before a change are never
+ * returned. The cache is cleared when the street graph version changes, this also releases the
+ * replaced car speed profiles.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class IsochroneCache {
+
+  private static final int MAX_SIZE = 1000;
+  private static final Duration TTL = Duration.ofHours(1);
+
+  private final Cache<Key, List<Isochrone>> cache = CacheBuilder.newBuilder()
+    .maximumSize(MAX_SIZE)
+    .expireAfterWrite(TTL)
+    .build();
+  private final Graph graph;
+  private final AtomicLong cachedStreetVersion;
+
+  public IsochroneCache(Graph graph) {
+    this.graph = graph;
+    this.cachedStreetVersion = new AtomicLong(graph.streetVersion());
+  }
+
+  /**
+   * Return the cached isochrones for the request, or calculate and cache them. The request should
+   * be snapped to its cell.
+   */
+  public List<Isochrone> get(
+    IsochroneRequest request,
+    Function<IsochroneRequest, List<Isochrone>> calculate
+  ) {
+    long version = graph.streetVersion();
+    long cached = cachedStreetVersion.get();
+    if (version != cached && cachedStreetVersion.compareAndSet(cached, version)) {
+      cache.invalidateAll();
+    }
+
+    var key = new Key(
+      request,
+      version,
+      request.mode() == StreetMode.CAR ? graph.getCarSpeedProfiles() : null
+    );
+    var isochrones = cache.getIfPresent(key);
+    if (isochrones == null) {
+      isochrones = calculate.apply(request);
+      cache.put(key, isochrones);
+    }
+    return isochrones;
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  /**
+   * The car speed profiles do not implement equals, so the instance is part of the key.
+   */
+  private record Key(
+    IsochroneRequest request,
+    long streetVersion,
+    @Nullable CarSpeedProfiles carSpeedProfiles
+  ) {}
+}
@@ -0,0 +1,70 @@
+package org.opentripplanner.ext.isochrone;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.api.request.StreetMode;
+
+/**
+ * A request for the areas reachable from an origin within each of the cutoff durations.
+ *
+ * @param cutoffs sorted, without duplicates.
+ */
+public record IsochroneRequest(
+  WgsCoordinate origin,
+  Instant dateTime,
+  StreetMode mode,
+  List<Duration> cutoffs
+) {
+  static final Set<StreetMode> SUPPORTED_MODES = EnumSet.of(
+    StreetMode.WALK,
+    StreetMode.BIKE,
+    StreetMode.CAR
+  );
+  static final Duration MAX_CUTOFF = Duration.ofHours(2);
+
+  /** The departure time is truncated to this resolution, see {@link #snapToCell()}. */
+  private static final long TIME_RESOLUTION_SECONDS = Duration.ofMinutes(15).toSeconds();
+
+  public IsochroneRequest {
+    Objects.requireNonNull(origin);
+    Objects.requireNonNull(dateTime);
+    if (!SUPPORTED_MODES.contains(mode)) {
+      throw new IllegalArgumentException(
+        "Unsupported mode: " + mode + ", supported modes are " + SUPPORTED_MODES
+      );
+    }
+    cutoffs = cutoffs.stream().sorted().distinct().toList();
+    if (cutoffs.isEmpty()) {
+      throw new IllegalArgumentException("At least one cutoff is required");
+    }
+    if (!cutoffs.getFirst().isPositive() || cutoffs.getLast().compareTo(MAX_CUTOFF) > 0) {
+      throw new IllegalArgumentException(
+        "The cutoffs must be positive and not longer than " + MAX_CUTOFF + ": " + cutoffs
+      );
+    }
+  }
+
+  Duration maxCutoff() {
+    return cutoffs.getLast();
+  }
+
+  /**
+   * Move the origin to the center of its cell of approximately 100 x 100 meters, and truncate the
+   * departure time to a 15 minutes period. All requests in the same cell and period return the
+   * same isochrones, so they can be cached.
+   */
+  IsochroneRequest snapToCell() {
+    long seconds = Math.floorDiv(dateTime.getEpochSecond(), TIME_RESOLUTION_SECONDS);
+    return new IsochroneRequest(
+      origin.roundToApproximate100m(),
+      Instant.ofEpochSecond(seconds * TIME_RESOLUTION_SECONDS),
+      mode,
+      cutoffs
+    );
+  }
+}
@@ -0,0 +1,125 @@
+package org.opentripplanner.ext.isochrone;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.geojson.GeoJSONWriter;
+import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.locationtech.jts.geom.Geometry;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.error.RoutingValidationException;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+
+/**
+ * Return the areas reachable from a point within the given durations as GeoJSON, see the
+ * IsochroneApi sandbox documentation.
+ */
+@Path("/isochrone")
+public class IsochroneResource {
+
+  private static final String APPLICATION_GEO_JSON = "application/geo+json";
+
+  private final OtpServerRequestContext serverContext;
+
+  public IsochroneResource(@Context OtpServerRequestContext serverContext) {
+    this.serverContext = serverContext;
+  }
+
+  /**
+   * @param location The origin as "latitude,longitude".
+   * @param time The departure time as an ISO-8601 date-time with offset, default is now.
+   * @param mode WALK, BIKE or CAR.
+   * @param cutoffs One or more ISO-8601 durations, like PT15M.
+   */
+  @GET
+  @Produces(APPLICATION_GEO_JSON)
+  public Response isochrone(
+    @QueryParam("location") String location,
+    @QueryParam("time") String time,
+    @QueryParam("mode") @DefaultValue("CAR") String mode,
+    @QueryParam("cutoff") List<String> cutoffs
+  ) {
+    IsochroneRequest request;
+    try {
+      request = new IsochroneRequest(
+        parseLocation(location),
+        time == null ? Instant.now() : OffsetDateTime.parse(time).toInstant(),
+        StreetMode.valueOf(mode),
+        cutoffs.stream().map(Duration::parse).toList()
+      ).snapToCell();
+    } catch (IllegalArgumentException | NullPointerException | DateTimeParseException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+
+    var service = new IsochroneService(
+      serverContext.linkingContextFactory(),
+      serverContext.defaultRouteRequest(),
+      serverContext::listExtensionRequestContexts
+    );
+    var cache = serverContext.isochroneCache();
+    List<Isochrone> isochrones;
+    try {
+      isochrones = cache == null
+        ? service.calculate(request)
+        : cache.get(request, service::calculate);
+    } catch (RoutingValidationException e) {
+      throw new BadRequestException("The location is not close to a street usable by " + mode);
+    }
+
+    var features = toFeatures(isochrones);
+    StreamingOutput stream = os -> {
+      try (var writer = new GeoJSONWriter(os)) {
+        writer.writeFeatureCollection(features);
+      }
+    };
+    return Response.ok(stream).build();
+  }
+
+  private static WgsCoordinate parseLocation(String location) {
+    if (location == null) {
+      throw new IllegalArgumentException("The location parameter is required");
+    }
+    var parts = location.split(",");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("The location must be 'latitude,longitude': " + location);
+    }
+    return new WgsCoordinate(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
+  }
+
+  private static DefaultFeatureCollection toFeatures(List<Isochrone> isochrones) {
+    var typeBuilder = new SimpleFeatureTypeBuilder();
+    typeBuilder.setName("isochrones");
+    typeBuilder.setCRS(DefaultGeographicCRS.WGS84);
+    typeBuilder.setDefaultGeometry("the_geom");
+    typeBuilder.add("the_geom", Geometry.class);
+    typeBuilder.add("cutoff", String.class);
+    typeBuilder.add("cutoffSeconds", Long.class);
+    SimpleFeatureType schema = typeBuilder.buildFeatureType();
+
+    var features = new DefaultFeatureCollection(null, schema);
+    var featureBuilder = new SimpleFeatureBuilder(schema);
+    for (var isochrone : isochrones) {
+      featureBuilder.add(isochrone.geometry());
+      featureBuilder.add(isochrone.cutoff().toString());
+      featureBuilder.add(isochrone.cutoff().toSeconds());
+      features.add(featureBuilder.buildFeature(null));
+    }
+    return features;
+  }
+}
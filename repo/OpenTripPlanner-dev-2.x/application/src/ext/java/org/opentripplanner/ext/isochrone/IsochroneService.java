@@ -0,0 +1,161 @@
+package org.opentripplanner.ext.isochrone;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.locationtech.jts.algorithm.hull.ConcaveHull;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.opentripplanner.astar.model.ShortestPathTree;
+import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.linking.LinkingContextFactory;
+import org.opentripplanner.routing.linking.LinkingContextRequest;
+import org.opentripplanner.routing.linking.TemporaryVerticesContainer;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.ExtensionRequestContext;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.strategy.DominanceFunctions;
+
+/**
+ * Calculate isochrones with a one-to-all street search from the origin, limited by the longest
+ * cutoff. The vertices reached within each cutoff are turned into a concave polygon.
+ * <p>
+ * The preferences, like the walk speed and the car reluctance, are taken from the default request.
+ * The extension request contexts, like the car speed profiles, are applied to the search.
+ */
+public class IsochroneService {
+
+  private final LinkingContextFactory linkingContextFactory;
+  private final RouteRequest defaultRequest;
+  private final Function<RouteRequest, List<ExtensionRequestContext>> extensionRequestContexts;
+
+  public IsochroneService(
+    LinkingContextFactory linkingContextFactory,
+    RouteRequest defaultRequest,
+    Function<RouteRequest, List<ExtensionRequestContext>> extensionRequestContexts
+  ) {
+    this.linkingContextFactory = Objects.requireNonNull(linkingContextFactory);
+    this.defaultRequest = Objects.requireNonNull(defaultRequest);
+    this.extensionRequestContexts = Objects.requireNonNull(extensionRequestContexts);
+  }
+
+  /**
+   * @throws org.opentripplanner.routing.error.RoutingValidationException if the origin is not
+   * close to a street the mode can use.
+   */
+  public List<Isochrone> calculate(IsochroneRequest request) {
+    var origin = GenericLocation.fromCoordinate(
+      request.origin().latitude(),
+      request.origin().longitude()
+    );
+    try (var temporaryVerticesContainer = new TemporaryVerticesContainer()) {
+      var linkingContext = linkingContextFactory.create(
+        temporaryVerticesContainer,
+        LinkingContextRequest.of().withFrom(origin).withDirectMode(request.mode()).build()
+      );
+      // The destination is required by the request, but not used in a one-to-all search
+      var routeRequest = defaultRequest
+        .copyOf()
+        .withFrom(origin)
+        .withTo(origin)
+        .withDateTime(request.dateTime())
+        .withArriveBy(false)
+        .buildRequest();
+
+      ShortestPathTree<State, Edge, Vertex> spt = StreetSearchBuilder.of()
+        .withPreStartHook(OTPRequestTimeoutException::checkForTimeout)
+        .withSkipEdgeStrategy(new DurationSkipEdgeStrategy<>(request.maxCutoff()))
+        .withDominanceFunction(new DominanceFunctions.EarliestArrival())
+        .withRequest(routeRequest)
+        .withStreetRequest(new StreetRequest(request.mode()))
+        .withExtensionRequestContexts(extensionRequestContexts.apply(routeRequest))
+        .withFrom(linkingContext.findVertices(origin))
+        .getShortestPathTree();
+
+      var points = new ArrayList<ReachedPoint>(spt.getVertexCount());
+      for (Vertex vertex : spt.getVertices()) {
+        var state = spt.getState(vertex);
+        points.add(new ReachedPoint(vertex.getCoordinate(), state.getElapsedTimeSeconds()));
+      }
+      return toIsochrones(points, request, maxEdgeLengthMeters(request.mode()));
+    }
+  }
+
+  /**
+   * Turn the reached points into one polygon per cutoff. To keep the hull calculation fast, the
+   * points are first thinned to one per grid cell of half the max edge length, keeping the point
+   * reached first.
+   *
+   * @param maxEdgeLengthMeters the longest edge of the concave hull. Longer edges are only kept
+   *                            where removing them would split the polygon.
+   */
+  static List<Isochrone> toIsochrones(
+    Collection<ReachedPoint> points,
+    IsochroneRequest request,
+    double maxEdgeLengthMeters
+  ) {
+    double maxEdgeLength = SphericalDistanceLibrary.metersToDegrees(maxEdgeLengthMeters);
+    double cellSize = maxEdgeLength / 2;
+
+    var pointByCell = new HashMap<Cell, ReachedPoint>();
+    for (var point : points) {
+      var cell = new Cell(
+        (long) Math.floor(point.coordinate().x / cellSize),
+        (long) Math.floor(point.coordinate().y / cellSize)
+      );
+      pointByCell.merge(cell, point, (a, b) -> a.seconds() <= b.seconds() ? a : b);
+    }
+
+    var factory = GeometryUtils.getGeometryFactory();
+    var result = new ArrayList<Isochrone>();
+    for (var cutoff : request.cutoffs()) {
+      var coordinates = pointByCell
+        .values()
+        .stream()
+        .filter(p -> p.seconds() <= cutoff.toSeconds())
+        .map(ReachedPoint::coordinate)
+        .toArray(Coordinate[]::new);
+
+      Geometry geometry = coordinates.length < 3
+        ? factory.createPolygon()
+        : ConcaveHull.concaveHullByLength(
+          factory.createMultiPointFromCoords(coordinates),
+          maxEdgeLength
+        );
+      if (!(geometry instanceof Polygon)) {
+        // All points are on a line
+        geometry = factory.createPolygon();
+      }
+      result.add(new Isochrone(cutoff, geometry));
+    }
+    return result;
+  }
+
+  private static double maxEdgeLengthMeters(StreetMode mode) {
+    return switch (mode) {
+      case CAR -> 500;
+      case BIKE -> 250;
+      default -> 100;
+    };
+  }
+
+  /**
+   * A vertex reached in the search, and the number of seconds to reach it.
+   */
+  record ReachedPoint(Coordinate coordinate, long seconds) {}
+
+  private record Cell(long x, long y) {}
+}
@@ -0,0 +1,23 @@
+package org.opentripplanner.ext.isochrone.configure;
+
+import dagger.Module;
+import dagger.Provides;
+import jakarta.inject.Singleton;
+import javax.annotation.Nullable;
+import org.opentripplanner.ext.isochrone.IsochroneCache;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.routing.graph.Graph;
+
+/**
+ * This module creates the isochrone cache if the isochrone API is on.
+ */
+@Module
+public class IsochroneModule {
+
+  @Provides
+  @Singleton
+  @Nullable
+  IsochroneCache isochroneCache(Graph graph) {
+    return OTPFeature.IsochroneApi.isOn() ? new IsochroneCache(graph) : null;
+  }
+}
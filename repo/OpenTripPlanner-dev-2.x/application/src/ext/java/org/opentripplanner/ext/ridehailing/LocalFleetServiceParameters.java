@@ -0,0 +1,20 @@
+package org.opentripplanner.ext.ridehailing;
+
+import java.time.Duration;
+import java.util.Currency;
+
+/**
+ * Configuration for a ride hailing service which computes the pickup times of its own fleet from
+ * the vehicle positions, instead of calling a remote API.
+ *
+ * @param positionsFile     A JSON file with the current positions of the vehicles, read again
+ *                          when it is changed.
+ * @param maxPickupDuration Vehicles further away than this are not used.
+ */
+public record LocalFleetServiceParameters(
+  String positionsFile,
+  Duration maxPickupDuration,
+  Currency currency,
+  double baseFare,
+  double farePerKilometer
+) {}
@@ -1,5 +1,6 @@
 package org.opentripplanner.ext.ridehailing;
 
+import com.google.common.base.Suppliers;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
@@ -40,13 +41,15 @@ public class RideHailingAccessShifter {
     RouteRequest request,
     Instant now
   ) {
+    // The delay is the same for all accesses, so the service is asked at most once
+    var arrivalDelay = Suppliers.memoize(() -> fetchArrivalDelay(services, request, now));
     return results
       .stream()
       .map(ae -> {
         // only time-shift access legs on a car
         // (there could be walk-only accesses if you're close to the stop)
         if (isAccess && ae.getLastState().containsModeCar()) {
-          var duration = fetchArrivalDelay(services, request, now);
+          var duration = arrivalDelay.get();
           if (duration.isSuccess()) {
             return new RideHailingAccessAdapter(ae, duration.successValue());
           } else {
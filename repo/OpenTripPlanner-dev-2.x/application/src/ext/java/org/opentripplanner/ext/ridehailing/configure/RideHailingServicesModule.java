@@ -4,8 +4,11 @@ import dagger.Module;
 import dagger.Provides;
 import jakarta.inject.Singleton;
 import java.util.List;
+import java.util.stream.Stream;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
+import org.opentripplanner.ext.ridehailing.service.localfleet.LocalFleetService;
 import org.opentripplanner.ext.ridehailing.service.uber.UberService;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.config.RouterConfig;
 
 /**
@@ -17,11 +20,17 @@ public class RideHailingServicesModule {
 
   @Provides
   @Singleton
-  List<RideHailingService> services(RouterConfig config) {
-    return config
+  List<RideHailingService> services(RouterConfig config, Graph graph) {
+    var uber = config
       .rideHailingServiceParameters()
       .stream()
-      .map(p -> (RideHailingService) new UberService(p))
-      .toList();
+      .map(p -> (RideHailingService) new UberService(p));
+    var localFleet = config
+      .localFleetServiceParameters()
+      .stream()
+      .map(p ->
+        (RideHailingService) new LocalFleetService(p, graph, config.routingRequestDefaults())
+      );
+    return Stream.concat(uber, localFleet).toList();
   }
 }
@@ -5,4 +5,5 @@ package org.opentripplanner.ext.ridehailing.model;
  */
 public enum RideHailingProvider {
   UBER,
+  LOCAL_FLEET,
 }
@@ -0,0 +1,144 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * A spatial index of the vehicles in one update of the vehicle positions. Each vehicle is snapped
+ * to a street vertex when the index is built, so the pickup time can be found with a single
+ * street search from the pickup location to the nearest vehicles.
+ * <p>
+ * This class is thread-safe, it is not changed after it is built.
+ */
+class FleetIndex {
+
+  static final FleetIndex EMPTY = new FleetIndex(List.of(), v -> null);
+
+  /** The radius of the first query, it is doubled until enough vehicles are found. */
+  private static final double INITIAL_RADIUS_M = 1_000;
+
+  private final HashGridSpatialIndex<SnappedVehicle> index = new HashGridSpatialIndex<>();
+  private final int size;
+  private final Map<String, Long> countByRideType;
+  private final Map<String, Long> wheelchairAccessibleCountByRideType;
+
+  /**
+   * @param snap Find the street vertex of a vehicle, or {@code null} if it is not close to a
+   *             street. Those vehicles are not indexed.
+   */
+  FleetIndex(Collection<FleetVehicle> vehicles, Function<WgsCoordinate, Vertex> snap) {
+    var snapped = new ArrayList<FleetVehicle>();
+    for (var vehicle : vehicles) {
+      var coordinate = vehicle.coordinate();
+      var vertex = snap.apply(coordinate);
+      if (vertex != null) {
+        index.insert(
+          new Envelope(coordinate.asJtsCoordinate()),
+          new SnappedVehicle(vehicle, vertex)
+        );
+        snapped.add(vehicle);
+      }
+    }
+    this.size = snapped.size();
+    this.countByRideType = countByRideType(snapped);
+    this.wheelchairAccessibleCountByRideType = countByRideType(
+      snapped.stream().filter(FleetVehicle::wheelchairAccessible).toList()
+    );
+  }
+
+  /** The number of vehicles in the index. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Find the vehicles closest to the given coordinate, measured in a straight line. Up to
+   * {@code maxPerRideType} vehicles are returned for each ride type. The search radius is
+   * doubled until enough vehicles of every ride type in the fleet are found, or all of them.
+   *
+   * @param wheelchairAccessible If true, only wheelchair-accessible vehicles are returned.
+   * @param maxDistance          Vehicles further away than this, in meters, are not returned.
+   */
+  Map<String, List<SnappedVehicle>> nearestByRideType(
+    WgsCoordinate coordinate,
+    boolean wheelchairAccessible,
+    int maxPerRideType,
+    double maxDistance
+  ) {
+    var counts = wheelchairAccessible ? wheelchairAccessibleCountByRideType : countByRideType;
+    double radius = Math.min(INITIAL_RADIUS_M, maxDistance);
+    while (true) {
+      var result = query(coordinate, wheelchairAccessible, maxPerRideType, radius);
+      boolean enough = counts
+        .entrySet()
+        .stream()
+        .allMatch(e -> {
+          int found = result.getOrDefault(e.getKey(), List.of()).size();
+          return found >= Math.min(maxPerRideType, e.getValue());
+        });
+      if (enough || radius >= maxDistance) {
+        return result;
+      }
+      radius = Math.min(2 * radius, maxDistance);
+    }
+  }
+
+  private Map<String, List<SnappedVehicle>> query(
+    WgsCoordinate coordinate,
+    boolean wheelchairAccessible,
+    int maxPerRideType,
+    double radius
+  ) {
+    var envelope = new Envelope(coordinate.asJtsCoordinate());
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(radius, coordinate.latitude()),
+      SphericalDistanceLibrary.metersToDegrees(radius)
+    );
+
+    var byRideType = new HashMap<String, List<SnappedVehicle>>();
+    for (var it : index.query(envelope)) {
+      if (wheelchairAccessible && !it.vehicle().wheelchairAccessible()) {
+        continue;
+      }
+      if (distance(coordinate, it) <= radius) {
+        byRideType.computeIfAbsent(it.vehicle().rideType(), k -> new ArrayList<>()).add(it);
+      }
+    }
+    byRideType.replaceAll((rideType, list) ->
+      list
+        .stream()
+        .sorted(Comparator.comparingDouble(it -> distance(coordinate, it)))
+        .limit(maxPerRideType)
+        .toList()
+    );
+    return byRideType;
+  }
+
+  private static Map<String, Long> countByRideType(List<FleetVehicle> vehicles) {
+    return vehicles
+      .stream()
+      .collect(Collectors.groupingBy(FleetVehicle::rideType, Collectors.counting()));
+  }
+
+  private static double distance(WgsCoordinate coordinate, SnappedVehicle it) {
+    return SphericalDistanceLibrary.fastDistance(
+      coordinate.latitude(),
+      coordinate.longitude(),
+      it.vehicle().lat(),
+      it.vehicle().lon()
+    );
+  }
+
+  record SnappedVehicle(FleetVehicle vehicle, Vertex vertex) {}
+}
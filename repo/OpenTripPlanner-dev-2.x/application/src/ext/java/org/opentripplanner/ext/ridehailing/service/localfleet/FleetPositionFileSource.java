@@ -0,0 +1,45 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import org.opentripplanner.framework.json.ObjectMappers;
+
+/**
+ * Read the vehicle positions from a JSON file, which is read again when it is modified. The file
+ * contains an array of vehicles:
+ * <pre>
+ * [
+ *   { "id": "car-1", "rideType": "standard", "lat": 59.91, "lon": 10.75 },
+ *   { "id": "van-1", "rideType": "van", "lat": 59.92, "lon": 10.76, "wheelchairAccessible": true }
+ * ]
+ * </pre>
+ * The process writing the file should write it to a temporary file and move it into place, so a
+ * partially written file is never read.
+ */
+public class FleetPositionFileSource implements FleetPositionSource {
+
+  private static final ObjectMapper MAPPER = ObjectMappers.ignoringExtraFields();
+
+  private final Path file;
+  private FileTime lastModified = null;
+
+  public FleetPositionFileSource(Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public Optional<List<FleetVehicle>> readIfChanged() throws IOException {
+    var modified = Files.getLastModifiedTime(file);
+    if (modified.equals(lastModified)) {
+      return Optional.empty();
+    }
+    var vehicles = List.of(MAPPER.readValue(file.toFile(), FleetVehicle[].class));
+    lastModified = modified;
+    return Optional.of(vehicles);
+  }
+}
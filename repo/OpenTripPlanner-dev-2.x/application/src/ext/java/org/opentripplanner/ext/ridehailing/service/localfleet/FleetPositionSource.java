@@ -0,0 +1,17 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A feed of the positions of the vehicles in the fleet.
+ */
+@FunctionalInterface
+public interface FleetPositionSource {
+  /**
+   * Return the positions of all vehicles if they have changed since the last call, or empty if
+   * they are unchanged.
+   */
+  Optional<List<FleetVehicle>> readIfChanged() throws IOException;
+}
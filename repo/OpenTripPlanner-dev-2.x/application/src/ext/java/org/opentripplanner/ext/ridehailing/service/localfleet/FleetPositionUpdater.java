@@ -0,0 +1,38 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import java.io.IOException;
+import java.time.Duration;
+import org.opentripplanner.updater.spi.PollingGraphUpdater;
+import org.opentripplanner.updater.spi.PollingGraphUpdaterParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Poll the vehicle positions of a {@link LocalFleetService}, so the positions are never read by
+ * the request threads. The fleet is not part of the graph, so nothing is written to the graph.
+ */
+public class FleetPositionUpdater extends PollingGraphUpdater {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FleetPositionUpdater.class);
+
+  private static final Duration FREQUENCY = Duration.ofSeconds(1);
+
+  private final LocalFleetService service;
+
+  public FleetPositionUpdater(LocalFleetService service) {
+    super(new Parameters(FREQUENCY, "rideHailingServices.local-fleet"));
+    this.service = service;
+  }
+
+  @Override
+  protected void runPolling() {
+    try {
+      service.updatePositions();
+    } catch (IOException e) {
+      LOG.warn("Could not read the fleet vehicle positions: {}", e.getMessage());
+    }
+  }
+
+  private record Parameters(Duration frequency, String configRef)
+    implements PollingGraphUpdaterParameters {}
+}
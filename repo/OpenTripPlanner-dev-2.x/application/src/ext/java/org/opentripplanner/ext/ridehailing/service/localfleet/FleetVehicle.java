@@ -0,0 +1,21 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+
+/**
+ * The position of a vehicle in the fleet, as read from the vehicle positions feed.
+ *
+ * @param rideType The type of ride the vehicle offers, like "standard" or "van". The pickup time
+ *                 is computed for each ride type.
+ */
+public record FleetVehicle(
+  String id,
+  String rideType,
+  double lat,
+  double lon,
+  boolean wheelchairAccessible
+) {
+  WgsCoordinate coordinate() {
+    return new WgsCoordinate(lat, lon);
+  }
+}
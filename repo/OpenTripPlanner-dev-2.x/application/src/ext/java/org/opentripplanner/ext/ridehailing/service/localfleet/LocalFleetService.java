@@ -0,0 +1,257 @@
+package org.opentripplanner.ext.ridehailing.service.localfleet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
+import org.opentripplanner.ext.ridehailing.RideHailingService;
+import org.opentripplanner.ext.ridehailing.model.ArrivalTime;
+import org.opentripplanner.ext.ridehailing.model.RideEstimate;
+import org.opentripplanner.ext.ridehailing.model.RideHailingProvider;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.strategy.DominanceFunctions;
+import org.opentripplanner.transit.model.basic.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A ride hailing service for a fleet whose vehicle positions are known to OTP. The pickup time is
+ * computed locally instead of calling a remote API:
+ * <ol>
+ *   <li>The nearest vehicles of each ride type are found in a spatial index.</li>
+ *   <li>One car search, backwards in time from the pickup location, finds the driving time from
+ *   each of these vehicles. The search stops when all of them are reached.</li>
+ * </ol>
+ * The vehicle positions are read by a {@link FleetPositionUpdater}, never by the request threads.
+ * The updater replaces the index of the vehicles when the feed is changed. Vehicles are snapped to
+ * the nearest street vertex which can be driven on, vehicles far from a street are ignored.
+ * <p>
+ * The price of a ride is estimated from the configured fares and the straight-line distance. The
+ * minimum price uses the straight-line distance and the maximum allows for detours.
+ */
+public class LocalFleetService implements RideHailingService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LocalFleetService.class);
+
+  /** The number of vehicles of each ride type which are checked with the street search. */
+  private static final int MAX_CANDIDATES_PER_RIDE_TYPE = 5;
+
+  /** Used to limit the straight-line distance to the vehicles checked. */
+  private static final double MAX_CAR_SPEED_M_PER_S = 40;
+
+  private static final double MAX_SNAP_DISTANCE_M = 200;
+  private static final double DETOUR_FACTOR = 1.5;
+
+  private final FleetPositionSource source;
+  private final Graph graph;
+  private final RouteRequest defaultRequest;
+  private final LocalFleetServiceParameters parameters;
+
+  private volatile FleetIndex index = FleetIndex.EMPTY;
+
+  public LocalFleetService(
+    LocalFleetServiceParameters parameters,
+    Graph graph,
+    RouteRequest defaultRequest
+  ) {
+    this(
+      new FleetPositionFileSource(Path.of(parameters.positionsFile())),
+      parameters,
+      graph,
+      defaultRequest
+    );
+  }
+
+  LocalFleetService(
+    FleetPositionSource source,
+    LocalFleetServiceParameters parameters,
+    Graph graph,
+    RouteRequest defaultRequest
+  ) {
+    this.source = source;
+    this.parameters = parameters;
+    this.graph = graph;
+    this.defaultRequest = defaultRequest;
+  }
+
+  @Override
+  public RideHailingProvider provider() {
+    return RideHailingProvider.LOCAL_FLEET;
+  }
+
+  @Override
+  public List<ArrivalTime> arrivalTimes(WgsCoordinate coordinate, boolean wheelchairAccessible) {
+    var pickup = snap(coordinate);
+    if (pickup == null) {
+      LOG.debug("The pickup location {} is not close to a street", coordinate);
+      return List.of();
+    }
+    var maxDistance = MAX_CAR_SPEED_M_PER_S * parameters.maxPickupDuration().toSeconds();
+    var candidates = index.nearestByRideType(
+      coordinate,
+      wheelchairAccessible,
+      MAX_CANDIDATES_PER_RIDE_TYPE,
+      maxDistance
+    );
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+
+    var targets = new HashSet<Vertex>();
+    candidates.values().forEach(list -> list.forEach(it -> targets.add(it.vertex())));
+    var durations = drivingDurations(pickup, targets);
+
+    var result = new ArrayList<ArrivalTime>();
+    candidates.forEach((rideType, vehicles) ->
+      vehicles
+        .stream()
+        .map(it -> durations.get(it.vertex()))
+        .filter(it -> it != null && it.compareTo(parameters.maxPickupDuration()) <= 0)
+        .min(Comparator.naturalOrder())
+        .ifPresent(duration ->
+          result.add(new ArrivalTime(provider(), rideType, rideType, duration))
+        )
+    );
+    result.sort(Comparator.comparing(ArrivalTime::duration).thenComparing(ArrivalTime::rideType));
+    return result;
+  }
+
+  @Override
+  public List<RideEstimate> rideEstimates(
+    WgsCoordinate start,
+    WgsCoordinate end,
+    boolean wheelchairAccessible
+  ) {
+    double km =
+      SphericalDistanceLibrary.distance(
+        start.latitude(),
+        start.longitude(),
+        end.latitude(),
+        end.longitude()
+      ) /
+      1000;
+    var minPrice = price(km);
+    var maxPrice = price(km * DETOUR_FACTOR);
+
+    return arrivalTimes(start, wheelchairAccessible)
+      .stream()
+      .map(it ->
+        new RideEstimate(
+          provider(),
+          it.duration(),
+          minPrice,
+          maxPrice,
+          it.rideType(),
+          it.displayName()
+        )
+      )
+      .toList();
+  }
+
+  /**
+   * The driving duration from each target vertex to the pickup vertex. Targets which can not be
+   * reached within the max pickup duration are not in the result.
+   */
+  private Map<Vertex, Duration> drivingDurations(Vertex pickup, Set<Vertex> targets) {
+    var remaining = new HashSet<>(targets);
+    var spt = StreetSearchBuilder.of()
+      .withPreStartHook(OTPRequestTimeoutException::checkForTimeout)
+      .withSkipEdgeStrategy(new DurationSkipEdgeStrategy<>(parameters.maxPickupDuration()))
+      .withTerminationStrategy(state -> {
+        remaining.remove(state.getVertex());
+        return remaining.isEmpty();
+      })
+      .withDominanceFunction(new DominanceFunctions.MinimumWeight())
+      .withRequest(defaultRequest)
+      .withArriveBy(true)
+      .withStreetRequest(new StreetRequest(StreetMode.CAR))
+      .withTo(pickup)
+      .getShortestPathTree();
+
+    var result = new HashMap<Vertex, Duration>();
+    for (var target : targets) {
+      var state = spt.getState(target);
+      if (state != null) {
+        result.put(target, Duration.ofSeconds(state.getElapsedTimeSeconds()));
+      }
+    }
+    return result;
+  }
+
+  private Money price(double km) {
+    return Money.ofFractionalAmount(
+      parameters.currency(),
+      (float) (parameters.baseFare() + parameters.farePerKilometer() * km)
+    );
+  }
+
+  /**
+   * Read the vehicle positions if the feed is changed, and replace the index. This is called by
+   * the {@link FleetPositionUpdater}, one call at a time.
+   */
+  void updatePositions() throws IOException {
+    var vehicles = source.readIfChanged();
+    if (vehicles.isPresent()) {
+      var newIndex = new FleetIndex(vehicles.get(), this::snap);
+      LOG.debug("Indexed {} of {} fleet vehicles", newIndex.size(), vehicles.get().size());
+      index = newIndex;
+    }
+  }
+
+  /**
+   * Find the nearest street vertex where a car can drive, or {@code null} if there is none close.
+   */
+  @Nullable
+  private Vertex snap(WgsCoordinate coordinate) {
+    var envelope = new Envelope(coordinate.asJtsCoordinate());
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(MAX_SNAP_DISTANCE_M, coordinate.latitude()),
+      SphericalDistanceLibrary.metersToDegrees(MAX_SNAP_DISTANCE_M)
+    );
+    Vertex nearest = null;
+    double nearestDistance = MAX_SNAP_DISTANCE_M;
+    for (var vertex : graph.findVertices(envelope)) {
+      if (!(vertex instanceof StreetVertex) || !isDrivable(vertex)) {
+        continue;
+      }
+      double distance = SphericalDistanceLibrary.fastDistance(
+        coordinate.latitude(),
+        coordinate.longitude(),
+        vertex.getLat(),
+        vertex.getLon()
+      );
+      if (distance <= nearestDistance) {
+        nearest = vertex;
+        nearestDistance = distance;
+      }
+    }
+    return nearest;
+  }
+
+  private static boolean isDrivable(Vertex vertex) {
+    return (
+      vertex.getOutgoingStreetEdges().stream().anyMatch(it -> it.canTraverse(TraverseMode.CAR)) &&
+      vertex.getIncomingStreetEdges().stream().anyMatch(it -> it.canTraverse(TraverseMode.CAR))
+    );
+  }
+}
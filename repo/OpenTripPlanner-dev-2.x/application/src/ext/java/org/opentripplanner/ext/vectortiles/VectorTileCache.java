@@ -0,0 +1,273 @@
+package org.opentripplanner.ext.vectortiles;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.ext.vectortiles.layers.stops.StopsLayerBuilder;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTileResponseFactory.RenderedTile;
+import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * A cache of encoded vector tiles. The rider map requests the same tiles over and over, this
+ * cache serves them without querying the transit, rental and parking services again.
+ * <p>
+ * A tile is cached under the requested layer names, the tile coordinates and the language. Tiles
+ * are dropped when they expire, when they are evicted and when the data shown in them changes:
+ * <ul>
+ *   <li>When a vehicle rental place is added, changed or removed, the tiles of the rental layers
+ *   around its old and new position are invalidated, at all zoom levels of the layers.</li>
+ *   <li>Tiles with a stop layer showing real-time data are cached under the version of the
+ *   real-time timetable snapshot, new real-time data makes them unreachable.</li>
+ *   <li>Other changes, like vehicle parking availability and service alerts, are only picked up
+ *   when the tile expires.</li>
+ * </ul>
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class VectorTileCache {
+
+  private static final Set<LayerType> VEHICLE_RENTAL_LAYER_TYPES = EnumSet.of(
+    LayerType.VehicleRental,
+    LayerType.VehicleRentalStation,
+    LayerType.VehicleRentalVehicle
+  );
+
+  private final VectorTileCacheParameters parameters;
+  private final List<LayerParameters<LayerType>> layers;
+  private final Set<String> realtimeLayerNames;
+  private final Cache<Key, RenderedTile> cache;
+
+  /**
+   * The cached keys by tile and layer type, used to find the tiles to invalidate when data at a
+   * given position changes.
+   */
+  private final Map<TileLayer, Set<Key>> keysByTileLayer = new ConcurrentHashMap<>();
+
+  /**
+   * Incremented for each invalidation. A tile rendered while an invalidation is in progress may
+   * show the data from before the change, so it is not cached.
+   */
+  private final AtomicLong invalidationStamp = new AtomicLong();
+
+  @Nullable
+  private final Counter invalidations;
+
+  public VectorTileCache(
+    VectorTileCacheParameters parameters,
+    List<LayerParameters<LayerType>> layers,
+    @Nullable MeterRegistry registry
+  ) {
+    this.parameters = Objects.requireNonNull(parameters);
+    this.layers = List.copyOf(layers);
+    this.realtimeLayerNames = layers
+      .stream()
+      .filter(StopsLayerBuilder::usesRealtimeData)
+      .map(LayerParameters::name)
+      .collect(Collectors.toUnmodifiableSet());
+    this.cache = CacheBuilder.newBuilder()
+      .maximumSize(parameters.maxSize())
+      .expireAfterWrite(parameters.ttl())
+      .removalListener(this::removeFromIndex)
+      .recordStats()
+      .build();
+
+    if (registry != null) {
+      GuavaCacheMetrics.monitor(registry, cache, "vectorTileCache");
+      this.invalidations = Counter.builder("vectorTileCache.invalidations")
+        .description("Number of tiles invalidated because the data in them changed")
+        .register(registry);
+    } else {
+      this.invalidations = null;
+    }
+  }
+
+  public VectorTileCacheParameters parameters() {
+    return parameters;
+  }
+
+  /**
+   * Create the cache key for a tile request.
+   *
+   * @param requestedLayers the comma separated layer names, as in the request path.
+   * @param snapshotVersion the current version of the real-time timetable snapshot.
+   */
+  public Key keyOf(
+    String requestedLayers,
+    int z,
+    int x,
+    int y,
+    Locale locale,
+    long snapshotVersion
+  ) {
+    boolean realtime = false;
+    for (String name : requestedLayers.split(",")) {
+      realtime |= realtimeLayerNames.contains(name);
+    }
+    return new Key(requestedLayers, z, x, y, locale.getLanguage(), realtime ? snapshotVersion : 0);
+  }
+
+  /**
+   * Return the cached tile, or render and cache it if not present.
+   */
+  public RenderedTile get(Key key, Supplier<RenderedTile> renderer) {
+    var tile = cache.getIfPresent(key);
+    if (tile != null) {
+      return tile;
+    }
+    long stamp = invalidationStamp.get();
+    tile = renderer.get();
+
+    for (LayerType type : layerTypes(key)) {
+      keysByTileLayer.compute(new TileLayer(key.z, key.x, key.y, type), (k, keys) -> {
+        var result = keys == null ? ConcurrentHashMap.<Key>newKeySet() : keys;
+        result.add(key);
+        return result;
+      });
+    }
+    cache.put(key, tile);
+
+    if (stamp != invalidationStamp.get()) {
+      cache.invalidate(key);
+    }
+    return tile;
+  }
+
+  /**
+   * Invalidate the tiles of the rental layers showing the place before or after the change.
+   *
+   * @param before the place before the change, {@code null} if it is new.
+   * @param after the place after the change, {@code null} if it is removed.
+   */
+  public void vehicleRentalPlaceChanged(
+    @Nullable VehicleRentalPlace before,
+    @Nullable VehicleRentalPlace after
+  ) {
+    if (before != null) {
+      invalidate(before.longitude(), before.latitude(), VEHICLE_RENTAL_LAYER_TYPES);
+    }
+    if (after != null) {
+      invalidate(after.longitude(), after.latitude(), VEHICLE_RENTAL_LAYER_TYPES);
+    }
+  }
+
+  /**
+   * Invalidate all tiles of the given layer types which include the given position, taking the
+   * expansion factor of the layers into account.
+   */
+  public void invalidate(double lon, double lat, Set<LayerType> types) {
+    invalidationStamp.incrementAndGet();
+    int count = 0;
+    for (var layer : layers) {
+      if (!types.contains(layer.type())) {
+        continue;
+      }
+      // The tile area is expanded by the factor on each side when the layer is built
+      int radius = Math.max(1, (int) Math.ceil(layer.expansionFactor()));
+      for (int z = layer.minZoom(); z <= layer.maxZoom(); ++z) {
+        int tx = WebMercatorTile.lon2tile(lon, z);
+        int ty = WebMercatorTile.lat2tile(lat, z);
+        int n = 1 << z;
+        for (int x = Math.max(0, tx - radius); x <= Math.min(n - 1, tx + radius); ++x) {
+          for (int y = Math.max(0, ty - radius); y <= Math.min(n - 1, ty + radius); ++y) {
+            if (contains(x, y, z, layer.expansionFactor(), lon, lat)) {
+              var keys = keysByTileLayer.remove(new TileLayer(z, x, y, layer.type()));
+              if (keys != null) {
+                cache.invalidateAll(keys);
+                count += keys.size();
+              }
+            }
+          }
+        }
+      }
+    }
+    if (invalidations != null && count > 0) {
+      invalidations.increment(count);
+    }
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(VectorTileCache.class)
+      .addObj("parameters", parameters)
+      .addNum("size", cache.size())
+      .toString();
+  }
+
+  private static boolean contains(
+    int x,
+    int y,
+    int z,
+    double expansionFactor,
+    double lon,
+    double lat
+  ) {
+    Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
+    envelope.expandBy(
+      envelope.getWidth() * expansionFactor,
+      envelope.getHeight() * expansionFactor
+    );
+    return envelope.contains(lon, lat);
+  }
+
+  /**
+   * The types of the requested layers which are active at the zoom level of the key.
+   */
+  private Set<LayerType> layerTypes(Key key) {
+    // A layer may be requested more than once, like "stops,stops"
+    var names = Set.copyOf(Arrays.asList(key.layers.split(",")));
+    var result = EnumSet.noneOf(LayerType.class);
+    for (var layer : layers) {
+      if (names.contains(layer.name()) && layer.minZoom() <= key.z && key.z <= layer.maxZoom()) {
+        result.add(layer.type());
+      }
+    }
+    return result;
+  }
+
+  private void removeFromIndex(RemovalNotification<Key, RenderedTile> notification) {
+    // A replaced entry is still cached under the same key
+    if (notification.getCause() == RemovalCause.REPLACED) {
+      return;
+    }
+    var key = notification.getKey();
+    for (LayerType type : layerTypes(key)) {
+      keysByTileLayer.computeIfPresent(new TileLayer(key.z, key.x, key.y, type), (k, keys) -> {
+        keys.remove(key);
+        return keys.isEmpty() ? null : keys;
+      });
+    }
+  }
+
+  /**
+   * The cache key, see the class documentation. The snapshot version is 0 unless one of the
+   * layers shows real-time data.
+   */
+  public record Key(String layers, int z, int x, int y, String language, long snapshotVersion) {}
+
+  private record TileLayer(int z, int x, int y, LayerType type) {}
+}
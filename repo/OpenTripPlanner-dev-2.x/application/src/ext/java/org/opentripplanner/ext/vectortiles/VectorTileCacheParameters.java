@@ -0,0 +1,66 @@
+package org.opentripplanner.ext.vectortiles;
+
+import java.time.Duration;
+import java.util.List;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Parameters for the optional vector tile cache, see {@link VectorTileCache}.
+ *
+ * @param ttl How long a tile is cached, {@link Duration#ZERO} disables the cache.
+ * @param maxSize The maximum number of cached tiles.
+ * @param prewarmLayers The layer sets to render at startup, each as in the tile URL, for example
+ *                      {@code "stops,stations"}.
+ * @param prewarmMinZoom The lowest zoom level rendered at startup.
+ * @param prewarmMaxZoom The highest zoom level rendered at startup.
+ * @param prewarmLanguages The languages the tiles are rendered in at startup.
+ */
+public record VectorTileCacheParameters(
+  Duration ttl,
+  int maxSize,
+  List<String> prewarmLayers,
+  int prewarmMinZoom,
+  int prewarmMaxZoom,
+  List<String> prewarmLanguages
+) {
+  public static final VectorTileCacheParameters DEFAULT = new VectorTileCacheParameters(
+    Duration.ZERO,
+    20_000,
+    List.of(),
+    13,
+    15,
+    List.of("en")
+  );
+
+  public VectorTileCacheParameters {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("The cache ttl can not be negative: " + ttl);
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The cache maxSize must be at least 1: " + maxSize);
+    }
+    if (prewarmMinZoom < 0 || prewarmMinZoom > prewarmMaxZoom) {
+      throw new IllegalArgumentException(
+        "Invalid prewarm zoom range: [%d, %d]".formatted(prewarmMinZoom, prewarmMaxZoom)
+      );
+    }
+    prewarmLayers = List.copyOf(prewarmLayers);
+    prewarmLanguages = List.copyOf(prewarmLanguages);
+  }
+
+  public boolean isEnabled() {
+    return ttl.isPositive();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(VectorTileCacheParameters.class)
+      .addDuration("ttl", ttl, DEFAULT.ttl)
+      .addNum("maxSize", maxSize, DEFAULT.maxSize)
+      .addCol("prewarmLayers", prewarmLayers, DEFAULT.prewarmLayers)
+      .addNum("prewarmMinZoom", prewarmMinZoom, DEFAULT.prewarmMinZoom)
+      .addNum("prewarmMaxZoom", prewarmMaxZoom, DEFAULT.prewarmMaxZoom)
+      .addCol("prewarmLanguages", prewarmLanguages, DEFAULT.prewarmLanguages)
+      .toString();
+  }
+}
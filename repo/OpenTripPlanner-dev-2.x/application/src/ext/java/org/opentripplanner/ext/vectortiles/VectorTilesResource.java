@@ -17,7 +17,9 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.glassfish.grizzly.http.server.Request;
+import org.opentripplanner.api.resource.WebMercatorTile;
 import org.opentripplanner.apis.support.TileJson;
 import org.opentripplanner.ext.vectortiles.layers.areastops.AreaStopsLayerBuilder;
 import org.opentripplanner.ext.vectortiles.layers.stations.StationsLayerBuilder;
@@ -32,10 +34,15 @@ import org.opentripplanner.inspector.vector.LayerParameters;
 import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
 import org.opentripplanner.model.FeedInfo;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.utils.time.DurationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Path("/routers/{ignoreRouterId}/vectorTiles")
 public class VectorTilesResource {
 
+  private static final Logger LOG = LoggerFactory.getLogger(VectorTilesResource.class);
+
   private final OtpServerRequestContext serverContext;
   private final String ignoreRouterId;
   private final Locale locale;
@@ -63,15 +70,28 @@ public class VectorTilesResource {
     @PathParam("z") int z,
     @PathParam("layers") String requestedLayers
   ) {
-    return VectorTileResponseFactory.create(
-      x,
-      y,
-      z,
-      locale,
+    var cache = serverContext.vectorTileCache();
+    if (cache == null) {
+      return VectorTileResponseFactory.create(
+        x,
+        y,
+        z,
+        locale,
+        Arrays.asList(requestedLayers.split(",")),
+        serverContext.vectorTileConfig().layers(),
+        VectorTilesResource::createLayerBuilder,
+        serverContext
+      );
+    }
+    var notFound = VectorTileResponseFactory.checkLayersExist(
       Arrays.asList(requestedLayers.split(",")),
-      serverContext.vectorTileConfig().layers(),
-      VectorTilesResource::createLayerBuilder,
-      serverContext
+      serverContext.vectorTileConfig().layers()
+    );
+    if (notFound != null) {
+      return notFound;
+    }
+    return VectorTileResponseFactory.toResponse(
+      renderCached(cache, x, y, z, locale, requestedLayers, serverContext)
     );
   }
 
@@ -118,6 +138,91 @@ public class VectorTilesResource {
       .toList();
   }
 
+  /**
+   * Render the tiles configured in {@link VectorTileCacheParameters#prewarmLayers()}, covering
+   * the graph, into the cache. Nothing is done if the cache is not enabled.
+   */
+  public static void prewarmCache(OtpServerRequestContext context) {
+    var cache = context.vectorTileCache();
+    var envelope = context.worldEnvelopeService().envelope();
+    if (cache == null || cache.parameters().prewarmLayers().isEmpty() || envelope.isEmpty()) {
+      return;
+    }
+    var parameters = cache.parameters();
+    var layerNames = context
+      .vectorTileConfig()
+      .layers()
+      .stream()
+      .map(LayerParameters::name)
+      .collect(Collectors.toSet());
+    var lowerLeft = envelope.get().lowerLeft();
+    var upperRight = envelope.get().upperRight();
+    long start = System.currentTimeMillis();
+    int count = 0;
+
+    for (String layers : parameters.prewarmLayers()) {
+      if (!layerNames.containsAll(Arrays.asList(layers.split(",")))) {
+        LOG.warn("Can not prewarm vector tiles for unknown layers: {}", layers);
+        continue;
+      }
+      for (String language : parameters.prewarmLanguages()) {
+        var locale = Locale.forLanguageTag(language);
+        for (int z = parameters.prewarmMinZoom(); z <= parameters.prewarmMaxZoom(); ++z) {
+          int minX = WebMercatorTile.lon2tile(lowerLeft.longitude(), z);
+          int maxX = WebMercatorTile.lon2tile(upperRight.longitude(), z);
+          int minY = WebMercatorTile.lat2tile(upperRight.latitude(), z);
+          int maxY = WebMercatorTile.lat2tile(lowerLeft.latitude(), z);
+          for (int x = minX; x <= maxX; ++x) {
+            for (int y = minY; y <= maxY; ++y) {
+              if (count >= parameters.maxSize()) {
+                LOG.warn("The vector tile cache is full, stop prewarming after {} tiles.", count);
+                return;
+              }
+              renderCached(cache, x, y, z, locale, layers, context);
+              ++count;
+            }
+          }
+        }
+      }
+    }
+    LOG.info(
+      "Prewarmed {} vector tiles in {}.",
+      count,
+      DurationUtils.msToSecondsStr(System.currentTimeMillis() - start)
+    );
+  }
+
+  private static VectorTileResponseFactory.RenderedTile renderCached(
+    VectorTileCache cache,
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    String requestedLayers,
+    OtpServerRequestContext context
+  ) {
+    var key = cache.keyOf(
+      requestedLayers,
+      z,
+      x,
+      y,
+      locale,
+      context.transitService().getTimetableSnapshotVersion()
+    );
+    return cache.get(key, () ->
+      VectorTileResponseFactory.render(
+        x,
+        y,
+        z,
+        locale,
+        Arrays.asList(requestedLayers.split(",")),
+        context.vectorTileConfig().layers(),
+        VectorTilesResource::createLayerBuilder,
+        context
+      )
+    );
+  }
+
   private static LayerBuilder<?> createLayerBuilder(
     LayerParameters<LayerType> layerParameters,
     Locale locale,
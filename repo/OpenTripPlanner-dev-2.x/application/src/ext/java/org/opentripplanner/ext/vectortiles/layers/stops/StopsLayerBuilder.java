@@ -40,6 +40,19 @@ public class StopsLayerBuilder extends LayerBuilder<RegularStop> {
     this.filter = LayerFilters.forType(layerParameters.filterType(), transitService);
   }
 
+  /**
+   * Return true if the layer shows real-time timetable data, so its tiles change when new
+   * real-time updates are published.
+   */
+  public static boolean usesRealtimeData(
+    LayerParameters<VectorTilesResource.LayerType> layerParameters
+  ) {
+    return (
+      layerParameters.type() == VectorTilesResource.LayerType.Stop &&
+      MapperType.DigitransitRealtime.name().equals(layerParameters.mapper())
+    );
+  }
+
   protected List<Geometry> getGeometries(Envelope query) {
     return transitService
       .findRegularStopsByBoundingBox(query)
@@ -19,6 +19,28 @@ public class WebMercatorTile {
     return new Envelope(maxLon, minLon, maxLat, minLat);
   }
 
+  /**
+   * The x tile number of the tile containing the given longitude.
+   */
+  public static int lon2tile(double lon, int zoom) {
+    int n = 1 << zoom;
+    return clamp((int) Math.floor(((lon + 180) / 360) * n), n);
+  }
+
+  /**
+   * The y tile number of the tile containing the given latitude.
+   */
+  public static int lat2tile(double lat, int zoom) {
+    int n = 1 << zoom;
+    double latRad = Math.toRadians(lat);
+    double y = (1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2;
+    return clamp((int) Math.floor(y * n), n);
+  }
+
+  private static int clamp(int tile, int n) {
+    return Math.max(0, Math.min(n - 1, tile));
+  }
+
   private static double tile2lon(int x, int z) {
     return (x / Math.pow(2.0, z)) * 360.0 - 180;
   }
@@ -0,0 +1,224 @@
+package org.opentripplanner.apis.gtfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * A response cache for the GTFS GraphQL API. Many clients send the same {@code plan},
+ * {@code nearest} or {@code stop} queries for the same places, this cache serves the serialized
+ * response of an identical earlier query.
+ * <p>
+ * A response is cached under a key made of:
+ * <ul>
+ *   <li>the query, normalized by parsing and printing it in compact form</li>
+ *   <li>the variables, with coordinates rounded to a configurable number of decimals</li>
+ *   <li>the operation name and locale</li>
+ *   <li>the version of the real-time {@code TimetableSnapshot}</li>
+ * </ul>
+ * The query is executed with the original variables, the rounded variables are only used in the
+ * key. So a request is served the cached response of an earlier request from a place at most half
+ * a unit of the last decimal away. Coordinates inlined in the query text are not rounded.
+ * <p>
+ * When a new timetable snapshot is committed all cached responses are dropped. Responses are also
+ * expired after a fixed time, since they depend on data which is not part of the snapshot, like the
+ * current time and vehicle rental availability. Only queries where all root fields are listed in
+ * {@link GraphQLResultCacheParameters#queries()} are cached, and only responses without errors.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class GraphQLResultCache {
+
+  private static final Set<String> COORDINATE_VARIABLE_NAMES = Set.of(
+    "lat",
+    "lon",
+    "latitude",
+    "longitude"
+  );
+
+  private final GraphQLResultCacheParameters parameters;
+  private final Cache<Key, String> cache;
+  private final AtomicLong currentSnapshotVersion = new AtomicLong();
+
+  @Nullable
+  private final Counter invalidations;
+
+  public GraphQLResultCache(
+    GraphQLResultCacheParameters parameters,
+    @Nullable MeterRegistry registry
+  ) {
+    this.parameters = Objects.requireNonNull(parameters);
+    this.cache = CacheBuilder.newBuilder()
+      .maximumSize(parameters.maxSize())
+      .expireAfterWrite(parameters.ttl())
+      .recordStats()
+      .build();
+
+    if (registry != null) {
+      GuavaCacheMetrics.monitor(registry, cache, "gtfsGraphQlResultCache");
+      this.invalidations = Counter.builder("gtfsGraphQlResultCache.invalidations")
+        .description("Number of times the cache is cleared because of a new timetable snapshot")
+        .register(registry);
+    } else {
+      this.invalidations = null;
+    }
+  }
+
+  /**
+   * Create the cache key for a request, or return {@code null} if the request should not be
+   * cached. The given variables are not changed.
+   */
+  @Nullable
+  public Key keyOf(
+    String query,
+    @Nullable Map<String, Object> variables,
+    @Nullable String operationName,
+    Locale locale,
+    long snapshotVersion
+  ) {
+    Document document;
+    try {
+      document = Parser.parse(query);
+    } catch (InvalidSyntaxException e) {
+      // Let the GraphQL execution report the error
+      return null;
+    }
+    if (!isCacheable(document, operationName)) {
+      return null;
+    }
+    return new Key(
+      AstPrinter.printAstCompact(document),
+      variables == null ? Map.of() : roundCoordinates(variables),
+      operationName,
+      locale,
+      snapshotVersion
+    );
+  }
+
+  /**
+   * Return the cached response for the given key, or {@code null} if not cached.
+   */
+  @Nullable
+  public String get(Key key) {
+    invalidateIfNewSnapshot(key.snapshotVersion);
+    return cache.getIfPresent(key);
+  }
+
+  /**
+   * Cache the response, unless the key belongs to an outdated timetable snapshot.
+   */
+  public void put(Key key, String response) {
+    invalidateIfNewSnapshot(key.snapshotVersion);
+    if (key.snapshotVersion == currentSnapshotVersion.get()) {
+      cache.put(key, response);
+    }
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(GraphQLResultCache.class)
+      .addObj("parameters", parameters)
+      .addNum("size", cache.size())
+      .addNum("snapshotVersion", currentSnapshotVersion.get())
+      .toString();
+  }
+
+  private void invalidateIfNewSnapshot(long snapshotVersion) {
+    long previous = currentSnapshotVersion.getAndAccumulate(snapshotVersion, Math::max);
+    if (snapshotVersion > previous) {
+      cache.invalidateAll();
+      if (invalidations != null) {
+        invalidations.increment();
+      }
+    }
+  }
+
+  private boolean isCacheable(Document document, @Nullable String operationName) {
+    var operations = document.getDefinitionsOfType(OperationDefinition.class);
+    OperationDefinition operation = null;
+    for (var it : operations) {
+      if (operationName == null ? operations.size() == 1 : operationName.equals(it.getName())) {
+        operation = it;
+      }
+    }
+    if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+      return false;
+    }
+    for (Selection<?> selection : operation.getSelectionSet().getSelections()) {
+      // Fragments on the root type are not inspected
+      if (!(selection instanceof Field field) || !parameters.queries().contains(field.getName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Map<String, Object> roundCoordinates(Map<String, Object> variables) {
+    var result = new HashMap<String, Object>();
+    for (var e : variables.entrySet()) {
+      result.put(e.getKey(), roundCoordinates(e.getKey(), e.getValue()));
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object roundCoordinates(@Nullable String name, Object value) {
+    if (value instanceof Map<?, ?> map) {
+      return roundCoordinates((Map<String, Object>) map);
+    }
+    if (value instanceof List<?> list) {
+      var result = new ArrayList<>(list.size());
+      for (Object it : list) {
+        result.add(roundCoordinates(null, it));
+      }
+      return result;
+    }
+    if (
+      name != null &&
+      COORDINATE_VARIABLE_NAMES.contains(name) &&
+      value instanceof Number number &&
+      !(number instanceof Integer || number instanceof Long)
+    ) {
+      return BigDecimal.valueOf(number.doubleValue())
+        .setScale(parameters.coordinatePrecision(), RoundingMode.HALF_UP)
+        .doubleValue();
+    }
+    return value;
+  }
+
+  /**
+   * The cache key, see the class documentation.
+   */
+  public record Key(
+    String query,
+    Map<String, Object> variables,
+    @Nullable String operationName,
+    Locale locale,
+    long snapshotVersion
+  ) {}
+}
@@ -0,0 +1,58 @@
+package org.opentripplanner.apis.gtfs;
+
+import java.time.Duration;
+import java.util.Set;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Parameters for the optional GTFS GraphQL API result cache, see {@link GraphQLResultCache}.
+ *
+ * @param ttl How long a cached response is kept, {@link Duration#ZERO} disables the cache.
+ * @param maxSize The maximum number of cached responses.
+ * @param coordinatePrecision The number of decimals latitudes and longitudes in the query
+ *                            variables are rounded to in the cache key.
+ * @param queries The names of the root query fields which may be cached, a request is only cached
+ *                if all its root fields are in this set.
+ */
+public record GraphQLResultCacheParameters(
+  Duration ttl,
+  int maxSize,
+  int coordinatePrecision,
+  Set<String> queries
+) {
+  public static final GraphQLResultCacheParameters DEFAULT = new GraphQLResultCacheParameters(
+    Duration.ZERO,
+    10_000,
+    4,
+    Set.of("plan", "planConnection", "nearest", "stop")
+  );
+
+  public GraphQLResultCacheParameters {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("The cache ttl can not be negative: " + ttl);
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The cache maxSize must be at least 1: " + maxSize);
+    }
+    if (coordinatePrecision < 0) {
+      throw new IllegalArgumentException(
+        "The coordinatePrecision can not be negative: " + coordinatePrecision
+      );
+    }
+    queries = Set.copyOf(queries);
+  }
+
+  public boolean isEnabled() {
+    return ttl.isPositive();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(GraphQLResultCacheParameters.class)
+      .addDuration("ttl", ttl, DEFAULT.ttl)
+      .addNum("maxSize", maxSize, DEFAULT.maxSize)
+      .addNum("coordinatePrecision", coordinatePrecision, DEFAULT.coordinatePrecision)
+      .addCol("queries", queries, DEFAULT.queries)
+      .toString();
+  }
+}
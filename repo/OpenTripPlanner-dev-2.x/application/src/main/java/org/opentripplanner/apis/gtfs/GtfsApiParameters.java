@@ -14,4 +14,11 @@ public interface GtfsApiParameters {
    * @see org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation
    */
   Collection<String> tracingTags();
+
+  /**
+   * Parameters for caching responses of frequent, identical queries.
+   *
+   * @see GraphQLResultCache
+   */
+  GraphQLResultCacheParameters resultCache();
 }
@@ -101,7 +101,8 @@ public class GtfsGraphQLAPI {
         serverContext.gtfsApiParameters().tracingTags(),
         headers,
         uriInfo.getQueryParameters()
-      )
+      ),
+      serverContext.gtfsResultCache()
     );
   }
 
@@ -129,7 +130,8 @@ public class GtfsGraphQLAPI {
         serverContext.gtfsApiParameters().tracingTags(),
         headers,
         uriInfo.getQueryParameters()
-      )
+      ),
+      serverContext.gtfsResultCache()
     );
   }
 }
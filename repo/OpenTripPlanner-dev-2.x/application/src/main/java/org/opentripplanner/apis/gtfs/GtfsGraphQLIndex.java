@@ -16,7 +16,9 @@ import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
 import org.opentripplanner.apis.support.graphql.LoggingDataFetcherExceptionHandler;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
@@ -57,6 +59,7 @@ class GtfsGraphQLIndex {
       .context(requestContext)
       .variables(variables)
       .locale(locale)
+      .dataLoaderRegistry(new TransitDataLoaderRegistry(requestContext.transitService(), false))
       .build();
     try {
       return graphQL.executeAsync(executionInput).get(timeoutMs, TimeUnit.MILLISECONDS);
@@ -75,6 +78,52 @@ class GtfsGraphQLIndex {
     GraphQLRequestContext requestContext,
     Iterable<Tag> tracingTags
   ) {
+    return getGraphQLResponse(
+      query,
+      variables,
+      operationName,
+      maxResolves,
+      timeoutMs,
+      locale,
+      requestContext,
+      tracingTags,
+      null
+    );
+  }
+
+  /**
+   * Execute the query and return the serialized response. If a result cache is given and the
+   * query is cacheable, the cached response is returned if present, and a new response is
+   * cached.
+   */
+  static Response getGraphQLResponse(
+    String query,
+    Map<String, Object> variables,
+    String operationName,
+    int maxResolves,
+    int timeoutMs,
+    Locale locale,
+    GraphQLRequestContext requestContext,
+    Iterable<Tag> tracingTags,
+    @Nullable GraphQLResultCache resultCache
+  ) {
+    var cacheKey = resultCache == null
+      ? null
+      : resultCache.keyOf(
+        query,
+        variables,
+        operationName,
+        locale,
+        requestContext.transitService().getTimetableSnapshotVersion()
+      );
+
+    if (cacheKey != null) {
+      String cached = resultCache.get(cacheKey);
+      if (cached != null) {
+        return Response.status(Response.Status.OK).entity(cached).build();
+      }
+    }
+
     ExecutionResult executionResult = getGraphQLExecutionResult(
       query,
       variables,
@@ -86,8 +135,11 @@ class GtfsGraphQLIndex {
       tracingTags
     );
 
-    return Response.status(Response.Status.OK)
-      .entity(GraphQLResponseSerializer.serialize(executionResult))
-      .build();
+    String body = GraphQLResponseSerializer.serialize(executionResult);
+
+    if (cacheKey != null && executionResult.getErrors().isEmpty()) {
+      resultCache.put(cacheKey, body);
+    }
+    return Response.status(Response.Status.OK).entity(body).build();
   }
 }
@@ -3,11 +3,14 @@ package org.opentripplanner.apis.gtfs.configure;
 import dagger.Module;
 import dagger.Provides;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.inject.Singleton;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.gtfs.GraphQLResultCache;
 import org.opentripplanner.apis.gtfs.SchemaFactory;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.standalone.config.RouterConfig;
 
 /**
  * The schema is used during application serve phase, not loading, and it depends on the default
@@ -27,4 +30,21 @@ public class SchemaModule {
       ? SchemaFactory.createSchemaWithDefaultInjection(defaultRouteRequest)
       : null;
   }
+
+  /**
+   * The result cache is only created if the API feature flag is on and a cache ttl is configured.
+   */
+  @Provides
+  @Singleton
+  @Nullable
+  public GraphQLResultCache provideResultCache(RouterConfig routerConfig) {
+    var parameters = routerConfig.gtfsApiParameters().resultCache();
+    if (!OTPFeature.GtfsGraphQlApi.isOn() || !parameters.isEnabled()) {
+      return null;
+    }
+    return new GraphQLResultCache(
+      parameters,
+      OTPFeature.ActuatorAPI.isOn() ? Metrics.globalRegistry : null
+    );
+  }
 }
@@ -2,6 +2,8 @@ package org.opentripplanner.apis.gtfs.datafetchers;
 
 import static org.opentripplanner.apis.gtfs.mapping.AlertEffectMapper.getGraphQLEffect;
 import static org.opentripplanner.apis.gtfs.mapping.SeverityMapper.getGraphQLSeverity;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.REGULAR_STOP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TRIP;
 
 import graphql.relay.Relay;
 import graphql.schema.DataFetcher;
@@ -24,6 +26,7 @@ import org.opentripplanner.apis.gtfs.model.RouteTypeModel;
 import org.opentripplanner.apis.gtfs.model.StopOnRouteModel;
 import org.opentripplanner.apis.gtfs.model.StopOnTripModel;
 import org.opentripplanner.apis.gtfs.model.UnknownModel;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.core.model.i18n.I18NString;
 import org.opentripplanner.core.model.i18n.TranslatedString;
 import org.opentripplanner.core.model.id.FeedScopedId;
@@ -187,13 +190,23 @@ public class AlertImpl implements GraphQLDataFetchers.GraphQLAlert {
           }
           if (entitySelector instanceof EntitySelector.Trip) {
             FeedScopedId id = ((EntitySelector.Trip) entitySelector).tripId();
-            Trip trip = getTransitService(environment).getTrip(id);
+            Trip trip = TransitDataLoaderRegistry.load(
+              environment,
+              TRIP,
+              id,
+              getTransitService(environment)
+            );
             return List.of(getAlertEntityOrUnknown(trip, id.toString(), "trip"));
           }
           if (entitySelector instanceof EntitySelector.StopAndRoute stopAndRoute) {
             FeedScopedId stopId = stopAndRoute.stopId();
             FeedScopedId routeId = stopAndRoute.routeId();
-            StopLocation stop = getTransitService(environment).getRegularStop(stopId);
+            StopLocation stop = TransitDataLoaderRegistry.load(
+              environment,
+              REGULAR_STOP,
+              stopId,
+              getTransitService(environment)
+            );
             Route route = getTransitService(environment).getRoute(routeId);
             return List.of(
               stop != null && route != null
@@ -211,8 +224,18 @@ public class AlertImpl implements GraphQLDataFetchers.GraphQLAlert {
           if (entitySelector instanceof EntitySelector.StopAndTrip stopAndTrip) {
             FeedScopedId stopId = stopAndTrip.stopId();
             FeedScopedId tripId = stopAndTrip.tripId();
-            StopLocation stop = getTransitService(environment).getRegularStop(stopId);
-            Trip trip = getTransitService(environment).getTrip(tripId);
+            StopLocation stop = TransitDataLoaderRegistry.load(
+              environment,
+              REGULAR_STOP,
+              stopId,
+              getTransitService(environment)
+            );
+            Trip trip = TransitDataLoaderRegistry.load(
+              environment,
+              TRIP,
+              tripId,
+              getTransitService(environment)
+            );
             return List.of(
               stop != null && trip != null
                 ? new StopOnTripModel(stop, trip)
@@ -322,7 +345,12 @@ public class AlertImpl implements GraphQLDataFetchers.GraphQLAlert {
         .findAny()
         .map(EntitySelector.Stop.class::cast)
         .map(entitySelector ->
-          getTransitService(environment).getRegularStop(entitySelector.stopId())
+          TransitDataLoaderRegistry.load(
+            environment,
+            REGULAR_STOP,
+            entitySelector.stopId(),
+            getTransitService(environment)
+          )
         )
         .orElse(null);
   }
@@ -336,7 +364,14 @@ public class AlertImpl implements GraphQLDataFetchers.GraphQLAlert {
         .filter(entitySelector -> entitySelector instanceof EntitySelector.Trip)
         .findAny()
         .map(EntitySelector.Trip.class::cast)
-        .map(entitySelector -> getTransitService(environment).getTrip(entitySelector.tripId()))
+        .map(entitySelector ->
+          TransitDataLoaderRegistry.load(
+            environment,
+            TRIP,
+            entitySelector.tripId(),
+            getTransitService(environment)
+          )
+        )
         .orElse(null);
   }
 
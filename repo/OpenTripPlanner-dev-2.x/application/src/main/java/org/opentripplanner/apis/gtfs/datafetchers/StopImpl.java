@@ -1,5 +1,10 @@
 package org.opentripplanner.apis.gtfs.datafetchers;
 
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.PATTERNS_FOR_STOP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.STOP_ALERTS;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.STOP_ENTITY_ALERTS;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TRIP_ALERTS;
+
 import graphql.relay.Relay;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
@@ -21,6 +26,7 @@ import org.opentripplanner.apis.gtfs.generated.GraphQLTypes;
 import org.opentripplanner.apis.gtfs.service.ApiTransitService;
 import org.opentripplanner.apis.gtfs.support.filter.PatternByDateFilterUtil;
 import org.opentripplanner.apis.gtfs.support.time.LocalDateRangeUtil;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.model.StopTimesInPattern;
 import org.opentripplanner.model.TripTimeOnDate;
@@ -45,22 +51,24 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
   @Override
   public DataFetcher<Iterable<TransitAlert>> alerts() {
     return environment -> {
-      TransitAlertService alertService = getTransitService(environment).getTransitAlertService();
+      TransitService transitService = getTransitService(environment);
+      TransitAlertService alertService = transitService.getTransitAlertService();
       var args = new GraphQLTypes.GraphQLStopAlertsArgs(environment.getArguments());
       List<GraphQLTypes.GraphQLStopAlertType> types = args.getGraphQLTypes();
       FeedScopedId id = getValue(environment, StopLocation::getId, AbstractTransitEntity::getId);
       if (types != null) {
         Collection<TransitAlert> alerts = new ArrayList<>();
         if (types.contains(GraphQLTypes.GraphQLStopAlertType.STOP)) {
-          alerts.addAll(alertService.getStopAlerts(id));
+          alerts.addAll(
+            TransitDataLoaderRegistry.load(environment, STOP_ALERTS, id, transitService)
+          );
         }
         if (
           types.contains(GraphQLTypes.GraphQLStopAlertType.STOP_ON_ROUTES) ||
           types.contains(GraphQLTypes.GraphQLStopAlertType.STOP_ON_TRIPS)
         ) {
           alerts.addAll(
-            alertService
-              .getAllAlerts()
+            TransitDataLoaderRegistry.load(environment, STOP_ENTITY_ALERTS, id, transitService)
               .stream()
               .filter(alert ->
                 alert
@@ -97,7 +105,16 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
               if (types.contains(GraphQLTypes.GraphQLStopAlertType.TRIPS)) {
                 pattern
                   .scheduledTripsAsStream()
-                  .forEach(trip -> alerts.addAll(alertService.getTripAlerts(trip.getId())));
+                  .forEach(trip ->
+                    alerts.addAll(
+                      TransitDataLoaderRegistry.load(
+                        environment,
+                        TRIP_ALERTS,
+                        trip.getId(),
+                        transitService
+                      )
+                    )
+                  );
               }
             });
           }
@@ -120,7 +137,7 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
         }
         return alerts.stream().distinct().collect(Collectors.toList());
       } else {
-        return alertService.getStopAlerts(id);
+        return TransitDataLoaderRegistry.load(environment, STOP_ALERTS, id, transitService);
       }
     };
   }
@@ -501,7 +518,13 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
   private Collection<TripPattern> getPatterns(DataFetchingEnvironment environment) {
     return getValue(
       environment,
-      stop -> getTransitService(environment).findPatterns(stop, true),
+      stop ->
+        TransitDataLoaderRegistry.load(
+          environment,
+          PATTERNS_FOR_STOP,
+          stop,
+          getTransitService(environment)
+        ),
       station -> null
     );
   }
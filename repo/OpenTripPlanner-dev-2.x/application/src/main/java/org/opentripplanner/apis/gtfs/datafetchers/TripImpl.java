@@ -1,5 +1,9 @@
 package org.opentripplanner.apis.gtfs.datafetchers;
 
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.PATTERN_FOR_TRIP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.STOP_ALERTS;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TRIP_ALERTS;
+
 import graphql.relay.Relay;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
@@ -24,6 +28,7 @@ import org.opentripplanner.apis.gtfs.generated.GraphQLTypes.GraphQLBikesAllowed;
 import org.opentripplanner.apis.gtfs.mapping.BikesAllowedMapper;
 import org.opentripplanner.apis.gtfs.model.TripOccupancy;
 import org.opentripplanner.apis.support.SemanticHash;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.model.TripTimeOnDate;
 import org.opentripplanner.routing.alertpatch.EntitySelector;
@@ -57,7 +62,9 @@ public class TripImpl implements GraphQLDataFetchers.GraphQLTrip {
   @Override
   public DataFetcher<Iterable<TransitAlert>> alerts() {
     return environment -> {
-      TransitAlertService alertService = getTransitService(environment).getTransitAlertService();
+      TransitService transitService = getTransitService(environment);
+      TransitAlertService alertService = transitService.getTransitAlertService();
+      FeedScopedId tripId = getSource(environment).getId();
       var args = new GraphQLTypes.GraphQLTripAlertsArgs(environment.getArguments());
       List<GraphQLTypes.GraphQLTripAlertType> types = args.getGraphQLTypes();
       if (types != null) {
@@ -65,7 +72,9 @@ public class TripImpl implements GraphQLDataFetchers.GraphQLTrip {
         types.forEach(type -> {
           switch (type) {
             case TRIP:
-              alerts.addAll(alertService.getTripAlerts(getSource(environment).getId()));
+              alerts.addAll(
+                TransitDataLoaderRegistry.load(environment, TRIP_ALERTS, tripId, transitService)
+              );
               break;
             case AGENCY:
               alerts.addAll(alertService.getAgencyAlerts(getAgency(environment).getId()));
@@ -114,14 +123,16 @@ public class TripImpl implements GraphQLDataFetchers.GraphQLTrip {
               );
               getStops(environment).forEach(stop -> {
                 FeedScopedId stopId = ((StopLocation) stop).getId();
-                alerts.addAll(alertService.getStopAlerts(stopId));
+                alerts.addAll(
+                  TransitDataLoaderRegistry.load(environment, STOP_ALERTS, stopId, transitService)
+                );
               });
               break;
           }
         });
         return alerts.stream().distinct().collect(Collectors.toList());
       } else {
-        return alertService.getTripAlerts(getSource(environment).getId());
+        return TransitDataLoaderRegistry.load(environment, TRIP_ALERTS, tripId, transitService);
       }
     };
   }
@@ -393,7 +404,12 @@ public class TripImpl implements GraphQLDataFetchers.GraphQLTrip {
   }
 
   private TripPattern getTripPattern(DataFetchingEnvironment environment) {
-    return getTransitService(environment).findPattern(environment.getSource());
+    return TransitDataLoaderRegistry.load(
+      environment,
+      PATTERN_FOR_TRIP,
+      environment.getSource(),
+      getTransitService(environment)
+    );
   }
 
   private TripPattern getTripPattern(
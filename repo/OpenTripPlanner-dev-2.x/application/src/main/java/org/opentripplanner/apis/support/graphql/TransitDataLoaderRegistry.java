@@ -0,0 +1,291 @@
+package org.opentripplanner.apis.support.graphql;
+
+import com.google.common.base.Suppliers;
+import graphql.schema.DataFetchingEnvironment;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.model.TripTimeOnDate;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.routing.services.TransitAlertService;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.model.timetable.Trip;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * The data loaders of one GraphQL query, used by the GTFS and Transmodel APIs to look up the
+ * transit data that is requested for many entities in the same query, like the patterns and
+ * alerts of each stop in a departure board.
+ * <p>
+ * A new registry is created for each query, so the loaded values are cached for the duration of
+ * the query only, and all lookups use the same {@link TransitService}. Each entity is looked up
+ * once, even if it appears many times in the result. Alerts on stop entities are found by
+ * indexing all alerts once per query, instead of scanning all alerts for each stop.
+ * <p>
+ * The data fetchers of the GTFS API are generated with synchronous return types, so batching is
+ * disabled and a load completes immediately. The Transmodel API can return a
+ * {@link CompletableFuture} from a data fetcher, so batching is enabled there and the keys
+ * loaded with {@link #loadAsync} are fetched together when graphql-java dispatches the loaders.
+ * The transit data is in memory, so the gain of batching is in sharing work between the keys,
+ * not in reducing the number of calls.
+ * <p>
+ * The registry counts the loads and fetches of each loader and the time spent fetching, these
+ * are reported by the {@code MicrometerGraphQLInstrumentation} when the query is completed.
+ */
+public class TransitDataLoaderRegistry extends DataLoaderRegistry {
+
+  public static final LoaderType<StopLocation, Collection<TripPattern>> PATTERNS_FOR_STOP =
+    new LoaderType<>("patternsForStop", transitService ->
+      stops -> stops.stream().map(stop -> transitService.findPatterns(stop, true)).toList()
+    );
+
+  public static final LoaderType<Trip, TripPattern> PATTERN_FOR_TRIP = new LoaderType<>(
+    "patternForTrip",
+    transitService -> trips -> trips.stream().map(transitService::findPattern).toList()
+  );
+
+  public static final LoaderType<FeedScopedId, RegularStop> REGULAR_STOP = new LoaderType<>(
+    "regularStop",
+    transitService -> stopIds -> stopIds.stream().map(transitService::getRegularStop).toList()
+  );
+
+  public static final LoaderType<FeedScopedId, Trip> TRIP = new LoaderType<>(
+    "trip",
+    transitService -> tripIds -> tripIds.stream().map(transitService::getTrip).toList()
+  );
+
+  /**
+   * The stop times of a trip on a service date, with the real-time updates. The list is empty if
+   * the trip does not run on the date.
+   */
+  public static final LoaderType<TripAndDate, List<TripTimeOnDate>> TRIP_TIMES_ON_DATE =
+    new LoaderType<>("tripTimesOnDate", transitService ->
+      keys ->
+        keys
+          .stream()
+          .map(key ->
+            transitService.findTripTimesOnDate(key.trip(), key.serviceDate()).orElse(List.of())
+          )
+          .toList()
+    );
+
+  public static final LoaderType<FeedScopedId, Collection<TransitAlert>> STOP_ALERTS =
+    new LoaderType<>("stopAlerts", transitService -> {
+      var alertService = transitService.getTransitAlertService();
+      return stopIds -> stopIds.stream().map(alertService::getStopAlerts).toList();
+    });
+
+  public static final LoaderType<FeedScopedId, Collection<TransitAlert>> TRIP_ALERTS =
+    new LoaderType<>("tripAlerts", transitService -> {
+      var alertService = transitService.getTransitAlertService();
+      return tripIds -> tripIds.stream().map(alertService::getTripAlerts).toList();
+    });
+
+  /**
+   * The alerts with a stop-and-route or stop-and-trip entity for the given stop, in the order
+   * of {@link TransitAlertService#getAllAlerts()}.
+   */
+  public static final LoaderType<FeedScopedId, Collection<TransitAlert>> STOP_ENTITY_ALERTS =
+    new LoaderType<>("stopEntityAlerts", TransitDataLoaderRegistry::stopEntityAlerts);
+
+  private static final List<LoaderType<?, ?>> LOADER_TYPES = List.of(
+    PATTERNS_FOR_STOP,
+    PATTERN_FOR_TRIP,
+    REGULAR_STOP,
+    TRIP,
+    TRIP_TIMES_ON_DATE,
+    STOP_ALERTS,
+    TRIP_ALERTS,
+    STOP_ENTITY_ALERTS
+  );
+
+  private final Map<String, Counters> counters = new HashMap<>();
+
+  private final boolean batchingEnabled;
+
+  /**
+   * @param batchingEnabled If {@code true}, the loads are not completed until the loaders are
+   *                        dispatched. Only enable it if the query is executed by graphql-java
+   *                        with an asynchronous execution strategy, which dispatches the loaders.
+   */
+  public TransitDataLoaderRegistry(TransitService transitService, boolean batchingEnabled) {
+    this.batchingEnabled = batchingEnabled;
+    var options = DataLoaderOptions.newOptions().setBatchingEnabled(batchingEnabled).build();
+    for (var type : LOADER_TYPES) {
+      registerLoader(type, transitService, options);
+    }
+  }
+
+  /**
+   * Load the value for the given key using the data loader of the query. If the query is
+   * executed without a registry, for example when a data fetcher is tested on its own, the value
+   * is looked up directly in the given transit service.
+   */
+  public static <K, V> V load(
+    DataFetchingEnvironment environment,
+    LoaderType<K, V> type,
+    K key,
+    TransitService transitService
+  ) {
+    if (!(environment.getDataLoaderRegistry() instanceof TransitDataLoaderRegistry registry)) {
+      return loadWithoutRegistry(type, key, transitService);
+    }
+    var future = registry.loadAsync(type, key);
+    if (registry.batchingEnabled) {
+      // Fetch the pending keys now, the data fetcher can not wait for graphql-java to do it
+      registry.<K, V>getDataLoader(type.name()).dispatch();
+    }
+    return future.join();
+  }
+
+  /**
+   * Load the value for the given key using the data loader of the query, the data fetcher should
+   * return the future to graphql-java. If batching is enabled, the future is completed when
+   * graphql-java dispatches the loaders, together with the other keys loaded at the same level
+   * of the query. Without a registry the value is looked up directly in the transit service.
+   */
+  public static <K, V> CompletableFuture<V> loadAsync(
+    DataFetchingEnvironment environment,
+    LoaderType<K, V> type,
+    K key,
+    TransitService transitService
+  ) {
+    if (!(environment.getDataLoaderRegistry() instanceof TransitDataLoaderRegistry registry)) {
+      return CompletableFuture.completedFuture(loadWithoutRegistry(type, key, transitService));
+    }
+    return registry.loadAsync(type, key);
+  }
+
+  /**
+   * Call the given consumer with the statistics of each loader that was used in the query.
+   */
+  public void forEachStatistics(BiConsumer<String, Statistics> consumer) {
+    counters.forEach((name, c) -> {
+      if (c.loads.sum() > 0) {
+        consumer.accept(name, c.toStatistics());
+      }
+    });
+  }
+
+  private <K, V> CompletableFuture<V> loadAsync(LoaderType<K, V> type, K key) {
+    DataLoader<K, V> loader = getDataLoader(type.name());
+    counters.get(type.name()).loads.increment();
+    return loader.load(key);
+  }
+
+  private static <K, V> V loadWithoutRegistry(
+    LoaderType<K, V> type,
+    K key,
+    TransitService transitService
+  ) {
+    return type.batchFunctionFactory().apply(transitService).load(List.of(key)).getFirst();
+  }
+
+  private <K, V> void registerLoader(
+    LoaderType<K, V> type,
+    TransitService transitService,
+    DataLoaderOptions options
+  ) {
+    var c = new Counters();
+    var batchFunction = type.batchFunctionFactory().apply(transitService);
+    BatchLoader<K, V> batchLoader = keys -> {
+      long start = System.nanoTime();
+      var values = batchFunction.load(keys);
+      c.fetches.add(keys.size());
+      c.nanos.add(System.nanoTime() - start);
+      return CompletableFuture.completedFuture(values);
+    };
+    counters.put(type.name(), c);
+    register(type.name(), DataLoaderFactory.newDataLoader(batchLoader, options));
+  }
+
+  private static BatchFunction<FeedScopedId, Collection<TransitAlert>> stopEntityAlerts(
+    TransitService transitService
+  ) {
+    // Index all the alerts the first time the loader is used in the query
+    var index = Suppliers.memoize(() -> indexStopEntityAlerts(transitService));
+    return stopIds ->
+      stopIds
+        .stream()
+        .map(stopId -> index.get().getOrDefault(stopId, List.of()))
+        .toList();
+  }
+
+  private static Map<FeedScopedId, Collection<TransitAlert>> indexStopEntityAlerts(
+    TransitService transitService
+  ) {
+    var index = new HashMap<FeedScopedId, Collection<TransitAlert>>();
+    for (var alert : transitService.getTransitAlertService().getAllAlerts()) {
+      var stopIds = new HashSet<FeedScopedId>();
+      for (var entity : alert.entities()) {
+        if (entity instanceof EntitySelector.StopAndRoute stopAndRoute) {
+          stopIds.add(stopAndRoute.stopId());
+        } else if (entity instanceof EntitySelector.StopAndTrip stopAndTrip) {
+          stopIds.add(stopAndTrip.stopId());
+        }
+      }
+      for (var stopId : stopIds) {
+        index.computeIfAbsent(stopId, id -> new ArrayList<>()).add(alert);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Looks up the values of a list of keys, the values must be returned in the order of the keys.
+   */
+  @FunctionalInterface
+  public interface BatchFunction<K, V> {
+    List<V> load(List<K> keys);
+  }
+
+  /**
+   * A type of data loader, the batch function is created once per query from the transit service
+   * of the query, so it may keep state shared by all the keys of the query.
+   */
+  public record LoaderType<K, V>(
+    String name,
+    Function<TransitService, BatchFunction<K, V>> batchFunctionFactory
+  ) {}
+
+  /**
+   * The key of {@link #TRIP_TIMES_ON_DATE}.
+   */
+  public record TripAndDate(Trip trip, LocalDate serviceDate) {}
+
+  /**
+   * @param loads The number of values requested from the loader, including cached values.
+   * @param fetches The number of values looked up in the transit service.
+   * @param fetchTime The time spent looking up values in the transit service.
+   */
+  public record Statistics(long loads, long fetches, Duration fetchTime) {}
+
+  private static class Counters {
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private Statistics toStatistics() {
+      return new Statistics(loads.sum(), fetches.sum(), Duration.ofNanos(nanos.sum()));
+    }
+  }
+}
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.opentripplanner.apis.support.graphql.LoggingDataFetcherExceptionHandler;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.apis.transmodel.support.AbortOnUnprocessableRequestExecutionStrategy;
 import org.opentripplanner.apis.transmodel.support.ExecutionResultMapper;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
@@ -121,6 +122,9 @@ class TransmodelGraph {
       .context(transmodelRequestContext)
       .root(serverContext)
       .variables(variables)
+      .dataLoaderRegistry(
+        new TransitDataLoaderRegistry(transmodelRequestContext.getTransitService(), true)
+      )
       .build();
   }
 
@@ -9,6 +9,8 @@ import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLTypeReference;
 import java.util.List;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TripAndDate;
 import org.opentripplanner.apis.transmodel.support.GqlUtil;
 import org.opentripplanner.model.TripTimeOnDate;
 
@@ -99,11 +101,12 @@ public class SJEstimatedCallsType {
   }
 
   private static List<TripTimeOnDate> tripTimeOnDates(DataFetchingEnvironment environment) {
-    return GqlUtil.getTransitService(environment)
-      .findTripTimesOnDate(
-        environment.<TripTimeOnDate>getSource().getTrip(),
-        environment.<TripTimeOnDate>getSource().getServiceDay()
-      )
-      .orElse(List.of());
+    TripTimeOnDate tripTimeOnDate = environment.getSource();
+    return TransitDataLoaderRegistry.load(
+      environment,
+      TransitDataLoaderRegistry.TRIP_TIMES_ON_DATE,
+      new TripAndDate(tripTimeOnDate.getTrip(), tripTimeOnDate.getServiceDay()),
+      GqlUtil.getTransitService(environment)
+    );
   }
 }
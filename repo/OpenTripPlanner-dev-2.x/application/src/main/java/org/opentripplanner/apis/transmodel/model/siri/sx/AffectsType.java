@@ -7,6 +7,7 @@ import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLUnionType;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.apis.transmodel.model.EnumTypes;
 import org.opentripplanner.apis.transmodel.model.framework.TransmodelScalars;
 import org.opentripplanner.apis.transmodel.model.stop.StopPlaceType;
@@ -34,7 +35,12 @@ public class AffectsType {
           .type(quayType)
           .dataFetcher(environment -> {
             FeedScopedId stopId = environment.<EntitySelector.Stop>getSource().stopId();
-            return GqlUtil.getTransitService(environment).getRegularStop(stopId);
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.REGULAR_STOP,
+              stopId,
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -80,7 +86,12 @@ public class AffectsType {
           .type(serviceJourneyType)
           .dataFetcher(environment -> {
             var tripId = environment.<EntitySelector.Trip>getSource().tripId();
-            return GqlUtil.getTransitService(environment).getTrip(tripId);
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.TRIP,
+              tripId,
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -113,7 +124,12 @@ public class AffectsType {
           .type(quayType)
           .dataFetcher(environment -> {
             FeedScopedId stopId = environment.<EntitySelector.StopAndRoute>getSource().stopId();
-            return GqlUtil.getTransitService(environment).getRegularStop(stopId);
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.REGULAR_STOP,
+              stopId,
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -155,7 +171,12 @@ public class AffectsType {
           .type(quayType)
           .dataFetcher(environment -> {
             FeedScopedId stopId = environment.<EntitySelector.StopAndTrip>getSource().stopId();
-            return GqlUtil.getTransitService(environment).getRegularStop(stopId);
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.REGULAR_STOP,
+              stopId,
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -175,7 +196,12 @@ public class AffectsType {
           .type(serviceJourneyType)
           .dataFetcher(environment -> {
             var tripId = environment.<EntitySelector.StopAndTrip>getSource().tripId();
-            return GqlUtil.getTransitService(environment).getTrip(tripId);
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.TRIP,
+              tripId,
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
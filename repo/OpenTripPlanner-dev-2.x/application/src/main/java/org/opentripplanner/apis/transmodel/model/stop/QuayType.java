@@ -3,6 +3,7 @@ package org.opentripplanner.apis.transmodel.model.stop;
 import static org.opentripplanner.apis.transmodel.support.GqlUtil.getPositiveNonNullIntegerArgument;
 
 import graphql.Scalars;
+import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLInterfaceType;
@@ -18,8 +19,10 @@ import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.locationtech.jts.geom.Geometry;
 import org.opentripplanner.api.model.transit.FeedScopedIdMapper;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.apis.transmodel.model.EnumTypes;
 import org.opentripplanner.apis.transmodel.model.framework.TransmodelDirectives;
 import org.opentripplanner.apis.transmodel.model.plan.JourneyWhiteListed;
@@ -170,12 +173,9 @@ public class QuayType {
           .description("List of lines servicing this quay")
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(lineType))))
           .dataFetcher(env ->
-            GqlUtil.getTransitService(env)
-              .findPatterns(env.getSource(), true)
-              .stream()
-              .map(TripPattern::getRoute)
-              .distinct()
-              .toList()
+            patterns(env).thenApply(patterns ->
+              patterns.stream().map(TripPattern::getRoute).distinct().toList()
+            )
           )
           .build()
       )
@@ -185,7 +185,7 @@ public class QuayType {
           .withDirective(TransmodelDirectives.TIMING_DATA)
           .description("List of journey patterns servicing this quay")
           .type(new GraphQLNonNull(new GraphQLList(journeyPatternType)))
-          .dataFetcher(env -> GqlUtil.getTransitService(env).findPatterns(env.getSource(), true))
+          .dataFetcher(QuayType::patterns)
           .build()
       )
       .field(
@@ -371,4 +371,15 @@ public class QuayType {
       )
       .build();
   }
+
+  private static CompletableFuture<Collection<TripPattern>> patterns(
+    DataFetchingEnvironment environment
+  ) {
+    return TransitDataLoaderRegistry.loadAsync(
+      environment,
+      TransitDataLoaderRegistry.PATTERNS_FOR_STOP,
+      environment.getSource(),
+      GqlUtil.getTransitService(environment)
+    );
+  }
 }
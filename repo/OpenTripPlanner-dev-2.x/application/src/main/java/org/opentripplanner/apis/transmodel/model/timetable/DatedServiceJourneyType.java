@@ -14,6 +14,8 @@ import graphql.schema.GraphQLTypeReference;
 import java.util.List;
 import java.util.Optional;
 import org.opentripplanner.api.model.transit.FeedScopedIdMapper;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TripAndDate;
 import org.opentripplanner.apis.transmodel.model.EnumTypes;
 import org.opentripplanner.apis.transmodel.model.framework.TransmodelDirectives;
 import org.opentripplanner.apis.transmodel.model.framework.TransmodelScalars;
@@ -147,9 +149,12 @@ public class DatedServiceJourneyType {
           )
           .dataFetcher(environment -> {
             TripOnServiceDate tripOnServiceDate = tripOnServiceDate(environment);
-            return GqlUtil.getTransitService(environment)
-              .findTripTimesOnDate(tripOnServiceDate.getTrip(), tripOnServiceDate.getServiceDate())
-              .orElse(List.of());
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.TRIP_TIMES_ON_DATE,
+              new TripAndDate(tripOnServiceDate.getTrip(), tripOnServiceDate.getServiceDate()),
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -13,10 +13,12 @@ import graphql.schema.GraphQLTypeReference;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.api.model.geometry.EncodedPolyline;
 import org.opentripplanner.api.model.transit.FeedScopedIdMapper;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry;
 import org.opentripplanner.apis.transmodel.model.EnumTypes;
 import org.opentripplanner.apis.transmodel.model.TransmodelTransportSubmode;
 import org.opentripplanner.apis.transmodel.model.framework.TransmodelDirectives;
@@ -25,7 +27,6 @@ import org.opentripplanner.apis.transmodel.support.GqlUtil;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.timetable.Trip;
-import org.opentripplanner.transit.service.TransitService;
 
 public class ServiceJourneyType {
 
@@ -159,7 +160,7 @@ public class ServiceJourneyType {
             "ServiceJourney is not included in the scheduled data, null is returned."
           )
           .type(journeyPatternType)
-          .dataFetcher(env -> GqlUtil.getTransitService(env).findPattern(trip(env)))
+          .dataFetcher(ServiceJourneyType::tripPattern)
           .build()
       )
       .field(
@@ -188,29 +189,28 @@ public class ServiceJourneyType {
             Integer first = environment.getArgument("first");
             Integer last = environment.getArgument("last");
 
-            TransitService transitService = GqlUtil.getTransitService(environment);
-            TripPattern tripPattern = transitService.findPattern(trip(environment));
+            return tripPattern(environment).thenApply(tripPattern -> {
+              if (tripPattern == null) {
+                return List.<StopLocation>of();
+              }
 
-            if (tripPattern == null) {
-              return List.of();
-            }
+              List<StopLocation> stops = tripPattern.getStops();
 
-            List<StopLocation> stops = tripPattern.getStops();
+              if (first != null && last != null) {
+                throw new AssertException("Both first and last can't be defined simultaneously.");
+              }
 
-            if (first != null && last != null) {
-              throw new AssertException("Both first and last can't be defined simultaneously.");
-            }
+              if ((first != null && first < 0) || (last != null && last < 0)) {
+                throw new AssertException("first and last must be positive integers.");
+              }
 
-            if ((first != null && first < 0) || (last != null && last < 0)) {
-              throw new AssertException("first and last must be positive integers.");
-            }
-
-            if (first != null && first < stops.size()) {
-              return stops.subList(0, first);
-            } else if (last != null && last < stops.size()) {
-              return stops.subList(stops.size() - last, stops.size());
-            }
-            return stops;
+              if (first != null && first < stops.size()) {
+                return stops.subList(0, first);
+              } else if (last != null && last < stops.size()) {
+                return stops.subList(stops.size() - last, stops.size());
+              }
+              return stops;
+            });
           })
           .build()
       )
@@ -246,9 +246,12 @@ public class ServiceJourneyType {
             var serviceDate = Optional.ofNullable(environment.getArgument("date"))
               .map(LocalDate.class::cast)
               .orElse(LocalDate.now(GqlUtil.getTransitService(environment).getTimeZone()));
-            return GqlUtil.getTransitService(environment)
-              .findTripTimesOnDate(trip(environment), serviceDate)
-              .orElse(List.of());
+            return TransitDataLoaderRegistry.loadAsync(
+              environment,
+              TransitDataLoaderRegistry.TRIP_TIMES_ON_DATE,
+              new TransitDataLoaderRegistry.TripAndDate(trip(environment), serviceDate),
+              GqlUtil.getTransitService(environment)
+            );
           })
           .build()
       )
@@ -259,21 +262,20 @@ public class ServiceJourneyType {
           .description(
             "Detailed path travelled by service journey. Not available for flexible trips."
           )
-          .dataFetcher(environment -> {
-            TripPattern tripPattern = GqlUtil.getTransitService(environment).findPattern(
-              trip(environment)
-            );
-            if (tripPattern == null) {
-              return null;
-            }
+          .dataFetcher(environment ->
+            tripPattern(environment).thenApply(tripPattern -> {
+              if (tripPattern == null) {
+                return null;
+              }
 
-            LineString geometry = tripPattern.getGeometry();
-            if (geometry == null) {
-              return null;
-            }
+              LineString geometry = tripPattern.getGeometry();
+              if (geometry == null) {
+                return null;
+              }
 
-            return EncodedPolyline.of(geometry);
-          })
+              return EncodedPolyline.of(geometry);
+            })
+          )
           .build()
       )
       .field(
@@ -311,4 +313,13 @@ public class ServiceJourneyType {
   private static Trip trip(DataFetchingEnvironment environment) {
     return environment.getSource();
   }
+
+  private static CompletableFuture<TripPattern> tripPattern(DataFetchingEnvironment environment) {
+    return TransitDataLoaderRegistry.loadAsync(
+      environment,
+      TransitDataLoaderRegistry.PATTERN_FOR_TRIP,
+      trip(environment),
+      GqlUtil.getTransitService(environment)
+    );
+  }
 }
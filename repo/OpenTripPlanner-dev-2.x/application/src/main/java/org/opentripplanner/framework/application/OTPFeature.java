@@ -117,6 +117,7 @@ public enum OTPFeature {
     "Make all polling updaters wait for graph updates to complete before finishing. " +
     "If this is not enabled, the updaters will finish after submitting the task to update the graph."
   ),
+  BatchRoutingApi(false, true, "Enable the [batch routing API](sandbox/BatchRoutingApi.md)."),
   CarPooling(false, true, "Enable the carpooling sandbox module."),
   Emission(false, true, "Enable the emission sandbox module."),
   EmpiricalDelay(false, true, "Enable empirical delay sandbox module."),
@@ -128,7 +129,13 @@ public enum OTPFeature {
   DebugRasterTiles(false, true, "Enable debug raster tile API."),
   FaresV2(false, true, "Enable import of GTFS-Fares v2 data."),
   FlexRouting(false, true, "Enable FLEX routing."),
+  GeocoderAutocompleteIndex(
+    false,
+    true,
+    "Use a compact in-memory index, instead of Lucene, for autocomplete in the [Geocoder API](sandbox/GeocoderAPI.md)."
+  ),
   GoogleCloudStorage(false, true, "Enable Google Cloud Storage integration."),
+  IsochroneApi(false, true, "Enable the [isochrone API](sandbox/IsochroneApi.md)."),
   MultiCriteriaGroupMaxFilter(
     false,
     false,
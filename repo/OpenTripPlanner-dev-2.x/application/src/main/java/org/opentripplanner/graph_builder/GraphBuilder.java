@@ -3,19 +3,21 @@ package org.opentripplanner.graph_builder;
 import static org.opentripplanner.datastore.api.FileType.GTFS;
 import static org.opentripplanner.datastore.api.FileType.NETEX;
 import static org.opentripplanner.datastore.api.FileType.OSM;
+import static org.opentripplanner.graph_builder.GraphBuilderModuleScheduler.Resource.STREETS;
+import static org.opentripplanner.graph_builder.GraphBuilderModuleScheduler.Resource.TRANSIT;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import javax.annotation.Nullable;
 import org.opentripplanner.ext.emission.EmissionRepository;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayRepository;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.graph_builder.GraphBuilderModuleScheduler.Resource;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
@@ -43,7 +45,7 @@ public class GraphBuilder implements Runnable {
 
   private static final Logger LOG = LoggerFactory.getLogger(GraphBuilder.class);
 
-  private final List<GraphBuilderModule> graphBuilderModules = new ArrayList<>();
+  private final GraphBuilderModuleScheduler scheduler = new GraphBuilderModuleScheduler();
   private final Graph graph;
   private final TimetableRepository timetableRepository;
   private final DataImportIssueStore issueStore;
@@ -115,26 +117,30 @@ public class GraphBuilder implements Runnable {
 
     graphBuilder.hasTransitData = hasTransitData;
 
+    // The streets and the transit data are imported at the same time, the modules changing only
+    // the transit model run while the OSM data is loaded.
     if (hasOsm) {
-      graphBuilder.addModule(factory.osmModule());
+      graphBuilder.addModule(factory.osmModule(), STREETS);
     }
 
     if (hasGtfs) {
-      graphBuilder.addModule(factory.gtfsModule());
+      graphBuilder.addModule(factory.gtfsModule(), TRANSIT);
     }
 
     if (hasNetex) {
-      graphBuilder.addModule(factory.netexModule());
+      graphBuilder.addModule(factory.netexModule(), TRANSIT);
     }
 
     // Consolidate stops only if a stop consolidation repo has been provided
     if (hasTransitData) {
-      graphBuilder.addModuleOptional(factory.stopConsolidationModule());
-      graphBuilder.addModule(factory.tripPatternNamer());
-      graphBuilder.addModuleOptional(
-        factory.timeZoneAdjusterModule(),
-        timetableRepository.getAgencyTimeZones().size() > 1
-      );
+      var stopConsolidationModule = factory.stopConsolidationModule();
+      if (stopConsolidationModule != null) {
+        graphBuilder.addModule(stopConsolidationModule, TRANSIT);
+      }
+      graphBuilder.addModule(factory.tripPatternNamer(), TRANSIT);
+      if (timetableRepository.getAgencyTimeZones().size() > 1) {
+        graphBuilder.addModule(factory.timeZoneAdjusterModule(), TRANSIT);
+      }
 
       if (hasOsm || graphBuilder.graph.hasStreets) {
         graphBuilder.addModule(factory.osmBoardingLocationsModule());
@@ -157,6 +163,11 @@ public class GraphBuilder implements Runnable {
       graphBuilder.addModule(factory.pruneIslands());
     }
 
+    // Split the streets at the linking hotspots after pruning, so they are linked to kept streets
+    if (hasOsm || graphBuilder.graph.hasStreets) {
+      graphBuilder.addModuleOptional(factory.linkingHotspotModule());
+    }
+
     // Load elevation data and apply it to the streets.
     // We want to do run this module after loading the OSM street network but before finding transfers.
     for (GraphBuilderModule it : factory.elevationModules()) {
@@ -203,12 +214,14 @@ public class GraphBuilder implements Runnable {
 
       // Check all graph builder inputs, and fail fast to avoid waiting until the build process
       // advances.
-      for (GraphBuilderModule builder : graphBuilderModules) {
+      for (GraphBuilderModule builder : scheduler.modules()) {
         builder.checkInputs();
       }
 
-      for (GraphBuilderModule load : graphBuilderModules) {
-        load.buildGraph();
+      try {
+        scheduler.run();
+      } finally {
+        LOG.info("Graph builder module profile:\n{}", scheduler.profilesAsTable());
       }
 
       new DataImportIssueSummary(issueStore.listIssues()).logSummary();
@@ -239,7 +252,15 @@ public class GraphBuilder implements Runnable {
   }
 
   private void addModule(GraphBuilderModule module) {
-    graphBuilderModules.add(Objects.requireNonNull(module));
+    scheduler.add(Objects.requireNonNull(module));
+  }
+
+  /**
+   * Add a module which only changes the given part of the model, it may run at the same time as
+   * modules changing other parts.
+   */
+  private void addModule(GraphBuilderModule module, Resource resource) {
+    scheduler.add(Objects.requireNonNull(module), Set.of(resource));
   }
 
   private boolean hasTransitData() {
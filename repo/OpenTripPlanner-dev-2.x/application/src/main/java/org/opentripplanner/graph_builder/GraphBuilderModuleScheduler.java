@@ -0,0 +1,179 @@
+package org.opentripplanner.graph_builder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.utils.text.Table;
+import org.opentripplanner.utils.time.DurationUtils;
+
+/**
+ * Run the graph builder modules in the order they are added, but let a module start before the
+ * modules added before it have finished if they do not change the same part of the model. Each
+ * module declares the {@link Resource}s it changes, a module waits for all modules added before
+ * it which share at least one resource. Most modules read and change both the streets and the
+ * transit model, these run alone, so the order of the build is only relaxed where it is declared.
+ * <p>
+ * The time and the heap used by each module are recorded, see {@link #profiles()}.
+ */
+class GraphBuilderModuleScheduler {
+
+  /** A part of the model changed by a graph builder module. */
+  enum Resource {
+    /** The street graph. Transit vertices added to the graph are not part of it. */
+    STREETS,
+    /** The timetable repository and the transit vertices in the graph. */
+    TRANSIT,
+  }
+
+  private static final Set<Resource> ALL = Collections.unmodifiableSet(
+    EnumSet.allOf(Resource.class)
+  );
+
+  private final List<Stage> stages = new ArrayList<>();
+  private final List<ModuleProfile> profiles = new ArrayList<>();
+
+  /** Add a module which reads and changes the whole model. */
+  void add(GraphBuilderModule module) {
+    add(module, ALL);
+  }
+
+  void add(GraphBuilderModule module, Set<Resource> resources) {
+    stages.add(new Stage(module, Set.copyOf(resources)));
+  }
+
+  List<GraphBuilderModule> modules() {
+    return stages.stream().map(Stage::module).toList();
+  }
+
+  /**
+   * Run all modules. If a module fails, the modules which depend on it are not run, and the
+   * exception is thrown when the modules already running are finished.
+   */
+  void run() {
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("graph-build-%d").build();
+    var executor = Executors.newCachedThreadPool(threadFactory);
+    try {
+      run(executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  void run(ExecutorService executor) {
+    long startTime = System.nanoTime();
+    var results = new ModuleProfile[stages.size()];
+    var futures = new ArrayList<CompletableFuture<Void>>(stages.size());
+
+    for (int i = 0; i < stages.size(); ++i) {
+      final int index = i;
+      var dependencies = dependencies(i)
+        .stream()
+        .map(futures::get)
+        .toArray(CompletableFuture[]::new);
+      futures.add(
+        CompletableFuture.allOf(dependencies).thenRunAsync(
+          () -> results[index] = runStage(stages.get(index), startTime),
+          executor
+        )
+      );
+    }
+
+    // Wait for all modules, also those not depending on a failed module
+    for (var future : futures) {
+      future.exceptionally(e -> null).join();
+    }
+    profiles.clear();
+    Arrays.stream(results).filter(Objects::nonNull).forEach(profiles::add);
+
+    for (var future : futures) {
+      if (future.isCompletedExceptionally()) {
+        throw rootCause(future);
+      }
+    }
+  }
+
+  /**
+   * The indices of the modules added before the module with the given index, which change a part
+   * of the model the module also changes.
+   */
+  List<Integer> dependencies(int index) {
+    var resources = stages.get(index).resources();
+    var result = new ArrayList<Integer>();
+    for (int i = 0; i < index; ++i) {
+      if (!Collections.disjoint(resources, stages.get(i).resources())) {
+        result.add(i);
+      }
+    }
+    return result;
+  }
+
+  /** The profile of each module in the last run, in the order the modules are added. */
+  List<ModuleProfile> profiles() {
+    return List.copyOf(profiles);
+  }
+
+  /** The profiles as a table, to be logged. */
+  String profilesAsTable() {
+    var table = Table.of()
+      .withAlights(Table.Align.Left, Table.Align.Right, Table.Align.Right, Table.Align.Right)
+      .withHeaders("Module", "Start", "Duration", "Heap used");
+    for (var it : profiles) {
+      table.addRow(
+        it.module(),
+        DurationUtils.durationToStr(it.start()),
+        DurationUtils.durationToStr(it.duration()),
+        (it.heapUsed() / (1024 * 1024)) + " MB"
+      );
+    }
+    return table.build().toString();
+  }
+
+  private static ModuleProfile runStage(Stage stage, long buildStartTime) {
+    long start = System.nanoTime();
+    stage.module().buildGraph();
+    long end = System.nanoTime();
+    var runtime = Runtime.getRuntime();
+    return new ModuleProfile(
+      stage.module().getClass().getSimpleName(),
+      Duration.ofNanos(start - buildStartTime),
+      Duration.ofNanos(end - start),
+      runtime.totalMemory() - runtime.freeMemory()
+    );
+  }
+
+  /**
+   * The exception thrown by the module, and not by the modules waiting for it. Unchecked
+   * exceptions are thrown as they are.
+   */
+  private static RuntimeException rootCause(CompletableFuture<Void> future) {
+    try {
+      future.join();
+      throw new IllegalStateException("The future is not completed exceptionally");
+    } catch (CompletionException e) {
+      Throwable cause = e;
+      while (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof RuntimeException re) {
+        return re;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      return new IllegalStateException(cause);
+    }
+  }
+
+  private record Stage(GraphBuilderModule module, Set<Resource> resources) {}
+}
@@ -0,0 +1,14 @@
+package org.opentripplanner.graph_builder;
+
+import java.time.Duration;
+
+/**
+ * The profile of one graph builder module in a graph build.
+ *
+ * @param module   The name of the module.
+ * @param start    The time from the start of the build until the module started.
+ * @param duration The time it took to run the module.
+ * @param heapUsed The heap used when the module finished, in bytes. Modules running at the same
+ *                 time share the heap, so this is only an indication of the memory needed.
+ */
+record ModuleProfile(String module, Duration start, Duration duration, long heapUsed) {}
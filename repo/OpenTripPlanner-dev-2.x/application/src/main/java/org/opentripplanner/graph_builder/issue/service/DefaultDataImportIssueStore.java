@@ -11,23 +11,27 @@ import org.opentripplanner.graph_builder.issue.api.IssueWithSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * This class is thread-safe, graph builder modules may run concurrently. The source being
+ * processed is kept for each thread, so issues from other modules are not tagged with it.
+ */
 @Singleton
 public class DefaultDataImportIssueStore implements DataImportIssueStore {
 
   private static final Logger ISSUE_LOG = LoggerFactory.getLogger(ISSUES_LOG_NAME);
 
   private final List<DataImportIssue> issues = new ArrayList<>();
-  private String currentSource = null;
+  private final ThreadLocal<String> currentSource = new ThreadLocal<>();
 
   public DefaultDataImportIssueStore() {}
 
   @Override
   public void add(DataImportIssue issue) {
     ISSUE_LOG.debug("{} - {}", issue.getType(), issue.getMessage());
-    if (currentSource != null) {
-      this.issues.add(new IssueWithSource(issue, currentSource));
-    } else {
-      this.issues.add(issue);
+    var source = currentSource.get();
+    var item = source != null ? new IssueWithSource(issue, source) : issue;
+    synchronized (issues) {
+      issues.add(item);
     }
   }
 
@@ -48,17 +52,19 @@ public class DefaultDataImportIssueStore implements DataImportIssueStore {
 
   @Override
   public void startProcessingSource(String source) {
-    this.currentSource = source;
+    this.currentSource.set(source);
   }
 
   @Override
   public void stopProcessingSource() {
-    this.currentSource = null;
+    this.currentSource.remove();
   }
 
   @Override
   public List<DataImportIssue> listIssues() {
-    return this.issues;
+    synchronized (issues) {
+      return List.copyOf(issues);
+    }
   }
 
   @Override
@@ -0,0 +1,19 @@
+package org.opentripplanner.graph_builder.issues;
+
+import java.time.Duration;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssue;
+import org.opentripplanner.utils.time.DurationUtils;
+
+/**
+ * The time spent in a stage of a graph build module. This is not a problem with the data, it is
+ * added to the issue report so the slow stages of a build can be found.
+ */
+public record BuildStageTiming(String module, String stage, Duration duration)
+  implements DataImportIssue {
+  private static final String FMT = "%s: %s took %s";
+
+  @Override
+  public String getMessage() {
+    return String.format(FMT, module, stage, DurationUtils.msToSecondsStr(duration.toMillis()));
+  }
+}
@@ -0,0 +1,16 @@
+package org.opentripplanner.graph_builder.issues;
+
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssue;
+import org.opentripplanner.street.search.TraverseMode;
+
+public record LinkingHotspotNotLinked(String name, WgsCoordinate coordinate, TraverseMode mode)
+  implements DataImportIssue {
+  private static final String FMT =
+    "Linking hotspot '%s' at %s has no %s streets nearby, requests are linked as usual.";
+
+  @Override
+  public String getMessage() {
+    return String.format(FMT, name, coordinate, mode);
+  }
+}
@@ -0,0 +1,84 @@
+package org.opentripplanner.graph_builder.module;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+import org.opentripplanner.core.model.i18n.NonLocalizedString;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.issues.LinkingHotspotNotLinked;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.LinkingHotspots;
+import org.opentripplanner.routing.linking.VertexLinker;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Split the streets at the configured hotspots, like airports, malls and stations, and store the
+ * split points in the graph as {@link LinkingHotspots}. Request locations close to a hotspot are
+ * linked to these split points, so the streets do not need to be searched and split for each
+ * request.
+ * <p>
+ * This must run after the islands are pruned, so the hotspots are not linked to removed streets.
+ */
+public class LinkingHotspotModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LinkingHotspotModule.class);
+
+  /** The modes the request locations are linked with, see VertexCreationService. */
+  private static final List<TraverseMode> LINK_MODES = List.of(
+    TraverseMode.WALK,
+    TraverseMode.BICYCLE,
+    TraverseMode.CAR
+  );
+
+  private final Graph graph;
+  private final VertexLinker linker;
+  private final LinkingHotspotParameters parameters;
+  private final DataImportIssueStore issueStore;
+
+  public LinkingHotspotModule(
+    Graph graph,
+    VertexLinker linker,
+    LinkingHotspotParameters parameters,
+    DataImportIssueStore issueStore
+  ) {
+    this.graph = graph;
+    this.linker = linker;
+    this.parameters = parameters;
+    this.issueStore = issueStore;
+  }
+
+  @Override
+  public void buildGraph() {
+    if (!graph.hasStreets) {
+      LOG.info("The graph has no streets, no linking hotspots are created.");
+      return;
+    }
+    graph.requestIndex();
+
+    var hotspots = new ArrayList<LinkingHotspots.Hotspot>();
+    for (var location : parameters.locations()) {
+      var coordinate = location.coordinate().asJtsCoordinate();
+      var name = new NonLocalizedString(location.name());
+      var linkPoints = new EnumMap<TraverseMode, Set<StreetVertex>>(TraverseMode.class);
+
+      // Link each mode on its own, the closest street may differ between the modes
+      for (TraverseMode mode : LINK_MODES) {
+        var vertices = linker.splitPermanently(coordinate, name, new TraverseModeSet(mode));
+        if (vertices.isEmpty()) {
+          issueStore.add(new LinkingHotspotNotLinked(location.name(), location.coordinate(), mode));
+        } else {
+          linkPoints.put(mode, vertices);
+        }
+      }
+      hotspots.add(new LinkingHotspots.Hotspot(location.name(), coordinate, linkPoints));
+    }
+    graph.setLinkingHotspots(new LinkingHotspots(parameters.radiusMeters(), hotspots));
+    LOG.info("Created {} linking hotspots.", hotspots.size());
+  }
+}
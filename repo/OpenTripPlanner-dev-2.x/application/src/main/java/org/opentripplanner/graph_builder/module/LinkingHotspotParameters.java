@@ -0,0 +1,46 @@
+package org.opentripplanner.graph_builder.module;
+
+import java.util.List;
+import java.util.Objects;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Build parameters for the {@link LinkingHotspotModule}.
+ *
+ * @param radiusMeters Request locations within this distance of a hotspot are linked to the
+ *                     streets at the hotspot.
+ * @param locations The hotspots, an empty list disables the module.
+ */
+public record LinkingHotspotParameters(double radiusMeters, List<Location> locations) {
+  public static final LinkingHotspotParameters DEFAULT = new LinkingHotspotParameters(
+    20.0,
+    List.of()
+  );
+
+  public LinkingHotspotParameters {
+    if (radiusMeters < 0) {
+      throw new IllegalArgumentException("The radius can not be negative: " + radiusMeters);
+    }
+    locations = List.copyOf(locations);
+  }
+
+  public boolean isEnabled() {
+    return !locations.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(LinkingHotspotParameters.class)
+      .addNum("radiusMeters", radiusMeters, DEFAULT.radiusMeters)
+      .addCol("locations", locations)
+      .toString();
+  }
+
+  public record Location(String name, WgsCoordinate coordinate) {
+    public Location {
+      Objects.requireNonNull(name);
+      Objects.requireNonNull(coordinate);
+    }
+  }
+}
@@ -11,6 +11,7 @@ import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issues.ParkAndRideEntranceRemoved;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.EdgeDistances;
 import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.service.vehicleparking.VehicleParkingRepository;
 import org.opentripplanner.service.vehicleparking.model.VehicleParking;
@@ -50,6 +51,8 @@ public class StreetLinkerModule implements GraphBuilderModule {
   private static final Logger LOG = LoggerFactory.getLogger(StreetLinkerModule.class);
   private static final TraverseModeSet CAR_ONLY = new TraverseModeSet(TraverseMode.CAR);
   private static final TraverseModeSet WALK_ONLY = new TraverseModeSet(TraverseMode.WALK);
+  /** The number of stops to search for nearby edges in parallel before they are linked. */
+  private static final int LINKING_BATCH_SIZE = 1000;
   private final Graph graph;
   private final VehicleParkingRepository parkingRepository;
   private final TimetableRepository timetableRepository;
@@ -99,6 +102,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
     Set<StopLocation> stopLocationsUsedForCarsAllowedTrips =
       timetableRepository.getStopLocationsUsedForCarsAllowedTrips();
 
+    var stopsToLink = new ArrayList<StopToLink>();
     for (TransitStopVertex stopVertex : vertices) {
       var stop = Objects.requireNonNull(
         timetableRepository.getSiteRepository().getRegularStop(stopVertex.getId())
@@ -121,11 +125,25 @@ public class StreetLinkerModule implements GraphBuilderModule {
       ) {
         linkType = StopLinkType.WALK_AND_CAR;
       }
+      stopsToLink.add(new StopToLink(stopVertex, linkType));
+    }
 
-      linkStopToStreetNetwork(stopVertex, linkType);
-
-      //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
+    // Searching for the nearby edges is read-only and done in parallel, while splitting the edges
+    // changes the graph and is done one stop at a time.
+    for (int i = 0; i < stopsToLink.size(); i += LINKING_BATCH_SIZE) {
+      var batch = stopsToLink.subList(i, Math.min(i + LINKING_BATCH_SIZE, stopsToLink.size()));
+      var distances = batch
+        .parallelStream()
+        .map(it -> vertexLinker.findEdgeDistances(it.vertex()))
+        .toList();
+
+      for (int j = 0; j < batch.size(); ++j) {
+        var it = batch.get(j);
+        linkStopToStreetNetwork(it.vertex(), it.linkType(), distances.get(j));
+
+        //noinspection Convert2MethodRef
+        progress.step(m -> LOG.info(m));
+      }
     }
     LOG.info(progress.completeMessage());
   }
@@ -158,16 +176,21 @@ public class StreetLinkerModule implements GraphBuilderModule {
    * car-accessible. Therefore, flex stops are ensured to be connected to the car-accessible
    * edge. This may lead to several links being created.
    */
-  private void linkStopToStreetNetwork(TransitStopVertex tStop, StopLinkType linkType) {
+  private void linkStopToStreetNetwork(
+    TransitStopVertex tStop,
+    StopLinkType linkType,
+    EdgeDistances edgeDistances
+  ) {
     vertexLinker.linkVertexPermanently(
       tStop,
       WALK_ONLY,
       LinkingDirection.BIDIRECTIONAL,
+      edgeDistances,
       (transitVertex, streetVertex) -> {
         var linkEdges = createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex);
 
         if (linkType == StopLinkType.WALK_AND_CAR && !streetVertex.isConnectedToDriveableEdge()) {
-          linkToDriveableEdge(tStop);
+          linkToDriveableEdge(tStop, edgeDistances);
         }
 
         return linkEdges;
@@ -183,11 +206,12 @@ public class StreetLinkerModule implements GraphBuilderModule {
    *
    * @see https://github.com/opentripplanner/OpenTripPlanner/issues/5498
    */
-  private void linkToDriveableEdge(TransitStopVertex tStop) {
+  private void linkToDriveableEdge(TransitStopVertex tStop, EdgeDistances edgeDistances) {
     vertexLinker.linkVertexPermanently(
       tStop,
       CAR_ONLY,
       LinkingDirection.BIDIRECTIONAL,
+      edgeDistances,
       (transitVertex, streetVertex) ->
         createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex)
     );
@@ -400,4 +424,6 @@ public class StreetLinkerModule implements GraphBuilderModule {
      */
     WALK_AND_CAR,
   }
+
+  private record StopToLink(TransitStopVertex vertex, StopLinkType linkType) {}
 }
@@ -23,6 +23,7 @@ import org.opentripplanner.graph_builder.GraphBuilderDataSources;
 import org.opentripplanner.graph_builder.configure.GraphBuilderModule;
 import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
 import org.opentripplanner.graph_builder.module.GraphCoherencyCheckerModule;
+import org.opentripplanner.graph_builder.module.LinkingHotspotModule;
 import org.opentripplanner.graph_builder.module.OsmBoardingLocationsModule;
 import org.opentripplanner.graph_builder.module.RouteToCentroidStationIdsValidator;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
@@ -81,6 +82,9 @@ public interface GraphBuilderFactory {
   @Nullable
   EdgeUpdaterModule dataOverlayFactory();
 
+  @Nullable
+  LinkingHotspotModule linkingHotspotModule();
+
   TurnRestrictionModule turnRestrictionModule();
 
   @Nullable
@@ -21,6 +21,7 @@ import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
 import org.opentripplanner.graph_builder.issue.service.DefaultDataImportIssueStore;
 import org.opentripplanner.graph_builder.model.ConfiguredDataSource;
+import org.opentripplanner.graph_builder.module.LinkingHotspotModule;
 import org.opentripplanner.graph_builder.module.RouteToCentroidStationIdsValidator;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
 import org.opentripplanner.graph_builder.module.TurnRestrictionModule;
@@ -172,6 +173,20 @@ public class GraphBuilderModules {
     );
   }
 
+  @Provides
+  @Singleton
+  @Nullable
+  static LinkingHotspotModule provideLinkingHotspotModule(
+    BuildConfig config,
+    Graph graph,
+    VertexLinker linker,
+    DataImportIssueStore issueStore
+  ) {
+    return config.linkingHotspots.isEnabled()
+      ? new LinkingHotspotModule(graph, linker, config.linkingHotspots, issueStore)
+      : null;
+  }
+
   @Provides
   @Singleton
   static PruneIslands providePruneIslands(
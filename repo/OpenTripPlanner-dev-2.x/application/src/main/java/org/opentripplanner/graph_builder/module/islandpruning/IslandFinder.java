@@ -0,0 +1,435 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Find the islands of the street graph for one traverse mode. This only reads the graph, so the
+ * islands of several modes can be found in parallel, as long as the graph is not changed at the
+ * same time.
+ * <p>
+ * The islands are found in three steps, see {@link PruneIslands} for the pruning strategy:
+ * <ol>
+ *   <li>
+ *     The connected components without the noThruTraffic edges of the mode, using union-find.
+ *   </li>
+ *   <li>
+ *     The connected components with all edges, continuing the same union-find. These are the
+ *     {@link #extendedIslands()}, used to find the isolated edges.
+ *   </li>
+ *   <li>
+ *     Each component from the first step is expanded over the vertices only reachable through
+ *     noThruTraffic edges, without entering another component. A vertex is claimed by the first
+ *     island reaching it, so this is done with a breadth-first search in vertex order. The
+ *     vertices not reached form purely noThruTraffic islands. These are the {@link #islands()}.
+ *   </li>
+ * </ol>
+ * The vertices, the neighbours and the island membership are kept in int arrays indexed by the
+ * {@link VertexIndex}. A {@link Subgraph} is only created for the islands small enough to be
+ * pruned, not for the large main graph.
+ */
+class IslandFinder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IslandFinder.class);
+
+  private static final int NONE = -1;
+
+  private final VertexIndex index;
+  private final TraverseMode traverseMode;
+  private final double maxStreetSizeWithStops;
+  private final double maxStreetSizeWithoutStops;
+  private final int size;
+
+  /** The neighbour pairs [from, to, from, to, ...], without and with noThruTraffic edges. */
+  private final TIntArrayList thruPairs = new TIntArrayList();
+  private final TIntArrayList noThruPairs = new TIntArrayList();
+
+  private final BitSet hasNeighbour;
+  private final BitSet hasThruNeighbour;
+
+  private Islands extendedIslands;
+  private Islands islands;
+  private Duration findTime;
+
+  /**
+   * @param maxStreetSizeWithStops Only islands with stops and fewer street vertices than this are
+   *                               returned as small islands.
+   * @param maxStreetSizeWithoutStops Only islands without stops and fewer street vertices than
+   *                                  this are returned as small islands.
+   */
+  IslandFinder(
+    VertexIndex index,
+    TraverseMode traverseMode,
+    double maxStreetSizeWithStops,
+    double maxStreetSizeWithoutStops
+  ) {
+    this.index = index;
+    this.traverseMode = traverseMode;
+    this.maxStreetSizeWithStops = maxStreetSizeWithStops;
+    this.maxStreetSizeWithoutStops = maxStreetSizeWithoutStops;
+    this.size = index.size();
+    this.hasNeighbour = new BitSet(size);
+    this.hasThruNeighbour = new BitSet(size);
+  }
+
+  IslandFinder find() {
+    long startTime = System.currentTimeMillis();
+    collectNeighbours();
+
+    var components = new UnionFind(size);
+    forEachPair(thruPairs, components::union);
+
+    // Each vertex in a component without noThruTraffic edges is anchored to that component.
+    // The stops are never anchored, the islands may share them.
+    int[] anchors = new int[size];
+    Arrays.fill(anchors, NONE);
+    int count = 0;
+    for (int v = hasThruNeighbour.nextSetBit(0); v >= 0; v = hasThruNeighbour.nextSetBit(v + 1)) {
+      if (!isStop(v)) {
+        anchors[v] = components.find(v);
+      }
+      if (components.find(v) == v) {
+        ++count;
+      }
+    }
+    LOG.info("Islands when {} noThruTraffic is considered: {}", traverseMode, count);
+
+    forEachPair(noThruPairs, components::union);
+    extendedIslands = componentIslands(components);
+    LOG.info(
+      "Islands when {} noThruTraffic is ignored: {}",
+      traverseMode,
+      extendedIslands.count()
+    );
+
+    islands = expandedIslands(anchors);
+    findTime = Duration.ofMillis(System.currentTimeMillis() - startTime);
+    return this;
+  }
+
+  TraverseMode traverseMode() {
+    return traverseMode;
+  }
+
+  /**
+   * The islands when the noThruTraffic edges are used like any other edge.
+   */
+  Islands extendedIslands() {
+    return extendedIslands;
+  }
+
+  /**
+   * The islands without noThruTraffic edges, expanded over the vertices only reachable through
+   * noThruTraffic edges, followed by the purely noThruTraffic islands.
+   */
+  Islands islands() {
+    return islands;
+  }
+
+  Duration findTime() {
+    return findTime;
+  }
+
+  /**
+   * Return true if the vertex was reached by a search in this mode.
+   */
+  boolean isReached(Vertex vertex) {
+    int i = index.indexOf(vertex);
+    return i != NONE && hasNeighbour.get(i);
+  }
+
+  private void collectNeighbours() {
+    StreetMode streetMode = switch (traverseMode) {
+      case WALK -> StreetMode.WALK;
+      case BICYCLE -> StreetMode.BIKE;
+      case CAR -> StreetMode.CAR;
+      default -> throw new IllegalArgumentException();
+    };
+
+    StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
+
+    int unknown = 0;
+    for (int from = 0; from < size; ++from) {
+      Vertex gv = index.vertex(from);
+      if (!(gv instanceof StreetVertex)) {
+        continue;
+      }
+      State s0 = new State(gv, request);
+      for (Edge e : gv.getOutgoing()) {
+        boolean noThru = e instanceof StreetEdge se && se.isNoThruTraffic(traverseMode);
+        State[] states = e.traverse(s0);
+        if (State.isEmpty(states)) {
+          continue;
+        }
+        for (State state : states) {
+          int to = index.indexOf(state.getVertex());
+          if (to == NONE) {
+            ++unknown;
+            continue;
+          }
+          // note: this assumes that edges are bi-directional. Maybe explicit state traversal is
+          // needed for CAR mode.
+          var pairs = noThru ? noThruPairs : thruPairs;
+          pairs.add(from);
+          pairs.add(to);
+          hasNeighbour.set(from);
+          hasNeighbour.set(to);
+          if (!noThru) {
+            hasThruNeighbour.set(from);
+            hasThruNeighbour.set(to);
+          }
+        }
+      }
+    }
+    if (unknown > 0) {
+      LOG.warn("{} {} edges lead to a vertex which is not in the graph", unknown, traverseMode);
+    }
+  }
+
+  /**
+   * Create an island for each component, ordered by the first street vertex in the component.
+   */
+  private Islands componentIslands(UnionFind components) {
+    int[] islandByRoot = new int[size];
+    Arrays.fill(islandByRoot, NONE);
+    int count = 0;
+    for (int v = hasNeighbour.nextSetBit(0); v >= 0; v = hasNeighbour.nextSetBit(v + 1)) {
+      int root = components.find(v);
+      if (islandByRoot[root] == NONE && index.vertex(v) instanceof StreetVertex) {
+        islandByRoot[root] = count++;
+      }
+    }
+
+    var sizes = new IslandSizes(count);
+    for (int v = hasNeighbour.nextSetBit(0); v >= 0; v = hasNeighbour.nextSetBit(v + 1)) {
+      sizes.add(islandByRoot[components.find(v)], isStop(v));
+    }
+
+    Subgraph[] small = sizes.createSmallIslands();
+    for (int v = hasNeighbour.nextSetBit(0); v >= 0; v = hasNeighbour.nextSetBit(v + 1)) {
+      var island = small[islandByRoot[components.find(v)]];
+      if (island != null) {
+        island.addVertex(index.vertex(v));
+      }
+    }
+    return new Islands(count, sizes.withStopsCount(), nonNull(small));
+  }
+
+  private Islands expandedIslands(int[] anchors) {
+    int[] neighbourOffsets = new int[size + 1];
+    int[] neighbours = neighbours(neighbourOffsets);
+
+    int[] owners = new int[size];
+    Arrays.fill(owners, NONE);
+    int[] seenBy = new int[size];
+    Arrays.fill(seenBy, NONE);
+    int[] queue = new int[size];
+
+    // The members of all islands, the island i is [memberOffsets[i], memberOffsets[i+1])
+    var members = new TIntArrayList();
+    var memberOffsets = new TIntArrayList();
+
+    // First expand the components, then collect the purely noThruTraffic islands
+    for (boolean anchored : new boolean[] { true, false }) {
+      int count = 0;
+      for (int v = hasNeighbour.nextSetBit(0); v >= 0; v = hasNeighbour.nextSetBit(v + 1)) {
+        if (
+          owners[v] != NONE ||
+          !(index.vertex(v) instanceof StreetVertex) ||
+          (anchored && anchors[v] == NONE)
+        ) {
+          continue;
+        }
+        int island = memberOffsets.size();
+        memberOffsets.add(members.size());
+        int anchor = anchored ? anchors[v] : NONE;
+
+        // The start vertex is always reached from its neighbours, so add it directly
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = v;
+        seenBy[v] = island;
+        owners[v] = island;
+        members.add(v);
+
+        while (head < tail) {
+          int current = queue[head++];
+          for (int n = neighbourOffsets[current]; n < neighbourOffsets[current + 1]; ++n) {
+            int neighbour = neighbours[n];
+            if (seenBy[neighbour] == island || owners[neighbour] != NONE) {
+              continue;
+            }
+            // do not enter a new island
+            if (anchor != NONE && anchors[neighbour] != NONE && anchors[neighbour] != anchor) {
+              continue;
+            }
+            seenBy[neighbour] = island;
+            // Stops are not owned, they may be part of more than one island
+            if (!isStop(neighbour)) {
+              owners[neighbour] = island;
+            }
+            members.add(neighbour);
+            queue[tail++] = neighbour;
+          }
+        }
+        ++count;
+      }
+      if (!anchored) {
+        LOG.info("{} noThruTraffic island count: {}", traverseMode, count);
+      }
+    }
+    memberOffsets.add(members.size());
+
+    int count = memberOffsets.size() - 1;
+    LOG.info("Total {} sub graphs found", count);
+
+    var sizes = new IslandSizes(count);
+    for (int i = 0; i < count; ++i) {
+      for (int m = memberOffsets.get(i); m < memberOffsets.get(i + 1); ++m) {
+        sizes.add(i, isStop(members.get(m)));
+      }
+    }
+    Subgraph[] small = sizes.createSmallIslands();
+    for (int i = 0; i < count; ++i) {
+      if (small[i] != null) {
+        for (int m = memberOffsets.get(i); m < memberOffsets.get(i + 1); ++m) {
+          small[i].addVertex(index.vertex(members.get(m)));
+        }
+      }
+    }
+    return new Islands(count, sizes.withStopsCount(), nonNull(small));
+  }
+
+  /**
+   * Create the neighbour lists of all vertices, with and without noThruTraffic edges, in
+   * compressed sparse row format. Both directions are added for each pair.
+   */
+  private int[] neighbours(int[] offsets) {
+    int[] degree = new int[size + 1];
+    for (var pairs : List.of(thruPairs, noThruPairs)) {
+      for (int i = 0; i < pairs.size(); ++i) {
+        ++degree[pairs.get(i)];
+      }
+    }
+    for (int v = 0; v < size; ++v) {
+      offsets[v + 1] = offsets[v] + degree[v];
+    }
+    int[] position = Arrays.copyOf(offsets, size);
+    int[] neighbours = new int[offsets[size]];
+    for (var pairs : List.of(thruPairs, noThruPairs)) {
+      forEachPair(pairs, (a, b) -> {
+        neighbours[position[a]++] = b;
+        neighbours[position[b]++] = a;
+        return true;
+      });
+    }
+    return neighbours;
+  }
+
+  private boolean isStop(int vertex) {
+    return index.vertex(vertex) instanceof TransitStopVertex;
+  }
+
+  private static void forEachPair(TIntArrayList pairs, PairVisitor visitor) {
+    for (int i = 0; i < pairs.size(); i += 2) {
+      visitor.visit(pairs.get(i), pairs.get(i + 1));
+    }
+  }
+
+  private static List<Subgraph> nonNull(Subgraph[] islands) {
+    var result = new ArrayList<Subgraph>();
+    for (Subgraph island : islands) {
+      if (island != null) {
+        result.add(island);
+      }
+    }
+    return result;
+  }
+
+  @FunctionalInterface
+  private interface PairVisitor {
+    boolean visit(int a, int b);
+  }
+
+  /**
+   * The islands found, the largest island is never pruned.
+   *
+   * @param count The number of islands.
+   * @param withStopsCount The number of islands with stops, not counting the largest island.
+   * @param smallIslands The islands small enough to be pruned in the order they are found, not
+   *                     including the largest island.
+   */
+  record Islands(int count, int withStopsCount, List<Subgraph> smallIslands) {}
+
+  /**
+   * Count the street vertices and the stops of each island, to decide which islands are small
+   * enough to be pruned before any {@link Subgraph} is created.
+   */
+  private class IslandSizes {
+
+    private final int[] streetSizes;
+    private final int[] stopSizes;
+    private int largest = NONE;
+
+    private IslandSizes(int count) {
+      this.streetSizes = new int[count];
+      this.stopSizes = new int[count];
+    }
+
+    void add(int island, boolean stop) {
+      if (stop) {
+        ++stopSizes[island];
+      } else {
+        ++streetSizes[island];
+      }
+    }
+
+    Subgraph[] createSmallIslands() {
+      int count = streetSizes.length;
+      // Find the largest island, the last one if there are more than one
+      int maxSize = 0;
+      for (int i = 0; i < count; ++i) {
+        if (streetSizes[i] >= maxSize) {
+          maxSize = streetSizes[i];
+          largest = i;
+        }
+      }
+
+      var small = new Subgraph[count];
+      for (int i = 0; i < count; ++i) {
+        double maxStreetSize = stopSizes[i] > 0
+          ? maxStreetSizeWithStops
+          : maxStreetSizeWithoutStops;
+        if (i != largest && streetSizes[i] < maxStreetSize) {
+          small[i] = new Subgraph();
+        }
+      }
+      return small;
+    }
+
+    int withStopsCount() {
+      int count = 0;
+      for (int i = 0; i < stopSizes.length; ++i) {
+        if (i != largest && stopSizes[i] > 0) {
+          ++count;
+        }
+      }
+      return count;
+    }
+  }
+}
@@ -1,7 +1,7 @@
 package org.opentripplanner.graph_builder.module.islandpruning;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -9,14 +9,15 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.issues.BuildStageTiming;
 import org.opentripplanner.graph_builder.issues.GraphConnectivity;
 import org.opentripplanner.graph_builder.issues.IsolatedStop;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
-import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.street.model.StreetTraversalPermission;
 import org.opentripplanner.street.model.edge.AreaEdge;
@@ -28,8 +29,6 @@ import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.model.vertex.VertexLabel;
 import org.opentripplanner.street.search.TraverseMode;
-import org.opentripplanner.street.search.request.StreetSearchRequest;
-import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.transit.service.TimetableRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +48,7 @@ public class PruneIslands implements GraphBuilderModule {
   private final TimetableRepository timetableRepository;
   private final DataImportIssueStore issueStore;
   private final StreetLinkerModule streetLinkerModule;
+  private final Set<TransitStopVertex> unlinkedStops = new HashSet<>();
   private int pruningThresholdWithoutStops;
   private int pruningThresholdWithStops;
   private int adaptivePruningDistance;
@@ -76,13 +76,42 @@ public class PruneIslands implements GraphBuilderModule {
       adaptivePruningFactor,
       adaptivePruningDistance
     );
-
-    pruneIslands(TraverseMode.BICYCLE);
-    pruneIslands(TraverseMode.WALK);
-    pruneIslands(TraverseMode.CAR);
+    long startTime = System.currentTimeMillis();
+
+    // Find the islands of all modes in parallel. This only reads the graph.
+    var vertexIndex = new VertexIndex(graph.getVertices());
+    List<IslandFinder> modeIslands = Stream.of(
+      TraverseMode.BICYCLE,
+      TraverseMode.WALK,
+      TraverseMode.CAR
+    )
+      .parallel()
+      .map(mode -> findIslands(vertexIndex, mode))
+      .toList();
+    // The issue store is not thread-safe, add the timings after the parallel part
+    modeIslands.forEach(this::addFindTiming);
+
+    // Prune the islands one mode at a time, in the same order as before. The islands of a mode
+    // do not depend on the changes made for the previous modes, since only the permission and
+    // the noThruTraffic flag of the pruned mode are changed. The exception is that pruning WALK
+    // islands unlinks their stops, and cars may use the stop links.
+    for (IslandFinder islands : modeIslands) {
+      if (
+        islands.traverseMode() == TraverseMode.CAR &&
+        unlinkedStops.stream().anyMatch(islands::isReached)
+      ) {
+        LOG.info("Stops reachable by car were unlinked, finding the car islands again");
+        islands = findIslands(vertexIndex, TraverseMode.CAR);
+        addFindTiming(islands);
+      }
+      long pruneStartTime = System.currentTimeMillis();
+      pruneIslands(islands);
+      addStageTiming(islands.traverseMode() + " pruning", pruneStartTime);
+    }
 
     // reconnect stops that got disconnected
     if (streetLinkerModule != null) {
+      long linkStartTime = System.currentTimeMillis();
       LOG.info("Reconnecting stops");
       streetLinkerModule.linkTransitStops(graph, timetableRepository);
       int isolated = 0;
@@ -93,12 +122,14 @@ public class PruneIslands implements GraphBuilderModule {
         }
       }
       LOG.info("{} stops remain isolated", isolated);
+      addStageTiming("Reconnecting stops", linkStartTime);
     }
 
     // clean up pruned street vertices
     // note that visibility vertices must not be removed from the graph
     // because serialization will break. Edge lists are reconstructed
     // only for graph vertices after loading the graph
+    long cleanupStartTime = System.currentTimeMillis();
     List<AreaEdge> areaEdges = graph.getEdgesOfType(AreaEdge.class);
     HashSet<AreaGroup> areas = new HashSet<>();
     HashSet<Vertex> visibilityVertices = new HashSet<>();
@@ -122,6 +153,8 @@ public class PruneIslands implements GraphBuilderModule {
       removed += 1;
     }
     LOG.info("Removed {} edgeless street vertices", removed);
+    addStageTiming("Removing edgeless street vertices", cleanupStartTime);
+    addStageTiming("Total", startTime);
   }
 
   /**
@@ -161,56 +194,40 @@ public class PruneIslands implements GraphBuilderModule {
           to noThruTraffic state. Remove traversal mode specific access from unreachable edges. Remove unconnected edges.
      */
 
-  private void pruneIslands(TraverseMode traverseMode) {
-    LOG.debug("nothru pruning");
-    Map<Vertex, Subgraph> subgraphs = new HashMap<>();
-    Map<Vertex, Subgraph> extgraphs = new HashMap<>();
-    Map<Vertex, ArrayList<Vertex>> neighborsForVertex = new HashMap<>();
-    Map<Edge, Boolean> isolated = new HashMap<>();
-    ArrayList<Subgraph> islands = new ArrayList<>();
-    int count;
-
-    /* establish vertex neighbourhood without currently relevant noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, false);
-
-    /* associate each connected vertex with a subgraph */
-    count = collectSubGraphs(neighborsForVertex, subgraphs, null, null);
-    LOG.info("Islands when {} noThruTraffic is considered: {}", traverseMode, count);
-
-    /* Expand vertex neighbourhood with relevant noThruTrafficEdges
-       Note that we can reuse the original neighbour map here
-       and simply process a smaller set of noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, true);
-
-    /* Next: generate subgraphs without considering access limitations */
-    count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
-    LOG.info("Islands when {} noThruTraffic is ignored: {}", traverseMode, count);
-
-    /* collect unreachable edges to a map */
-    processIslands(islands, isolated, true, traverseMode);
-
-    extgraphs = new HashMap<>(); // let old map go
-    islands = new ArrayList<>(); // reset this too
-
-    /* Recompute expanded subgraphs by accepting noThruTraffic edges in graph expansion.
-       However, expansion is not allowed to jump from an original island to another one
-     */
-    collectSubGraphs(neighborsForVertex, extgraphs, subgraphs, islands);
+  private IslandFinder findIslands(VertexIndex vertexIndex, TraverseMode traverseMode) {
+    return new IslandFinder(
+      vertexIndex,
+      traverseMode,
+      pruningThresholdWithStops * adaptivePruningFactor,
+      pruningThresholdWithoutStops * adaptivePruningFactor
+    ).find();
+  }
 
-    /* Next round: generate purely noThruTraffic islands if such ones exist */
-    count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
+  private void pruneIslands(IslandFinder islands) {
+    pruneIslands(islands.traverseMode(), islands.extendedIslands(), islands.islands());
+  }
 
-    LOG.info("{} noThruTraffic island count: {}", traverseMode, count);
+  /**
+   * Prune the islands of one mode. This is package-private so the islands found by another
+   * implementation can be pruned in tests.
+   */
+  void pruneIslands(
+    TraverseMode traverseMode,
+    IslandFinder.Islands extendedIslands,
+    IslandFinder.Islands islands
+  ) {
+    Set<Edge> isolated = new HashSet<>();
 
-    LOG.info("Total {} sub graphs found", islands.size());
+    /* collect unreachable edges */
+    processIslands(extendedIslands, isolated, true, traverseMode);
 
-    count = processIslands(islands, isolated, false, traverseMode);
+    int count = processIslands(islands, isolated, false, traverseMode);
     LOG.info("Modified {} islands", count);
   }
 
   private int processIslands(
-    ArrayList<Subgraph> islands,
-    Map<Edge, Boolean> isolated,
+    IslandFinder.Islands islands,
+    Set<Edge> isolated,
     boolean markIsolated,
     TraverseMode traverseMode
   ) {
@@ -221,28 +238,13 @@ public class PruneIslands implements GraphBuilderModule {
     stats.put("noThru", 0);
     stats.put("restricted", 0);
 
-    Subgraph largest = null;
-    int maxSize = 0;
-
-    // Find largest sub graph
-    for (Subgraph island : islands) {
-      int streetCount = island.streetSize();
-      if (streetCount >= maxSize) {
-        maxSize = streetCount;
-        largest = island;
-      }
-    }
-
     int count = 0;
-    int islandsWithStops = 0;
+    int islandsWithStops = islands.withStopsCount();
     int islandsWithStopsChanged = 0;
-    for (Subgraph island : islands) {
-      if (island == largest) {
-        continue;
-      }
+    // The largest island is not included
+    for (Subgraph island : islands.smallIslands()) {
       if (island.stopSize() > 0) {
         //for islands with stops
-        islandsWithStops++;
         boolean onlyFerry = island.hasOnlyFerryStops();
         // do not remove real islands which have only ferry stops
         if (!onlyFerry && island.streetSize() < pruningThresholdWithStops * adaptivePruningFactor) {
@@ -284,7 +286,7 @@ public class PruneIslands implements GraphBuilderModule {
       issueStore.add(
         new GraphConnectivity(
           traverseMode,
-          islands.size(),
+          islands.count(),
           islandsWithStops,
           islandsWithStopsChanged,
           stats.get("removed"),
@@ -296,89 +298,9 @@ public class PruneIslands implements GraphBuilderModule {
     return count;
   }
 
-  private void collectNeighbourVertices(
-    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
-    TraverseMode traverseMode,
-    boolean shouldMatchNoThruType
-  ) {
-    StreetMode streetMode =
-      switch (traverseMode) {
-        case WALK -> StreetMode.WALK;
-        case BICYCLE -> StreetMode.BIKE;
-        case CAR -> StreetMode.CAR;
-        default -> throw new IllegalArgumentException();
-      };
-
-    StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
-
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
-        continue;
-      }
-      State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
-        if (
-          e instanceof StreetEdge &&
-          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
-        ) {
-          continue;
-        }
-        State[] states = e.traverse(s0);
-        if (State.isEmpty(states)) {
-          continue;
-        }
-        Arrays.stream(states)
-          .map(State::getVertex)
-          .forEach(out -> {
-            var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
-            vertexList.add(out);
-
-            // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
-            vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
-            vertexList.add(gv);
-          });
-      }
-    }
-  }
-
-  private int collectSubGraphs(
-    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
-    Map<Vertex, Subgraph> newgraphs, // put new subgraphs here
-    Map<Vertex, Subgraph> subgraphs, // optional isolation map from a previous round
-    ArrayList<Subgraph> islands
-  ) { // final list of islands or null
-    int count = 0;
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
-        continue;
-      }
-
-      if (subgraphs != null && !subgraphs.containsKey(gv)) {
-        // do not start new graph generation from non-classified vertex
-        continue;
-      }
-      if (newgraphs.containsKey(gv)) { // already processed
-        continue;
-      }
-      if (!neighborsForVertex.containsKey(gv)) {
-        continue;
-      }
-      Subgraph subgraph = computeConnectedSubgraph(neighborsForVertex, gv, subgraphs, newgraphs);
-      for (Iterator<Vertex> vIter = subgraph.streetIterator(); vIter.hasNext();) {
-        Vertex subnode = vIter.next();
-        newgraphs.put(subnode, subgraph);
-      }
-      if (islands != null) {
-        islands.add(subgraph);
-      }
-      count++;
-    }
-    return count;
-  }
-
   private boolean restrictOrRemove(
     Subgraph island,
-    Map<Edge, Boolean> isolated,
+    Set<Edge> isolated,
     Map<String, Integer> stats,
     boolean markIsolated,
     TraverseMode traverseMode
@@ -393,11 +315,11 @@ public class PruneIslands implements GraphBuilderModule {
       for (Edge e : outgoing) {
         if (e instanceof StreetEdge) {
           if (markIsolated) {
-            isolated.put(e, true);
+            isolated.add(e);
             stats.put("isolated", stats.get("isolated") + 1);
           } else {
             StreetEdge pse = (StreetEdge) e;
-            if (!isolated.containsKey(e)) {
+            if (!isolated.contains(e)) {
               boolean changed = false;
 
               // not a true island edge but has limited access
@@ -471,6 +393,7 @@ public class PruneIslands implements GraphBuilderModule {
       for (Iterator<TransitStopVertex> vIter = island.stopIterator(); vIter.hasNext();) {
         TransitStopVertex v = vIter.next();
         stopLabels.add(v.getLabel());
+        unlinkedStops.add(v);
         Collection<Edge> edges = new ArrayList<>(v.getOutgoing());
         edges.addAll(v.getIncoming());
         for (Edge e : edges) {
@@ -494,36 +417,15 @@ public class PruneIslands implements GraphBuilderModule {
     return true;
   }
 
-  private Subgraph computeConnectedSubgraph(
-    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
-    Vertex startVertex,
-    Map<Vertex, Subgraph> anchors,
-    Map<Vertex, Subgraph> alreadyMapped
-  ) {
-    Subgraph subgraph = new Subgraph();
-    Queue<Vertex> q = new LinkedList<>();
-    Subgraph anchor = null;
+  private void addFindTiming(IslandFinder islands) {
+    addStageTiming(islands.traverseMode() + " island detection", islands.findTime());
+  }
 
-    if (anchors != null) {
-      // anchor subgraph expansion to this subgraph
-      anchor = anchors.get(startVertex);
-    }
-    q.add(startVertex);
-    while (!q.isEmpty()) {
-      Vertex vertex = q.poll();
-      for (Vertex neighbor : neighborsForVertex.get(vertex)) {
-        if (!subgraph.contains(neighbor) && !alreadyMapped.containsKey(neighbor)) {
-          if (anchor != null) {
-            Subgraph compare = anchors.get(neighbor);
-            if (compare != null && compare != anchor) { // do not enter a new island
-              continue;
-            }
-          }
-          subgraph.addVertex(neighbor);
-          q.add(neighbor);
-        }
-      }
-    }
-    return subgraph;
+  private void addStageTiming(String stage, long startTime) {
+    addStageTiming(stage, Duration.ofMillis(System.currentTimeMillis() - startTime));
+  }
+
+  private void addStageTiming(String stage, Duration duration) {
+    issueStore.add(new BuildStageTiming(PruneIslands.class.getSimpleName(), stage, duration));
   }
 }
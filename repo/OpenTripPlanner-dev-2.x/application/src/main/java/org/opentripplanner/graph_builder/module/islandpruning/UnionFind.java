@@ -0,0 +1,49 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over the dense integer indexes {@code [0, size)}, with union by size and path
+ * halving. A root element holds the negated size of its set, other elements hold their parent.
+ */
+class UnionFind {
+
+  private final int[] parent;
+
+  UnionFind(int size) {
+    this.parent = new int[size];
+    Arrays.fill(parent, -1);
+  }
+
+  int find(int element) {
+    int i = element;
+    while (parent[i] >= 0) {
+      int p = parent[i];
+      if (parent[p] >= 0) {
+        parent[i] = parent[p];
+      }
+      i = p;
+    }
+    return i;
+  }
+
+  /**
+   * @return {@code true} if the two elements were in different sets.
+   */
+  boolean union(int a, int b) {
+    int ra = find(a);
+    int rb = find(b);
+    if (ra == rb) {
+      return false;
+    }
+    if (parent[ra] > parent[rb]) {
+      int tmp = ra;
+      ra = rb;
+      rb = tmp;
+    }
+    // ra is now the larger set
+    parent[ra] += parent[rb];
+    parent[rb] = ra;
+    return true;
+  }
+}
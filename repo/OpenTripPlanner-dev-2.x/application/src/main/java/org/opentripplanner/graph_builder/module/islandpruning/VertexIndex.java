@@ -0,0 +1,45 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.Collection;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * Give each vertex of the graph a dense integer index, in the iteration order of the graph
+ * vertices. The islands are found in this order, so the result is the same as iterating over the
+ * graph vertices directly.
+ * <p>
+ * The index is not updated when the graph changes. Island pruning removes edges, but no vertices
+ * until all modes are pruned.
+ */
+class VertexIndex {
+
+  private static final int NO_INDEX = -1;
+
+  private final Vertex[] vertices;
+  private final TObjectIntMap<Vertex> indexes;
+
+  VertexIndex(Collection<Vertex> vertices) {
+    this.vertices = vertices.toArray(Vertex[]::new);
+    this.indexes = new TObjectIntHashMap<>(this.vertices.length, 0.5f, NO_INDEX);
+    for (int i = 0; i < this.vertices.length; ++i) {
+      indexes.put(this.vertices[i], i);
+    }
+  }
+
+  int size() {
+    return vertices.length;
+  }
+
+  Vertex vertex(int index) {
+    return vertices[index];
+  }
+
+  /**
+   * @return the index of the vertex, or -1 if the vertex was added after the index was created.
+   */
+  int indexOf(Vertex vertex) {
+    return indexes.get(vertex);
+  }
+}
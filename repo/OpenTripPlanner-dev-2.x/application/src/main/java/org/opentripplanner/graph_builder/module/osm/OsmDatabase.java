@@ -53,8 +53,8 @@ public class OsmDatabase {
   private final DataImportIssueStore issueStore;
   private final OsmLevelFactory osmLevelFactory;
 
-  /* Map of all nodes used in ways/areas keyed by their OSM ID */
-  private final TLongObjectMap<OsmNode> nodesById = new TLongObjectHashMap<>();
+  /* All nodes used in ways/areas keyed by their OSM ID */
+  private final OsmNodeStore nodesById = new OsmNodeStore();
 
   /* Map of all bike parking nodes, keyed by their OSM ID */
   private final TLongObjectMap<OsmNode> bikeParkingNodes = new TLongObjectHashMap<>();
@@ -255,10 +255,7 @@ public class OsmDatabase {
       return;
     }
 
-    if (nodesById.containsKey(node.getId())) {
-      return;
-    }
-    nodesById.put(node.getId(), node);
+    nodesById.put(node);
   }
 
   public void addWay(OsmWay way) {
@@ -355,6 +352,12 @@ public class OsmDatabase {
   }
 
   public void doneThirdPhaseNodes() {
+    nodesById.compact();
+    LOG.info(
+      "OSM nodes loaded: {} ({} stored with tags)",
+      nodesById.size(),
+      nodesById.objectCount()
+    );
     processMultipolygonRelations();
     processSingleWayAreas();
   }
@@ -667,7 +670,7 @@ public class OsmDatabase {
     node.setId(virtualNodeId);
     virtualNodeId--;
     waysNodeIds.add(node.getId());
-    nodesById.put(node.getId(), node);
+    nodesById.put(node);
     return node;
   }
 
@@ -701,7 +704,7 @@ public class OsmDatabase {
         }
       }
       try {
-        addArea(new OsmArea(way, List.of(way), Collections.emptyList(), nodesById));
+        addArea(new OsmArea(way, List.of(way), Collections.emptyList(), nodesById::get));
         // do not keep the way used in an area, it creates duplicated edges from the basic
         // street graph and from the area processing
         waysById.remove(way.getId());
@@ -765,7 +768,7 @@ public class OsmDatabase {
       }
       processedAreas.add(relation);
       try {
-        addArea(new OsmArea(relation, outerWays, innerWays, nodesById));
+        addArea(new OsmArea(relation, outerWays, innerWays, nodesById::get));
       } catch (OsmArea.AreaConstructionException | Ring.RingConstructionException e) {
         issueStore.add(new InvalidOsmGeometry(relation));
       }
@@ -0,0 +1,316 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opentripplanner.osm.OsmProvider;
+import org.opentripplanner.osm.model.OsmEntity;
+import org.opentripplanner.osm.model.OsmNode;
+import org.opentripplanner.osm.model.OsmTag;
+
+/**
+ * A memory efficient store for the OSM nodes kept by the {@link OsmDatabase}.
+ * <p>
+ * Almost all nodes in a street network have no tags, they only give the shape of a way. Such nodes
+ * are stored in primitive arrays of id, latitude, longitude and provider, which use 25 bytes per
+ * node. An {@link OsmNode} object in a hash map uses about 77 bytes, see the
+ * {@code OsmNodeStoreBenchmark}. Nodes with tags are kept as objects.
+ * <p>
+ * PBF files are sorted by id, so the nodes of the first file are appended in order and looked up
+ * with a binary search. Nodes arriving out of order, like the nodes of the second file when
+ * several files are loaded, are indexed in a hash map until {@link #compact()} sorts the arrays.
+ * <p>
+ * {@link #get(long)} returns a node object for the untagged nodes, created when the node is
+ * looked up. The last created nodes are kept in a small cache, so looking up the same node
+ * repeatedly, like the shared node of two consecutive way segments, does not create a new object
+ * each time. These nodes are equal if they have the same id, so they can be used as keys in hash
+ * maps and sets. If tags are added to such a node, it is kept as a tagged node, and later lookups
+ * return it.
+ */
+class OsmNodeStore {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int NOT_FOUND = -1;
+
+  /** The size of the cache of created nodes, must be a power of two. */
+  private static final int NODE_CACHE_SIZE = 8192;
+
+  /**
+   * Nodes which can not be stored in the arrays, mainly nodes with tags. This includes nodes from
+   * the arrays which are modified after they are added, these are also kept in the arrays.
+   */
+  private final TLongObjectMap<OsmNode> nodeObjects = new TLongObjectHashMap<>();
+
+  /** Nodes created from the arrays, indexed by the array index modulo the cache size. */
+  private final StoredOsmNode[] nodeCache = new StoredOsmNode[NODE_CACHE_SIZE];
+
+  /** The providers of the nodes in the arrays, the arrays store the index in this list. */
+  private final List<OsmProvider> providers = new ArrayList<>();
+
+  /** Index of nodes in the arrays which are not part of the sorted range. */
+  private final TLongIntHashMap unsortedIndex = new TLongIntHashMap(
+    Constants.DEFAULT_CAPACITY,
+    Constants.DEFAULT_LOAD_FACTOR,
+    Constants.DEFAULT_LONG_NO_ENTRY_VALUE,
+    NOT_FOUND
+  );
+
+  private long[] ids = new long[INITIAL_CAPACITY];
+  private double[] lats = new double[INITIAL_CAPACITY];
+  private double[] lons = new double[INITIAL_CAPACITY];
+  private byte[] providerIndexes = new byte[INITIAL_CAPACITY];
+
+  /** The number of nodes in the arrays */
+  private int size = 0;
+
+  /** The nodes in the range [0, sortedSize) of the arrays are sorted by id. */
+  private int sortedSize = 0;
+
+  /** The number of nodes in the arrays which are also in {@link #nodeObjects}. */
+  private int nModified = 0;
+
+  /**
+   * Add the node, unless a node with the same id already exists.
+   */
+  void put(OsmNode node) {
+    long id = node.getId();
+    if (containsKey(id)) {
+      return;
+    }
+    int providerIndex = providerIndex(node);
+    if (providerIndex == NOT_FOUND) {
+      nodeObjects.put(id, node);
+      return;
+    }
+    ensureCapacity();
+
+    if (size == sortedSize && (size == 0 || id > ids[size - 1])) {
+      ++sortedSize;
+    } else {
+      unsortedIndex.put(id, size);
+    }
+    ids[size] = id;
+    lats[size] = node.lat;
+    lons[size] = node.lon;
+    providerIndexes[size] = (byte) providerIndex;
+    ++size;
+  }
+
+  boolean containsKey(long id) {
+    return nodeObjects.containsKey(id) || indexOf(id) != NOT_FOUND;
+  }
+
+  @Nullable
+  OsmNode get(long id) {
+    var node = nodeObjects.get(id);
+    if (node != null) {
+      return node;
+    }
+    int index = indexOf(id);
+    if (index == NOT_FOUND) {
+      return null;
+    }
+    int slot = index & (NODE_CACHE_SIZE - 1);
+    var cached = nodeCache[slot];
+    if (cached != null && cached.getId() == id) {
+      return cached;
+    }
+    var created = new StoredOsmNode(this, index);
+    nodeCache[slot] = created;
+    return created;
+  }
+
+  int size() {
+    return size + nodeObjects.size() - nModified;
+  }
+
+  /**
+   * Sort the nodes added out of order and release unused capacity. Call this when all nodes are
+   * loaded, the store is still usable after this.
+   */
+  void compact() {
+    if (!unsortedIndex.isEmpty()) {
+      sort(0, size - 1);
+      unsortedIndex.clear();
+      unsortedIndex.compact();
+    }
+    sortedSize = size;
+    ids = Arrays.copyOf(ids, size);
+    lats = Arrays.copyOf(lats, size);
+    lons = Arrays.copyOf(lons, size);
+    providerIndexes = Arrays.copyOf(providerIndexes, size);
+  }
+
+  /**
+   * The number of nodes stored as objects, used for logging.
+   */
+  int objectCount() {
+    return nodeObjects.size();
+  }
+
+  /**
+   * Keep the given node created from the arrays as an object, because it is modified. Return the
+   * node kept for the id, this is another node if a node with the same id is already modified.
+   */
+  private OsmNode keepModified(StoredOsmNode node) {
+    var kept = nodeObjects.get(node.getId());
+    if (kept != null) {
+      return kept;
+    }
+    nodeObjects.put(node.getId(), node);
+    ++nModified;
+    return node;
+  }
+
+  /* private methods */
+
+  private int indexOf(long id) {
+    int index = Arrays.binarySearch(ids, 0, sortedSize, id);
+    if (index >= 0) {
+      return index;
+    }
+    return unsortedIndex.isEmpty() ? NOT_FOUND : unsortedIndex.get(id);
+  }
+
+  /**
+   * Return the index of the provider of the node, or {@link #NOT_FOUND} if the node can not be
+   * stored in the arrays.
+   */
+  private int providerIndex(OsmNode node) {
+    if (node.getClass() != OsmNode.class || !node.getTags().isEmpty()) {
+      return NOT_FOUND;
+    }
+    int index = providers.indexOf(node.getOsmProvider());
+    if (index != NOT_FOUND) {
+      return index;
+    }
+    if (providers.size() > Byte.MAX_VALUE) {
+      return NOT_FOUND;
+    }
+    providers.add(node.getOsmProvider());
+    return providers.size() - 1;
+  }
+
+  private void ensureCapacity() {
+    if (size < ids.length) {
+      return;
+    }
+    int capacity = Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1));
+    ids = Arrays.copyOf(ids, capacity);
+    lats = Arrays.copyOf(lats, capacity);
+    lons = Arrays.copyOf(lons, capacity);
+    providerIndexes = Arrays.copyOf(providerIndexes, capacity);
+  }
+
+  /**
+   * Quicksort of the parallel arrays by id. The ids are unique. The arrays consist of a few sorted
+   * runs, so the median of three is a good pivot.
+   */
+  private void sort(int low, int high) {
+    while (high - low > 16) {
+      int mid = (low + high) >>> 1;
+      if (ids[mid] < ids[low]) {
+        swap(mid, low);
+      }
+      if (ids[high] < ids[low]) {
+        swap(high, low);
+      }
+      if (ids[high] < ids[mid]) {
+        swap(high, mid);
+      }
+      long pivot = ids[mid];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (ids[i] < pivot) {
+          ++i;
+        }
+        while (ids[j] > pivot) {
+          --j;
+        }
+        if (i <= j) {
+          swap(i++, j--);
+        }
+      }
+      // Recurse into the smaller part to limit the stack depth
+      if (j - low < high - i) {
+        sort(low, j);
+        low = i;
+      } else {
+        sort(i, high);
+        high = j;
+      }
+    }
+    // Insertion sort for small ranges
+    for (int i = low + 1; i <= high; ++i) {
+      for (int j = i; j > low && ids[j - 1] > ids[j]; --j) {
+        swap(j, j - 1);
+      }
+    }
+  }
+
+  private void swap(int a, int b) {
+    long id = ids[a];
+    ids[a] = ids[b];
+    ids[b] = id;
+    double lat = lats[a];
+    lats[a] = lats[b];
+    lats[b] = lat;
+    double lon = lons[a];
+    lons[a] = lons[b];
+    lons[b] = lon;
+    byte provider = providerIndexes[a];
+    providerIndexes[a] = providerIndexes[b];
+    providerIndexes[b] = provider;
+  }
+
+  /**
+   * A node created from the arrays. The store may be sorted after the node is created, so all
+   * values are copied. When a tag is added, the node is kept as an object by the store. If
+   * another node with the same id is already kept, the tag is added to that node too.
+   */
+  private static final class StoredOsmNode extends OsmNode {
+
+    private final OsmNodeStore store;
+
+    private StoredOsmNode(OsmNodeStore store, int index) {
+      super(store.lats[index], store.lons[index]);
+      this.id = store.ids[index];
+      this.store = store;
+      setOsmProvider(store.providers.get(store.providerIndexes[index]));
+    }
+
+    @Override
+    public void addTag(OsmTag tag) {
+      super.addTag(tag);
+      var kept = store.keepModified(this);
+      if (kept != this) {
+        kept.addTag(tag);
+      }
+    }
+
+    @Override
+    public OsmEntity addTag(String key, String value) {
+      if (key == null || value == null) {
+        return this;
+      }
+      addTag(new OsmTag(key, value));
+      return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof StoredOsmNode other && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(id);
+    }
+  }
+}
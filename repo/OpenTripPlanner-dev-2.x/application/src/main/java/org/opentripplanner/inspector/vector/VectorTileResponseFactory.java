@@ -7,6 +7,7 @@ import jakarta.ws.rs.core.Response;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.api.resource.WebMercatorTile;
 import org.opentripplanner.framework.io.HttpUtils;
@@ -27,26 +28,59 @@ public class VectorTileResponseFactory {
     LayerBuilderFactory<LayerType> layerBuilderFactory,
     OtpServerRequestContext context
   ) {
-    VectorTile.Tile.Builder mvtBuilder = VectorTile.Tile.newBuilder();
-    Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
-
-    int cacheMaxSeconds = Integer.MAX_VALUE;
+    var notFound = checkLayersExist(requestedLayers, availableLayers);
+    if (notFound != null) {
+      return notFound;
+    }
+    return toResponse(
+      render(x, y, z, locale, requestedLayers, availableLayers, layerBuilderFactory, context)
+    );
+  }
 
+  /**
+   * Return a NOT_FOUND response if any of the requested layers is not available, otherwise
+   * {@code null}.
+   */
+  @Nullable
+  public static <LayerType extends Enum<LayerType>> Response checkLayersExist(
+    List<String> requestedLayers,
+    List<LayerParameters<LayerType>> availableLayers
+  ) {
     var availableLayerNames = availableLayers
       .stream()
       .map(LayerParameters::name)
       .collect(Collectors.toSet());
-    if (!availableLayerNames.containsAll(requestedLayers)) {
-      return Response.status(Response.Status.NOT_FOUND)
-        .header(HttpHeaders.CONTENT_TYPE, HttpUtils.TEXT_PLAIN)
-        .entity(
-          "Could not find vector tile layer(s). Requested layers: %s. Available layers: %s.".formatted(
-              requestedLayers,
-              availableLayerNames
-            )
-        )
-        .build();
+    if (availableLayerNames.containsAll(requestedLayers)) {
+      return null;
     }
+    return Response.status(Response.Status.NOT_FOUND)
+      .header(HttpHeaders.CONTENT_TYPE, HttpUtils.TEXT_PLAIN)
+      .entity(
+        "Could not find vector tile layer(s). Requested layers: %s. Available layers: %s.".formatted(
+            requestedLayers,
+            availableLayerNames
+          )
+      )
+      .build();
+  }
+
+  /**
+   * Build the tile with the requested layers which are active at the given zoom level.
+   */
+  public static <LayerType extends Enum<LayerType>> RenderedTile render(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    List<String> requestedLayers,
+    List<LayerParameters<LayerType>> availableLayers,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    OtpServerRequestContext context
+  ) {
+    VectorTile.Tile.Builder mvtBuilder = VectorTile.Tile.newBuilder();
+    Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
+
+    int cacheMaxSeconds = Integer.MAX_VALUE;
 
     for (LayerParameters<LayerType> layerParameters : availableLayers) {
       if (
@@ -61,17 +95,26 @@ public class VectorTileResponseFactory {
         mvtBuilder.addLayers(layer);
       }
     }
+    return new RenderedTile(mvtBuilder.build().toByteArray(), cacheMaxSeconds);
+  }
 
+  public static Response toResponse(RenderedTile tile) {
     CacheControl cacheControl = new CacheControl();
-    if (cacheMaxSeconds != Integer.MAX_VALUE) {
-      cacheControl.setMaxAge(cacheMaxSeconds);
+    if (tile.cacheMaxSeconds() != Integer.MAX_VALUE) {
+      cacheControl.setMaxAge(tile.cacheMaxSeconds());
     }
     return Response.status(Response.Status.OK)
       .cacheControl(cacheControl)
-      .entity(mvtBuilder.build().toByteArray())
+      .entity(tile.body())
       .build();
   }
 
+  /**
+   * An encoded tile and the lowest {@link LayerParameters#cacheMaxSeconds()} of its layers, or
+   * {@link Integer#MAX_VALUE} if the tile has no layers at its zoom level.
+   */
+  public record RenderedTile(byte[] body, int cacheMaxSeconds) {}
+
   @FunctionalInterface
   public interface LayerBuilderFactory<LayerType extends Enum<LayerType>> {
     LayerBuilder<?> createLayerBuilder(
@@ -1,11 +1,15 @@
 package org.opentripplanner.osm;
 
-import crosby.binary.file.BlockInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
@@ -22,11 +26,17 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of the provider interface that reads OSM binary files from disk.
+ * <p>
+ * The PBF blocks are inflated and decoded in parallel on one thread per core, while the entities
+ * are added to the {@link OsmDatabase} in file order from the calling thread.
  */
 public class DefaultOsmProvider implements OsmProvider {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultOsmProvider.class);
 
+  /** The number of decoded blocks waiting to be added to the database, per decoding thread. */
+  private static final int BLOCKS_IN_FLIGHT_PER_THREAD = 4;
+
   private final DataSource source;
   private final boolean cacheDataInMem;
 
@@ -66,19 +76,27 @@ public class DefaultOsmProvider implements OsmProvider {
   }
 
   public void readOsm(OsmDatabase osmdb) {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(
+      nThreads,
+      new ThreadFactoryBuilder().setNameFormat("osm-parser-%d").setDaemon(true).build()
+    );
     try {
-      OsmParser parser = new OsmParser(osmdb, this);
+      var reader = new ParallelPbfReader(executor, nThreads * BLOCKS_IN_FLIGHT_PER_THREAD);
+      ConcurrentMap<String, String> stringTable = new ConcurrentHashMap<>();
 
-      parsePhase(parser, OsmParserPhase.Relations);
+      parsePhase(reader, osmdb, stringTable, OsmParserPhase.Relations);
       osmdb.doneFirstPhaseRelations();
 
-      parsePhase(parser, OsmParserPhase.Ways);
+      parsePhase(reader, osmdb, stringTable, OsmParserPhase.Ways);
       osmdb.doneSecondPhaseWays();
 
-      parsePhase(parser, OsmParserPhase.Nodes);
+      parsePhase(reader, osmdb, stringTable, OsmParserPhase.Nodes);
       osmdb.doneThirdPhaseNodes();
     } catch (Exception ex) {
       throw new IllegalStateException("error loading OSM from path " + source.path(), ex);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
@@ -103,21 +121,18 @@ public class DefaultOsmProvider implements OsmProvider {
     return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
   }
 
-  private void parsePhase(OsmParser parser, OsmParserPhase phase) throws IOException {
-    parser.setPhase(phase);
-    BlockInputStream in = null;
-    try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
-    } finally {
-      // Close
-      try {
-        if (in != null) {
-          in.close();
-        }
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
-      }
+  private void parsePhase(
+    ParallelPbfReader reader,
+    OsmDatabase osmdb,
+    ConcurrentMap<String, String> stringTable,
+    OsmParserPhase phase
+  ) throws IOException {
+    try (InputStream in = createInputStream(phase)) {
+      reader.read(
+        in,
+        (type, data) -> new OsmParser(phase, this, stringTable).parseBlock(type, data),
+        parser -> parser.addTo(osmdb)
+      );
     }
   }
 
@@ -2,10 +2,11 @@ package org.opentripplanner.osm;
 
 import crosby.binary.BinaryParser;
 import crosby.binary.Osmformat;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
 import org.opentripplanner.osm.model.OsmMemberType;
 import org.opentripplanner.osm.model.OsmNode;
@@ -16,19 +17,57 @@ import org.opentripplanner.osm.model.OsmWay;
 
 /**
  * Parser for the OpenStreetMap PBF Format.
+ * <p>
+ * A parser decodes a single PBF block, and keeps the entities of the given phase. The blocks are
+ * decoded in parallel, each with its own parser, and the entities are added to the
+ * {@link OsmDatabase} in file order with {@link #addTo(OsmDatabase)}.
  *
  * @since 0.4
  */
 class OsmParser extends BinaryParser {
 
-  private final OsmDatabase osmdb;
-  private final Map<String, String> stringTable = new HashMap<>();
+  private final OsmParserPhase parsePhase;
   private final DefaultOsmProvider provider;
-  private OsmParserPhase parsePhase;
+  private final ConcurrentMap<String, String> stringTable;
 
-  public OsmParser(OsmDatabase osmdb, DefaultOsmProvider provider) {
-    this.osmdb = Objects.requireNonNull(osmdb);
+  private final List<OsmRelation> relations = new ArrayList<>();
+  private final List<OsmWay> ways = new ArrayList<>();
+  private final List<OsmNode> nodes = new ArrayList<>();
+
+  /**
+   * @param stringTable Shared by all parsers of a file, to deduplicate strings across blocks.
+   */
+  OsmParser(
+    OsmParserPhase parsePhase,
+    DefaultOsmProvider provider,
+    ConcurrentMap<String, String> stringTable
+  ) {
+    this.parsePhase = Objects.requireNonNull(parsePhase);
     this.provider = Objects.requireNonNull(provider);
+    this.stringTable = Objects.requireNonNull(stringTable);
+  }
+
+  /**
+   * Decode an uncompressed block of the given type. Blocks of unknown types are ignored, as
+   * required by the PBF format.
+   */
+  OsmParser parseBlock(String type, byte[] data) throws IOException {
+    switch (type) {
+      case "OSMHeader" -> parse(Osmformat.HeaderBlock.parseFrom(data));
+      case "OSMData" -> parse(Osmformat.PrimitiveBlock.parseFrom(data));
+      default -> {}
+    }
+    return this;
+  }
+
+  /**
+   * Add the entities of the parsed block to the database. This must be called for the blocks in
+   * the same order as they are in the file.
+   */
+  void addTo(OsmDatabase osmdb) {
+    relations.forEach(osmdb::addRelation);
+    ways.forEach(osmdb::addWay);
+    nodes.forEach(osmdb::addNode);
   }
 
   // The strings are already being pulled from a string table in the PBF file,
@@ -36,12 +75,8 @@ class OsmParser extends BinaryParser {
   // String.intern grinds to a halt on large PBF files (as it did on GTFS import), so
   // we implement our own.
   public String internalize(String s) {
-    String fromTable = stringTable.get(s);
-    if (fromTable == null) {
-      stringTable.put(s, s);
-      return s;
-    }
-    return fromTable;
+    String fromTable = stringTable.putIfAbsent(s, s);
+    return fromTable == null ? s : fromTable;
   }
 
   @Override
@@ -49,13 +84,6 @@ class OsmParser extends BinaryParser {
     // Jump in circles
   }
 
-  /**
-   * Set the phase to be parsed
-   */
-  public void setPhase(OsmParserPhase phase) {
-    this.parsePhase = phase;
-  }
-
   @Override
   protected void parseRelations(List<Osmformat.Relation> rels) {
     if (parsePhase != OsmParserPhase.Relations) {
@@ -99,7 +127,7 @@ class OsmParser extends BinaryParser {
         tmp.addMember(relMember);
       }
 
-      osmdb.addRelation(tmp);
+      relations.add(tmp);
     }
   }
 
@@ -147,7 +175,7 @@ class OsmParser extends BinaryParser {
         j++; // Skip over the '0' delimiter.
       }
 
-      osmdb.addNode(tmp);
+      nodes.add(tmp);
     }
   }
 
@@ -174,7 +202,7 @@ class OsmParser extends BinaryParser {
         tmp.addTag(tag);
       }
 
-      osmdb.addNode(tmp);
+      nodes.add(tmp);
     }
   }
 
@@ -204,7 +232,7 @@ class OsmParser extends BinaryParser {
         lastId = j + lastId;
       }
 
-      osmdb.addWay(tmp);
+      ways.add(tmp);
     }
   }
 
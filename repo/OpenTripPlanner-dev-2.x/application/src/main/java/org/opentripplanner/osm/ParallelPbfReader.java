@@ -0,0 +1,143 @@
+package org.opentripplanner.osm;
+
+import crosby.binary.Fileformat;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read the blocks of a PBF file and decode them in parallel.
+ * <p>
+ * The file is read sequentially in the calling thread. Each block is inflated and decoded by a
+ * task on the executor, and the decoded blocks are passed to the consumer in the calling thread in
+ * the same order as they appear in the file. The number of blocks in flight is limited, so the
+ * memory used does not depend on the file size.
+ * <p>
+ * See https://wiki.openstreetmap.org/wiki/PBF_Format for the file format.
+ */
+class ParallelPbfReader {
+
+  /** Limits from the PBF specification */
+  private static final int MAX_HEADER_SIZE = 64 * 1024;
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private final ExecutorService executor;
+  private final int maxBlocksInFlight;
+
+  /**
+   * Decode a block in a worker thread. The type is the block type from the blob header, like
+   * {@code OSMHeader} or {@code OSMData}, and the data is the uncompressed block.
+   */
+  @FunctionalInterface
+  interface BlockDecoder<T> {
+    T decode(String type, byte[] data) throws IOException;
+  }
+
+  ParallelPbfReader(ExecutorService executor, int maxBlocksInFlight) {
+    if (maxBlocksInFlight < 1) {
+      throw new IllegalArgumentException(
+        "maxBlocksInFlight must be positive: " + maxBlocksInFlight
+      );
+    }
+    this.executor = executor;
+    this.maxBlocksInFlight = maxBlocksInFlight;
+  }
+
+  <T> void read(InputStream input, BlockDecoder<T> decoder, Consumer<T> consumer)
+    throws IOException {
+    var in = new DataInputStream(input);
+    Deque<Future<T>> inFlight = new ArrayDeque<>();
+    try {
+      while (true) {
+        int headerSize;
+        try {
+          headerSize = in.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        if (headerSize < 0 || headerSize > MAX_HEADER_SIZE) {
+          throw new IOException("Invalid PBF blob header size: " + headerSize);
+        }
+        var headerBytes = new byte[headerSize];
+        in.readFully(headerBytes);
+        var header = Fileformat.BlobHeader.parseFrom(headerBytes);
+        int blobSize = header.getDatasize();
+        if (blobSize < 0 || blobSize > MAX_BLOB_SIZE) {
+          throw new IOException("Invalid PBF blob size: " + blobSize);
+        }
+        var blob = new byte[blobSize];
+        in.readFully(blob);
+
+        String type = header.getType();
+        inFlight.add(executor.submit(() -> decoder.decode(type, inflate(blob))));
+
+        if (inFlight.size() >= maxBlocksInFlight) {
+          consumer.accept(await(inFlight.poll()));
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        consumer.accept(await(inFlight.poll()));
+      }
+    } finally {
+      // Only not empty if reading or decoding failed
+      inFlight.forEach(f -> f.cancel(true));
+    }
+  }
+
+  /**
+   * Return the uncompressed content of a serialized PBF blob.
+   */
+  static byte[] inflate(byte[] serializedBlob) throws IOException {
+    var blob = Fileformat.Blob.parseFrom(serializedBlob);
+    if (blob.hasRaw()) {
+      return blob.getRaw().toByteArray();
+    }
+    if (!blob.hasZlibData()) {
+      throw new IOException("Unsupported PBF blob compression, only raw and zlib are supported");
+    }
+    var data = new byte[blob.getRawSize()];
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(blob.getZlibData().toByteArray());
+      int size = inflater.inflate(data);
+      if (size != data.length || !inflater.finished()) {
+        throw new IOException("Corrupt PBF blob, the size does not match the raw size");
+      }
+      return data;
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt PBF blob: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading PBF file");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException io) {
+        throw io;
+      }
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+}
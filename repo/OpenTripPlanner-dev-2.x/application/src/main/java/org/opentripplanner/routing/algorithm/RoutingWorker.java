@@ -9,6 +9,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import javax.annotation.Nullable;
+import org.opentripplanner.ext.flex.FlexPathCalculators;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.model.plan.Itinerary;
@@ -23,6 +24,7 @@ import org.opentripplanner.routing.algorithm.mapping.RoutingResponseMapper;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.AdditionalSearchDays;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.FilterTransitWhenDirectModeIsEmpty;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.TransitRouter;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.DirectFlexRouter;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.DirectStreetRouter;
 import org.opentripplanner.routing.api.request.RouteRequest;
@@ -67,6 +69,13 @@ public class RoutingWorker {
   private final ZonedDateTime transitSearchTimeZero;
   private final AdditionalSearchDays additionalSearchDays;
   private final TransitGroupPriorityService transitGroupPriorityService;
+
+  @Nullable
+  private final AccessEgressCache accessEgressCache;
+
+  /** Shared by the direct flex search and the flex access/egress searches of this request */
+  private final FlexPathCalculators flexPathCalculators;
+
   private SearchParams raptorSearchParamsUsed = null;
   private PageCursorInput pageCursorInput = null;
 
@@ -74,10 +83,27 @@ public class RoutingWorker {
   @Nullable
   private LinkingContext currentLinkingContext = null;
 
+  /**
+   * Create a worker using the access/egress cache shared by all requests on the server, if it is
+   * enabled.
+   */
   public RoutingWorker(
     OtpServerRequestContext serverContext,
     RouteRequest orginalRequest,
     ZoneId zoneId
+  ) {
+    this(serverContext, orginalRequest, zoneId, serverContext.accessEgressCache());
+  }
+
+  /**
+   * @param accessEgressCache If set, the access/egress stops found are shared with other workers
+   *                          using the same cache.
+   */
+  public RoutingWorker(
+    OtpServerRequestContext serverContext,
+    RouteRequest orginalRequest,
+    ZoneId zoneId,
+    @Nullable AccessEgressCache accessEgressCache
   ) {
     this.request = orginalRequest.withPageCursor();
     this.serverContext = serverContext;
@@ -96,6 +122,11 @@ public class RoutingWorker {
       request.journey().transit().priorityGroupsByAgency(),
       request.journey().transit().priorityGroupsGlobal()
     );
+    this.accessEgressCache = accessEgressCache;
+    this.flexPathCalculators = new FlexPathCalculators(
+      serverContext.graph(),
+      serverContext.flexParameters()
+    );
   }
 
   public RoutingResponse route() {
@@ -144,7 +175,8 @@ public class RoutingWorker {
         earliestDepartureTimeUsed(),
         searchWindowUsed(),
         result.removeWalkAllTheWayResults() || removeWalkAllTheWayResultsFromDirectFlex,
-        it -> pageCursorInput = it
+        it -> pageCursorInput = it,
+        debugTimingAggregator::finishedFilter
       );
 
       result.transform(filterChain::filter);
@@ -262,7 +294,13 @@ public class RoutingWorker {
     debugTimingAggregator.startedDirectFlexRouter();
     try {
       return RoutingResult.ok(
-        DirectFlexRouter.route(serverContext, request, additionalSearchDays, linkingContext())
+        DirectFlexRouter.route(
+          serverContext,
+          request,
+          additionalSearchDays,
+          linkingContext(),
+          flexPathCalculators
+        )
       );
     } catch (RoutingValidationException e) {
       return RoutingResult.failed(e.getRoutingErrors());
@@ -295,7 +333,9 @@ public class RoutingWorker {
         transitSearchTimeZero,
         additionalSearchDays,
         debugTimingAggregator,
-        linkingContext()
+        linkingContext(),
+        accessEgressCache,
+        flexPathCalculators
       );
       raptorSearchParamsUsed = transitResults.getSearchParams();
       return RoutingResult.ok(transitResults.getItineraries());
@@ -2,6 +2,7 @@ package org.opentripplanner.routing.algorithm.filterchain;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ObjLongConsumer;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.routing.algorithm.filterchain.framework.filterchain.DeleteResultHandler;
 import org.opentripplanner.routing.algorithm.filterchain.framework.filterchain.RoutingErrorsAttacher;
@@ -13,6 +14,7 @@ public class ItineraryListFilterChain {
   private final List<ItineraryListFilter> filters;
   private final DeleteResultHandler debugHandler;
   private final PageCursorInputAggregator pageCursorInputAggregator;
+  private final ObjLongConsumer<String> filterTimingSubscriber;
 
   private final List<RoutingError> routingErrors = new ArrayList<>();
 
@@ -20,16 +22,32 @@ public class ItineraryListFilterChain {
     List<ItineraryListFilter> filters,
     DeleteResultHandler debugHandler,
     PageCursorInputAggregator pageCursorInputAggregator
+  ) {
+    this(filters, debugHandler, pageCursorInputAggregator, (name, nanos) -> {});
+  }
+
+  /**
+   * @param filterTimingSubscriber Is notified with the name of each filter and the time in
+   *                               nanoseconds it took to run it.
+   */
+  public ItineraryListFilterChain(
+    List<ItineraryListFilter> filters,
+    DeleteResultHandler debugHandler,
+    PageCursorInputAggregator pageCursorInputAggregator,
+    ObjLongConsumer<String> filterTimingSubscriber
   ) {
     this.debugHandler = debugHandler;
     this.filters = filters;
     this.pageCursorInputAggregator = pageCursorInputAggregator;
+    this.filterTimingSubscriber = filterTimingSubscriber;
   }
 
   public List<Itinerary> filter(List<Itinerary> itineraries) {
     List<Itinerary> result = itineraries;
     for (ItineraryListFilter filter : filters) {
+      long start = System.nanoTime();
       result = filter.filter(result);
+      filterTimingSubscriber.accept(filter.name(), System.nanoTime() - start);
     }
 
     pageCursorInputAggregator.providePageCursorInput();
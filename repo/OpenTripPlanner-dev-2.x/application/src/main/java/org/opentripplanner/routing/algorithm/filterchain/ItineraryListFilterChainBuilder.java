@@ -8,8 +8,10 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 import javax.annotation.Nullable;
 import org.opentripplanner.ext.accessibilityscore.DecorateWithAccessibilityScore;
 import org.opentripplanner.framework.application.OTPFeature;
@@ -80,6 +82,9 @@ public class ItineraryListFilterChainBuilder {
   private double parkAndRideDurationRatio;
   private CostLinearFunction nonTransitGeneralizedCostLimit;
   private Consumer<PageCursorInput> pageCursorInputSubscriber = i -> {};
+  private ObjLongConsumer<String> filterTimingSubscriber = (name, nanos) -> {};
+  private ExecutorService decoratorExecutor = null;
+  private Duration decoratorTimeBudget = Duration.ZERO;
   private Instant earliestDepartureTime = null;
   private Duration searchWindow = null;
   private boolean accessibilityScore;
@@ -286,6 +291,35 @@ public class ItineraryListFilterChainBuilder {
     return this;
   }
 
+  /**
+   * Register a callback which is notified with the name of each filter and the time in
+   * nanoseconds spent in it, when the filter chain is run.
+   */
+  public ItineraryListFilterChainBuilder withFilterTimingSubscriber(
+    ObjLongConsumer<String> filterTimingSubscriber
+  ) {
+    this.filterTimingSubscriber = filterTimingSubscriber;
+    return this;
+  }
+
+  /**
+   * Decorate the itineraries in parallel using the given executor. The request thread decorates
+   * the itineraries not started by the executor, and the itineraries not decorated by it within
+   * the time budget. If the executor is {@code null} the itineraries are decorated in the request
+   * thread.
+   * <p>
+   * The executor is normally the shared Raptor thread pool. The request thread helps, so the
+   * decoration does not wait for the transit searches of other requests.
+   */
+  public ItineraryListFilterChainBuilder withDecoratorExecutor(
+    @Nullable ExecutorService executor,
+    Duration timeBudget
+  ) {
+    this.decoratorExecutor = executor;
+    this.decoratorTimeBudget = timeBudget;
+    return this;
+  }
+
   /**
    * If the search is done with a page cursor that contains an encoded best street only cost, then
    * this function adds the information to the {@link RemoveTransitIfStreetOnlyIsBetter} filter.
@@ -519,37 +553,41 @@ public class ItineraryListFilterChainBuilder {
     // Do the final itineraries sort
     addSort(filters, SortOrderComparator.comparator(sortOrder));
 
-    // Decorate itineraries
+    // Decorate itineraries. The decorators next to each other in the chain are applied in one
+    // filter, so all decorators are applied to an itinerary in the same task.
     {
+      List<ItineraryDecorator> decorators = new ArrayList<>();
+
       if (transitAlertService != null) {
-        addDecorateFilter(
-          filters,
-          new DecorateTransitAlert(transitAlertService, getMultiModalStation)
-        );
+        decorators.add(new DecorateTransitAlert(transitAlertService, getMultiModalStation));
       }
 
       // Sandbox filters to decorate itineraries
 
       if (accessibilityScore) {
         // TODO: This should be injected to avoid circular dependencies (dep. on sandbox here)
-        addDecorateFilter(filters, new DecorateWithAccessibilityScore(wheelchairMaxSlope));
+        decorators.add(new DecorateWithAccessibilityScore(wheelchairMaxSlope));
       }
 
       if (emissionDecorator != null) {
-        addDecorateFilter(filters, emissionDecorator);
+        decorators.add(emissionDecorator);
       }
 
       if (fareDecorator != null) {
-        addDecorateFilter(filters, fareDecorator);
+        decorators.add(fareDecorator);
       }
 
       if (rideHailingDecorator != null) {
+        addDecorateFilter(filters, decorators);
+        decorators.clear();
         filters.add(rideHailingDecorator);
       }
 
       if (stopConsolidationDecorator != null) {
-        addDecorateFilter(filters, stopConsolidationDecorator);
+        decorators.add(stopConsolidationDecorator);
       }
+
+      addDecorateFilter(filters, decorators);
     }
 
     var debugHandler = new DeleteResultHandler(debug, maxNumberOfItineraries);
@@ -559,7 +597,12 @@ public class ItineraryListFilterChainBuilder {
       .withPageCursorInputSubscriber(pageCursorInputSubscriber)
       .build();
 
-    return new ItineraryListFilterChain(filters, debugHandler, pageCursorInputAggregator);
+    return new ItineraryListFilterChain(
+      filters,
+      debugHandler,
+      pageCursorInputAggregator,
+      filterTimingSubscriber
+    );
   }
 
   public ItineraryListFilterChainBuilder withFilterDirectFlexBySearchWindow(boolean b) {
@@ -660,11 +703,13 @@ public class ItineraryListFilterChainBuilder {
     filters.add(new RemoveFilter(removeFilter));
   }
 
-  private static void addDecorateFilter(
+  private void addDecorateFilter(
     List<ItineraryListFilter> filters,
-    ItineraryDecorator decorator
+    List<ItineraryDecorator> decorators
   ) {
-    filters.add(new DecorateFilter(decorator));
+    if (!decorators.isEmpty()) {
+      filters.add(new DecorateFilter(decorators, decoratorExecutor, decoratorTimeBudget));
+    }
   }
 
   private RemoveItineraryFlagger createMaxLimitFilter(String filterName, int maxLimit) {
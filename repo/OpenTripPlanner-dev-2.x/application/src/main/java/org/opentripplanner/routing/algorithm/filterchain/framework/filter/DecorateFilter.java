@@ -1,24 +1,143 @@
 package org.opentripplanner.routing.algorithm.filterchain.framework.filter;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryListFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This is the decorator filter implementation. To add a decorator, you should implement
  * the {@link ItineraryDecorator}.
+ * <p>
+ * More than one decorator can be applied by the same filter. All decorators are applied to an
+ * itinerary before the next itinerary is decorated, in the order given, so the itinerary list
+ * is only traversed once.
+ * <p>
+ * If an executor is given, the itineraries are decorated in parallel, and the decorators must be
+ * thread-safe. The executor is shared with the transit searches, so the request thread also
+ * decorates the itineraries no pool thread has started yet. If an itinerary is not decorated by the
+ * pool within the time budget, the request thread decorates it again. Decorators make a copy of the
+ * itinerary, so a decorator still running after that does not change the returned itineraries.
  */
 public final class DecorateFilter implements ItineraryListFilter {
 
-  private final ItineraryDecorator decorator;
+  private static final Logger LOG = LoggerFactory.getLogger(DecorateFilter.class);
+
+  private final List<ItineraryDecorator> decorators;
+
+  @Nullable
+  private final ExecutorService executor;
+
+  private final Duration timeBudget;
 
   public DecorateFilter(ItineraryDecorator decorator) {
-    this.decorator = decorator;
+    this(List.of(decorator), null, Duration.ZERO);
+  }
+
+  /**
+   * @param executor   The executor to decorate the itineraries with, if {@code null} the
+   *                   itineraries are decorated in the calling thread.
+   * @param timeBudget The maximum time to wait for the itineraries decorated in the executor,
+   *                   before they are decorated in the calling thread.
+   */
+  public DecorateFilter(
+    List<ItineraryDecorator> decorators,
+    @Nullable ExecutorService executor,
+    Duration timeBudget
+  ) {
+    this.decorators = List.copyOf(decorators);
+    this.executor = executor;
+    this.timeBudget = timeBudget;
+  }
+
+  @Override
+  public String name() {
+    return decorators
+      .stream()
+      .map(it -> it.getClass().getSimpleName())
+      .collect(Collectors.joining("+", "DecorateFilter(", ")"));
   }
 
   @Override
   public List<Itinerary> filter(List<Itinerary> itineraries) {
-    return itineraries.stream().map(decorator::decorate).toList();
+    if (executor == null || itineraries.size() < 2) {
+      return itineraries.stream().map(this::decorate).toList();
+    }
+    return decorateInParallel(itineraries);
+  }
+
+  private Itinerary decorate(Itinerary itinerary) {
+    var result = itinerary;
+    for (var decorator : decorators) {
+      result = decorator.decorate(result);
+    }
+    return result;
+  }
+
+  private List<Itinerary> decorateInParallel(List<Itinerary> itineraries) {
+    List<FutureTask<Itinerary>> tasks = itineraries
+      .stream()
+      .map(it -> new FutureTask<>(() -> decorate(it)))
+      .toList();
+    long deadline = System.nanoTime() + timeBudget.toNanos();
+    try {
+      for (var task : tasks) {
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          // The task is run in this thread below
+        }
+      }
+      var result = new ArrayList<Itinerary>(itineraries.size());
+      for (int i = 0; i < tasks.size(); ++i) {
+        var task = tasks.get(i);
+        // Run the task in this thread if no pool thread has started it yet, so the decoration does
+        // not queue behind the transit searches in the pool. This does nothing if it is started.
+        task.run();
+        result.add(await(task, itineraries.get(i), deadline));
+      }
+      return result;
+    } finally {
+      tasks.forEach(task -> task.cancel(true));
+    }
+  }
+
+  /**
+   * Wait for a task running in the pool. If it is not done within the time budget, the itinerary
+   * is decorated in this thread instead.
+   */
+  private Itinerary await(FutureTask<Itinerary> task, Itinerary itinerary, long deadline) {
+    try {
+      return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      LOG.warn(
+        "The time budget of {} is exceeded by {}, decorating the itinerary in the request thread.",
+        timeBudget,
+        name()
+      );
+      return decorate(itinerary);
+    } catch (InterruptedException e) {
+      // The web server interrupts the request thread when the request times out
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
   }
 }
@@ -30,4 +30,11 @@ public interface ItineraryListFilter {
    * </pre>
    */
   List<Itinerary> filter(List<Itinerary> itineraries);
+
+  /**
+   * A name used to report the time spent in each filter of the filter chain.
+   */
+  default String name() {
+    return getClass().getSimpleName();
+  }
 }
@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 import org.opentripplanner.ext.fares.DecorateWithFare;
 import org.opentripplanner.ext.ridehailing.DecorateWithRideHailing;
 import org.opentripplanner.ext.stopconsolidation.DecorateConsolidatedStopNames;
@@ -31,9 +32,11 @@ public class RouteRequestToFilterChainMapper {
     Instant earliestDepartureTimeUsed,
     Duration searchWindowUsed,
     boolean removeWalkAllTheWayResults,
-    Consumer<PageCursorInput> pageCursorInputSubscriber
+    Consumer<PageCursorInput> pageCursorInputSubscriber,
+    ObjLongConsumer<String> filterTimingSubscriber
   ) {
-    var builder = new ItineraryListFilterChainBuilder(request.itinerariesSortOrder());
+    var builder = new ItineraryListFilterChainBuilder(request.itinerariesSortOrder())
+      .withFilterTimingSubscriber(filterTimingSubscriber);
 
     // Skip filtering itineraries if generalized-cost is not computed
     if (!request.preferences().transit().raptor().profile().producesGeneralizedCost()) {
@@ -99,7 +102,9 @@ public class RouteRequestToFilterChainMapper {
       .withRemoveWalkAllTheWayResults(removeWalkAllTheWayResults)
       .withRemoveTransitIfWalkingIsBetter(true)
       .withFilterDirectFlexBySearchWindow(params.filterDirectFlexBySearchWindow())
-      .withDebugEnabled(params.debug());
+      .withDebugEnabled(params.debug())
+      // The decoration shares the thread pool with the transit searches, see RaptorConfig
+      .withDecoratorExecutor(context.raptorConfig().threadPool(), params.decorationTimeout());
 
     if (!request.preferences().transit().relaxTransitGroupPriority().isNormal()) {
       builder.withTransitGroupPriority();
@@ -14,6 +14,8 @@ import java.util.concurrent.CompletionException;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.ext.flex.FlexAccessEgress;
+import org.opentripplanner.ext.flex.FlexPathCalculators;
 import org.opentripplanner.ext.ridehailing.RideHailingAccessShifter;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.module.nearbystops.TransitServiceResolver;
@@ -23,6 +25,7 @@ import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.response.RaptorResponse;
 import org.opentripplanner.raptor.spi.ExtraMcRouterSearch;
 import org.opentripplanner.routing.algorithm.mapping.RaptorPathToItineraryMapper;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressPenaltyDecorator;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressRouter;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressType;
@@ -44,6 +47,7 @@ import org.opentripplanner.routing.api.response.RoutingError;
 import org.opentripplanner.routing.api.response.RoutingErrorCode;
 import org.opentripplanner.routing.error.RoutingValidationException;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
 import org.opentripplanner.routing.linking.LinkingContext;
 import org.opentripplanner.routing.via.ViaCoordinateTransferFactory;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -65,6 +69,11 @@ public class TransitRouter {
   private final LinkingContext linkingContext;
   private final AccessEgressRouter accessEgressRouter;
 
+  @Nullable
+  private final AccessEgressCache accessEgressCache;
+
+  private final FlexPathCalculators flexPathCalculators;
+
   private TransitRouter(
     RouteRequest request,
     OtpServerRequestContext serverContext,
@@ -72,7 +81,9 @@ public class TransitRouter {
     ZonedDateTime transitSearchTimeZero,
     AdditionalSearchDays additionalSearchDays,
     DebugTimingAggregator debugTimingAggregator,
-    LinkingContext linkingContext
+    LinkingContext linkingContext,
+    @Nullable AccessEgressCache accessEgressCache,
+    FlexPathCalculators flexPathCalculators
   ) {
     this.request = request;
     this.serverContext = serverContext;
@@ -85,6 +96,8 @@ public class TransitRouter {
     this.accessEgressRouter = new AccessEgressRouter(
       new TransitServiceResolver(serverContext.transitService())
     );
+    this.accessEgressCache = accessEgressCache;
+    this.flexPathCalculators = flexPathCalculators;
   }
 
   public static TransitRouterResult route(
@@ -95,6 +108,36 @@ public class TransitRouter {
     AdditionalSearchDays additionalSearchDays,
     DebugTimingAggregator debugTimingAggregator,
     LinkingContext linkingContext
+  ) {
+    return route(
+      request,
+      serverContext,
+      priorityGroupConfigurator,
+      transitSearchTimeZero,
+      additionalSearchDays,
+      debugTimingAggregator,
+      linkingContext,
+      null,
+      new FlexPathCalculators(serverContext.graph(), serverContext.flexParameters())
+    );
+  }
+
+  /**
+   * Same as {@link #route(RouteRequest, OtpServerRequestContext, TransitGroupPriorityService,
+   * ZonedDateTime, AdditionalSearchDays, DebugTimingAggregator, LinkingContext)}, but look up the
+   * access/egress stops in the given cache before doing a street search. The flex path
+   * calculators are shared with the direct flex search of the request.
+   */
+  public static TransitRouterResult route(
+    RouteRequest request,
+    OtpServerRequestContext serverContext,
+    TransitGroupPriorityService priorityGroupConfigurator,
+    ZonedDateTime transitSearchTimeZero,
+    AdditionalSearchDays additionalSearchDays,
+    DebugTimingAggregator debugTimingAggregator,
+    LinkingContext linkingContext,
+    @Nullable AccessEgressCache accessEgressCache,
+    FlexPathCalculators flexPathCalculators
   ) {
     TransitRouter transitRouter = new TransitRouter(
       request,
@@ -103,7 +146,9 @@ public class TransitRouter {
       transitSearchTimeZero,
       additionalSearchDays,
       debugTimingAggregator,
-      linkingContext
+      linkingContext,
+      accessEgressCache,
+      flexPathCalculators
     );
 
     return transitRouter.route();
@@ -271,23 +316,43 @@ public class TransitRouter {
     Duration durationLimit = accessEgressPreferences.maxDuration().valueOf(mode);
     int stopCountLimit = accessEgressPreferences.maxStopCountLimit().limitForMode(mode);
 
-    var nearbyStops = accessEgressRouter.findAccessEgresses(
-      accessRequest,
-      streetRequest,
-      serverContext.listExtensionRequestContexts(accessRequest),
-      type,
-      durationLimit,
-      stopCountLimit,
-      linkingContext
-    );
-    var accessEgresses = AccessEgressMapper.mapNearbyStops(nearbyStops, type);
+    var accessEgresses = accessEgressCache == null
+      ? AccessEgressMapper.mapNearbyStops(
+        findNearbyStops(accessRequest, streetRequest, type, durationLimit, stopCountLimit),
+        type
+      )
+      : accessEgressCache.findAccessEgresses(
+        accessRequest,
+        mode,
+        type,
+        durationLimit,
+        stopCountLimit,
+        () -> findNearbyStops(accessRequest, streetRequest, type, durationLimit, stopCountLimit)
+      );
     accessEgresses = timeshiftRideHailing(streetRequest, type, accessEgresses);
 
     var results = new ArrayList<>(accessEgresses);
 
     // Special handling of flex accesses
     if (OTPFeature.FlexRouting.isOn() && mode == StreetMode.FLEXIBLE) {
-      var flexAccessList = FlexAccessEgressRouter.routeAccessEgress(
+      var flexAccessList = routeFlexAccessEgress(accessRequest, type);
+      results.addAll(AccessEgressMapper.mapFlexAccessEgresses(flexAccessList, type));
+    }
+
+    return results;
+  }
+
+  private Collection<FlexAccessEgress> routeFlexAccessEgress(
+    RouteRequest accessRequest,
+    AccessEgressType type
+  ) {
+    if (type.isAccess()) {
+      debugTimingAggregator.startedFlexAccessCalculating();
+    } else {
+      debugTimingAggregator.startedFlexEgressCalculating();
+    }
+    try {
+      return FlexAccessEgressRouter.routeAccessEgress(
         accessRequest,
         accessEgressRouter,
         serverContext,
@@ -295,13 +360,34 @@ public class TransitRouter {
         serverContext.flexParameters(),
         serverContext.listExtensionRequestContexts(accessRequest),
         type,
-        linkingContext
+        linkingContext,
+        flexPathCalculators
       );
-
-      results.addAll(AccessEgressMapper.mapFlexAccessEgresses(flexAccessList, type));
+    } finally {
+      if (type.isAccess()) {
+        debugTimingAggregator.finishedFlexAccessCalculating();
+      } else {
+        debugTimingAggregator.finishedFlexEgressCalculating();
+      }
     }
+  }
 
-    return results;
+  private Collection<NearbyStop> findNearbyStops(
+    RouteRequest accessRequest,
+    StreetRequest streetRequest,
+    AccessEgressType type,
+    Duration durationLimit,
+    int stopCountLimit
+  ) {
+    return accessEgressRouter.findAccessEgresses(
+      accessRequest,
+      streetRequest,
+      serverContext.listExtensionRequestContexts(accessRequest),
+      type,
+      durationLimit,
+      stopCountLimit,
+      linkingContext
+    );
   }
 
   /**
@@ -0,0 +1,302 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
+
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.CachedAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.RoutingAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.AccessEgressMapper;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
+
+/**
+ * Share the access/egress street searches between routing requests which start or end at the
+ * same place. There are two kinds of caches:
+ * <ul>
+ *   <li>
+ *     A batch cache, created with the default constructor, lives for a limited set of requests,
+ *     like a batch of requests routed against the same transit data. It is never cleared.
+ *   </li>
+ *   <li>
+ *     A shared cache, created with {@link #ofShared(AccessEgressCacheParameters, LongSupplier,
+ *     MeterRegistry)}, is used by all routing requests on the server. The entries expire after a
+ *     short time, and the cache is cleared when the street graph version changes, like when the
+ *     car speed profiles are replaced.
+ *   </li>
+ * </ul>
+ * The exact place is part of the key, so requests from the same place, like a rider refreshing a
+ * search or a batch of requests from one origin, share the result.
+ * <p>
+ * Only time-independent street modes are cached. Modes involving rental, parking, hailing or flex
+ * depend on the departure time or on real-time availability and are always searched. Car speeds
+ * can depend on the time of day, so the car searches are cached per departure time.
+ * <p>
+ * Only the stop, duration and cost of each access/egress is cached, not the street path. The path
+ * of the first search starts at the temporary vertices of that request, and may use edges removed
+ * later. Raptor only needs the duration and cost, so the street search is done again in the
+ * current request when an access/egress is used in an itinerary, see {@link CachedAccessEgress}.
+ * The key holds everything the search depends on, so this search finds the same stops with the
+ * same durations and costs as the one which filled the cache.
+ * <p>
+ * Two concurrent requests for the same key do the search only once, the second waits for the
+ * result of the first.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class AccessEgressCache {
+
+  private static final List<StreetMode> CACHEABLE_MODES = List.of(
+    StreetMode.WALK,
+    StreetMode.BIKE,
+    StreetMode.CAR
+  );
+
+  private final ConcurrentMap<Key, CompletableFuture<List<CachedStop>>> cache;
+  private final LongSupplier streetVersion;
+  private final AtomicLong cachedStreetVersion;
+
+  @Nullable
+  private final Counter invalidations;
+
+  /**
+   * Create a cache for a batch of requests, see the class documentation.
+   */
+  public AccessEgressCache() {
+    this(new ConcurrentHashMap<>(), () -> 0, null);
+  }
+
+  private AccessEgressCache(
+    ConcurrentMap<Key, CompletableFuture<List<CachedStop>>> cache,
+    LongSupplier streetVersion,
+    @Nullable Counter invalidations
+  ) {
+    this.cache = cache;
+    this.streetVersion = streetVersion;
+    this.cachedStreetVersion = new AtomicLong(streetVersion.getAsLong());
+    this.invalidations = invalidations;
+  }
+
+  /**
+   * Create a cache shared by all routing requests, see the class documentation.
+   *
+   * @param streetVersion The version of the street graph, the cache is cleared when it changes.
+   * @param registry If set, the cache hits, misses, evictions and invalidations are monitored.
+   */
+  public static AccessEgressCache ofShared(
+    AccessEgressCacheParameters parameters,
+    LongSupplier streetVersion,
+    @Nullable MeterRegistry registry
+  ) {
+    Cache<Key, CompletableFuture<List<CachedStop>>> cache = CacheBuilder.newBuilder()
+      .maximumSize(parameters.maxSize())
+      .expireAfterWrite(parameters.ttl())
+      .recordStats()
+      .build();
+
+    Counter invalidations = null;
+    if (registry != null) {
+      GuavaCacheMetrics.monitor(registry, cache, "accessEgressCache");
+      invalidations = Counter.builder("accessEgressCache.invalidations")
+        .description("Number of times the cache is cleared because the street graph changed")
+        .register(registry);
+    }
+    return new AccessEgressCache(cache.asMap(), streetVersion, invalidations);
+  }
+
+  /**
+   * Return the accesses/egresses for the given request from the cache, or perform the search and
+   * cache the result.
+   *
+   * @param search The access/egress street search. It is also used to find the street paths of
+   *               the accesses/egresses found in the cache, when they are part of an itinerary.
+   */
+  public List<RoutingAccessEgress> findAccessEgresses(
+    RouteRequest request,
+    StreetMode mode,
+    AccessEgressType type,
+    Duration durationLimit,
+    int maxStopCount,
+    Supplier<Collection<NearbyStop>> search
+  ) {
+    long version = streetVersion.getAsLong();
+    invalidateIfStreetsChanged(version);
+
+    var key = keyOf(request, mode, type, durationLimit, maxStopCount, version);
+    if (key == null) {
+      return AccessEgressMapper.mapNearbyStops(search.get(), type);
+    }
+    var future = new CompletableFuture<List<CachedStop>>();
+    var existing = cache.putIfAbsent(key, future);
+    if (existing != null) {
+      List<CachedStop> stops;
+      try {
+        stops = existing.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException re ? re : e;
+      }
+      // The search is done at most once, when the first access/egress is used in an itinerary
+      Supplier<Map<FeedScopedId, NearbyStop>> searchAgain = Suppliers.memoize(() ->
+        indexOnStopId(search.get())
+      );
+      return stops
+        .stream()
+        .map(it -> it.toAccessEgress(type, searchAgain))
+        .toList();
+    }
+    try {
+      var result = new ArrayList<RoutingAccessEgress>();
+      var stops = new ArrayList<CachedStop>();
+      for (var nearbyStop : search.get()) {
+        var accessEgress = AccessEgressMapper.mapNearbyStop(nearbyStop, type);
+        if (accessEgress != null) {
+          result.add(accessEgress);
+          stops.add(CachedStop.of(nearbyStop.stop.getId(), accessEgress));
+        }
+      }
+      future.complete(List.copyOf(stops));
+      return result;
+    } catch (RuntimeException e) {
+      // Do not cache failures, like a timeout, the next request should retry
+      cache.remove(key, future);
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * The street version is also part of the key, so a search started before the change is never
+   * returned after it. Clearing the cache only frees the memory early.
+   */
+  private void invalidateIfStreetsChanged(long version) {
+    long cached = cachedStreetVersion.get();
+    if (version != cached && cachedStreetVersion.compareAndSet(cached, version)) {
+      cache.clear();
+      if (invalidations != null) {
+        invalidations.increment();
+      }
+    }
+  }
+
+  @Nullable
+  private Key keyOf(
+    RouteRequest request,
+    StreetMode mode,
+    AccessEgressType type,
+    Duration durationLimit,
+    int maxStopCount,
+    long streetVersion
+  ) {
+    if (!CACHEABLE_MODES.contains(mode)) {
+      return null;
+    }
+    var place = type.isAccess() ? request.from() : request.to();
+    if (place == null || !place.isSpecified()) {
+      return null;
+    }
+    long carDepartureTime = mode == StreetMode.CAR ? request.dateTime().getEpochSecond() : 0;
+    return new Key(
+      type,
+      mode,
+      place.stopId,
+      place.lat,
+      place.lng,
+      durationLimit,
+      maxStopCount,
+      request.arriveBy(),
+      request.journey().wheelchair(),
+      request.preferences(),
+      carDepartureTime,
+      streetVersion
+    );
+  }
+
+  private static Map<FeedScopedId, NearbyStop> indexOnStopId(Collection<NearbyStop> nearbyStops) {
+    var index = new HashMap<FeedScopedId, NearbyStop>();
+    for (var nearbyStop : nearbyStops) {
+      index.putIfAbsent(nearbyStop.stop.getId(), nearbyStop);
+    }
+    return index;
+  }
+
+  /**
+   * The duration and cost of an access/egress, without the street path.
+   */
+  private record CachedStop(
+    FeedScopedId stopId,
+    int stopIndex,
+    int durationInSeconds,
+    int c1,
+    boolean walkOnly
+  ) {
+    private static CachedStop of(FeedScopedId stopId, RoutingAccessEgress accessEgress) {
+      return new CachedStop(
+        stopId,
+        accessEgress.stop(),
+        accessEgress.durationInSeconds(),
+        accessEgress.c1(),
+        accessEgress.isWalkOnly()
+      );
+    }
+
+    /**
+     * The street path is taken from the same search as the one which filled the cache, so it has
+     * the cached duration and cost. A stop which is not found means that the street graph changed
+     * without changing its version, which is a programming error.
+     */
+    private RoutingAccessEgress toAccessEgress(
+      AccessEgressType type,
+      Supplier<Map<FeedScopedId, NearbyStop>> search
+    ) {
+      return new CachedAccessEgress(stopIndex, durationInSeconds, c1, walkOnly, () -> {
+        var nearbyStop = search.get().get(stopId);
+        if (nearbyStop == null) {
+          throw new IllegalStateException("The cached access/egress stop is not found: " + stopId);
+        }
+        return type.isEgress() ? nearbyStop.state.reverse() : nearbyStop.state;
+      });
+    }
+  }
+
+  /**
+   * The label of the {@link GenericLocation} is not part of the key, it does not affect routing.
+   */
+  private record Key(
+    AccessEgressType type,
+    StreetMode mode,
+    @Nullable FeedScopedId stopId,
+    @Nullable Double lat,
+    @Nullable Double lng,
+    Duration durationLimit,
+    int maxStopCount,
+    boolean arriveBy,
+    boolean wheelchair,
+    RoutingPreferences preferences,
+    long carDepartureTime,
+    long streetVersion
+  ) {}
+}
@@ -0,0 +1,39 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
+
+import java.time.Duration;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Parameters for the access/egress cache shared between all routing requests, see
+ * {@link AccessEgressCache}.
+ *
+ * @param ttl How long a search result is kept, {@link Duration#ZERO} disables the cache.
+ * @param maxSize The maximum number of cached search results.
+ */
+public record AccessEgressCacheParameters(Duration ttl, int maxSize) {
+  public static final AccessEgressCacheParameters DEFAULT = new AccessEgressCacheParameters(
+    Duration.ZERO,
+    5_000
+  );
+
+  public AccessEgressCacheParameters {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("The cache ttl can not be negative: " + ttl);
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The cache maxSize must be at least 1: " + maxSize);
+    }
+  }
+
+  public boolean isEnabled() {
+    return ttl.isPositive();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(AccessEgressCacheParameters.class)
+      .addDuration("ttl", ttl, DEFAULT.ttl)
+      .addNum("maxSize", maxSize, DEFAULT.maxSize)
+      .toString();
+  }
+}
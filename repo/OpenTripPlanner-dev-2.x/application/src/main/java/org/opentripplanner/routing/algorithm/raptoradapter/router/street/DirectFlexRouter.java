@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import org.opentripplanner.ext.flex.FlexPathCalculators;
 import org.opentripplanner.ext.flex.FlexRouter;
 import org.opentripplanner.ext.flex.filter.FilterMapper;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
@@ -22,7 +23,8 @@ public class DirectFlexRouter {
     OtpServerRequestContext serverContext,
     RouteRequest request,
     AdditionalSearchDays additionalSearchDays,
-    LinkingContext linkingContext
+    LinkingContext linkingContext,
+    FlexPathCalculators flexPathCalculators
   ) {
     var accessEgressRouter = new AccessEgressRouter(
       new TransitServiceResolver(serverContext.transitService())
@@ -61,7 +63,8 @@ public class DirectFlexRouter {
       additionalSearchDays.additionalSearchDaysInPast(),
       additionalSearchDays.additionalSearchDaysInFuture(),
       accessStops,
-      egressStops
+      egressStops,
+      flexPathCalculators
     );
 
     return new ArrayList<>(flexRouter.createFlexOnlyItineraries(request.arriveBy(), request));
@@ -4,8 +4,10 @@ import java.util.Collection;
 import java.util.List;
 import org.opentripplanner.ext.flex.FlexAccessEgress;
 import org.opentripplanner.ext.flex.FlexParameters;
+import org.opentripplanner.ext.flex.FlexPathCalculators;
 import org.opentripplanner.ext.flex.FlexRouter;
 import org.opentripplanner.ext.flex.filter.FilterMapper;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.AdditionalSearchDays;
 import org.opentripplanner.routing.api.request.RouteRequest;
@@ -29,7 +31,8 @@ public class FlexAccessEgressRouter {
     FlexParameters config,
     Collection<ExtensionRequestContext> extensionRequestContexts,
     AccessEgressType accessOrEgress,
-    LinkingContext linkingContext
+    LinkingContext linkingContext,
+    FlexPathCalculators flexPathCalculators
   ) {
     OTPRequestTimeoutException.checkForTimeout();
 
@@ -69,11 +72,18 @@ public class FlexAccessEgressRouter {
       searchDays.additionalSearchDaysInPast(),
       searchDays.additionalSearchDaysInFuture(),
       accessStops,
-      egressStops
+      egressStops,
+      flexPathCalculators
     );
 
+    // The templates are evaluated in the Raptor thread pool, not in the common pool, so the tasks
+    // are cancelled when the request times out
+    var executor = OTPFeature.ParallelRouting.isOn()
+      ? serverContext.raptorConfig().threadPool()
+      : null;
+
     return accessOrEgress.isEgress()
-      ? flexRouter.createFlexEgresses()
-      : flexRouter.createFlexAccesses();
+      ? flexRouter.createFlexEgresses(executor)
+      : flexRouter.createFlexAccesses(executor);
   }
 }
@@ -0,0 +1,50 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import com.google.common.base.Suppliers;
+import java.util.function.Supplier;
+import org.opentripplanner.framework.model.TimeAndCost;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * An access/egress created from a duration and cost found in the {@link AccessEgressCache}. Raptor
+ * only needs the duration and cost, the street path is needed only if the access/egress is part of
+ * an itinerary. So the path is searched for in the current request when the last state is first
+ * used.
+ */
+public class CachedAccessEgress extends DefaultAccessEgress {
+
+  private final boolean walkOnly;
+
+  public CachedAccessEgress(
+    int stop,
+    int durationInSeconds,
+    int generalizedCost,
+    boolean walkOnly,
+    Supplier<State> findLastState
+  ) {
+    super(
+      stop,
+      durationInSeconds,
+      generalizedCost,
+      TimeAndCost.ZERO,
+      Suppliers.memoize(findLastState::get)
+    );
+    this.walkOnly = walkOnly;
+  }
+
+  private CachedAccessEgress(CachedAccessEgress other, TimeAndCost penalty) {
+    super(other, penalty);
+    this.walkOnly = other.walkOnly;
+  }
+
+  @Override
+  public boolean isWalkOnly() {
+    return walkOnly;
+  }
+
+  @Override
+  public RoutingAccessEgress withPenalty(TimeAndCost penalty) {
+    return new CachedAccessEgress(this, penalty);
+  }
+}
@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 import org.opentripplanner.framework.model.TimeAndCost;
 import org.opentripplanner.raptor.api.model.RaptorConstants;
 import org.opentripplanner.raptor.api.model.RaptorCostConverter;
@@ -20,9 +21,10 @@ public class DefaultAccessEgress implements RoutingAccessEgress {
   private final TimeAndCost penalty;
 
   /**
-   * This should be the last state both in the case of access and egress.
+   * This should be the last state both in the case of access and egress. It is a supplier, so
+   * subclasses can find the street path only when it is needed.
    */
-  private final State lastState;
+  private final Supplier<State> lastState;
 
   /**
    * This is public to allow unit-tests full control over the field values.
@@ -33,6 +35,19 @@ public class DefaultAccessEgress implements RoutingAccessEgress {
     int generalizedCost,
     TimeAndCost penalty,
     State lastState
+  ) {
+    this(stop, durationInSeconds, generalizedCost, penalty, constant(lastState));
+  }
+
+  /**
+   * The supplier is called each time the last state is used, it should cache the state.
+   */
+  protected DefaultAccessEgress(
+    int stop,
+    int durationInSeconds,
+    int generalizedCost,
+    TimeAndCost penalty,
+    Supplier<State> lastState
   ) {
     this.stop = stop;
     this.durationInSeconds = durationInSeconds;
@@ -61,7 +76,7 @@ public class DefaultAccessEgress implements RoutingAccessEgress {
       other.durationInSeconds(),
       other.c1() + penalty.cost().toCentiSeconds(),
       penalty,
-      other.getLastState()
+      other::getLastState
     );
     if (other.penalty() != TimeAndCost.ZERO) {
       throw new IllegalStateException("Can not add penalty twice...");
@@ -95,12 +110,12 @@ public class DefaultAccessEgress implements RoutingAccessEgress {
 
   @Override
   public State getLastState() {
-    return lastState;
+    return lastState.get();
   }
 
   @Override
   public boolean isWalkOnly() {
-    return lastState.containsOnlyWalkMode();
+    return getLastState().containsOnlyWalkMode();
   }
 
   @Override
@@ -163,4 +178,9 @@ public class DefaultAccessEgress implements RoutingAccessEgress {
   private String summary() {
     return penalty.isZero() ? null : "w/penalty" + penalty;
   }
+
+  private static Supplier<State> constant(State state) {
+    Objects.requireNonNull(state);
+    return () -> state;
+  }
 }
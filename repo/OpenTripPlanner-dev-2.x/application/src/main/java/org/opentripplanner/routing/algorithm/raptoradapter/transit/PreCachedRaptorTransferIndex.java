@@ -1,61 +1,235 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.stream.IntStream;
 import org.opentripplanner.street.search.request.StreetSearchRequest;
 
+/**
+ * Calculate the duration and cost of the transfers for a request. The transfers from a stop are
+ * calculated the first time the stop is visited, or for all stops up front with
+ * {@link #calculateAll(boolean)}. Two int arrays are kept for each stop, indexed like the slots of
+ * the stop in the shared {@link TransfersByStop}. The reversed transfers use the same arrays.
+ * <p>
+ * This index is cached for each transfer request, so it does not keep any
+ * {@link DefaultRaptorTransfer}s. Raptor keeps a reference to the transfers in the stop arrivals,
+ * so the transfers can not be mutable flyweights. Instead the transfers of a stop are created once
+ * per routing request, see {@link #forRequest()}, and are garbage collected with the request.
+ */
 class PreCachedRaptorTransferIndex implements RaptorTransferIndex {
 
-  private final List<DefaultRaptorTransfer>[] forwardTransfers;
+  /** The duration of a transfer not allowed for the request. */
+  private static final int NOT_ALLOWED = -1;
 
-  private final List<DefaultRaptorTransfer>[] reversedTransfers;
+  private static final StopCosts NO_TRANSFERS = new StopCosts(new int[0], new int[0]);
 
-  PreCachedRaptorTransferIndex(
-    List<List<Transfer>> transfersByStopIndex,
-    StreetSearchRequest request,
-    boolean parallel
-  ) {
-    var forwardTransfers = new ArrayList<List<DefaultRaptorTransfer>>(transfersByStopIndex.size());
-    var reversedTransfers = new ArrayList<List<DefaultRaptorTransfer>>(transfersByStopIndex.size());
+  private final TransfersByStop transfers;
 
-    for (int i = 0; i < transfersByStopIndex.size(); i++) {
-      forwardTransfers.add(new ArrayList<>());
-      reversedTransfers.add(new ArrayList<>());
-    }
+  private final StreetSearchRequest request;
+
+  /** The costs of the transfers from each stop, {@code null} until calculated. */
+  private final StopCosts[] costsByStop;
+
+  PreCachedRaptorTransferIndex(TransfersByStop transfers, StreetSearchRequest request) {
+    this.transfers = transfers;
+    this.request = request;
+    this.costsByStop = new StopCosts[transfers.numberOfStops()];
+  }
 
-    var stopIndices = IntStream.range(0, transfersByStopIndex.size());
+  /**
+   * Calculate the costs of the transfers from all stops, instead of when they are first visited.
+   */
+  PreCachedRaptorTransferIndex calculateAll(boolean parallel) {
+    var stopIndices = IntStream.range(0, transfers.numberOfStops());
     if (parallel) {
       stopIndices = stopIndices.parallel();
     }
-    stopIndices.forEach(fromStop -> {
-      var transfers = transfersByStopIndex.get(fromStop);
-      var raptorTransfers = RaptorTransferIndex.getRaptorTransfers(request, transfers);
+    stopIndices.forEach(this::costsFrom);
+    return this;
+  }
+
+  @Override
+  public RaptorTransferIndex forRequest() {
+    return new RequestTransfers();
+  }
+
+  /**
+   * Create the transfers from the given stop. A new list is created for each call, use the index
+   * returned by {@link #forRequest()} to create them only once.
+   */
+  @Override
+  public Collection<DefaultRaptorTransfer> getForwardTransfers(int stopIndex) {
+    return createForwardTransfers(stopIndex);
+  }
 
-      // forwardTransfers is not modified here, and no two threads will access the same element
-      // in it, so this is still thread safe.
-      forwardTransfers.get(fromStop).addAll(raptorTransfers);
-    });
+  /**
+   * Create the transfers to the given stop. A new list is created for each call, use the index
+   * returned by {@link #forRequest()} to create them only once.
+   */
+  @Override
+  public Collection<DefaultRaptorTransfer> getReversedTransfers(int stopIndex) {
+    return createReversedTransfers(stopIndex);
+  }
 
-    for (int fromStop = 0; fromStop < transfersByStopIndex.size(); fromStop++) {
-      for (var forwardTransfer : forwardTransfers.get(fromStop)) {
-        reversedTransfers.get(forwardTransfer.stop()).add(forwardTransfer.reverseOf(fromStop));
+  private StopCosts costsFrom(int fromStop) {
+    // Two threads may calculate the costs of the same stop at the same time, but the costs are
+    // equal and immutable, so it does not matter which one is kept.
+    var costs = costsByStop[fromStop];
+    if (costs == null) {
+      costs = calculateCostsFrom(fromStop);
+      costsByStop[fromStop] = costs;
+    }
+    return costs;
+  }
+
+  /**
+   * Calculate the transfers from the given stop. The transfers are filtered so that there is only
+   * one possible directional transfer for a stop pair, the same way as
+   * {@link RaptorTransferIndex#getRaptorTransfers(StreetSearchRequest, java.util.List)} does.
+   */
+  private StopCosts calculateCostsFrom(int fromStop) {
+    int offset = transfers.offset(fromStop);
+    int size = transfers.offset(fromStop + 1) - offset;
+    if (size == 0) {
+      return NO_TRANSFERS;
+    }
+    var durations = new int[size];
+    var c1s = new int[size];
+    Arrays.fill(durations, NOT_ALLOWED);
+
+    var mode = request.mode();
+    var bestByToStop = new HashMap<Integer, Integer>();
+
+    for (int i = 0; i < size; ++i) {
+      var transfer = transfers.transfer(offset + i);
+      if (!transfer.allowsMode(mode)) {
+        continue;
+      }
+      var raptorTransfer = transfer.asRaptorTransfer(request);
+      if (raptorTransfer.isEmpty()) {
+        continue;
+      }
+      durations[i] = raptorTransfer.get().durationInSeconds();
+      c1s[i] = raptorTransfer.get().c1();
+
+      Integer best = bestByToStop.get(transfers.toStop(offset + i));
+      if (best != null && c1s[best] < c1s[i]) {
+        durations[i] = NOT_ALLOWED;
+      } else {
+        if (best != null) {
+          durations[best] = NOT_ALLOWED;
+        }
+        bestByToStop.put(transfers.toStop(offset + i), i);
       }
     }
+    return new StopCosts(durations, c1s);
+  }
 
-    // Create immutable copies of the lists for each stop to make them immutable and faster to iterate
-    //noinspection unchecked
-    this.forwardTransfers = forwardTransfers.stream().map(List::copyOf).toArray(List[]::new);
-    //noinspection unchecked
-    this.reversedTransfers = reversedTransfers.stream().map(List::copyOf).toArray(List[]::new);
+  /**
+   * Create the allowed transfers from the given stop. The list is never modified, so it is safe
+   * to publish it to other threads without locking.
+   */
+  private List<DefaultRaptorTransfer> createForwardTransfers(int fromStop) {
+    var costs = costsFrom(fromStop);
+    int offset = transfers.offset(fromStop);
+    var result = new DefaultRaptorTransfer[costs.nAllowed()];
+    int n = 0;
+    for (int i = 0; i < costs.size(); ++i) {
+      if (costs.isAllowed(i)) {
+        int slot = offset + i;
+        result[n++] = new DefaultRaptorTransfer(
+          transfers.toStop(slot),
+          costs.durations[i],
+          costs.c1s[i],
+          transfers.transfer(slot)
+        );
+      }
+    }
+    return Arrays.asList(result);
   }
 
-  public Collection<DefaultRaptorTransfer> getForwardTransfers(int stopIndex) {
-    return forwardTransfers[stopIndex];
+  /**
+   * Create the allowed transfers to the given stop, this calculates the costs of the transfers
+   * from each of the other stops.
+   */
+  private List<DefaultRaptorTransfer> createReversedTransfers(int toStop) {
+    int start = transfers.reversedOffset(toStop);
+    int end = transfers.reversedOffset(toStop + 1);
+    var result = new DefaultRaptorTransfer[end - start];
+    int n = 0;
+    for (int index = start; index < end; ++index) {
+      int fromStop = transfers.reversedFromStop(index);
+      int slot = transfers.reversedSlot(index);
+      var costs = costsFrom(fromStop);
+      int i = slot - transfers.offset(fromStop);
+      if (costs.isAllowed(i)) {
+        result[n++] = new DefaultRaptorTransfer(
+          fromStop,
+          costs.durations[i],
+          costs.c1s[i],
+          transfers.transfer(slot)
+        );
+      }
+    }
+    return Arrays.asList(n == result.length ? result : Arrays.copyOf(result, n));
   }
 
-  public Collection<DefaultRaptorTransfer> getReversedTransfers(int stopIndex) {
-    return reversedTransfers[stopIndex];
+  /**
+   * The duration and cost of the transfers from a stop, indexed from the first slot of the stop.
+   */
+  private record StopCosts(int[] durations, int[] c1s, int nAllowed) {
+    StopCosts(int[] durations, int[] c1s) {
+      this(durations, c1s, (int) Arrays.stream(durations).filter(d -> d != NOT_ALLOWED).count());
+    }
+
+    int size() {
+      return durations.length;
+    }
+
+    boolean isAllowed(int i) {
+      return durations[i] != NOT_ALLOWED;
+    }
+  }
+
+  /**
+   * The transfers of a single routing request. The transfers of a stop are created the first time
+   * the stop is visited, and reused by all Raptor iterations and searches of the request. Like in
+   * {@link OnDemandRaptorTransferIndex}, two threads may create the transfers of the same stop at
+   * the same time, but the lists are equal and never modified, so it does not matter which one is
+   * kept.
+   */
+  private final class RequestTransfers implements RaptorTransferIndex {
+
+    private final List<DefaultRaptorTransfer>[] forwardTransfers;
+
+    private final List<DefaultRaptorTransfer>[] reversedTransfers;
+
+    @SuppressWarnings("unchecked")
+    private RequestTransfers() {
+      this.forwardTransfers = new List[transfers.numberOfStops()];
+      this.reversedTransfers = new List[transfers.numberOfStops()];
+    }
+
+    @Override
+    public Collection<DefaultRaptorTransfer> getForwardTransfers(int stopIndex) {
+      var list = forwardTransfers[stopIndex];
+      if (list == null) {
+        list = createForwardTransfers(stopIndex);
+        forwardTransfers[stopIndex] = list;
+      }
+      return list;
+    }
+
+    @Override
+    public Collection<DefaultRaptorTransfer> getReversedTransfers(int stopIndex) {
+      var list = reversedTransfers[stopIndex];
+      if (list == null) {
+        list = createReversedTransfers(stopIndex);
+        reversedTransfers[stopIndex] = list;
+      }
+      return list;
+    }
   }
 }
@@ -14,27 +14,23 @@ public interface RaptorTransferIndex {
    * Create an index for a route request configured in router-config.json
    */
   static RaptorTransferIndex createInitialSetup(
-    List<List<Transfer>> transfersByStopIndex,
+    TransfersByStop transfers,
     StreetSearchRequest request
   ) {
     // We always want to parallelize the generation when OTP is starting up.
-    return new PreCachedRaptorTransferIndex(transfersByStopIndex, request, true);
+    return new PreCachedRaptorTransferIndex(transfers, request).calculateAll(true);
   }
 
   /**
    * Create an index for a route request originated from the client
    */
   static RaptorTransferIndex createRequestScope(
-    List<List<Transfer>> transfersByStopIndex,
+    TransfersByStop transfers,
     StreetSearchRequest request
   ) {
     return OTPFeature.OnDemandRaptorTransfer.isOn()
-      ? new OnDemandRaptorTransferIndex(transfersByStopIndex, request)
-      : new PreCachedRaptorTransferIndex(
-        transfersByStopIndex,
-        request,
-        OTPFeature.ParallelRouting.isOn()
-      );
+      ? new OnDemandRaptorTransferIndex(transfers.transfersByStopIndex(), request)
+      : new PreCachedRaptorTransferIndex(transfers, request);
   }
 
   static Collection<DefaultRaptorTransfer> getRaptorTransfers(
@@ -52,6 +48,14 @@ public interface RaptorTransferIndex {
       .values();
   }
 
+  /**
+   * Return the index to use in a single routing request. The index may create the transfers of
+   * each stop once for the request, instead of keeping them as long as this index is cached.
+   */
+  default RaptorTransferIndex forRequest() {
+    return this;
+  }
+
   Collection<DefaultRaptorTransfer> getForwardTransfers(int stopIndex);
 
   Collection<DefaultRaptorTransfer> getReversedTransfers(int stopIndex);
@@ -0,0 +1,112 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import java.util.List;
+
+/**
+ * The transfers of all stops stored in flat arrays, in compressed sparse row (CSR) format. The
+ * transfers from stop {@code s} are the slots from {@code offset(s)} to {@code offset(s + 1)}.
+ * The transfers to each stop are indexed the same way, and refer to the slot of the transfer
+ * from the other stop.
+ * <p>
+ * This only depends on the transfers, not on the request, so one instance is shared by all
+ * transfer indexes created for the same transfers. The duration and cost of each transfer is
+ * calculated per request, and stored in arrays indexed like the slots of each stop, see
+ * {@link PreCachedRaptorTransferIndex}.
+ */
+public final class TransfersByStop {
+
+  private final List<List<Transfer>> transfersByStopIndex;
+
+  private final int[] offsets;
+  private final int[] toStops;
+  private final Transfer[] transfers;
+
+  private final int[] reversedOffsets;
+  private final int[] reversedFromStops;
+  private final int[] reversedSlots;
+
+  private TransfersByStop(List<List<Transfer>> transfersByStopIndex) {
+    this.transfersByStopIndex = transfersByStopIndex;
+    int nStops = transfersByStopIndex.size();
+    int nTransfers = transfersByStopIndex.stream().mapToInt(List::size).sum();
+
+    this.offsets = new int[nStops + 1];
+    this.toStops = new int[nTransfers];
+    this.transfers = new Transfer[nTransfers];
+
+    var reversedCount = new int[nStops];
+    int slot = 0;
+    for (int fromStop = 0; fromStop < nStops; ++fromStop) {
+      offsets[fromStop] = slot;
+      for (var transfer : transfersByStopIndex.get(fromStop)) {
+        toStops[slot] = transfer.getToStop();
+        transfers[slot] = transfer;
+        ++reversedCount[transfer.getToStop()];
+        ++slot;
+      }
+    }
+    offsets[nStops] = slot;
+
+    this.reversedOffsets = new int[nStops + 1];
+    for (int stop = 0; stop < nStops; ++stop) {
+      reversedOffsets[stop + 1] = reversedOffsets[stop] + reversedCount[stop];
+    }
+    this.reversedFromStops = new int[nTransfers];
+    this.reversedSlots = new int[nTransfers];
+
+    // Reuse the counters as the next free position for each stop
+    var next = reversedCount;
+    System.arraycopy(reversedOffsets, 0, next, 0, nStops);
+    for (int fromStop = 0; fromStop < nStops; ++fromStop) {
+      for (int s = offsets[fromStop]; s < offsets[fromStop + 1]; ++s) {
+        int r = next[toStops[s]]++;
+        reversedFromStops[r] = fromStop;
+        reversedSlots[r] = s;
+      }
+    }
+  }
+
+  public static TransfersByStop of(List<List<Transfer>> transfersByStopIndex) {
+    return new TransfersByStop(transfersByStopIndex);
+  }
+
+  /** The transfers this is created from, the list is not copied. */
+  public List<List<Transfer>> transfersByStopIndex() {
+    return transfersByStopIndex;
+  }
+
+  int numberOfStops() {
+    return offsets.length - 1;
+  }
+
+  int numberOfTransfers() {
+    return transfers.length;
+  }
+
+  /** The first slot of the transfers from the given stop. */
+  int offset(int fromStop) {
+    return offsets[fromStop];
+  }
+
+  int toStop(int slot) {
+    return toStops[slot];
+  }
+
+  Transfer transfer(int slot) {
+    return transfers[slot];
+  }
+
+  /** The first reversed slot of the transfers to the given stop. */
+  int reversedOffset(int toStop) {
+    return reversedOffsets[toStop];
+  }
+
+  int reversedFromStop(int reversedSlot) {
+    return reversedFromStops[reversedSlot];
+  }
+
+  /** The slot of the forward transfer, for the given reversed slot. */
+  int reversedSlot(int reversedSlot) {
+    return reversedSlots[reversedSlot];
+  }
+}
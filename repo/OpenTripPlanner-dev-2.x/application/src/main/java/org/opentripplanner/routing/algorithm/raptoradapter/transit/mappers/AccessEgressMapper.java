@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.flex.FlexAccessEgress;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressType;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.DefaultAccessEgress;
@@ -35,7 +36,11 @@ public class AccessEgressMapper {
       .collect(Collectors.toList());
   }
 
-  private static RoutingAccessEgress mapNearbyStop(
+  /**
+   * Return {@code null} if the stop is not a regular stop.
+   */
+  @Nullable
+  public static RoutingAccessEgress mapNearbyStop(
     NearbyStop nearbyStop,
     AccessEgressType accessOrEgress
   ) {
@@ -2,6 +2,10 @@ package org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,6 +14,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.opentripplanner.core.model.id.FeedScopedId;
@@ -17,6 +22,7 @@ import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransitData;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.TransferIndexGenerator;
+import org.opentripplanner.transit.model.network.RoutingTripPattern;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.Timetable;
 import org.opentripplanner.transit.model.timetable.TimetableSnapshotUpdateListener;
@@ -37,11 +43,19 @@ import org.slf4j.LoggerFactory;
  * recent TimetableSnapshot) without repeatedly deriving it from scratch every few seconds. The same
  * incremental changes are applied to both the TimetableSnapshot and the RaptorTransitData and they are
  * published together.
+ *
+ * The patching is done per running date: only the dates touched by an updated timetable are
+ * visited, and only dates where the set of TripPatternForDate changed get a new list. The lists of
+ * all other dates, and the constrained transfers if no new trips or patterns are added, are shared
+ * with the previous RaptorTransitData. Routing threads holding the previous instance are never
+ * affected, since published lists are never modified.
  */
 public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdateListener {
 
   private static final Logger LOG = LoggerFactory.getLogger(RealTimeRaptorTransitDataUpdater.class);
 
+  private static final String METRICS_PREFIX = "raptor.realtimeTransitData";
+
   private final TimetableRepository timetableRepository;
 
   /**
@@ -65,8 +79,30 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
   private final Map<LocalDate, Set<TripPatternForDate>> tripPatternsRunningOnDateMapCache =
     new HashMap<>();
 
+  /**
+   * The routing pattern count the current constrained transfers were generated for, -1 forces
+   * a regeneration on the first update.
+   */
+  private int constrainedTransfersPatternCount = -1;
+
+  private final Timer updateTimer;
+  private final DistributionSummary patchedDatesSummary;
+
   public RealTimeRaptorTransitDataUpdater(TimetableRepository timetableRepository) {
+    this(timetableRepository, Metrics.globalRegistry);
+  }
+
+  public RealTimeRaptorTransitDataUpdater(
+    TimetableRepository timetableRepository,
+    MeterRegistry registry
+  ) {
     this.timetableRepository = timetableRepository;
+    this.updateTimer = Timer.builder(METRICS_PREFIX + ".update")
+      .description("Time spent patching the realtime RaptorTransitData for a snapshot commit")
+      .register(registry);
+    this.patchedDatesSummary = DistributionSummary.builder(METRICS_PREFIX + ".patchedDates")
+      .description("Number of running dates patched in the RaptorTransitData per commit")
+      .register(registry);
   }
 
   /// Updates the real-time [RaptorTransitData] to use the modified timetables.
@@ -90,7 +126,8 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
   ///    2. no update was received, and so the previous updated should be removed. If the update
   ///       was for a scheduled trip, then the schedule should be restored.
   /// 3. Remove the `oldTripPatternsForDate` and add the `newTripPatternsForDate` to the
-  ///    [RaptorTransitData].
+  ///    [RaptorTransitData]. Only running dates where the set of [TripPatternForDate]s changed
+  ///    are replaced.
   @Override
   public void update(
     Collection<Timetable> updatedTimetables,
@@ -100,7 +137,7 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
       return;
     }
 
-    long startTime = System.currentTimeMillis();
+    long startTime = System.nanoTime();
 
     // Make a shallow copy of the realtime transit layer. Only the objects that are copied will be
     // changed during this update process.
@@ -121,6 +158,7 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
     if (OTPFeature.TransferConstraints.isOn()) {
       transferIndexGenerator = realtimeRaptorTransitData.getTransferIndexGenerator();
     }
+    boolean realtimeTripsIndexed = false;
     Set<TripPatternForDate> previouslyUsedPatterns = new HashSet<>();
     // Map new TriPatternForDate and index for old and new TripPatternsForDate on service date
     for (Timetable timetable : updatedTimetables) {
@@ -166,6 +204,7 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
             tripPattern,
             timetable.getTripTimes().stream().map(TripTimes::getTrip).collect(Collectors.toList())
           );
+          realtimeTripsIndexed = true;
         }
 
         for (TripTimes triptimes : timetable.getTripTimes()) {
@@ -188,71 +227,86 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
       }
     }
 
-    // Now loop through all running period dates of old and new TripPatternsForDate and update
-    // the tripPatternsByRunningPeriodDate accordingly
+    // Index the removed and added TripPatternsForDate on their running period dates, so each
+    // date only has to look at the patterns touching it
+    SetMultimap<LocalDate, TripPatternForDate> oldByRunningDate = indexOnRunningPeriodDates(
+      oldTripPatternsForDate.values()
+    );
+    SetMultimap<LocalDate, TripPatternForDate> newByRunningDate = indexOnRunningPeriodDates(
+      newTripPatternsForDate.values()
+    );
+    SetMultimap<LocalDate, TripPatternForDate> previouslyUsedByServiceDate =
+      HashMultimap.create();
+    for (TripPatternForDate tripPatternForDate : previouslyUsedPatterns) {
+      previouslyUsedByServiceDate.put(tripPatternForDate.getServiceDate(), tripPatternForDate);
+    }
+
+    // Now patch the set of running TripPatternsForDate for each affected date. Only dates where
+    // the set actually changed get a new list, the lists for all other dates are shared with the
+    // previous RaptorTransitData.
+    int patchedDates = 0;
     for (LocalDate date : datesToBeUpdated) {
-      tripPatternsRunningOnDateMapCache.computeIfAbsent(date, p ->
-        new HashSet<>(realtimeRaptorTransitData.getTripPatternsRunningOnDateCopy(date))
+      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.computeIfAbsent(
+        date,
+        p -> new HashSet<>(realtimeRaptorTransitData.getTripPatternsRunningOnDateCopy(date))
       );
+      Set<TripPatternForDate> added = newByRunningDate.get(date);
+      boolean changed = false;
 
-      // Remove old cached tripPatterns where tripTimes are no longer running
-      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.get(date);
-
-      for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : oldTripPatternsForDate
-        .asMap()
-        .entrySet()) {
-        for (TripPatternForDate oldTripPatternForDate : entry.getValue()) {
-          // Remove old TripPatternForDate for this date if it was valid on this date
-          if (oldTripPatternForDate != null) {
-            if (oldTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.remove(oldTripPatternForDate);
-            }
-          }
+      // Remove old cached tripPatterns where tripTimes are no longer running. TripPatternForDate
+      // is equal by pattern and service date, so an updated TripPatternForDate is equal to the one
+      // it replaces. Only an old instance which is re-added as is (mapping failed) is left.
+      for (TripPatternForDate oldTripPatternForDate : oldByRunningDate.get(date)) {
+        if (!containsInstance(added, oldTripPatternForDate)) {
+          changed |= patternsForDate.remove(oldTripPatternForDate);
         }
       }
 
-      for (TripPatternForDate tripPatternForDate : previouslyUsedPatterns) {
-        if (tripPatternForDate.getServiceDate().equals(date)) {
-          TripPattern pattern = tripPatternForDate.getTripPattern().getPattern();
-          if (!pattern.isCreatedByRealtimeUpdater()) {
-            continue;
-          }
-          var oldTimeTable = timetableProvider.apply(pattern.getId());
-          if (oldTimeTable != null) {
-            var toRemove = oldTimeTable
-              .stream()
-              .filter(tt -> tt.getServiceDate().equals(date))
-              .findFirst()
-              .map(tt -> tt.getTripTimes().isEmpty())
-              .orElse(false);
-
-            if (toRemove) {
-              patternsForDate.remove(tripPatternForDate);
-            }
-          } else {
-            LOG.warn("Could not fetch timetable for {}, removing.", pattern);
-            patternsForDate.remove(tripPatternForDate);
-          }
+      for (TripPatternForDate tripPatternForDate : previouslyUsedByServiceDate.get(date)) {
+        TripPattern pattern = tripPatternForDate.getTripPattern().getPattern();
+        if (!pattern.isCreatedByRealtimeUpdater()) {
+          continue;
         }
-      }
+        var oldTimeTable = timetableProvider.apply(pattern.getId());
+        if (oldTimeTable != null) {
+          var toRemove = oldTimeTable
+            .stream()
+            .filter(tt -> tt.getServiceDate().equals(date))
+            .findFirst()
+            .map(tt -> tt.getTripTimes().isEmpty())
+            .orElse(false);
 
-      for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : newTripPatternsForDate
-        .asMap()
-        .entrySet()) {
-        for (TripPatternForDate newTripPatternForDate : entry.getValue()) {
-          // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
-          if (newTripPatternForDate != null) {
-            if (newTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.add(newTripPatternForDate);
-            }
+          if (toRemove) {
+            changed |= patternsForDate.remove(tripPatternForDate);
           }
+        } else {
+          LOG.warn("Could not fetch timetable for {}, removing.", pattern);
+          changed |= patternsForDate.remove(tripPatternForDate);
         }
       }
 
-      realtimeRaptorTransitData.replaceTripPatternsForDate(date, new ArrayList<>(patternsForDate));
+      // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
+      for (TripPatternForDate newTripPatternForDate : added) {
+        changed |= patternsForDate.add(newTripPatternForDate);
+      }
+
+      if (changed) {
+        realtimeRaptorTransitData.replaceTripPatternsForDate(
+          date,
+          new ArrayList<>(patternsForDate)
+        );
+        ++patchedDates;
+      }
     }
 
-    if (transferIndexGenerator != null) {
+    // The constrained transfers are indexed on the routing pattern index, so they must be
+    // regenerated if new trips are indexed or new patterns are created.
+    int patternCount = RoutingTripPattern.indexCounter();
+    if (
+      transferIndexGenerator != null &&
+      (realtimeTripsIndexed || constrainedTransfersPatternCount != patternCount)
+    ) {
+      constrainedTransfersPatternCount = patternCount;
       realtimeRaptorTransitData.setConstrainedTransfers(transferIndexGenerator.generateTransfers());
     }
 
@@ -260,10 +314,40 @@ public class RealTimeRaptorTransitDataUpdater implements TimetableSnapshotUpdate
     // guarantee that the reference is set after all the fields have been updated.
     timetableRepository.setRealtimeRaptorTransitData(realtimeRaptorTransitData);
 
+    long duration = System.nanoTime() - startTime;
+    updateTimer.record(duration, TimeUnit.NANOSECONDS);
+    patchedDatesSummary.record(patchedDates);
+
     LOG.debug(
-      "UPDATING {} tripPatterns took {} ms",
+      "UPDATING {} tripPatterns took {} ms, {} of {} dates patched",
       updatedTimetables.size(),
-      System.currentTimeMillis() - startTime
+      TimeUnit.NANOSECONDS.toMillis(duration),
+      patchedDates,
+      datesToBeUpdated.size()
     );
   }
+
+  private static boolean containsInstance(
+    Collection<TripPatternForDate> tripPatternsForDate,
+    TripPatternForDate instance
+  ) {
+    for (TripPatternForDate it : tripPatternsForDate) {
+      if (it == instance) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static SetMultimap<LocalDate, TripPatternForDate> indexOnRunningPeriodDates(
+    Collection<TripPatternForDate> tripPatternsForDate
+  ) {
+    SetMultimap<LocalDate, TripPatternForDate> index = HashMultimap.create();
+    for (TripPatternForDate tripPatternForDate : tripPatternsForDate) {
+      for (LocalDate date : tripPatternForDate.getRunningPeriodDates()) {
+        index.put(date, tripPatternForDate);
+      }
+    }
+    return index;
+  }
 }
@@ -8,6 +8,7 @@ import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransferIndex;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.Transfer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransfersByStop;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.street.search.request.BikeRequest;
@@ -19,12 +20,19 @@ import org.opentripplanner.utils.tostring.ToStringBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Cache the transfer index for the most recently used combinations of the request parameters
+ * affecting transfers. The transfers are stored once in a {@link TransfersByStop}, shared by all
+ * cached indexes, so each index only adds the duration and cost of the transfers.
+ */
 public class RaptorRequestTransferCache {
 
   private static final Logger LOG = LoggerFactory.getLogger(RaptorRequestTransferCache.class);
 
   private final LoadingCache<CacheKey, RaptorTransferIndex> transferCache;
 
+  private TransfersByStop transfersByStop;
+
   public RaptorRequestTransferCache(int maximumSize) {
     transferCache = CacheBuilder.newBuilder().maximumSize(maximumSize).build(cacheLoader());
   }
@@ -36,7 +44,7 @@ public class RaptorRequestTransferCache {
   public void put(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
     final CacheKey cacheKey = new CacheKey(transfersByStopIndex, request);
     final RaptorTransferIndex raptorTransferIndex = RaptorTransferIndex.createInitialSetup(
-      transfersByStopIndex,
+      transfersByStop(transfersByStopIndex),
       cacheKey.request
     );
 
@@ -58,13 +66,24 @@ public class RaptorRequestTransferCache {
       public RaptorTransferIndex load(CacheKey cacheKey) {
         LOG.info("Adding runtime request to cache: {}", cacheKey.options);
         return RaptorTransferIndex.createRequestScope(
-          cacheKey.transfersByStopIndex,
+          transfersByStop(cacheKey.transfersByStopIndex),
           cacheKey.request
         );
       }
     };
   }
 
+  /**
+   * There is only one instance of the transfers per graph, so the compact transfers are only
+   * created again if the instance is changed.
+   */
+  private synchronized TransfersByStop transfersByStop(List<List<Transfer>> transfersByStopIndex) {
+    if (transfersByStop == null || transfersByStop.transfersByStopIndex() != transfersByStopIndex) {
+      transfersByStop = TransfersByStop.of(transfersByStopIndex);
+    }
+    return transfersByStop;
+  }
+
   private static class CacheKey {
 
     private final List<List<Transfer>> transfersByStopIndex;
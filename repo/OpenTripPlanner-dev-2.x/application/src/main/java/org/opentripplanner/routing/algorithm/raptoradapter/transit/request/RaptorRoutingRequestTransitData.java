@@ -97,7 +97,7 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     );
     this.patternIndex = transitDataCreator.createPatternIndex(tripPatterns);
     this.activeTripPatternsPerStop = transitDataCreator.createTripPatternsPerStop(tripPatterns);
-    this.transferIndex = raptorTransitData.getRaptorTransfersForRequest(request);
+    this.transferIndex = raptorTransitData.getRaptorTransfersForRequest(request).forRequest();
     this.constrainedTransfers = raptorTransitData.getConstrainedTransfers();
 
     var mcCostParams = GeneralizedCostParametersMapper.map(
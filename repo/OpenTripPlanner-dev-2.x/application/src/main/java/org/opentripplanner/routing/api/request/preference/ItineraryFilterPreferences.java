@@ -21,6 +21,7 @@ public final class ItineraryFilterPreferences {
   private final boolean accessibilityScore;
   private final double bikeRentalDistanceRatio;
   private final ItineraryFilterDebugProfile debug;
+  private final Duration decorationTimeout;
   private final boolean filterItinerariesWithSameFirstOrLastTrip;
   private final double groupedOtherThanSameLegsMaxCostMultiplier;
   private final double groupSimilarityKeepOne;
@@ -37,6 +38,7 @@ public final class ItineraryFilterPreferences {
     this.accessibilityScore = false;
     this.bikeRentalDistanceRatio = 0.0;
     this.debug = ItineraryFilterDebugProfile.OFF;
+    this.decorationTimeout = Duration.ofSeconds(3);
     this.filterItinerariesWithSameFirstOrLastTrip = false;
     this.groupedOtherThanSameLegsMaxCostMultiplier = 2.0;
     this.groupSimilarityKeepOne = 0.85;
@@ -60,6 +62,7 @@ public final class ItineraryFilterPreferences {
     this.accessibilityScore = builder.accessibilityScore;
     this.bikeRentalDistanceRatio = Units.ratio(builder.bikeRentalDistanceRatio);
     this.debug = builder.debug;
+    this.decorationTimeout = Objects.requireNonNull(builder.decorationTimeout);
     this.filterItinerariesWithSameFirstOrLastTrip =
       builder.filterItinerariesWithSameFirstOrLastTrip;
     this.groupedOtherThanSameLegsMaxCostMultiplier = Units.reluctance(
@@ -100,6 +103,15 @@ public final class ItineraryFilterPreferences {
     return debug;
   }
 
+  /**
+   * The maximum time to wait for the itineraries decorated with fares, emissions etc. in the
+   * transit thread pool. The itineraries not decorated within it are decorated in the request
+   * thread.
+   */
+  public Duration decorationTimeout() {
+    return decorationTimeout;
+  }
+
   public boolean filterItinerariesWithSameFirstOrLastTrip() {
     return filterItinerariesWithSameFirstOrLastTrip;
   }
@@ -150,6 +162,7 @@ public final class ItineraryFilterPreferences {
       .addBoolIfTrue("accessibilityScore", accessibilityScore)
       .addNum("bikeRentalDistanceRatio", bikeRentalDistanceRatio, DEFAULT.bikeRentalDistanceRatio)
       .addEnum("debug", debug, ItineraryFilterDebugProfile.OFF)
+      .addDuration("decorationTimeout", decorationTimeout, DEFAULT.decorationTimeout)
       .addBoolIfTrue(
         "filterItinerariesWithSameFirstOrLastTrip",
         filterItinerariesWithSameFirstOrLastTrip
@@ -207,6 +220,7 @@ public final class ItineraryFilterPreferences {
       accessibilityScore == that.accessibilityScore &&
       Double.compare(that.bikeRentalDistanceRatio, bikeRentalDistanceRatio) == 0 &&
       debug == that.debug &&
+      Objects.equals(decorationTimeout, that.decorationTimeout) &&
       filterItinerariesWithSameFirstOrLastTrip == that.filterItinerariesWithSameFirstOrLastTrip &&
       Double.compare(
         that.groupedOtherThanSameLegsMaxCostMultiplier,
@@ -234,6 +248,7 @@ public final class ItineraryFilterPreferences {
       accessibilityScore,
       bikeRentalDistanceRatio,
       debug,
+      decorationTimeout,
       filterItinerariesWithSameFirstOrLastTrip,
       groupedOtherThanSameLegsMaxCostMultiplier,
       groupSimilarityKeepOne,
@@ -254,6 +269,7 @@ public final class ItineraryFilterPreferences {
     private boolean accessibilityScore;
     private double bikeRentalDistanceRatio;
     private ItineraryFilterDebugProfile debug;
+    private Duration decorationTimeout;
     private boolean filterItinerariesWithSameFirstOrLastTrip;
     private double groupedOtherThanSameLegsMaxCostMultiplier;
     private double groupSimilarityKeepOne;
@@ -285,6 +301,11 @@ public final class ItineraryFilterPreferences {
       return this;
     }
 
+    public Builder withDecorationTimeout(Duration decorationTimeout) {
+      this.decorationTimeout = decorationTimeout;
+      return this;
+    }
+
     public Builder withFilterItinerariesWithSameFirstOrLastTrip(
       boolean filterItinerariesWithSameFirstOrLastTrip
     ) {
@@ -353,6 +374,7 @@ public final class ItineraryFilterPreferences {
       this.accessibilityScore = original.accessibilityScore;
       this.bikeRentalDistanceRatio = original.bikeRentalDistanceRatio;
       this.debug = original.debug;
+      this.decorationTimeout = original.decorationTimeout;
       this.filterItinerariesWithSameFirstOrLastTrip =
         original.filterItinerariesWithSameFirstOrLastTrip;
       this.groupedOtherThanSameLegsMaxCostMultiplier =
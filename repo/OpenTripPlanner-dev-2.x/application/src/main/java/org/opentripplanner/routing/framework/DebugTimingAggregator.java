@@ -4,10 +4,14 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.opentripplanner.api.resource.DebugOutput;
 import org.opentripplanner.api.resource.TransitTimingOutput;
 import org.opentripplanner.routing.api.request.RoutingTag;
@@ -25,7 +29,10 @@ public class DebugTimingAggregator {
   private static final long nanosToMillis = 1000000;
   public static final String ROUTING_TOTAL = "routing.total";
   public static final String ROUTING_RAPTOR = "routing.raptor";
+  public static final String ROUTING_FILTER = "routing.filter";
 
+  private final MeterRegistry registry;
+  private final List<Tag> tags;
   private final Clock clock;
 
   private final Timer directStreetRouterTimer;
@@ -34,6 +41,8 @@ public class DebugTimingAggregator {
 
   private final Timer accessTimer;
   private final Timer egressTimer;
+  private final Timer flexAccessTimer;
+  private final Timer flexEgressTimer;
   private final DistributionSummary numAccessesDistribution;
   private final DistributionSummary numEgressesDistribution;
 
@@ -50,6 +59,7 @@ public class DebugTimingAggregator {
 
   private final Timer.Sample startedCalculating;
   private final List<String> messages = new ArrayList<>();
+  private final Map<String, Long> filterTimes = new LinkedHashMap<>();
   private Timer.Sample startedDirectStreetRouter;
   private long directStreetRouterTime;
   private Timer.Sample startedDirectFlexRouter;
@@ -63,8 +73,12 @@ public class DebugTimingAggregator {
   private Timer.Sample finishedFiltering;
   private Timer.Sample startedAccessCalculating;
   private Timer.Sample startedEgressCalculating;
+  private Timer.Sample startedFlexAccessCalculating;
+  private Timer.Sample startedFlexEgressCalculating;
   private long accessTime;
   private long egressTime;
+  private long flexAccessTime;
+  private long flexEgressTime;
   private int numAccesses;
   private int numEgresses;
   private long precalculationTime;
@@ -83,7 +97,8 @@ public class DebugTimingAggregator {
    * not include network and server request queue overhead, which is what we want.
    */
   public DebugTimingAggregator(MeterRegistry registry, Collection<RoutingTag> routingRequestTags) {
-    var tags = MicrometerUtils.mapTimingTags(routingRequestTags);
+    this.registry = registry;
+    this.tags = MicrometerUtils.mapTimingTags(routingRequestTags);
     clock = registry.config().clock();
     startedCalculating = Timer.start(this.clock);
 
@@ -111,6 +126,8 @@ public class DebugTimingAggregator {
 
     egressTimer = Timer.builder("routing.egress").tags(tags).register(registry);
     accessTimer = Timer.builder("routing.access").tags(tags).register(registry);
+    flexEgressTimer = Timer.builder("routing.flexEgress").tags(tags).register(registry);
+    flexAccessTimer = Timer.builder("routing.flexAccess").tags(tags).register(registry);
     directFlexRouterTimer = Timer.builder("routing.directFlex").tags(tags).register(registry);
     directCarpoolRouterTimer = Timer.builder("routing.directCarpool").tags(tags).register(registry);
     directStreetRouterTimer = Timer.builder("routing.directStreet").tags(tags).register(registry);
@@ -208,6 +225,30 @@ public class DebugTimingAggregator {
     egressTime = startedEgressCalculating.stop(egressTimer);
   }
 
+  /** Record the time when starting the flex access search, part of the access routing. */
+  public void startedFlexAccessCalculating() {
+    startedFlexAccessCalculating = Timer.start(clock);
+  }
+
+  public void finishedFlexAccessCalculating() {
+    if (startedFlexAccessCalculating == null) {
+      return;
+    }
+    flexAccessTime = startedFlexAccessCalculating.stop(flexAccessTimer);
+  }
+
+  /** Record the time when starting the flex egress search, part of the egress routing. */
+  public void startedFlexEgressCalculating() {
+    startedFlexEgressCalculating = Timer.start(clock);
+  }
+
+  public void finishedFlexEgressCalculating() {
+    if (startedFlexEgressCalculating == null) {
+      return;
+    }
+    flexEgressTime = startedFlexEgressCalculating.stop(flexEgressTimer);
+  }
+
   /**
    * Record the time when we are finished with the access and egress routing.
    */
@@ -269,7 +310,13 @@ public class DebugTimingAggregator {
     if (transitRouterTime > 0) {
       log("│┌ Creating raptor data model", tripPatternFilterTime);
       log("│├ Access routing (" + numAccesses + " accesses)", accessTime);
+      if (flexAccessTime > 0) {
+        log("││ Flex access routing", flexAccessTime);
+      }
       log("│├ Egress routing (" + numEgresses + " egresses)", egressTime);
+      if (flexEgressTime > 0) {
+        log("││ Flex egress routing", flexEgressTime);
+      }
       log("││ Access/Egress routing", accessEgressTime);
       log("│├ Main routing", raptorSearchTime);
       log("│├ Creating itineraries", itineraryCreationTime);
@@ -279,6 +326,19 @@ public class DebugTimingAggregator {
     log("│  Routing total: ", routingTotalTime);
   }
 
+  /**
+   * Record the time spent in one filter of the itinerary filter chain. The filter name is added
+   * as a tag to the timer, the time of filters with the same name is added up.
+   */
+  public void finishedFilter(String filterName, long nanos) {
+    Timer.builder(ROUTING_FILTER)
+      .tags(tags)
+      .tag("filter", filterName)
+      .register(registry)
+      .record(nanos, TimeUnit.NANOSECONDS);
+    filterTimes.merge(filterName, nanos, Long::sum);
+  }
+
   /** Record the time when we finished filtering the paths for this request. */
   public void finishedFiltering() {
     finishedFiltering = Timer.start(clock);
@@ -286,6 +346,7 @@ public class DebugTimingAggregator {
       return;
     }
     filteringTime = finishedRouters.stop(filteringTimer);
+    filterTimes.forEach((name, nanos) -> log("│├ " + name, nanos));
     log("├  Filtering itineraries", filteringTime);
   }
 
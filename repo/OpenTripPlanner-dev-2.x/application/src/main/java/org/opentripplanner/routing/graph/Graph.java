@@ -7,9 +7,11 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Envelope;
@@ -19,10 +21,12 @@ import org.opentripplanner.ext.dataoverlay.configuration.DataOverlayParameterBin
 import org.opentripplanner.framework.geometry.CompactElevationProfile;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.model.calendar.openinghours.OpeningHoursCalendarService;
+import org.opentripplanner.routing.linking.LinkingHotspots;
 import org.opentripplanner.routing.linking.Scope;
 import org.opentripplanner.routing.services.notes.StreetNotesService;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.speed.CarSpeedProfiles;
 import org.opentripplanner.street.model.vertex.StationCentroidVertex;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
@@ -114,6 +118,26 @@ public class Graph implements Serializable {
    */
   public DataOverlayParameterBindings dataOverlayParameterBindings;
 
+  /**
+   * Locations with pre-split link points, set by the graph builder. Request locations close to a
+   * hotspot are linked to these instead of splitting the streets for each request.
+   */
+  private LinkingHotspots linkingHotspots = LinkingHotspots.EMPTY;
+
+  /**
+   * Measured car speeds loaded by the car speed profile updater. This is not part of the
+   * serialized graph, the profiles are replaced as a whole when the source file changes.
+   */
+  @Nullable
+  private transient volatile CarSpeedProfiles carSpeedProfiles;
+
+  /**
+   * Incremented each time the street graph is changed in a way which changes the result of a
+   * street search without rental, parking or flex, so caches of these search results can be
+   * dropped. Linking rental stations and parking facilities in real-time does not change it.
+   */
+  private final AtomicLong streetVersion = new AtomicLong();
+
   @Inject
   public Graph(@Nullable OpeningHoursCalendarService openingHoursCalendarService) {
     this.openingHoursCalendarService = openingHoursCalendarService;
@@ -312,6 +336,28 @@ public class Graph implements Serializable {
     return this.openingHoursCalendarService;
   }
 
+  @Nullable
+  public CarSpeedProfiles getCarSpeedProfiles() {
+    return carSpeedProfiles;
+  }
+
+  public void setCarSpeedProfiles(@Nullable CarSpeedProfiles carSpeedProfiles) {
+    this.carSpeedProfiles = carSpeedProfiles;
+    streetVersion.incrementAndGet();
+  }
+
+  public LinkingHotspots getLinkingHotspots() {
+    return linkingHotspots;
+  }
+
+  public void setLinkingHotspots(LinkingHotspots linkingHotspots) {
+    this.linkingHotspots = Objects.requireNonNull(linkingHotspots);
+  }
+
+  public long streetVersion() {
+    return streetVersion.get();
+  }
+
   /**
    * Find all vertices inside the bounding box defined by {@code env}.
    */
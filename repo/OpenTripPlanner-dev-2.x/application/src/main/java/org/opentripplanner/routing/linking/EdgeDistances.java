@@ -0,0 +1,42 @@
+package org.opentripplanner.routing.linking;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * The distances from a vertex to the street edges close to it, computed before the vertex is
+ * linked. Computing the distances is the expensive part of linking, and it can be done for many
+ * vertices in parallel, while the edges must be split one vertex at a time.
+ * <p>
+ * The distances are looked up by edge identity. An edge split after the distances were computed
+ * is replaced by new edges, and the distance to those is computed when the vertex is linked. So
+ * the result of linking is the same as if the distances were not computed in advance.
+ *
+ * @see VertexLinker#findEdgeDistances(Vertex)
+ */
+public final class EdgeDistances {
+
+  private final Vertex vertex;
+  private final double radiusDegrees;
+  private final Map<StreetEdge, Double> distances;
+
+  EdgeDistances(Vertex vertex, double radiusDegrees, Map<StreetEdge, Double> distances) {
+    this.vertex = vertex;
+    this.radiusDegrees = radiusDegrees;
+    this.distances = new IdentityHashMap<>(distances);
+  }
+
+  /**
+   * The distance to the edge in latitude degrees, or {@code null} if it is not known.
+   */
+  @Nullable
+  Double distance(Vertex vertex, double radiusDegrees, StreetEdge edge) {
+    if (vertex != this.vertex || radiusDegrees != this.radiusDegrees) {
+      return null;
+    }
+    return distances.get(edge);
+  }
+}
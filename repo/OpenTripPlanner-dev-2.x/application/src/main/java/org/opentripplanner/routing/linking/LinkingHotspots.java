@@ -0,0 +1,125 @@
+package org.opentripplanner.routing.linking;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Locations where many searches start or end, like airports, shopping malls and stations, with
+ * the street vertices they are linked to. The streets are split permanently at these vertices
+ * when the graph is built. A request location close to a hotspot is linked directly to the
+ * vertices of the hotspot, without searching the street index and splitting street edges.
+ * <p>
+ * The number of hotspots is expected to be small, so they are searched linearly.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public class LinkingHotspots implements Serializable {
+
+  public static final LinkingHotspots EMPTY = new LinkingHotspots(0, List.of());
+
+  private final double radiusMeters;
+  private final List<Hotspot> hotspots;
+
+  /**
+   * @param radiusMeters a location is linked to the closest hotspot within this distance.
+   */
+  public LinkingHotspots(double radiusMeters, List<Hotspot> hotspots) {
+    if (radiusMeters < 0) {
+      throw new IllegalArgumentException("The radius can not be negative: " + radiusMeters);
+    }
+    this.radiusMeters = radiusMeters;
+    this.hotspots = List.copyOf(hotspots);
+  }
+
+  /**
+   * Find the vertices to link a location at the given coordinate to. Returns {@code null} if
+   * there is no hotspot within the radius, or if the closest hotspot is not linked for all the
+   * given modes. The caller should then link the location in the usual way.
+   */
+  @Nullable
+  public Set<StreetVertex> findLinkPoints(Coordinate coordinate, TraverseModeSet traverseModes) {
+    Hotspot closest = null;
+    double closestDistance = radiusMeters;
+    for (Hotspot it : hotspots) {
+      double distance = SphericalDistanceLibrary.fastDistance(coordinate, it.coordinate);
+      if (distance <= closestDistance) {
+        closest = it;
+        closestDistance = distance;
+      }
+    }
+    if (closest == null) {
+      return null;
+    }
+    var result = new HashSet<StreetVertex>();
+    for (TraverseMode mode : traverseModes.getModes()) {
+      var linkPoints = closest.linkPoints.get(mode);
+      if (linkPoints == null || linkPoints.isEmpty()) {
+        return null;
+      }
+      result.addAll(linkPoints);
+    }
+    return result.isEmpty() ? null : result;
+  }
+
+  public int size() {
+    return hotspots.size();
+  }
+
+  public boolean isEmpty() {
+    return hotspots.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(LinkingHotspots.class)
+      .addNum("radiusMeters", radiusMeters)
+      .addCol("hotspots", hotspots)
+      .toString();
+  }
+
+  /**
+   * A hotspot with the street vertices a location at the hotspot is linked to, for each mode.
+   */
+  public static final class Hotspot implements Serializable {
+
+    private final String name;
+    private final Coordinate coordinate;
+    private final Map<TraverseMode, List<StreetVertex>> linkPoints;
+
+    public Hotspot(
+      String name,
+      Coordinate coordinate,
+      Map<TraverseMode, ? extends Set<StreetVertex>> linkPoints
+    ) {
+      this.name = Objects.requireNonNull(name);
+      this.coordinate = Objects.requireNonNull(coordinate);
+      this.linkPoints = new EnumMap<>(TraverseMode.class);
+      linkPoints.forEach((mode, vertices) -> this.linkPoints.put(mode, List.copyOf(vertices)));
+    }
+
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public String toString() {
+      return ToStringBuilder.of(Hotspot.class)
+        .addStr("name", name)
+        .addObj("coordinate", coordinate)
+        .addObj("modes", linkPoints.keySet())
+        .toString();
+    }
+  }
+}
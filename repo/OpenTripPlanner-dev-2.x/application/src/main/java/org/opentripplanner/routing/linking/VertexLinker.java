@@ -17,6 +17,7 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.linearref.LinearLocation;
 import org.locationtech.jts.linearref.LocationIndexedLine;
+import org.opentripplanner.core.model.i18n.I18NString;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
@@ -30,6 +31,7 @@ import org.opentripplanner.street.model.edge.LinkingDirection;
 import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.IntersectionVertex;
 import org.opentripplanner.street.model.vertex.SplitterVertex;
+import org.opentripplanner.street.model.vertex.StreetLocation;
 import org.opentripplanner.street.model.vertex.StreetVertex;
 import org.opentripplanner.street.model.vertex.TemporarySplitterVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
@@ -115,7 +117,40 @@ public class VertexLinker {
     LinkingDirection direction,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
-    link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction);
+    link(vertex, traverseModes, direction, Scope.PERMANENT, null, edgeFunction);
+  }
+
+  /**
+   * Link the vertex permanently, using the distances to the nearby edges found by
+   * {@link #findEdgeDistances(Vertex)}. Edges split since the distances were found are handled,
+   * so the result is the same as for {@link #linkVertexPermanently(Vertex, TraverseModeSet,
+   * LinkingDirection, BiFunction)}.
+   */
+  public void linkVertexPermanently(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    EdgeDistances edgeDistances,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    link(vertex, traverseModes, direction, Scope.PERMANENT, edgeDistances, edgeFunction);
+  }
+
+  /**
+   * Find the distances from the vertex to the street edges it may be linked to, without changing
+   * the graph. This can be called from several threads, as long as the graph is not changed at
+   * the same time.
+   */
+  public EdgeDistances findEdgeDistances(Vertex vertex) {
+    double radiusDeg = INITIAL_SEARCH_RADIUS_DEGREES;
+    double xscale = getXscale(vertex);
+    var distances = new HashMap<StreetEdge, Double>();
+    for (var edge : graph.findEdges(searchEnvelope(vertex, radiusDeg, xscale), Scope.PERMANENT)) {
+      if (edge instanceof StreetEdge streetEdge) {
+        distances.put(streetEdge, distance(vertex, streetEdge, xscale));
+      }
+    }
+    return new EdgeDistances(vertex, radiusDeg, distances);
   }
 
   public DisposableEdgeCollection linkVertexForRealTime(
@@ -124,7 +159,7 @@ public class VertexLinker {
     LinkingDirection direction,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
-    return link(vertex, traverseModes, direction, Scope.REALTIME, edgeFunction);
+    return link(vertex, traverseModes, direction, Scope.REALTIME, null, edgeFunction);
   }
 
   public DisposableEdgeCollection linkVertexForRequest(
@@ -133,7 +168,36 @@ public class VertexLinker {
     LinkingDirection direction,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
-    return link(vertex, traverseModes, direction, Scope.REQUEST, edgeFunction);
+    return link(vertex, traverseModes, direction, Scope.REQUEST, null, edgeFunction);
+  }
+
+  /**
+   * Split the streets closest to the given coordinate permanently, without linking anything to
+   * the split points. This is used to prepare the link points of the {@link LinkingHotspots} when
+   * the graph is built.
+   *
+   * @return the vertices a vertex at the coordinate would be linked to.
+   */
+  public Set<StreetVertex> splitPermanently(
+    Coordinate coordinate,
+    I18NString name,
+    TraverseModeSet traverseModes
+  ) {
+    // The location is only used to find the link points, it is not added to the graph
+    var location = new StreetLocation("link_point_" + coordinate, coordinate, name);
+    var linkPoints = new HashSet<StreetVertex>();
+    link(
+      location,
+      traverseModes,
+      LinkingDirection.BIDIRECTIONAL,
+      Scope.PERMANENT,
+      null,
+      (vertex, streetVertex) -> {
+        linkPoints.add(streetVertex);
+        return List.of();
+      }
+    );
+    return linkPoints;
   }
 
   private void removeEdgeFromIndex(Edge edge, Scope scope) {
@@ -153,6 +217,20 @@ public class VertexLinker {
     );
   }
 
+  /** Use the distance found in advance, if the edge has not been split since. */
+  private static double distance(
+    Vertex vertex,
+    StreetEdge edge,
+    double xscale,
+    double radiusDeg,
+    @Nullable EdgeDistances edgeDistances
+  ) {
+    Double distance = edgeDistances == null
+      ? null
+      : edgeDistances.distance(vertex, radiusDeg, edge);
+    return distance != null ? distance : distance(vertex, edge, xscale);
+  }
+
   /** project this linestring to an equirectangular projection */
   private static LineString equirectangularProject(LineString geometry, double xScale) {
     Coordinate[] coords = new Coordinate[geometry.getNumPoints()];
@@ -180,6 +258,7 @@ public class VertexLinker {
    * @param traverseModes Only street edges allowing one of these modes will be linked
    * @param direction     The direction of the new edges to be created
    * @param scope         The scope of the split
+   * @param edgeDistances The distances to the nearby edges found in advance, or null
    * @param edgeFunction  How the provided vertex should be linked into the street graph
    * @return A DisposableEdgeCollection with edges created by this method. It is the caller's
    * responsibility to call the dispose method on this object when the edges are no longer needed.
@@ -189,6 +268,7 @@ public class VertexLinker {
     TraverseModeSet traverseModes,
     LinkingDirection direction,
     Scope scope,
+    @Nullable EdgeDistances edgeDistances,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
     DisposableEdgeCollection tempEdges = (scope != Scope.PERMANENT)
@@ -196,14 +276,21 @@ public class VertexLinker {
       : null;
 
     try {
-      Set<StreetVertex> streetVertices = linkToStreetEdges(
-        vertex,
-        traverseModes,
-        direction,
-        scope,
-        INITIAL_SEARCH_RADIUS_DEGREES,
-        tempEdges
-      );
+      // Locations close to a hotspot reuse the link points split when the graph was built
+      Set<StreetVertex> streetVertices = scope == Scope.REQUEST
+        ? graph.getLinkingHotspots().findLinkPoints(vertex.getCoordinate(), traverseModes)
+        : null;
+      if (streetVertices == null) {
+        streetVertices = linkToStreetEdges(
+          vertex,
+          traverseModes,
+          direction,
+          scope,
+          INITIAL_SEARCH_RADIUS_DEGREES,
+          edgeDistances,
+          tempEdges
+        );
+      }
       if (streetVertices.isEmpty() && scope == Scope.REQUEST) {
         streetVertices = linkToStreetEdges(
           vertex,
@@ -211,6 +298,7 @@ public class VertexLinker {
           direction,
           scope,
           MAX_SEARCH_RADIUS_DEGREES,
+          edgeDistances,
           tempEdges
         );
       }
@@ -262,15 +350,12 @@ public class VertexLinker {
     LinkingDirection direction,
     Scope scope,
     double radiusDeg,
+    @Nullable EdgeDistances edgeDistances,
     @Nullable DisposableEdgeCollection tempEdges
   ) {
-    Envelope env = new Envelope(vertex.getCoordinate());
-
     // Perform a simple local equirectangular projection, so distances are expressed in degrees latitude.
     final double xscale = getXscale(vertex);
-
-    // Expand more in the longitude direction than the latitude direction to account for converging meridians.
-    env.expandBy(radiusDeg / xscale, radiusDeg);
+    Envelope env = searchEnvelope(vertex, radiusDeg, xscale);
 
     // Perform several transformations at once on the edges returned by the index. Only consider
     // street edges traversable by at least one of the given modes and are still present in the
@@ -282,7 +367,7 @@ public class VertexLinker {
       .filter(StreetEdge.class::isInstance)
       .map(StreetEdge.class::cast)
       .filter(e -> e.canTraverse(traverseModes) && e.isReachableFromGraph())
-      .map(e -> new DistanceTo<>(e, distance(vertex, e, xscale)))
+      .map(e -> new DistanceTo<>(e, distance(vertex, e, xscale, radiusDeg, edgeDistances)))
       .filter(ead -> ead.distanceDegreesLat < radiusDeg)
       .toList();
 
@@ -297,6 +382,13 @@ public class VertexLinker {
     );
   }
 
+  private static Envelope searchEnvelope(Vertex vertex, double radiusDeg, double xscale) {
+    Envelope env = new Envelope(vertex.getCoordinate());
+    // Expand more in the longitude direction than the latitude direction to account for converging meridians.
+    env.expandBy(radiusDeg / xscale, radiusDeg);
+    return env;
+  }
+
   private static double getXscale(Vertex vertex) {
     return Math.cos((vertex.getLat() * Math.PI) / 180);
   }
@@ -37,10 +37,11 @@ public class DefaultVehicleParkingRepository implements VehicleParkingRepository
   /**
    * Does atomic update of {@link VehicleParking} and index of {@link VehicleParkingGroup} in this
    * service by replacing the existing with a new copy that includes old ones that were not removed
-   * in the update and the new ones that were added in the update.
+   * in the update and the new ones that were added in the update. Updates are synchronized, since
+   * graph builder modules adding parking may run concurrently.
    */
   @Override
-  public void updateVehicleParking(
+  public synchronized void updateVehicleParking(
     Collection<VehicleParking> parkingToAdd,
     Collection<VehicleParking> parkingToRemove
   ) {
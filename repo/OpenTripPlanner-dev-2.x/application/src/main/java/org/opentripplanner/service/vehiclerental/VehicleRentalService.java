@@ -2,6 +2,7 @@ package org.opentripplanner.service.vehiclerental;
 
 import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
@@ -44,4 +45,20 @@ public interface VehicleRentalService {
    * Gets all vehicle rental places inside an envelope.
    */
   List<VehicleRentalPlace> getVehicleRentalPlacesForEnvelope(Envelope envelope);
+
+  /**
+   * Register a listener which is notified each time a rental place is added, removed or changed.
+   * Places which are updated with equal data are not reported. The listener is called from the
+   * thread applying the real-time updates, and should return quickly.
+   */
+  void addChangeListener(ChangeListener listener);
+
+  @FunctionalInterface
+  interface ChangeListener {
+    /**
+     * @param before the place before the change, {@code null} if it is new.
+     * @param after the place after the change, {@code null} if it is removed.
+     */
+    void placeChanged(@Nullable VehicleRentalPlace before, @Nullable VehicleRentalPlace after);
+  }
 }
@@ -6,7 +6,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.core.model.id.FeedScopedId;
@@ -25,6 +27,8 @@ public class DefaultVehicleRentalService implements VehicleRentalService, Vehicl
 
   private final Map<FeedScopedId, VehicleRentalPlace> rentalPlaces = new ConcurrentHashMap<>();
 
+  private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
   @Override
   public Collection<VehicleRentalPlace> getVehicleRentalPlaces() {
     return rentalPlaces.values();
@@ -68,12 +72,23 @@ public class DefaultVehicleRentalService implements VehicleRentalService, Vehicl
 
   @Override
   public void addVehicleRentalStation(VehicleRentalPlace vehicleRentalStation) {
-    rentalPlaces.put(vehicleRentalStation.id(), vehicleRentalStation);
+    var previous = rentalPlaces.put(vehicleRentalStation.id(), vehicleRentalStation);
+    if (!vehicleRentalStation.equals(previous)) {
+      notifyChangeListeners(previous, vehicleRentalStation);
+    }
   }
 
   @Override
   public void removeVehicleRentalStation(FeedScopedId vehicleRentalStationId) {
-    rentalPlaces.remove(vehicleRentalStationId);
+    var previous = rentalPlaces.remove(vehicleRentalStationId);
+    if (previous != null) {
+      notifyChangeListeners(previous, null);
+    }
+  }
+
+  @Override
+  public void addChangeListener(ChangeListener listener) {
+    changeListeners.add(listener);
   }
 
   @Override
@@ -113,6 +128,15 @@ public class DefaultVehicleRentalService implements VehicleRentalService, Vehicl
       .toList();
   }
 
+  private void notifyChangeListeners(
+    @Nullable VehicleRentalPlace before,
+    @Nullable VehicleRentalPlace after
+  ) {
+    for (var listener : changeListeners) {
+      listener.placeChanged(before, after);
+    }
+  }
+
   private Stream<VehicleRentalStation> getVehicleRentalStationsAsStream() {
     return rentalPlaces
       .values()
@@ -4,8 +4,11 @@ import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import javax.annotation.Nullable;
 import org.geotools.referencing.factory.DeferredAuthorityFactory;
 import org.geotools.util.WeakCollectionCleaner;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
+import org.opentripplanner.ext.carpooling.routing.InsertionPool;
 import org.opentripplanner.framework.application.ApplicationShutdownSupport;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
@@ -202,7 +205,12 @@ public class OTPMain {
     if (params.doServe()) {
       GrizzlyServer grizzlyServer = app.createGrizzlyServer();
 
-      registerShutdownHookToGracefullyShutDownServer(app.timetableRepository(), app.raptorConfig());
+      registerShutdownHookToGracefullyShutDownServer(
+        app.timetableRepository(),
+        app.raptorConfig(),
+        app.carpoolingInsertionPool(),
+        app.batchRoutingService()
+      );
 
       // Loop to restart server on uncaught fatal exceptions.
       while (true) {
@@ -224,18 +232,27 @@ public class OTPMain {
    * Shut down this server when evicted or (auto-)reloaded.
    * <ol>
    *   <li>Stop any real-time updater threads.</li>
+   *   <li>Shut down the request thread pools.</li>
    *   <li>Cleanup various stuff of some used libraries (org.geotools), which depend on the
    *   external client to call them for cleaning-up.</li>
    * </ol>
    */
   private static void registerShutdownHookToGracefullyShutDownServer(
     TimetableRepository timetableRepository,
-    RaptorConfig<?> raptorConfig
+    RaptorConfig<?> raptorConfig,
+    @Nullable InsertionPool carpoolingInsertionPool,
+    @Nullable BatchRoutingService batchRoutingService
   ) {
     ApplicationShutdownSupport.addShutdownHook("server-shutdown", () -> {
       LOG.info("OTP shutdown started...");
       UpdaterConfigurator.shutdownGraph(timetableRepository);
       raptorConfig.shutdown();
+      if (carpoolingInsertionPool != null) {
+        carpoolingInsertionPool.shutdown();
+      }
+      if (batchRoutingService != null) {
+        batchRoutingService.shutdown();
+      }
       WeakCollectionCleaner.DEFAULT.exit();
       DeferredAuthorityFactory.exit();
       LOG.info("OTP shutdown: resources released...");
@@ -5,22 +5,27 @@ import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.gtfs.GraphQLResultCache;
 import org.opentripplanner.apis.gtfs.GtfsApiParameters;
 import org.opentripplanner.apis.transmodel.TransmodelAPIParameters;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.dataoverlay.routing.DataOverlayContext;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayService;
 import org.opentripplanner.ext.flex.FlexParameters;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.isochrone.IsochroneCache;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.ext.trias.parameters.TriasApiParameters;
+import org.opentripplanner.ext.vectortiles.VectorTileCache;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -117,6 +122,12 @@ public interface OtpServerRequestContext {
 
   MeterRegistry meterRegistry();
 
+  /**
+   * The access/egress search cache shared by all routing requests, {@code null} if not enabled.
+   */
+  @Nullable
+  AccessEgressCache accessEgressCache();
+
   /**
    * Callback which is injected into the {@code DirectStreetRouter}, used to visualize the
    * search.
@@ -137,6 +148,12 @@ public interface OtpServerRequestContext {
 
   VectorTileConfig vectorTileConfig();
 
+  /**
+   * The vector tile cache, {@code null} if not enabled.
+   */
+  @Nullable
+  VectorTileCache vectorTileCache();
+
   ViaCoordinateTransferFactory viaTransferResolver();
 
   TriasApiParameters triasApiParameters();
@@ -161,6 +178,10 @@ public interface OtpServerRequestContext {
         )
       );
     }
+    var carSpeedProfiles = graph().getCarSpeedProfiles();
+    if (carSpeedProfiles != null) {
+      list.add(carSpeedProfiles);
+    }
     return list;
   }
 
@@ -170,6 +191,12 @@ public interface OtpServerRequestContext {
   @Nullable
   EmpiricalDelayService empiricalDelayService();
 
+  @Nullable
+  BatchRoutingService batchRoutingService();
+
+  @Nullable
+  IsochroneCache isochroneCache();
+
   @Nullable
   LuceneIndex lucenceIndex();
 
@@ -182,6 +209,12 @@ public interface OtpServerRequestContext {
   @Nullable
   GraphQLSchema gtfsSchema();
 
+  /**
+   * The GTFS GraphQL API response cache, {@code null} if not enabled.
+   */
+  @Nullable
+  GraphQLResultCache gtfsResultCache();
+
   @Nullable
   GraphQLSchema transmodelSchema();
 
@@ -30,6 +30,7 @@ import org.opentripplanner.ext.empiricaldelay.config.EmpiricalDelayConfig;
 import org.opentripplanner.ext.empiricaldelay.parameters.EmpiricalDelayParameters;
 import org.opentripplanner.ext.fares.FaresConfiguration;
 import org.opentripplanner.framework.geometry.CompactElevationProfile;
+import org.opentripplanner.graph_builder.module.LinkingHotspotParameters;
 import org.opentripplanner.graph_builder.module.TransferParameters;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParameters;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParametersList;
@@ -44,6 +45,7 @@ import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.standalone.config.buildconfig.DemConfig;
 import org.opentripplanner.standalone.config.buildconfig.GtfsConfig;
 import org.opentripplanner.standalone.config.buildconfig.IslandPruningConfig;
+import org.opentripplanner.standalone.config.buildconfig.LinkingHotspotConfig;
 import org.opentripplanner.standalone.config.buildconfig.NetexConfig;
 import org.opentripplanner.standalone.config.buildconfig.OsmConfig;
 import org.opentripplanner.standalone.config.buildconfig.S3BucketConfig;
@@ -156,6 +158,7 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   /** See {@link IslandPruningConfig}. */
   public final IslandPruningConfig islandPruning;
+  public final LinkingHotspotParameters linkingHotspots;
 
   public final Duration maxTransferDuration;
   public final Map<StreetMode, TransferParameters> transferParametersForMode;
@@ -270,6 +273,7 @@ public class BuildConfig implements OtpDataStoreConfig {
       .asBoolean(false);
 
     islandPruning = IslandPruningConfig.fromConfig(root);
+    linkingHotspots = LinkingHotspotConfig.map(root, "linkingHotspots");
 
     maxDataImportIssuesPerFile = root
       .of("maxDataImportIssuesPerFile")
@@ -10,6 +10,7 @@ import java.io.Serializable;
 import java.util.List;
 import org.opentripplanner.apis.gtfs.GtfsApiParameters;
 import org.opentripplanner.ext.flex.FlexParameters;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
 import org.opentripplanner.ext.ridehailing.RideHailingServiceParameters;
 import org.opentripplanner.ext.trias.config.TriasApiConfig;
 import org.opentripplanner.ext.trias.parameters.TriasApiParameters;
@@ -134,6 +135,10 @@ public class RouterConfig implements Serializable {
     return rideHailingConfig.rideHailingServiceParameters();
   }
 
+  public List<LocalFleetServiceParameters> localFleetServiceParameters() {
+    return rideHailingConfig.localFleetServiceParameters();
+  }
+
   public VectorTileConfig vectorTileConfig() {
     return vectorTileConfig;
   }
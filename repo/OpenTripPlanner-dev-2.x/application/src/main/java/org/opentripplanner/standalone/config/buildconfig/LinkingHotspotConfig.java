@@ -0,0 +1,71 @@
+package org.opentripplanner.standalone.config.buildconfig;
+
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
+
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.graph_builder.module.LinkingHotspotParameters;
+import org.opentripplanner.graph_builder.module.LinkingHotspotParameters.Location;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+
+public class LinkingHotspotConfig {
+
+  public static LinkingHotspotParameters map(NodeAdapter root, String parameterName) {
+    var c = root
+      .of(parameterName)
+      .since(V2_9)
+      .summary("Locations where the streets are split in advance for linking request locations.")
+      .description(
+        """
+        Every search links its origin and destination to the street network by finding the closest
+        streets and splitting them. For locations where many searches start or end, like airports,
+        shopping malls and stations, the streets can be split when the graph is built instead.
+        A request location within the `radius` of a hotspot is then linked to the streets at the
+        hotspot, which is faster than linking it on its own.
+
+        **Example**
+
+        ```JSON
+        // build-config.json
+        {
+          "linkingHotspots": {
+            "radius": 25,
+            "locations": [
+              { "name": "Airport", "lat": 60.1939, "lon": 11.1004 }
+            ]
+          }
+        }
+        ```
+        """
+      )
+      .asObject();
+
+    return new LinkingHotspotParameters(
+      c
+        .of("radius")
+        .since(V2_9)
+        .summary("The maximum distance in meters from a request location to a hotspot.")
+        .description(
+          """
+          The request location is linked to the streets at the hotspot, so the street search
+          starts up to this distance away from the requested coordinate.
+          """
+        )
+        .asDouble(LinkingHotspotParameters.DEFAULT.radiusMeters()),
+      c
+        .of("locations")
+        .since(V2_9)
+        .summary("The hotspots to split the streets at.")
+        .asObjects(LinkingHotspotConfig::mapLocation)
+    );
+  }
+
+  private static Location mapLocation(NodeAdapter c) {
+    return new Location(
+      c.of("name").since(V2_9).summary("The name of the hotspot, used in logs.").asString(),
+      new WgsCoordinate(
+        c.of("lat").since(V2_9).summary("The latitude of the hotspot.").asDouble(),
+        c.of("lon").since(V2_9).summary("The longitude of the hotspot.").asDouble()
+      )
+    );
+  }
+}
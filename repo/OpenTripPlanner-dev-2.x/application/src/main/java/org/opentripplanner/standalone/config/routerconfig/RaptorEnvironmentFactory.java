@@ -13,6 +13,12 @@ import org.opentripplanner.raptor.api.request.RaptorEnvironment;
 public class RaptorEnvironmentFactory {
 
   public static RaptorEnvironment create(final int threadPoolSize) {
+    // The pool is shared by all requests, and by the parts of a request run in parallel outside
+    // Raptor, so it must only be created once. The threads are created when first used.
+    final ExecutorService threadPool = threadPoolSize > 0
+      ? Executors.newFixedThreadPool(threadPoolSize, OtpRequestThreadFactory.of("raptor-%d"))
+      : null;
+
     return new RaptorEnvironment() {
       @Override
       public Runnable timeoutHook() {
@@ -32,9 +38,7 @@ public class RaptorEnvironmentFactory {
       @Nullable
       @Override
       public ExecutorService threadPool() {
-        return threadPoolSize > 0
-          ? Executors.newFixedThreadPool(threadPoolSize, OtpRequestThreadFactory.of("raptor-%d"))
-          : null;
+        return threadPool;
       }
     };
   }
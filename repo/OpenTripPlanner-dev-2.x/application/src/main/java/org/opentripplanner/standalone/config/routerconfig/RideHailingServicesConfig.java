@@ -6,8 +6,10 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.List;
 import java.util.function.Function;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
 import org.opentripplanner.ext.ridehailing.RideHailingServiceParameters;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+import org.opentripplanner.standalone.config.routerconfig.services.LocalFleetConfig;
 import org.opentripplanner.standalone.config.routerconfig.services.UberConfig;
 
 public class RideHailingServicesConfig {
@@ -18,7 +20,7 @@ public class RideHailingServicesConfig {
     rootAdapter
       .of("rideHailingServices")
       .since(V2_3)
-      .summary("Configuration for interfaces to external ride hailing services like Uber.")
+      .summary("Configuration for ride hailing services like Uber, or a local fleet.")
       .asObjects(it -> {
         Type type = it
           .of("type")
@@ -41,8 +43,18 @@ public class RideHailingServicesConfig {
       .toList();
   }
 
+  public List<LocalFleetServiceParameters> localFleetServiceParameters() {
+    return configList
+      .values()
+      .stream()
+      .filter(LocalFleetServiceParameters.class::isInstance)
+      .map(LocalFleetServiceParameters.class::cast)
+      .toList();
+  }
+
   public enum Type {
-    UBER_CAR_HAILING(UberConfig::create);
+    UBER_CAR_HAILING(UberConfig::create),
+    LOCAL_FLEET(LocalFleetConfig::create);
 
     private final Function<NodeAdapter, ?> factory;
 
@@ -6,12 +6,14 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import org.opentripplanner.raptor.api.request.DynamicSearchWindowCoefficients;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCacheParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
@@ -27,6 +29,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int scheduledTripBinarySearchThreshold;
   private final int iterationDepartureStepInSeconds;
   private final int searchThreadPoolSize;
+  private final Duration searchWindowSlice;
   private final int transferCacheMaxSize;
   private final List<RouteRequest> transferCacheRequests;
   private final List<Duration> pagingSearchWindowAdjustments;
@@ -34,6 +37,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final Map<StopTransferPriority, Integer> stopBoardAlightDuringTransferCost;
   private final Duration maxSearchWindow;
   private final DynamicSearchWindowCoefficients dynamicSearchWindowCoefficients;
+  private final AccessEgressCacheParameters accessEgressCache;
 
   public TransitRoutingConfig(
     String parameterName,
@@ -107,6 +111,21 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
         """
       )
       .asInt(0);
+    this.searchWindowSlice = c
+      .of("searchWindowSlice")
+      .since(V2_9)
+      .summary("Split the search-window into slices, which are searched in parallel.")
+      .description(
+        """
+        The departure minutes of a multi-criteria search are normally searched one at a time. If set,
+        wide search-windows are split into slices of at least this duration, and the slices are
+        searched in parallel using the `searchThreadPoolSize` threads. Then the paths found are merged.
+        This reduces the response time when there are idle cores, but each search does more work in
+        total, because the slices can not reuse the arrivals found for the later departure minutes.
+        Zero disables the splitting. The splitting has no effect unless `searchThreadPoolSize` is set.
+        """
+      )
+      .asDuration(Duration.ZERO);
     // Dynamic Search Window
     this.stopBoardAlightDuringTransferCost = c
       .of("stopBoardAlightDuringTransferCost")
@@ -215,6 +234,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
       .asDuration(Duration.ofHours(24));
 
     this.dynamicSearchWindowCoefficients = new DynamicSearchWindowConfig("dynamicSearchWindow", c);
+    this.accessEgressCache = mapAccessEgressCache(c);
   }
 
   @Override
@@ -236,6 +256,11 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
     return searchThreadPoolSize;
   }
 
+  @Override
+  public int searchWindowSliceInSeconds() {
+    return (int) searchWindowSlice.toSeconds();
+  }
+
   @Override
   public DynamicSearchWindowCoefficients dynamicSearchWindowCoefficients() {
     return dynamicSearchWindowCoefficients;
@@ -271,6 +296,45 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
     return pagingSearchWindowAdjustments;
   }
 
+  public AccessEgressCacheParameters accessEgressCache() {
+    return accessEgressCache;
+  }
+
+  private static AccessEgressCacheParameters mapAccessEgressCache(NodeAdapter root) {
+    var dft = AccessEgressCacheParameters.DEFAULT;
+    var c = root
+      .of("accessEgressCache")
+      .since(V2_9)
+      .summary("Cache the access and egress street searches between requests.")
+      .description(
+        """
+        Many requests start or end at the same place, like a rider repeating a search or paging
+        through the results. If enabled, the stops found by the walk, bike and car access/egress
+        street searches are cached with their duration and cost, and reused by requests from the
+        same place with the same street preferences. The street path of an access/egress is only
+        searched for when it is part of an itinerary. Searches involving rental, parking, hailing
+        or flex are not cached. The cache is cleared when the car speed profiles are replaced.
+
+        The cache is disabled unless the `ttl` is set. Hit and miss counts are available in the
+        Actuator API.
+        """
+      )
+      .asObject();
+
+    return new AccessEgressCacheParameters(
+      c
+        .of("ttl")
+        .since(V2_9)
+        .summary("How long a search result is cached, zero disables the cache.")
+        .asDuration(dft.ttl()),
+      c
+        .of("maxSize")
+        .since(V2_9)
+        .summary("The maximum number of cached access/egress search results.")
+        .asInt(dft.maxSize())
+    );
+  }
+
   private static class DynamicSearchWindowConfig implements DynamicSearchWindowCoefficients {
 
     private final double minTransitTimeCoefficient;
@@ -3,6 +3,7 @@ package org.opentripplanner.standalone.config.routerconfig;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V1_5;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.BIKE_RENTAL;
+import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.CAR_SPEED_PROFILE;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.MQTT_GTFS_RT_UPDATER;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.REAL_TIME_ALERTS;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.SIRI_AZURE_ET_UPDATER;
@@ -30,6 +31,7 @@ import org.opentripplanner.ext.siri.updater.mqtt.MqttSiriETUpdaterParameters;
 import org.opentripplanner.ext.vehiclerentalservicedirectory.VehicleRentalServiceDirectoryFetcher;
 import org.opentripplanner.ext.vehiclerentalservicedirectory.api.VehicleRentalServiceDirectoryFetcherParameters;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+import org.opentripplanner.standalone.config.routerconfig.updaters.CarSpeedProfileUpdaterConfig;
 import org.opentripplanner.standalone.config.routerconfig.updaters.GtfsRealtimeAlertsUpdaterConfig;
 import org.opentripplanner.standalone.config.routerconfig.updaters.MqttGtfsRealtimeUpdaterConfig;
 import org.opentripplanner.standalone.config.routerconfig.updaters.PollingTripUpdaterConfig;
@@ -50,6 +52,7 @@ import org.opentripplanner.updater.UpdatersParameters;
 import org.opentripplanner.updater.alert.gtfs.GtfsRealtimeAlertsUpdaterParameters;
 import org.opentripplanner.updater.alert.siri.SiriSXUpdaterParameters;
 import org.opentripplanner.updater.alert.siri.lite.SiriSXLiteUpdaterParameters;
+import org.opentripplanner.updater.car_speed.CarSpeedProfileUpdaterParameters;
 import org.opentripplanner.updater.trip.gtfs.updater.http.PollingTripUpdaterParameters;
 import org.opentripplanner.updater.trip.gtfs.updater.mqtt.MqttGtfsRealtimeUpdaterParameters;
 import org.opentripplanner.updater.trip.siri.updater.DefaultSiriETUpdaterParameters;
@@ -230,6 +233,11 @@ public class UpdatersConfig implements UpdatersParameters {
     return getParameters(SIRI_ET_MQTT);
   }
 
+  @Override
+  public List<CarSpeedProfileUpdaterParameters> getCarSpeedProfileUpdaterParameters() {
+    return getParameters(CAR_SPEED_PROFILE);
+  }
+
   private <T> List<T> getParameters(Type key) {
     return (List<T>) configList.get(key);
   }
@@ -253,7 +261,8 @@ public class UpdatersConfig implements UpdatersParameters {
     SIRI_SX_LITE(SiriSXLiteUpdaterConfig::create),
     SIRI_AZURE_ET_UPDATER(SiriAzureETUpdaterConfig::create),
     SIRI_AZURE_SX_UPDATER(SiriAzureSXUpdaterConfig::create),
-    SIRI_ET_MQTT(SiriETMqttUpdaterConfig::create);
+    SIRI_ET_MQTT(SiriETMqttUpdaterConfig::create),
+    CAR_SPEED_PROFILE(CarSpeedProfileUpdaterConfig::create);
 
     private final BiFunction<String, NodeAdapter, ?> factory;
 
@@ -7,6 +7,7 @@ import static org.opentripplanner.inspector.vector.LayerParameters.MIN_ZOOM;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_6;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.opentripplanner.ext.vectortiles.VectorTileCacheParameters;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
 import org.opentripplanner.ext.vectortiles.layers.LayerFilters;
@@ -22,7 +24,12 @@ import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 
 public class VectorTileConfig implements VectorTilesResource.LayersParameters<LayerType> {
 
-  public static final VectorTileConfig DEFAULT = new VectorTileConfig(List.of(), null, null);
+  public static final VectorTileConfig DEFAULT = new VectorTileConfig(
+    List.of(),
+    null,
+    null,
+    VectorTileCacheParameters.DEFAULT
+  );
   private final List<LayerParameters<LayerType>> layers;
 
   @Nullable
@@ -31,14 +38,18 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
   @Nullable
   private final String attribution;
 
+  private final VectorTileCacheParameters cache;
+
   VectorTileConfig(
     Collection<? extends LayerParameters<LayerType>> layers,
     @Nullable String basePath,
-    @Nullable String attribution
+    @Nullable String attribution,
+    VectorTileCacheParameters cache
   ) {
     this.layers = List.copyOf(layers);
     this.basePath = basePath;
     this.attribution = attribution;
+    this.cache = cache;
   }
 
   @Override
@@ -54,6 +65,10 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
     return Optional.ofNullable(attribution);
   }
 
+  public VectorTileCacheParameters cache() {
+    return cache;
+  }
+
   public static VectorTileConfig mapVectorTilesParameters(NodeAdapter node, String paramName) {
     var root = node.of(paramName).summary("Vector tile configuration").asObject();
     return new VectorTileConfig(
@@ -100,7 +115,73 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
           for example `<a href='https://trimet.org/mod'>Regional Partners</a>`.
           """
         )
-        .asString(DEFAULT.attribution)
+        .asString(DEFAULT.attribution),
+      mapCache(root)
+    );
+  }
+
+  private static VectorTileCacheParameters mapCache(NodeAdapter root) {
+    var dft = VectorTileCacheParameters.DEFAULT;
+    var c = root
+      .of("cache")
+      .since(V2_9)
+      .summary("Cache rendered tiles in OTP.")
+      .description(
+        """
+        Map clients request the same tiles over and over. If enabled, rendered tiles are kept in
+        memory and served until they expire. Tiles with vehicle rental layers are dropped as soon
+        as a rental station or vehicle in them changes, and tiles with a real-time stop layer are
+        rendered again when new real-time data is published. Other changes, like vehicle parking
+        availability, are visible when the tile expires.
+
+        The cache is disabled unless the `ttl` is set. Hit and miss counts are available in the
+        Actuator API.
+        """
+      )
+      .asObject();
+
+    return new VectorTileCacheParameters(
+      c
+        .of("ttl")
+        .since(V2_9)
+        .summary("How long a tile is cached, zero disables the cache.")
+        .asDuration(dft.ttl()),
+      c
+        .of("maxSize")
+        .since(V2_9)
+        .summary("The maximum number of cached tiles.")
+        .asInt(dft.maxSize()),
+      c
+        .of("prewarmLayers")
+        .since(V2_9)
+        .summary("The layers to render at startup.")
+        .description(
+          """
+          Each entry is a comma separated list of layer names, as used in the tile URL, for example
+          `"stops,stations"`. The tiles covering the graph are rendered for each entry at startup,
+          for the zoom levels from `prewarmMinZoom` to `prewarmMaxZoom`, until the cache is full.
+          """
+        )
+        .asStringList(dft.prewarmLayers()),
+      c
+        .of("prewarmMinZoom")
+        .since(V2_9)
+        .summary("The lowest zoom level rendered at startup.")
+        .asInt(dft.prewarmMinZoom()),
+      c
+        .of("prewarmMaxZoom")
+        .since(V2_9)
+        .summary("The highest zoom level rendered at startup.")
+        .asInt(dft.prewarmMaxZoom()),
+      c
+        .of("prewarmLanguages")
+        .since(V2_9)
+        .summary("The languages tiles are rendered in at startup.")
+        .description(
+          "Tiles are cached per language of the `Accept-Language` header, use the languages of " +
+          "your clients."
+        )
+        .asStringList(dft.prewarmLanguages())
     );
   }
 
@@ -0,0 +1,51 @@
+package org.opentripplanner.standalone.config.routerconfig.services;
+
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
+
+import java.time.Duration;
+import java.util.Currency;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+
+public class LocalFleetConfig {
+
+  public static LocalFleetServiceParameters create(NodeAdapter c) {
+    return new LocalFleetServiceParameters(
+      c
+        .of("positionsFile")
+        .since(V2_9)
+        .summary("A JSON file with the current positions of the fleet vehicles.")
+        .description(
+          """
+          The file contains a list of vehicles with the fields `id`, `rideType`, `lat`, `lon` and
+          `wheelchairAccessible`. An updater checks the file once a second, and reads it again when
+          it is changed. The routing requests do not read the file.
+          Write the positions to a temporary file and move it into place, so a partly written file
+          is never read.
+          """
+        )
+        .asString(),
+      c
+        .of("maxPickupDuration")
+        .since(V2_9)
+        .summary("The maximum time it may take a vehicle to drive to the pickup location.")
+        .description("Vehicles which can not get to the pickup location in time are not offered.")
+        .asDuration(Duration.ofMinutes(15)),
+      Currency.getInstance(
+        c.of("currency").since(V2_9).summary("The ISO 4217 currency code of the fares.").asString()
+      ),
+      c.of("baseFare").since(V2_9).summary("The fixed part of the price of a ride.").asDouble(0.0),
+      c
+        .of("farePerKilometer")
+        .since(V2_9)
+        .summary("The price of each kilometer of a ride.")
+        .description(
+          """
+          The distance is measured in a straight line, the maximum price estimate allows for
+          detours.
+          """
+        )
+        .asDouble(0.0)
+    );
+  }
+}
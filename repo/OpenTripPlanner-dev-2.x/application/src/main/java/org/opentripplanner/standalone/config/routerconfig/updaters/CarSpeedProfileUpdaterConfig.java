@@ -0,0 +1,37 @@
+package org.opentripplanner.standalone.config.routerconfig.updaters;
+
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+import org.opentripplanner.updater.car_speed.CarSpeedProfileUpdaterParameters;
+
+public class CarSpeedProfileUpdaterConfig {
+
+  public static CarSpeedProfileUpdaterParameters create(String configRef, NodeAdapter c) {
+    var file = c
+      .of("file")
+      .since(V2_9)
+      .summary("The local CSV file with the car speed profiles.")
+      .description(
+        """
+        The file has the columns `from_node_id`, `to_node_id`, `day_of_week` (1 is Monday),
+        `time` (the start of a 15-minute period, like `07:45`) and `speed_kmh`. The node ids are the
+        OSM ids of the nodes at each end of a street segment, in the direction of travel.
+        """
+      )
+      .asString();
+    var frequency = c
+      .of("frequency")
+      .since(V2_9)
+      .summary("How often to check if the file has changed.")
+      .asDuration(Duration.ofMinutes(1));
+    var timeZone = c
+      .of("timeZone")
+      .since(V2_9)
+      .summary("The time zone of the profiles. The transit data time zone is used if not set.")
+      .asZoneId(null);
+    return new CarSpeedProfileUpdaterParameters(configRef, Path.of(file), frequency, timeZone);
+  }
+}
@@ -4,6 +4,7 @@ import static org.opentripplanner.standalone.config.framework.json.EnumMapper.do
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_8;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 import org.opentripplanner.updater.trip.gtfs.BackwardsDelayPropagationType;
@@ -35,7 +36,24 @@ public class MqttGtfsRealtimeUpdaterConfig {
         .since(V2_2)
         .summary(BackwardsDelayPropagationType.REQUIRED_NO_DATA.typeDescription())
         .description(docEnumValueList(BackwardsDelayPropagationType.values()))
-        .asEnum(BackwardsDelayPropagationType.REQUIRED_NO_DATA)
+        .asEnum(BackwardsDelayPropagationType.REQUIRED_NO_DATA),
+      c
+        .of("skipUnchangedTripUpdates")
+        .since(V2_9)
+        .summary("Skip trip updates that are unchanged since they were last applied.")
+        .description(
+          """
+          Each trip update is fingerprinted, and an update that is identical to the update last
+          applied to the same trip and service date is not applied again. The timestamp of the
+          trip update is ignored when comparing them.
+
+          A `FULL_DATASET` message replaces all previous updates of the feed, so it is only skipped
+          if the whole message is identical to the previous one. Individual trip updates are
+          skipped in `DIFFERENTIAL` messages. Do not enable this if other updaters modify the
+          real-time data of the same feed.
+          """
+        )
+        .asBoolean(false)
     );
   }
 }
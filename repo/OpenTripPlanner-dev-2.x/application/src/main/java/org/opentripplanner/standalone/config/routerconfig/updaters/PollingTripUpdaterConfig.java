@@ -5,6 +5,7 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V1
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_8;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import java.time.Duration;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
@@ -20,7 +21,14 @@ public class PollingTripUpdaterConfig {
       .since(V1_5)
       .summary("The URL of the GTFS-RT resource.")
       .description(
-        "`file:` URLs are also supported if you want to read a file from the local disk."
+        """
+        `file:` URLs are also supported if you want to read a file from the local disk.
+
+        If the `file:` URL points to a directory, one GTFS-RT message is read from it on each poll.
+        The `*.pb` and `*.pbf` files in the directory are processed in the order of their names,
+        and renamed with the suffix `.ok` or `.failed` when they have been read. This can be used
+        to stream `DIFFERENTIAL` messages from a local process.
+        """
       )
       .asString();
 
@@ -52,7 +60,24 @@ public class PollingTripUpdaterConfig {
         .asEnum(BackwardsDelayPropagationType.REQUIRED_NO_DATA),
       c.of("feedId").since(V1_5).summary("Which feed the updates apply to.").asString(),
       url,
-      headers
+      headers,
+      c
+        .of("skipUnchangedTripUpdates")
+        .since(V2_9)
+        .summary("Skip trip updates that are unchanged since they were last applied.")
+        .description(
+          """
+          Each trip update is fingerprinted, and an update that is identical to the update last
+          applied to the same trip and service date is not applied again. The timestamp of the
+          trip update is ignored when comparing them.
+
+          A `FULL_DATASET` message replaces all previous updates of the feed, so it is only skipped
+          if the whole message is identical to the previous one. Individual trip updates are
+          skipped in `DIFFERENTIAL` messages. Do not enable this if other updaters modify the
+          real-time data of the same feed.
+          """
+        )
+        .asBoolean(false)
     );
   }
 }
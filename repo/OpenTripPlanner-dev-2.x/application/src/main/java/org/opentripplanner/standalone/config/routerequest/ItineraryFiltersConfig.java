@@ -7,6 +7,7 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import org.opentripplanner.routing.algorithm.filterchain.api.TransitGeneralizedCostFilterParams;
 import org.opentripplanner.routing.api.request.preference.ItineraryFilterDebugProfile;
@@ -75,6 +76,21 @@ public class ItineraryFiltersConfig {
           .description(docEnumValueList(ItineraryFilterDebugProfile.values()))
           .asEnum(dft.debug())
       )
+      .withDecorationTimeout(
+        c
+          .of("decorationTimeout")
+          .since(V2_9)
+          .summary("The maximum time to wait for the itineraries to be decorated.")
+          .description(
+            """
+            When the `ParallelRouting` OTP feature is on, the itineraries are decorated with fares,
+            emissions etc. in parallel, using the same thread pool as the transit searches. The
+            request thread decorates the itineraries the pool has not started yet. If an itinerary
+            is not decorated by the pool within this time, the request thread decorates it instead.
+            """
+          )
+          .asDuration(dft.decorationTimeout())
+      )
       .withGroupSimilarityKeepOne(
         c
           .of("groupSimilarityKeepOne")
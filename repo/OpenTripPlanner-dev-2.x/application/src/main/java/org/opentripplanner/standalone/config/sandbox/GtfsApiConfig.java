@@ -1,9 +1,11 @@
 package org.opentripplanner.standalone.config.sandbox;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_8;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_9;
 
 import java.util.Collection;
 import java.util.Set;
+import org.opentripplanner.apis.gtfs.GraphQLResultCacheParameters;
 import org.opentripplanner.apis.gtfs.GtfsApiParameters;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 
@@ -13,6 +15,7 @@ import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 public class GtfsApiConfig implements GtfsApiParameters {
 
   private final Collection<String> tracingTags;
+  private final GraphQLResultCacheParameters resultCache;
 
   public GtfsApiConfig(String parameterName, NodeAdapter root) {
     var c = root
@@ -25,10 +28,81 @@ public class GtfsApiConfig implements GtfsApiParameters {
       .of("tracingTags")
       .summary("Used to group requests based on headers or query parameters when monitoring OTP.")
       .asStringList(Set.of());
+
+    resultCache = mapResultCache(c);
   }
 
   @Override
   public Collection<String> tracingTags() {
     return tracingTags;
   }
+
+  @Override
+  public GraphQLResultCacheParameters resultCache() {
+    return resultCache;
+  }
+
+  private static GraphQLResultCacheParameters mapResultCache(NodeAdapter root) {
+    var dft = GraphQLResultCacheParameters.DEFAULT;
+    var c = root
+      .of("resultCache")
+      .since(V2_9)
+      .summary("Cache responses of frequent, identical queries.")
+      .description(
+        """
+        Clients often send the same `plan`, `nearest` or `stop` queries for the same places. If
+        enabled, the serialized response of a query is cached and returned for identical queries.
+        The cache key includes the query, the variables, the locale and the version of the
+        real-time timetable snapshot. All cached responses are dropped when new real-time data is
+        published. Responses with errors are not cached.
+
+        The cache is disabled unless the `ttl` is set. Hit and miss counts are available in the
+        Actuator API.
+        """
+      )
+      .asObject();
+
+    return new GraphQLResultCacheParameters(
+      c
+        .of("ttl")
+        .since(V2_9)
+        .summary("How long a response is cached, zero disables the cache.")
+        .description(
+          """
+          Responses also depend on data which is not part of the timetable snapshot, like the
+          current time and vehicle rental availability. Keep the ttl short, a few seconds up to a
+          minute.
+          """
+        )
+        .asDuration(dft.ttl()),
+      c
+        .of("maxSize")
+        .since(V2_9)
+        .summary("The maximum number of cached responses.")
+        .asInt(dft.maxSize()),
+      c
+        .of("coordinatePrecision")
+        .since(V2_9)
+        .summary("The number of decimals coordinate variables are rounded to.")
+        .description(
+          """
+          Variables named `lat`, `lon`, `latitude` or `longitude` are rounded in the cache key, so
+          requests from almost the same place share the cached response. The query is executed with
+          the coordinates of the request, so a request may get the response of an earlier request
+          from up to half a unit of the last decimal away. 4 decimals is about 10 meters.
+          Coordinates written inline in the query are not rounded.
+          """
+        )
+        .asInt(dft.coordinatePrecision()),
+      c
+        .of("queries")
+        .since(V2_9)
+        .summary("The root query fields which may be cached.")
+        .description(
+          "A request is only cached if all its root fields are listed here. Mutations are never " +
+          "cached."
+        )
+        .asStringSet(dft.queries())
+    );
+  }
 }
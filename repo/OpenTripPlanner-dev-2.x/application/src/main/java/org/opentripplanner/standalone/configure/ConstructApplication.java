@@ -3,10 +3,13 @@ package org.opentripplanner.standalone.configure;
 import jakarta.ws.rs.core.Application;
 import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
 import org.opentripplanner.ext.carpooling.CarpoolingRepository;
+import org.opentripplanner.ext.carpooling.routing.InsertionPool;
 import org.opentripplanner.ext.emission.EmissionRepository;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayRepository;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.framework.application.LogMDCSupport;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.GraphBuilder;
@@ -195,6 +198,7 @@ public class ConstructApplication {
       timetableRepository(),
       carpoolingRepository(),
       snapshotManager(),
+      factory.rideHailingServices(),
       routerConfig().updaterConfig()
     );
 
@@ -207,6 +211,10 @@ public class ConstructApplication {
       // eagerly initialize the geocoder
       this.factory.luceneIndex();
     }
+
+    if (OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn()) {
+      VectorTilesResource.prewarmCache(createServerContext());
+    }
   }
 
   private void initEllipsoidToGeoidDifference() {
@@ -273,6 +281,16 @@ public class ConstructApplication {
     return factory.carpoolingRepository();
   }
 
+  @Nullable
+  public InsertionPool carpoolingInsertionPool() {
+    return factory.carpoolingInsertionPool();
+  }
+
+  @Nullable
+  public BatchRoutingService batchRoutingService() {
+    return factory.batchRoutingService();
+  }
+
   public DataImportIssueSummary dataImportIssueSummary() {
     return factory.dataImportIssueSummary();
   }
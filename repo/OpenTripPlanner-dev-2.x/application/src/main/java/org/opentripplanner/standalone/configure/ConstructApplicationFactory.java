@@ -4,14 +4,18 @@ import dagger.BindsInstance;
 import dagger.Component;
 import graphql.schema.GraphQLSchema;
 import jakarta.inject.Singleton;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.opentripplanner.apis.gtfs.configure.GtfsSchema;
 import org.opentripplanner.apis.gtfs.configure.SchemaModule;
 import org.opentripplanner.apis.transmodel.configure.TransmodelSchema;
 import org.opentripplanner.apis.transmodel.configure.TransmodelSchemaModule;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
+import org.opentripplanner.ext.batchrouting.configure.BatchRoutingModule;
 import org.opentripplanner.ext.carpooling.CarpoolingRepository;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.carpooling.configure.CarpoolingModule;
+import org.opentripplanner.ext.carpooling.routing.InsertionPool;
 import org.opentripplanner.ext.emission.EmissionRepository;
 import org.opentripplanner.ext.emission.configure.EmissionServiceModule;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayRepository;
@@ -19,6 +23,8 @@ import org.opentripplanner.ext.empiricaldelay.configure.EmpiricalDelayServiceMod
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.geocoder.configure.GeocoderModule;
 import org.opentripplanner.ext.interactivelauncher.configuration.InteractiveLauncherModule;
+import org.opentripplanner.ext.isochrone.configure.IsochroneModule;
+import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.ridehailing.configure.RideHailingServicesModule;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.sorlandsbanen.configure.SorlandsbanenNorwayModule;
@@ -68,6 +74,7 @@ import org.opentripplanner.visualizer.GraphVisualizer;
 @Singleton
 @Component(
   modules = {
+    BatchRoutingModule.class,
     CarpoolingModule.class,
     ConfigModule.class,
     ConstructApplicationModule.class,
@@ -75,6 +82,7 @@ import org.opentripplanner.visualizer.GraphVisualizer;
     EmpiricalDelayServiceModule.class,
     GeocoderModule.class,
     InteractiveLauncherModule.class,
+    IsochroneModule.class,
     LinkingServiceModule.class,
     RealtimeVehicleServiceModule.class,
     RealtimeVehicleRepositoryModule.class,
@@ -110,12 +118,20 @@ public interface ConstructApplicationFactory {
   TimetableSnapshotManager timetableSnapshotManager();
   DataImportIssueSummary dataImportIssueSummary();
 
+  @Nullable
+  BatchRoutingService batchRoutingService();
+
   @Nullable
   CarpoolingService carpoolingService();
 
   @Nullable
   CarpoolingRepository carpoolingRepository();
 
+  @Nullable
+  InsertionPool carpoolingInsertionPool();
+
+  List<RideHailingService> rideHailingServices();
+
   @Nullable
   EmissionRepository emissionRepository();
 
@@ -7,19 +7,25 @@ import io.micrometer.core.instrument.Metrics;
 import jakarta.inject.Singleton;
 import java.util.List;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.gtfs.GraphQLResultCache;
 import org.opentripplanner.apis.gtfs.configure.GtfsSchema;
 import org.opentripplanner.apis.transmodel.configure.TransmodelSchema;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayService;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.interactivelauncher.api.LauncherRequestDecorator;
+import org.opentripplanner.ext.isochrone.IsochroneCache;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.ext.vectortiles.VectorTileCache;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.filterchain.ext.EmissionDecorator;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.fares.FareService;
 import org.opentripplanner.routing.fares.FareServiceFactory;
@@ -57,17 +63,22 @@ public class ConstructApplicationModule {
     VehicleParkingService vehicleParkingService,
     List<RideHailingService> rideHailingServices,
     ViaCoordinateTransferFactory viaTransferResolver,
+    @Nullable AccessEgressCache accessEgressCache,
+    @Nullable BatchRoutingService batchRoutingService,
     @Nullable CarpoolingService carpoolingService,
     @Nullable StopConsolidationService stopConsolidationService,
     StreetLimitationParametersService streetLimitationParametersService,
     @Nullable TraverseVisitor<?, ?> traverseVisitor,
     @Nullable @EmissionDecorator ItineraryDecorator emissionItineraryDecorator,
     @Nullable @GtfsSchema GraphQLSchema gtfsSchema,
+    @Nullable GraphQLResultCache gtfsResultCache,
     @Nullable @TransmodelSchema GraphQLSchema transmodelSchema,
     @Nullable EmpiricalDelayService empiricalDelayService,
+    @Nullable IsochroneCache isochroneCache,
     @Nullable SorlandsbanenNorwayService sorlandsbanenService,
     LauncherRequestDecorator launcherRequestDecorator,
     @Nullable LuceneIndex luceneIndex,
+    @Nullable VectorTileCache vectorTileCache,
     FareService fareService
   ) {
     var defaultRequest = launcherRequestDecorator.intercept(routerConfig.routingRequestDefaults());
@@ -101,16 +112,21 @@ public class ConstructApplicationModule {
       vertexLinker,
       viaTransferResolver,
       worldEnvelopeService,
+      accessEgressCache,
       // Optional Sandbox services
+      batchRoutingService,
       carpoolingService,
       emissionItineraryDecorator,
       empiricalDelayService,
+      isochroneCache,
       luceneIndex,
       gtfsSchema,
+      gtfsResultCache,
       transmodelSchema,
       sorlandsbanenService,
       stopConsolidationService,
       traverseVisitor,
+      vectorTileCache,
       transmodelAPIParameters
     );
   }
@@ -121,6 +137,45 @@ public class ConstructApplicationModule {
     return fareServiceFactory.makeFareService();
   }
 
+  @Singleton
+  @Provides
+  @Nullable
+  public AccessEgressCache accessEgressCache(RouterConfig routerConfig, Graph graph) {
+    var parameters = routerConfig.transitTuningConfig().accessEgressCache();
+    if (!parameters.isEnabled()) {
+      return null;
+    }
+    return AccessEgressCache.ofShared(
+      parameters,
+      graph::streetVersion,
+      OTPFeature.ActuatorAPI.isOn() ? Metrics.globalRegistry : null
+    );
+  }
+
+  /**
+   * The vector tile cache is only created if the vector tiles API is on and a cache ttl is
+   * configured. The cache is notified of all vehicle rental changes.
+   */
+  @Singleton
+  @Provides
+  @Nullable
+  public VectorTileCache vectorTileCache(
+    RouterConfig routerConfig,
+    VehicleRentalService vehicleRentalService
+  ) {
+    var config = routerConfig.vectorTileConfig();
+    if (!OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn() || !config.cache().isEnabled()) {
+      return null;
+    }
+    var cache = new VectorTileCache(
+      config.cache(),
+      config.layers(),
+      OTPFeature.ActuatorAPI.isOn() ? Metrics.globalRegistry : null
+    );
+    vehicleRentalService.addChangeListener(cache::vehicleRentalPlaceChanged);
+    return cache;
+  }
+
   @Provides
   @Nullable
   TraverseVisitor<?, ?> traverseVisitor(@Nullable GraphVisualizer graphVisualizer) {
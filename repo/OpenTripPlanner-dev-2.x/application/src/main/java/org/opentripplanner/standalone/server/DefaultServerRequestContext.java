@@ -4,22 +4,27 @@ import graphql.schema.GraphQLSchema;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.gtfs.GraphQLResultCache;
 import org.opentripplanner.apis.gtfs.GtfsApiParameters;
 import org.opentripplanner.apis.gtfs.configure.GtfsSchema;
 import org.opentripplanner.apis.transmodel.TransmodelAPIParameters;
 import org.opentripplanner.apis.transmodel.configure.TransmodelSchema;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.ext.batchrouting.BatchRoutingService;
 import org.opentripplanner.ext.carpooling.CarpoolingService;
 import org.opentripplanner.ext.empiricaldelay.EmpiricalDelayService;
 import org.opentripplanner.ext.flex.FlexParameters;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.isochrone.IsochroneCache;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.ext.trias.parameters.TriasApiParameters;
+import org.opentripplanner.ext.vectortiles.VectorTileCache;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -69,6 +74,12 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
 
   /* Optional fields */
 
+  @Nullable
+  private final AccessEgressCache accessEgressCache;
+
+  @Nullable
+  private final BatchRoutingService batchRoutingService;
+
   @Nullable
   private final CarpoolingService carpoolingService;
 
@@ -78,12 +89,18 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   @Nullable
   private final EmpiricalDelayService empiricalDelayService;
 
+  @Nullable
+  private final IsochroneCache isochroneCache;
+
   @Nullable
   private final LuceneIndex luceneIndex;
 
   @Nullable
   private final GraphQLSchema gtfsSchema;
 
+  @Nullable
+  private final GraphQLResultCache gtfsResultCache;
+
   @Nullable
   private final GraphQLSchema transmodelSchema;
 
@@ -96,6 +113,9 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   @Nullable
   private final TraverseVisitor traverseVisitor;
 
+  @Nullable
+  private final VectorTileCache vectorTileCache;
+
   private final TriasApiParameters triasApiParameters;
 
   private final GtfsApiParameters gtfsApiParameters;
@@ -135,15 +155,20 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     VertexLinker vertexLinker,
     ViaCoordinateTransferFactory viaTransferResolver,
     WorldEnvelopeService worldEnvelopeService,
+    @Nullable AccessEgressCache accessEgressCache,
+    @Nullable BatchRoutingService batchRoutingService,
     @Nullable CarpoolingService carpoolingService,
     @Nullable ItineraryDecorator emissionItineraryDecorator,
     @Nullable EmpiricalDelayService empiricalDelayService,
+    @Nullable IsochroneCache isochroneCache,
     @Nullable LuceneIndex luceneIndex,
     @Nullable @GtfsSchema GraphQLSchema gtfsSchema,
+    @Nullable GraphQLResultCache gtfsResultCache,
     @Nullable @TransmodelSchema GraphQLSchema transmodelSchema,
     @Nullable SorlandsbanenNorwayService sorlandsbanenService,
     @Nullable StopConsolidationService stopConsolidationService,
     @Nullable TraverseVisitor traverseVisitor,
+    @Nullable VectorTileCache vectorTileCache,
     TransmodelAPIParameters transmodelAPIParameters
   ) {
     this.debugUiConfig = debugUiConfig;
@@ -170,14 +195,19 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     this.worldEnvelopeService = worldEnvelopeService;
 
     // Optional fields
+    this.accessEgressCache = accessEgressCache;
+    this.batchRoutingService = batchRoutingService;
     this.carpoolingService = carpoolingService;
     this.emissionItineraryDecorator = emissionItineraryDecorator;
     this.empiricalDelayService = empiricalDelayService;
+    this.isochroneCache = isochroneCache;
     this.luceneIndex = luceneIndex;
     this.gtfsSchema = gtfsSchema;
+    this.gtfsResultCache = gtfsResultCache;
     this.sorlandsbanenService = sorlandsbanenService;
     this.stopConsolidationService = stopConsolidationService;
     this.traverseVisitor = traverseVisitor;
+    this.vectorTileCache = vectorTileCache;
     this.transmodelAPIParameters = transmodelAPIParameters;
   }
 
@@ -252,6 +282,12 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return gtfsSchema;
   }
 
+  @Nullable
+  @Override
+  public GraphQLResultCache gtfsResultCache() {
+    return gtfsResultCache;
+  }
+
   @Nullable
   @Override
   public GraphQLSchema transmodelSchema() {
@@ -273,6 +309,12 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return meterRegistry;
   }
 
+  @Nullable
+  @Override
+  public AccessEgressCache accessEgressCache() {
+    return accessEgressCache;
+  }
+
   @Override
   public TraverseVisitor traverseVisitor() {
     return traverseVisitor;
@@ -288,6 +330,12 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return vectorTileConfig;
   }
 
+  @Nullable
+  @Override
+  public VectorTileCache vectorTileCache() {
+    return vectorTileCache;
+  }
+
   @Override
   public ViaCoordinateTransferFactory viaTransferResolver() {
     return viaTransferResolver;
@@ -330,6 +378,18 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return empiricalDelayService;
   }
 
+  @Nullable
+  @Override
+  public BatchRoutingService batchRoutingService() {
+    return batchRoutingService;
+  }
+
+  @Nullable
+  @Override
+  public IsochroneCache isochroneCache() {
+    return isochroneCache;
+  }
+
   @Nullable
   public SorlandsbanenNorwayService sorlandsbanenService() {
     return sorlandsbanenService;
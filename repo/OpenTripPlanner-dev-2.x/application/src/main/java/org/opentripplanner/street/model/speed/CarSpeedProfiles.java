@@ -0,0 +1,138 @@
+package org.opentripplanner.street.model.speed;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.opentripplanner.street.model.edge.ExtensionRequestContext;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.TemporaryPartialStreetEdge;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * Measured car speeds for a subset of the street edges, in 15-minute periods for each day of the
+ * week. This is used instead of the static car speed from OSM, so car travel times reflect the
+ * rush hour.
+ * <p>
+ * Each edge with data has a profile of 7 x 96 periods. A speed is stored as one unsigned byte in
+ * km/h, where 0 means no data. The profiles are kept in a single direct (off-heap) buffer, so a
+ * large number of profiles does not add to the garbage collected heap. An instance is immutable
+ * and safe to share between request threads. A new set of profiles replaces the old one as a
+ * whole.
+ * <p>
+ * The profile speed is never above the static car speed of the edge. Profiles can only slow an
+ * edge down, so the A* heuristic and the direct street search distance limit, which both use the
+ * max car speed of the graph, stay valid.
+ */
+public final class CarSpeedProfiles implements ExtensionRequestContext {
+
+  static final int PERIOD_SECONDS = 15 * 60;
+  static final int PERIODS_PER_DAY = 24 * 60 * 60 / PERIOD_SECONDS;
+  static final int PROFILE_SIZE = 7 * PERIODS_PER_DAY;
+
+  private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+  private static final int MAX_SPEED_KMH = 255;
+  private static final double KMH_PER_MPS = 3.6;
+
+  private final ZoneId timeZone;
+  private final ZoneRules zoneRules;
+  private final Map<StreetEdge, Integer> profileIndex;
+  private final ByteBuffer speeds;
+
+  private CarSpeedProfiles(ZoneId timeZone, Map<StreetEdge, byte[]> profiles) {
+    this.timeZone = timeZone;
+    this.zoneRules = timeZone.getRules();
+    this.profileIndex = new IdentityHashMap<>(profiles.size());
+    this.speeds = ByteBuffer.allocateDirect(profiles.size() * PROFILE_SIZE);
+    for (var it : profiles.entrySet()) {
+      profileIndex.put(it.getKey(), profileIndex.size());
+      speeds.put(it.getValue());
+    }
+  }
+
+  public static Builder of(ZoneId timeZone) {
+    return new Builder(timeZone);
+  }
+
+  /**
+   * Return the car speed for the edge at the given time, or the default speed if there is no data
+   * for the edge in that period.
+   *
+   * @param epochSecond The time the edge is entered.
+   * @param defaultSpeed The static car speed of the edge in m/s.
+   * @return the speed in m/s.
+   */
+  public double carSpeed(StreetEdge edge, long epochSecond, double defaultSpeed) {
+    if (edge instanceof TemporaryPartialStreetEdge partialEdge) {
+      edge = partialEdge.getParentEdge();
+    }
+    Integer index = profileIndex.get(edge);
+    if (index == null) {
+      return defaultSpeed;
+    }
+    int kmh = Byte.toUnsignedInt(speeds.get(index * PROFILE_SIZE + period(epochSecond)));
+    return kmh == 0 ? defaultSpeed : Math.min(kmh / KMH_PER_MPS, defaultSpeed);
+  }
+
+  /** The number of edges with a speed profile. */
+  public int size() {
+    return profileIndex.size();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(CarSpeedProfiles.class)
+      .addNum("size", size())
+      .addObj("timeZone", timeZone)
+      .toString();
+  }
+
+  /**
+   * The index of the 15-minute period of the week in local time, with Monday 00:00 as 0.
+   */
+  private int period(long epochSecond) {
+    var offset = zoneRules.getOffset(Instant.ofEpochSecond(epochSecond));
+    long local = epochSecond + offset.getTotalSeconds();
+    // The epoch day 0 (1970-01-01) is a Thursday
+    int dayOfWeek = (int) Math.floorMod(Math.floorDiv(local, SECONDS_PER_DAY) + 3, 7);
+    int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+    return dayOfWeek * PERIODS_PER_DAY + secondOfDay / PERIOD_SECONDS;
+  }
+
+  static int period(DayOfWeek dayOfWeek, LocalTime time) {
+    return (dayOfWeek.getValue() - 1) * PERIODS_PER_DAY + time.toSecondOfDay() / PERIOD_SECONDS;
+  }
+
+  public static class Builder {
+
+    private final ZoneId timeZone;
+    private final Map<StreetEdge, byte[]> profiles = new IdentityHashMap<>();
+
+    private Builder(ZoneId timeZone) {
+      this.timeZone = Objects.requireNonNull(timeZone);
+    }
+
+    /**
+     * Set the speed of the edge in the 15-minute period starting at or before the given time. The
+     * speed is rounded to whole km/h, and capped at 255 km/h.
+     */
+    public Builder withSpeed(StreetEdge edge, DayOfWeek dayOfWeek, LocalTime time, double kmh) {
+      if (!(kmh > 0)) {
+        throw new IllegalArgumentException("The speed must be positive: " + kmh);
+      }
+      var profile = profiles.computeIfAbsent(edge, e -> new byte[PROFILE_SIZE]);
+      int value = Math.max(1, (int) Math.min(Math.round(kmh), MAX_SPEED_KMH));
+      profile[period(dayOfWeek, time)] = (byte) value;
+      return this;
+    }
+
+    public CarSpeedProfiles build() {
+      return new CarSpeedProfiles(timeZone, profiles);
+    }
+  }
+}
@@ -152,6 +152,12 @@ public class TimetableSnapshot {
    */
   private boolean dirty = false;
 
+  /**
+   * The number of commits made from the buffer. A committed snapshot keeps the version it was
+   * committed with, so two snapshots with the same version contain the same real-time data.
+   */
+  private long version;
+
   public TimetableSnapshot() {
     this(
       new HashMap<>(),
@@ -163,7 +169,8 @@ public class TimetableSnapshot {
       new HashMap<>(),
       new HashMap<>(),
       HashMultimap.create(),
-      false
+      false,
+      0
     );
   }
 
@@ -177,7 +184,8 @@ public class TimetableSnapshot {
     Map<FeedScopedId, TripOnServiceDate> realTimeAddedTripOnServiceDateById,
     Map<TripIdAndServiceDate, TripOnServiceDate> realTimeAddedTripOnServiceDateForTripAndDay,
     SetMultimap<StopLocation, TripPattern> patternsForStop,
-    boolean readOnly
+    boolean readOnly,
+    long version
   ) {
     this.timetables = timetables;
     this.realTimeNewTripPatternsForModifiedTrips = realTimeNewTripPatternsForModifiedTrips;
@@ -189,6 +197,7 @@ public class TimetableSnapshot {
     this.realTimeAddedTripOnServiceDateForTripAndDay = realTimeAddedTripOnServiceDateForTripAndDay;
     this.patternsForStop = patternsForStop;
     this.readOnly = readOnly;
+    this.version = version;
   }
 
   /**
@@ -384,7 +393,8 @@ public class TimetableSnapshot {
       Map.copyOf(realTimeAddedTripOnServiceDateById),
       Map.copyOf(realTimeAddedTripOnServiceDateForTripAndDay),
       ImmutableSetMultimap.copyOf(patternsForStop),
-      true
+      true,
+      ++version
     );
 
     if (updatesEventListener != null) {
@@ -521,6 +531,14 @@ public class TimetableSnapshot {
     return modified;
   }
 
+  /**
+   * A number identifying the real-time data in a committed snapshot, it increases with each
+   * commit. This can be used as a cache key for derived data.
+   */
+  public long getVersion() {
+    return version;
+  }
+
   public boolean isDirty() {
     if (readOnly) {
       return false;
@@ -535,6 +535,11 @@ public class DefaultTransitService implements TransitEditorService {
     return timetableSnapshot.hasNewTripPatternsForModifiedTrips();
   }
 
+  @Override
+  public long getTimetableSnapshotVersion() {
+    return timetableSnapshot == null ? 0 : timetableSnapshot.getVersion();
+  }
+
   @Override
   public TripOnServiceDate getTripOnServiceDate(FeedScopedId id) {
     if (timetableSnapshot != null) {
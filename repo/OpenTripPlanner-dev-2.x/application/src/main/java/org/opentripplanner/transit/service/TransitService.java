@@ -330,6 +330,12 @@ public interface TransitService {
    */
   boolean hasNewTripPatternsForModifiedTrips();
 
+  /**
+   * The version of the real-time timetable snapshot used by this service, or 0 if it has no
+   * real-time data. The version changes each time new real-time data is committed.
+   */
+  long getTimetableSnapshotVersion();
+
   TripOnServiceDate getTripOnServiceDate(TripIdAndServiceDate tripIdAndServiceDate);
 
   /**
@@ -8,6 +8,7 @@ import org.opentripplanner.ext.vehiclerentalservicedirectory.api.VehicleRentalSe
 import org.opentripplanner.updater.alert.gtfs.GtfsRealtimeAlertsUpdaterParameters;
 import org.opentripplanner.updater.alert.siri.SiriSXUpdaterParameters;
 import org.opentripplanner.updater.alert.siri.lite.SiriSXLiteUpdaterParameters;
+import org.opentripplanner.updater.car_speed.CarSpeedProfileUpdaterParameters;
 import org.opentripplanner.updater.trip.gtfs.updater.http.PollingTripUpdaterParameters;
 import org.opentripplanner.updater.trip.gtfs.updater.mqtt.MqttGtfsRealtimeUpdaterParameters;
 import org.opentripplanner.updater.trip.siri.updater.DefaultSiriETUpdaterParameters;
@@ -51,4 +52,6 @@ public interface UpdatersParameters {
   List<DefaultSiriETUpdaterParameters> getSiriETCarpoolingUpdaterParameters();
 
   List<MqttSiriETUpdaterParameters> getMqttSiriETUpdaterParameters();
+
+  List<CarSpeedProfileUpdaterParameters> getCarSpeedProfileUpdaterParameters();
 }
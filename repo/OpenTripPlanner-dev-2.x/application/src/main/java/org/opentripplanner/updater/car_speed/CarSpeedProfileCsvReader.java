@@ -0,0 +1,85 @@
+package org.opentripplanner.updater.car_speed;
+
+import com.csvreader.CsvReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read car speed records from a CSV file with the columns:
+ * <pre>
+ * from_node_id,to_node_id,day_of_week,time,speed_kmh
+ * 1234,5678,1,07:30,23.5
+ * </pre>
+ * The node ids are OSM node ids, the day of week is 1 (Monday) to 7 (Sunday), and the time is
+ * the start of a 15-minute period in local time. Rows that can not be parsed are skipped and
+ * counted.
+ */
+class CarSpeedProfileCsvReader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CarSpeedProfileCsvReader.class);
+
+  private static final String FROM_NODE_ID = "from_node_id";
+  private static final String TO_NODE_ID = "to_node_id";
+  private static final String DAY_OF_WEEK = "day_of_week";
+  private static final String TIME = "time";
+  private static final String SPEED_KMH = "speed_kmh";
+  private static final List<String> HEADERS = List.of(
+    FROM_NODE_ID,
+    TO_NODE_ID,
+    DAY_OF_WEEK,
+    TIME,
+    SPEED_KMH
+  );
+
+  static List<CarSpeedRecord> read(InputStream input, String sourceName) throws IOException {
+    var reader = new CsvReader(input, StandardCharsets.UTF_8);
+    try {
+      if (!reader.readHeaders() || !Arrays.asList(reader.getHeaders()).containsAll(HEADERS)) {
+        throw new IOException(
+          "The car speed profile file " + sourceName + " must have the columns " + HEADERS
+        );
+      }
+      var result = new ArrayList<CarSpeedRecord>();
+      int skipped = 0;
+      while (reader.readRecord()) {
+        try {
+          result.add(parse(reader));
+        } catch (NumberFormatException | DateTimeException e) {
+          if (skipped == 0) {
+            LOG.warn("Skipping invalid row in {}: '{}'", sourceName, reader.getRawRecord(), e);
+          }
+          ++skipped;
+        }
+      }
+      if (skipped > 0) {
+        LOG.warn("Skipped {} invalid rows in {}", skipped, sourceName);
+      }
+      return result;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static CarSpeedRecord parse(CsvReader reader) throws IOException {
+    double speed = Double.parseDouble(reader.get(SPEED_KMH));
+    if (!(speed > 0)) {
+      throw new NumberFormatException("The speed must be positive: " + speed);
+    }
+    return new CarSpeedRecord(
+      Long.parseLong(reader.get(FROM_NODE_ID)),
+      Long.parseLong(reader.get(TO_NODE_ID)),
+      DayOfWeek.of(Integer.parseInt(reader.get(DAY_OF_WEEK))),
+      LocalTime.parse(reader.get(TIME)),
+      speed
+    );
+  }
+}
@@ -0,0 +1,130 @@
+package org.opentripplanner.updater.car_speed;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.speed.CarSpeedProfiles;
+import org.opentripplanner.street.model.vertex.OsmVertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.updater.spi.PollingGraphUpdater;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load measured car speeds from a local CSV file, and reload them when the file changes. The
+ * speeds are matched to the street edges by the OSM node ids at both ends of the edge, so the
+ * file must be produced for the same OSM data as the graph. Edges split during graph build, for
+ * example where a stop is linked to the street, no longer have OSM nodes at both ends and keep
+ * the static car speed.
+ *
+ * @see CarSpeedProfileCsvReader for the file format.
+ */
+public class CarSpeedProfileUpdater extends PollingGraphUpdater {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CarSpeedProfileUpdater.class);
+
+  private final Path file;
+  private final ZoneId timeZone;
+  private FileTime lastModified;
+
+  public CarSpeedProfileUpdater(CarSpeedProfileUpdaterParameters parameters, ZoneId timeZone) {
+    super(parameters);
+    this.file = parameters.file();
+    this.timeZone = Objects.requireNonNull(
+      timeZone,
+      "The car speed profile updater needs a timeZone when there is no transit data"
+    );
+    LOG.info("Creating car speed profile updater checking every {}: {}", pollingPeriod(), file);
+  }
+
+  @Override
+  protected void runPolling() throws IOException {
+    if (!Files.exists(file)) {
+      LOG.warn("The car speed profile file does not exist: {}", file);
+      return;
+    }
+    var modified = Files.getLastModifiedTime(file);
+    if (modified.equals(lastModified)) {
+      return;
+    }
+    List<CarSpeedRecord> records;
+    try (var input = Files.newInputStream(file)) {
+      records = CarSpeedProfileCsvReader.read(input, file.toString());
+    }
+    lastModified = modified;
+
+    updateGraph(context -> {
+      var graph = context.graph();
+      var profiles = mapToEdges(graph, records, timeZone);
+      graph.setCarSpeedProfiles(profiles);
+      LOG.info("Loaded car speed profiles for {} edges from {}", profiles.size(), file);
+    });
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(CarSpeedProfileUpdater.class)
+      .addObj("file", file)
+      .addObj("timeZone", timeZone)
+      .toString();
+  }
+
+  /**
+   * Find the car edges between the OSM nodes of each record, and build the profiles. Only the
+   * node pairs present in the records are indexed.
+   */
+  static CarSpeedProfiles mapToEdges(
+    Graph graph,
+    Collection<CarSpeedRecord> records,
+    ZoneId timeZone
+  ) {
+    var segments = new HashSet<OsmSegment>();
+    for (var record : records) {
+      segments.add(new OsmSegment(record.fromNodeId(), record.toNodeId()));
+    }
+
+    var edgesBySegment = new HashMap<OsmSegment, List<StreetEdge>>();
+    for (var edge : graph.getStreetEdges()) {
+      if (
+        edge.getFromVertex() instanceof OsmVertex from &&
+        edge.getToVertex() instanceof OsmVertex to &&
+        edge.canTraverse(TraverseMode.CAR)
+      ) {
+        var segment = new OsmSegment(from.nodeId, to.nodeId);
+        if (segments.contains(segment)) {
+          edgesBySegment.computeIfAbsent(segment, s -> new ArrayList<>()).add(edge);
+        }
+      }
+    }
+
+    var builder = CarSpeedProfiles.of(timeZone);
+    int unmatched = 0;
+    for (var record : records) {
+      var edges = edgesBySegment.get(new OsmSegment(record.fromNodeId(), record.toNodeId()));
+      if (edges == null) {
+        ++unmatched;
+        continue;
+      }
+      for (var edge : edges) {
+        builder.withSpeed(edge, record.dayOfWeek(), record.time(), record.speedKmh());
+      }
+    }
+    if (unmatched > 0) {
+      LOG.info("{} car speed records did not match a car street in the graph", unmatched);
+    }
+    return builder.build();
+  }
+
+  private record OsmSegment(long fromNodeId, long toNodeId) {}
+}
@@ -0,0 +1,25 @@
+package org.opentripplanner.updater.car_speed;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.opentripplanner.updater.spi.PollingGraphUpdaterParameters;
+
+/**
+ * @param file The CSV file with the speed profiles.
+ * @param frequency How often to check if the file has changed.
+ * @param timeZone The time zone of the profiles, if not set the transit data time zone is used.
+ */
+public record CarSpeedProfileUpdaterParameters(
+  String configRef,
+  Path file,
+  Duration frequency,
+  @Nullable ZoneId timeZone
+)
+  implements PollingGraphUpdaterParameters {
+  public CarSpeedProfileUpdaterParameters {
+    Objects.requireNonNull(file, "file is required");
+  }
+}
@@ -0,0 +1,16 @@
+package org.opentripplanner.updater.car_speed;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * The measured speed on the street between two OSM nodes, in the given direction, in the
+ * 15-minute period starting at the given time.
+ */
+record CarSpeedRecord(
+  long fromNodeId,
+  long toNodeId,
+  DayOfWeek dayOfWeek,
+  LocalTime time,
+  double speedKmh
+) {}
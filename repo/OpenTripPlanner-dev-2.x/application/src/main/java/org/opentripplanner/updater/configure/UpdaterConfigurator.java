@@ -6,6 +6,9 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.opentripplanner.ext.carpooling.CarpoolingRepository;
 import org.opentripplanner.ext.carpooling.updater.SiriETCarpoolingUpdater;
+import org.opentripplanner.ext.ridehailing.RideHailingService;
+import org.opentripplanner.ext.ridehailing.service.localfleet.FleetPositionUpdater;
+import org.opentripplanner.ext.ridehailing.service.localfleet.LocalFleetService;
 import org.opentripplanner.ext.siri.updater.azure.SiriAzureUpdater;
 import org.opentripplanner.ext.siri.updater.mqtt.SiriETMqttUpdater;
 import org.opentripplanner.ext.vehiclerentalservicedirectory.VehicleRentalServiceDirectoryFetcher;
@@ -23,6 +26,7 @@ import org.opentripplanner.updater.DefaultRealTimeUpdateContext;
 import org.opentripplanner.updater.GraphUpdaterManager;
 import org.opentripplanner.updater.UpdatersParameters;
 import org.opentripplanner.updater.alert.gtfs.GtfsRealtimeAlertsUpdater;
+import org.opentripplanner.updater.car_speed.CarSpeedProfileUpdater;
 import org.opentripplanner.updater.spi.GraphUpdater;
 import org.opentripplanner.updater.spi.TimetableSnapshotFlush;
 import org.opentripplanner.updater.trip.TimetableSnapshotManager;
@@ -57,6 +61,7 @@ public class UpdaterConfigurator {
   private final CarpoolingRepository carpoolingRepository;
   private final VehicleParkingRepository parkingRepository;
   private final TimetableSnapshotManager snapshotManager;
+  private final List<RideHailingService> rideHailingServices;
 
   private UpdaterConfigurator(
     Graph graph,
@@ -67,6 +72,7 @@ public class UpdaterConfigurator {
     TimetableRepository timetableRepository,
     CarpoolingRepository carpoolingRepository,
     TimetableSnapshotManager snapshotManager,
+    List<RideHailingService> rideHailingServices,
     UpdatersParameters updatersParameters
   ) {
     this.graph = graph;
@@ -78,6 +84,7 @@ public class UpdaterConfigurator {
     this.parkingRepository = parkingRepository;
     this.snapshotManager = snapshotManager;
     this.carpoolingRepository = carpoolingRepository;
+    this.rideHailingServices = rideHailingServices;
   }
 
   public static void configure(
@@ -89,6 +96,7 @@ public class UpdaterConfigurator {
     TimetableRepository timetableRepository,
     CarpoolingRepository carpoolingRepository,
     TimetableSnapshotManager snapshotManager,
+    List<RideHailingService> rideHailingServices,
     UpdatersParameters updatersParameters
   ) {
     new UpdaterConfigurator(
@@ -100,6 +108,7 @@ public class UpdaterConfigurator {
       timetableRepository,
       carpoolingRepository,
       snapshotManager,
+      rideHailingServices,
       updatersParameters
     ).configure();
   }
@@ -237,6 +246,18 @@ public class UpdaterConfigurator {
     for (var configItem : updatersParameters.getMqttSiriETUpdaterParameters()) {
       updaters.add(new SiriETMqttUpdater(configItem, provideSiriAdapter()));
     }
+    for (var configItem : updatersParameters.getCarSpeedProfileUpdaterParameters()) {
+      var timeZone = configItem.timeZone() != null
+        ? configItem.timeZone()
+        : timetableRepository.getTimeZone();
+      updaters.add(new CarSpeedProfileUpdater(configItem, timeZone));
+    }
+    // The local fleet ride hailing services are configured with the ride hailing services
+    for (var service : rideHailingServices) {
+      if (service instanceof LocalFleetService localFleetService) {
+        updaters.add(new FleetPositionUpdater(localFleetService));
+      }
+    }
 
     return updaters;
   }
@@ -28,6 +28,13 @@ public class ResultLogger {
       );
 
       logUpdateResultErrors(feedId, type, updateResult);
+    } else if (updateResult.skipped() > 0) {
+      LOG.info(
+        "[feedId={}, type={}] All {} update messages were unchanged and skipped",
+        feedId,
+        type,
+        updateResult.skipped()
+      );
     } else {
       LOG.info("[feedId={}, type={}] Feed did not contain any updates", feedId, type);
     }
@@ -4,6 +4,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import java.time.Duration;
 import java.util.List;
 import org.opentripplanner.transit.model.framework.Result;
 
@@ -11,6 +12,11 @@ import org.opentripplanner.transit.model.framework.Result;
  * An aggregation of results of the application of realtime updates which makes it easy to get
  * an overview of what the success rate of the update was and which specific problems were
  * encountered.
+ *
+ * @param skipped        The number of updates that were not applied because they were unchanged
+ *                       since they were last applied.
+ * @param processingTime The time it took to apply the updates, or {@link Duration#ZERO} if it
+ *                       is not measured.
  */
 public record UpdateResult(
   int successful,
@@ -18,13 +24,24 @@ public record UpdateResult(
   Multimap<UpdateError.UpdateErrorType, UpdateError> failures,
   List<UpdateSuccess.WarningType> warnings,
   List<UpdateSuccess> successes,
-  List<UpdateError> errors
+  List<UpdateError> errors,
+  int skipped,
+  Duration processingTime
 ) {
   /**
    * Create an empty result.
    */
   public static UpdateResult empty() {
-    return new UpdateResult(0, 0, ArrayListMultimap.create(), List.of(), List.of(), List.of());
+    return new UpdateResult(
+      0,
+      0,
+      ArrayListMultimap.create(),
+      List.of(),
+      List.of(),
+      List.of(),
+      0,
+      Duration.ZERO
+    );
   }
 
   /**
@@ -52,7 +69,41 @@ public record UpdateResult(
       errorIndex,
       warnings,
       successes,
-      errors
+      errors,
+      0,
+      Duration.ZERO
+    );
+  }
+
+  /**
+   * Return a copy of this result with the given number of skipped updates.
+   */
+  public UpdateResult withSkipped(int skipped) {
+    return new UpdateResult(
+      successful,
+      failed,
+      failures,
+      warnings,
+      successes,
+      errors,
+      skipped,
+      processingTime
+    );
+  }
+
+  /**
+   * Return a copy of this result with the time it took to apply the updates.
+   */
+  public UpdateResult withProcessingTime(Duration processingTime) {
+    return new UpdateResult(
+      successful,
+      failed,
+      failures,
+      warnings,
+      successes,
+      errors,
+      skipped,
+      processingTime
     );
   }
 }
@@ -1,7 +1,10 @@
 package org.opentripplanner.updater.trip;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.opentripplanner.core.model.id.FeedScopedId;
@@ -21,6 +24,8 @@ import org.opentripplanner.updater.spi.UpdateSuccess;
  */
 public final class TimetableSnapshotManager {
 
+  private static final long NO_PENDING_UPDATES = -1;
+
   private final RealTimeRaptorTransitDataUpdater realtimeRaptorTransitDataUpdater;
 
   /**
@@ -48,6 +53,17 @@ public final class TimetableSnapshotManager {
 
   private LocalDate lastPurgeDate = null;
 
+  /**
+   * Time (System.nanoTime) of the first update buffered since the last commit, or
+   * {@link #NO_PENDING_UPDATES}. Used to measure the latency from an update being received until it
+   * is visible to routing.
+   */
+  private long firstPendingUpdateNanos = NO_PENDING_UPDATES;
+
+  private final Timer updateToRoutableTimer = Timer.builder("timetableSnapshot.updateToRoutable")
+    .description("Time from a realtime update is buffered until it is published to routing")
+    .register(Metrics.globalRegistry);
+
   /**
    *
    * @param localDateNow This supplier allows you to inject a custom lambda to override what is
@@ -96,6 +112,13 @@ public final class TimetableSnapshotManager {
   void commitTimetableSnapshot(final boolean force) {
     if (force || buffer.isDirty()) {
       snapshot.publish(buffer.commit(realtimeRaptorTransitDataUpdater, force));
+      if (firstPendingUpdateNanos != NO_PENDING_UPDATES) {
+        updateToRoutableTimer.record(
+          System.nanoTime() - firstPendingUpdateNanos,
+          TimeUnit.NANOSECONDS
+        );
+        firstPendingUpdateNanos = NO_PENDING_UPDATES;
+      }
     }
   }
 
@@ -135,6 +158,7 @@ public final class TimetableSnapshotManager {
    * data, remaining on that pattern unless it's changed again by a future realtime update.
    */
   public void revertTripToScheduledTripPattern(FeedScopedId tripId, LocalDate serviceDate) {
+    markPendingUpdate();
     buffer.revertTripToScheduledTripPattern(tripId, serviceDate);
   }
 
@@ -178,11 +202,18 @@ public final class TimetableSnapshotManager {
    * @return whether the update was actually applied
    */
   public Result<UpdateSuccess, UpdateError> updateBuffer(RealTimeTripUpdate realTimeTripUpdate) {
+    markPendingUpdate();
     buffer.update(realTimeTripUpdate);
     // The time tables are finished during the commit
     return Result.success(UpdateSuccess.noWarnings(realTimeTripUpdate.producer()));
   }
 
+  private void markPendingUpdate() {
+    if (firstPendingUpdateNanos == NO_PENDING_UPDATES) {
+      firstPendingUpdateNanos = System.nanoTime();
+    }
+  }
+
   /**
    * Returns an updated timetable for the specified pattern if one is available in this snapshot, or
    * the originally scheduled timetable if there are no updates in this snapshot.
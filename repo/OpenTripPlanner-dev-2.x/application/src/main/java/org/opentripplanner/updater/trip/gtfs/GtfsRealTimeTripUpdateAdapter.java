@@ -128,9 +128,58 @@ public class GtfsRealTimeTripUpdateAdapter {
     UpdateIncrementality updateIncrementality,
     List<GtfsRealtime.TripUpdate> updates,
     String feedId
+  ) {
+    return applyTripUpdates(
+      fuzzyTripMatcher,
+      forwardsDelayPropagationType,
+      backwardsDelayPropagationType,
+      updateIncrementality,
+      updates,
+      feedId,
+      null
+    );
+  }
+
+  /**
+   * Apply a trip update list, skipping the updates that are unchanged since they were last
+   * applied. A differential update is skipped if it is identical to the update last applied to
+   * the same trip and service date. A full dataset clears all previous updates of the feed, so
+   * it is only skipped as a whole when it is identical to the previous full dataset and all
+   * updates of that dataset were applied successfully.
+   *
+   * @param fingerprints The fingerprints of the updates previously applied by the calling
+   *                     updater, or {@code null} to apply all updates.
+   */
+  public UpdateResult applyTripUpdates(
+    @Nullable GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher,
+    ForwardsDelayPropagationType forwardsDelayPropagationType,
+    BackwardsDelayPropagationType backwardsDelayPropagationType,
+    UpdateIncrementality updateIncrementality,
+    List<GtfsRealtime.TripUpdate> updates,
+    String feedId,
+    @Nullable TripUpdateFingerprints fingerprints
   ) {
     Map<ScheduleRelationship, Integer> failuresByRelationship = new HashMap<>();
     List<Result<UpdateSuccess, UpdateError>> results = new ArrayList<>();
+    List<FeedScopedId> skippedTrips = new ArrayList<>();
+
+    long datasetFingerprint = 0;
+    if (fingerprints != null) {
+      var today = localDateNow.get();
+      fingerprints.removeBefore(today.minusDays(1));
+
+      if (updateIncrementality == FULL_DATASET) {
+        datasetFingerprint = TripUpdateFingerprints.fingerprint(updates, today);
+        if (fingerprints.isUnchangedDataset(datasetFingerprint)) {
+          var updateResult = UpdateResult.empty().withSkipped(updates.size());
+          logUpdateResult(feedId, Map.of(), updateResult);
+          return updateResult;
+        }
+        fingerprints.startDataset();
+      } else {
+        fingerprints.invalidateDataset();
+      }
+    }
 
     if (updateIncrementality == FULL_DATASET) {
       // Remove all updates from the buffer
@@ -151,6 +200,9 @@ public class GtfsRealTimeTripUpdateAdapter {
       }
 
       var tripUpdate = new TripUpdate(rawTripUpdate);
+      long fingerprint = fingerprints == null
+        ? 0
+        : TripUpdateFingerprints.fingerprint(rawTripUpdate);
       var tripDescriptor = tripUpdate.tripDescriptor();
 
       tripDescriptor
@@ -172,6 +224,16 @@ public class GtfsRealTimeTripUpdateAdapter {
               );
               return;
             }
+            if (
+              updateIncrementality == DIFFERENTIAL &&
+              fingerprints != null &&
+              fingerprints.isUnchanged(tripId, serviceDate, fingerprint)
+            ) {
+              debug(tripId, serviceDate, "trip update #{} is unchanged, skipping it", uIndex);
+              skippedTrips.add(tripId);
+              return;
+            }
+
             // Determine what kind of trip update this is
             var scheduleRelationship = tripDescriptor.scheduleRelationship();
             if (updateIncrementality == DIFFERENTIAL) {
@@ -227,6 +289,13 @@ public class GtfsRealTimeTripUpdateAdapter {
             }
 
             results.add(result);
+            if (fingerprints != null) {
+              if (result.isSuccess()) {
+                fingerprints.put(tripId, serviceDate, fingerprint);
+              } else {
+                fingerprints.remove(tripId, serviceDate);
+              }
+            }
             if (result.isFailure()) {
               debug(tripId, serviceDate, "Failed to apply TripUpdate.");
               if (failuresByRelationship.containsKey(scheduleRelationship)) {
@@ -244,7 +313,15 @@ public class GtfsRealTimeTripUpdateAdapter {
         );
     }
 
-    var updateResult = UpdateResult.ofResults(results);
+    var updateResult = UpdateResult.ofResults(results).withSkipped(skippedTrips.size());
+
+    if (
+      fingerprints != null &&
+      updateIncrementality == FULL_DATASET &&
+      results.stream().allMatch(Result::isSuccess)
+    ) {
+      fingerprints.completeDataset(datasetFingerprint);
+    }
 
     if (updateIncrementality == FULL_DATASET) {
       logUpdateResult(feedId, failuresByRelationship, updateResult);
@@ -0,0 +1,133 @@
+package org.opentripplanner.updater.trip.gtfs;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.transit.realtime.GtfsRealtime;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opentripplanner.core.model.id.FeedScopedId;
+
+/**
+ * Fingerprints of the GTFS-RT trip updates applied by one updater. This is used to skip trip
+ * updates that are identical to the update last applied to the same trip on the same service
+ * date. Feeds often repeat most of their content from one message to the next, and applying an
+ * unchanged update again only produces the same real-time trip times.
+ * <p>
+ * The fingerprint is a 64-bit hash of the serialized trip update with the timestamp removed, so
+ * an update that is only re-stamped by the producer is considered unchanged.
+ * <p>
+ * Only successfully applied updates are recorded, an update that failed is retried the next
+ * time it is received. The same goes for a full dataset with at least one failed update. The fingerprints are only valid as long as no other updater modifies the
+ * real-time data of the same feed.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE, it must only be used from the graph writer thread.
+ */
+public class TripUpdateFingerprints {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final Map<TripAndServiceDate, Long> fingerprints = new HashMap<>();
+
+  /** The fingerprint of the last full dataset applied, or {@code null} if none. */
+  private Long datasetFingerprint = null;
+
+  /** The date the fingerprints of past service dates were last removed. */
+  private LocalDate lastPurged = LocalDate.MIN;
+
+  /**
+   * Compute the fingerprint of a single trip update.
+   */
+  public static long fingerprint(GtfsRealtime.TripUpdate tripUpdate) {
+    byte[] bytes = tripUpdate.toBuilder().clearTimestamp().build().toByteArray();
+    return HASH_FUNCTION.hashBytes(bytes).asLong();
+  }
+
+  /**
+   * Compute the fingerprint of a full dataset. The date of today is included, because trip
+   * updates without a start date are applied to the current service date.
+   */
+  public static long fingerprint(List<GtfsRealtime.TripUpdate> tripUpdates, LocalDate today) {
+    var hasher = HASH_FUNCTION.newHasher();
+    hasher.putLong(today.toEpochDay());
+    for (var tripUpdate : tripUpdates) {
+      hasher.putLong(fingerprint(tripUpdate));
+    }
+    return hasher.hash().asLong();
+  }
+
+  /**
+   * Return {@code true} if the given full dataset is identical to the last full dataset and no
+   * differential updates have been applied since.
+   */
+  public boolean isUnchangedDataset(long fingerprint) {
+    return datasetFingerprint != null && datasetFingerprint == fingerprint;
+  }
+
+  /**
+   * Remove all fingerprints before a full dataset is applied.
+   */
+  public void startDataset() {
+    fingerprints.clear();
+    datasetFingerprint = null;
+  }
+
+  /**
+   * Remember the fingerprint of a full dataset, after all its updates are applied successfully.
+   * A dataset with failed updates is not recorded, so it is applied again the next time it is
+   * received.
+   */
+  public void completeDataset(long fingerprint) {
+    datasetFingerprint = fingerprint;
+  }
+
+  /**
+   * Return {@code true} if the last update applied to the trip on the given service date had
+   * the given fingerprint.
+   */
+  public boolean isUnchanged(FeedScopedId tripId, LocalDate serviceDate, long fingerprint) {
+    Long previous = fingerprints.get(new TripAndServiceDate(tripId, serviceDate));
+    return previous != null && previous == fingerprint;
+  }
+
+  /**
+   * Record the fingerprint of a successfully applied trip update.
+   */
+  public void put(FeedScopedId tripId, LocalDate serviceDate, long fingerprint) {
+    fingerprints.put(new TripAndServiceDate(tripId, serviceDate), fingerprint);
+  }
+
+  /**
+   * Forget the fingerprint of a trip, when an update to the trip failed.
+   */
+  public void remove(FeedScopedId tripId, LocalDate serviceDate) {
+    fingerprints.remove(new TripAndServiceDate(tripId, serviceDate));
+  }
+
+  /**
+   * A differential update changes the real-time data, so the next full dataset must be applied
+   * even if it is identical to the last one.
+   */
+  public void invalidateDataset() {
+    datasetFingerprint = null;
+  }
+
+  /**
+   * Remove the fingerprints of trips on service dates before the given date. This is done at
+   * most once a day, so the fingerprints of a differential feed do not accumulate forever.
+   */
+  public void removeBefore(LocalDate date) {
+    if (!date.isAfter(lastPurged)) {
+      return;
+    }
+    fingerprints.keySet().removeIf(it -> it.serviceDate().isBefore(date));
+    lastPurged = date;
+  }
+
+  public int size() {
+    return fingerprints.size();
+  }
+
+  private record TripAndServiceDate(FeedScopedId tripId, LocalDate serviceDate) {}
+}
@@ -1,9 +1,11 @@
 package org.opentripplanner.updater.trip.gtfs.updater;
 
 import com.google.transit.realtime.GtfsRealtime.TripUpdate;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.RealTimeUpdateContext;
 import org.opentripplanner.updater.spi.UpdateResult;
@@ -11,6 +13,7 @@ import org.opentripplanner.updater.trip.UpdateIncrementality;
 import org.opentripplanner.updater.trip.gtfs.BackwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.ForwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.GtfsRealTimeTripUpdateAdapter;
+import org.opentripplanner.updater.trip.gtfs.TripUpdateFingerprints;
 
 public class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
 
@@ -30,6 +33,13 @@ public class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
   private final Consumer<UpdateResult> sendMetrics;
   private final GtfsRealTimeTripUpdateAdapter adapter;
 
+  /**
+   * The fingerprints of the updates applied by the updater, used to skip unchanged updates. If
+   * {@code null} all updates are applied.
+   */
+  @Nullable
+  private final TripUpdateFingerprints fingerprints;
+
   public TripUpdateGraphWriterRunnable(
     GtfsRealTimeTripUpdateAdapter adapter,
     boolean fuzzyTripMatching,
@@ -38,6 +48,7 @@ public class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
     UpdateIncrementality updateIncrementality,
     List<TripUpdate> updates,
     String feedId,
+    @Nullable TripUpdateFingerprints fingerprints,
     Consumer<UpdateResult> sendMetrics
   ) {
     this.adapter = adapter;
@@ -47,19 +58,22 @@ public class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
     this.updateIncrementality = updateIncrementality;
     this.updates = Objects.requireNonNull(updates);
     this.feedId = Objects.requireNonNull(feedId);
+    this.fingerprints = fingerprints;
     this.sendMetrics = sendMetrics;
   }
 
   @Override
   public void run(RealTimeUpdateContext context) {
+    long start = System.nanoTime();
     var result = adapter.applyTripUpdates(
       fuzzyTripMatching ? context.gtfsRealtimeFuzzyTripMatcher() : null,
       forwardsDelayPropagationType,
       backwardsDelayPropagationType,
       updateIncrementality,
       updates,
-      feedId
+      feedId,
+      fingerprints
     );
-    sendMetrics.accept(result);
+    sendMetrics.accept(result.withProcessingTime(Duration.ofNanos(System.nanoTime() - start)));
   }
 }
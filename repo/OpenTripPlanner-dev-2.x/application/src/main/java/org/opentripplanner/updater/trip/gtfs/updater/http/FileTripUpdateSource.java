@@ -0,0 +1,105 @@
+package org.opentripplanner.updater.trip.gtfs.updater.http;
+
+import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET;
+
+import com.google.transit.realtime.GtfsRealtime.TripUpdate;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.opentripplanner.updater.trip.UpdateIncrementality;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load GTFS-RT feed messages from a local directory, one message per poll. This allows a local
+ * producer to stream differential updates to OTP by writing each message to a new file. The
+ * files are processed in the order of their names, so the producer should name them with an
+ * increasing sequence number or timestamp. The files are renamed during the processing like
+ * this:
+ * <pre>
+ * update.pb  ➞  update.pb.inProgress  ➞  ( update.pb.ok | update.pb.failed )
+ * </pre>
+ * The renaming of the file guarantees that the file is not processed twice.
+ * <p>
+ * The source picks up any file matching {@code *.pb} or {@code *.pbf} in the configured
+ * directory. A {@code file:} URL pointing to a single file is read by the
+ * {@link HttpTripUpdateSource} on every poll instead.
+ */
+class FileTripUpdateSource implements TripUpdateSource {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileTripUpdateSource.class);
+  private static final String SUFFIX_IN_PROGRESS = ".inProgress";
+  private static final String SUFFIX_OK = ".ok";
+  private static final String SUFFIX_FAILED = ".failed";
+
+  private final File directory;
+  private UpdateIncrementality updateIncrementality = FULL_DATASET;
+
+  FileTripUpdateSource(String url) {
+    this.directory = new File(URI.create(url));
+    if (!directory.isDirectory()) {
+      throw new IllegalArgumentException("Could not find directory: " + url);
+    }
+  }
+
+  static boolean matchesUrl(String url) {
+    if (!url.startsWith("file:")) {
+      return false;
+    }
+    try {
+      return new File(URI.create(url)).isDirectory();
+    } catch (IllegalArgumentException e) {
+      // Not a valid file URL, let the HTTP source report the error
+      return false;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("ResultOfMethodCallIgnored")
+  public List<TripUpdate> getUpdates() {
+    updateIncrementality = FULL_DATASET;
+    File[] files = directory.listFiles(FileTripUpdateSource::matchFilename);
+    if (files == null || files.length == 0) {
+      return null;
+    }
+    var file = Arrays.stream(files).min(Comparator.comparing(File::getName)).get();
+
+    LOG.debug("Process real-time input file: {}", file.getAbsolutePath());
+    var inProgressFile = newFile(file, SUFFIX_IN_PROGRESS);
+    file.renameTo(inProgressFile);
+    try (InputStream is = new FileInputStream(inProgressFile)) {
+      var feed = TripUpdateFeed.parse(is);
+      inProgressFile.renameTo(newFile(file, SUFFIX_OK));
+      updateIncrementality = feed.incrementality();
+      return feed.updates();
+    } catch (Exception e) {
+      inProgressFile.renameTo(newFile(file, SUFFIX_FAILED));
+      LOG.error("Failed to process GTFS-RT TripUpdates file {}", file.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  @Override
+  public UpdateIncrementality incrementalityOfLastUpdates() {
+    return updateIncrementality;
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(this.getClass()).addObj("directory", directory).toString();
+  }
+
+  private static boolean matchFilename(File file) {
+    var name = file.getName();
+    return file.isFile() && (name.endsWith(".pb") || name.endsWith(".pbf"));
+  }
+
+  private static File newFile(File originalFile, String suffix) {
+    return new File(originalFile.getParentFile(), originalFile.getName() + suffix);
+  }
+}
@@ -4,11 +4,13 @@ import com.google.transit.realtime.GtfsRealtime.TripUpdate;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.trip.gtfs.BackwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.ForwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.GtfsRealTimeTripUpdateAdapter;
+import org.opentripplanner.updater.trip.gtfs.TripUpdateFingerprints;
 import org.opentripplanner.updater.trip.gtfs.updater.TripUpdateGraphWriterRunnable;
 import org.opentripplanner.updater.trip.metrics.BatchTripUpdateMetrics;
 import org.opentripplanner.utils.tostring.ToStringBuilder;
@@ -22,7 +24,7 @@ public class PollingTripUpdater extends PollingGraphUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(PollingTripUpdater.class);
 
-  private final HttpTripUpdateSource updateSource;
+  private final TripUpdateSource updateSource;
   private final GtfsRealTimeTripUpdateAdapter adapter;
 
   /**
@@ -46,6 +48,12 @@ public class PollingTripUpdater extends PollingGraphUpdater {
    */
   private final boolean fuzzyTripMatching;
 
+  /**
+   * The fingerprints of the applied updates, set only if unchanged updates should be skipped.
+   */
+  @Nullable
+  private final TripUpdateFingerprints fingerprints;
+
   public PollingTripUpdater(
     PollingTripUpdaterParameters parameters,
     GtfsRealTimeTripUpdateAdapter adapter
@@ -53,11 +61,12 @@ public class PollingTripUpdater extends PollingGraphUpdater {
     super(parameters);
     // Create update streamer from preferences
     this.feedId = parameters.feedId();
-    this.updateSource = new HttpTripUpdateSource(parameters);
+    this.updateSource = TripUpdateSource.of(parameters);
     this.forwardsDelayPropagationType = parameters.forwardsDelayPropagationType();
     this.backwardsDelayPropagationType = parameters.backwardsDelayPropagationType();
     this.adapter = adapter;
     this.fuzzyTripMatching = parameters.fuzzyTripMatching();
+    this.fingerprints = parameters.skipUnchangedTripUpdates() ? new TripUpdateFingerprints() : null;
 
     this.recordMetrics = BatchTripUpdateMetrics.batch(parameters);
 
@@ -84,6 +93,7 @@ public class PollingTripUpdater extends PollingGraphUpdater {
         incrementality,
         updates,
         feedId,
+        fingerprints,
         recordMetrics
       );
       updateGraph(runnable);
@@ -96,6 +106,7 @@ public class PollingTripUpdater extends PollingGraphUpdater {
       .addObj("updateSource", updateSource)
       .addStr("feedId", feedId)
       .addBool("fuzzyTripMatching", fuzzyTripMatching)
+      .addBool("skipUnchangedTripUpdates", fingerprints != null)
       .toString();
   }
 }
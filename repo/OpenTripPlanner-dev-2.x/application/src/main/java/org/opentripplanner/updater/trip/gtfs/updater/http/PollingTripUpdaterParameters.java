@@ -16,6 +16,7 @@ public record PollingTripUpdaterParameters(
 
   String feedId,
   String url,
-  HttpHeaders headers
+  HttpHeaders headers,
+  boolean skipUnchangedTripUpdates
 )
   implements PollingGraphUpdaterParameters, UrlUpdaterParameters {}
@@ -0,0 +1,56 @@
+package org.opentripplanner.updater.trip.gtfs.updater.http;
+
+import static org.opentripplanner.updater.trip.UpdateIncrementality.DIFFERENTIAL;
+import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET;
+
+import com.google.protobuf.ExtensionRegistry;
+import com.google.transit.realtime.GtfsRealtime;
+import com.google.transit.realtime.GtfsRealtime.FeedEntity;
+import com.google.transit.realtime.GtfsRealtime.FeedMessage;
+import com.google.transit.realtime.GtfsRealtime.TripUpdate;
+import de.mfdz.MfdzRealtimeExtensions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.updater.trip.UpdateIncrementality;
+
+/**
+ * The trip updates of a GTFS-RT feed message, and if they are a full dataset or differential.
+ */
+record TripUpdateFeed(List<TripUpdate> updates, UpdateIncrementality incrementality) {
+  private static final ExtensionRegistry REGISTRY = createRegistry();
+
+  static TripUpdateFeed parse(InputStream is) throws IOException {
+    FeedMessage feedMessage = FeedMessage.parseFrom(is, REGISTRY);
+    List<FeedEntity> feedEntityList = feedMessage.getEntityList();
+
+    // Change fullDataset value if this is an incremental update
+    var incrementality = FULL_DATASET;
+    if (
+      feedMessage.hasHeader() &&
+      feedMessage.getHeader().hasIncrementality() &&
+      feedMessage
+        .getHeader()
+        .getIncrementality()
+        .equals(GtfsRealtime.FeedHeader.Incrementality.DIFFERENTIAL)
+    ) {
+      incrementality = DIFFERENTIAL;
+    }
+
+    // Create List of TripUpdates
+    List<TripUpdate> updates = new ArrayList<>(feedEntityList.size());
+    for (FeedEntity feedEntity : feedEntityList) {
+      if (feedEntity.hasTripUpdate()) {
+        updates.add(feedEntity.getTripUpdate());
+      }
+    }
+    return new TripUpdateFeed(updates, incrementality);
+  }
+
+  private static ExtensionRegistry createRegistry() {
+    var registry = ExtensionRegistry.newInstance();
+    MfdzRealtimeExtensions.registerAllExtensions(registry);
+    return registry.getUnmodifiable();
+  }
+}
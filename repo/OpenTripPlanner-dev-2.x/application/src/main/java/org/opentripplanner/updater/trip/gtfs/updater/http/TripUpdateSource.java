@@ -0,0 +1,31 @@
+package org.opentripplanner.updater.trip.gtfs.updater.http;
+
+import com.google.transit.realtime.GtfsRealtime.TripUpdate;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opentripplanner.updater.trip.UpdateIncrementality;
+
+/**
+ * A source of GTFS-RT trip updates polled by the {@link PollingTripUpdater}.
+ */
+interface TripUpdateSource {
+  static TripUpdateSource of(PollingTripUpdaterParameters parameters) {
+    if (FileTripUpdateSource.matchesUrl(parameters.url())) {
+      return new FileTripUpdateSource(parameters.url());
+    }
+    return new HttpTripUpdateSource(parameters);
+  }
+
+  /**
+   * @return the trip updates of the next feed message, or {@code null} if there is no message
+   * to apply.
+   */
+  @Nullable
+  List<TripUpdate> getUpdates();
+
+  /**
+   * @return the incrementality of the last list with updates, i.e. if all previous updates
+   * should be disregarded
+   */
+  UpdateIncrementality incrementalityOfLastUpdates();
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opentripplanner.updater.spi.GraphUpdater;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
@@ -27,6 +28,7 @@ import org.opentripplanner.updater.trip.UpdateIncrementality;
 import org.opentripplanner.updater.trip.gtfs.BackwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.ForwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.GtfsRealTimeTripUpdateAdapter;
+import org.opentripplanner.updater.trip.gtfs.TripUpdateFingerprints;
 import org.opentripplanner.updater.trip.gtfs.updater.TripUpdateGraphWriterRunnable;
 import org.opentripplanner.updater.trip.metrics.TripUpdateMetrics;
 import org.opentripplanner.utils.tostring.ToStringBuilder;
@@ -67,6 +69,9 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
 
   private final boolean fuzzyTripMatching;
 
+  @Nullable
+  private final TripUpdateFingerprints fingerprints;
+
   private Mqtt5AsyncClient client;
 
   public MqttGtfsRealtimeUpdater(
@@ -83,6 +88,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
     this.adapter = adapter;
     // Set properties of realtime data snapshot source
     this.fuzzyTripMatching = parameters.fuzzyTripMatching();
+    this.fingerprints = parameters.skipUnchangedTripUpdates() ? new TripUpdateFingerprints() : null;
     this.recordMetrics = TripUpdateMetrics.streaming(parameters);
     LOG.info("Creating streaming GTFS-RT TripUpdate updater subscribing to MQTT broker at {}", url);
   }
@@ -201,6 +207,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
           updateIncrementality,
           updates,
           feedId,
+          fingerprints,
           recordMetrics
         )
       );
@@ -12,6 +12,7 @@ public record MqttGtfsRealtimeUpdaterParameters(
   int qos,
   boolean fuzzyTripMatching,
   ForwardsDelayPropagationType forwardsDelayPropagationType,
-  BackwardsDelayPropagationType backwardsDelayPropagationType
+  BackwardsDelayPropagationType backwardsDelayPropagationType,
+  boolean skipUnchangedTripUpdates
 )
   implements UrlUpdaterParameters {}
@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -20,7 +21,8 @@ import org.opentripplanner.updater.trip.UrlUpdaterParameters;
  * Records micrometer metrics for trip updaters that send batches of updates, for example GTFS-RT
  * via HTTP.
  * <p>
- * It records the most recent trip update as gauges.
+ * It records the most recent trip update as gauges, and the time it took to apply each update
+ * as a timer.
  */
 public class BatchTripUpdateMetrics extends TripUpdateMetrics {
 
@@ -28,6 +30,8 @@ public class BatchTripUpdateMetrics extends TripUpdateMetrics {
   private final AtomicInteger successfulGauge;
   private final AtomicInteger failureGauge;
   private final AtomicInteger warningsGauge;
+  private final AtomicInteger skippedGauge;
+  private final Timer processingTimer;
   private final Map<UpdateError.UpdateErrorType, AtomicInteger> failuresByType = new HashMap<>();
   private final Map<UpdateSuccess.WarningType, AtomicInteger> warningsByType = new HashMap<>();
 
@@ -46,12 +50,24 @@ public class BatchTripUpdateMetrics extends TripUpdateMetrics {
       "warnings",
       "Number of warnings when successfully applying trip updates"
     );
+    this.skippedGauge = getGauge(
+      "skipped",
+      "Trip updates that were skipped because they were unchanged at the most recent update"
+    );
+    this.processingTimer = Timer.builder(METRICS_PREFIX + ".processing_time")
+      .description("Time to apply the trip updates of an update")
+      .tags(baseTags)
+      .register(Metrics.globalRegistry);
   }
 
   public void setGauges(UpdateResult result) {
     this.successfulGauge.set(result.successful());
     this.failureGauge.set(result.failed());
     this.warningsGauge.set(result.warnings().size());
+    this.skippedGauge.set(result.skipped());
+    if (!result.processingTime().isZero()) {
+      processingTimer.record(result.processingTime());
+    }
 
     setFailureTypes(result);
 
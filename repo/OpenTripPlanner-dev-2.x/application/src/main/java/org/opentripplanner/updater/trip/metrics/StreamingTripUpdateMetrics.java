@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import javax.annotation.Nullable;
 import org.opentripplanner.updater.spi.UpdateError;
 import org.opentripplanner.updater.spi.UpdateResult;
@@ -17,7 +18,8 @@ import org.opentripplanner.updater.trip.UrlUpdaterParameters;
  * It records the trip update as counters (continuously increasing numbers) since the concept of
  * "latest update" doesn't exist for them.
  * <p>
- * Use your metrics database to convert the counters to rates.
+ * Use your metrics database to convert the counters to rates. The time it took to apply each
+ * message is recorded as a timer.
  */
 public class StreamingTripUpdateMetrics extends TripUpdateMetrics {
 
@@ -33,6 +35,8 @@ public class StreamingTripUpdateMetrics extends TripUpdateMetrics {
     incrementWarningCounts(result);
     incrementFailureCounts(result);
     incrementSuccessCounts(result);
+    incrementSkippedCount(result);
+    recordProcessingTime(result);
   }
 
   private void incrementWarningCounts(UpdateResult result) {
@@ -46,6 +50,28 @@ public class StreamingTripUpdateMetrics extends TripUpdateMetrics {
     }
   }
 
+  private void incrementSkippedCount(UpdateResult result) {
+    if (result.skipped() == 0) {
+      return;
+    }
+    Counter.builder(METRICS_PREFIX + "." + "skipped")
+      .description("Total trip updates skipped because they were unchanged")
+      .tags(baseTags)
+      .register(Metrics.globalRegistry)
+      .increment(result.skipped());
+  }
+
+  private void recordProcessingTime(UpdateResult result) {
+    if (result.processingTime().isZero()) {
+      return;
+    }
+    Timer.builder(METRICS_PREFIX + "." + "processing_time")
+      .description("Time to apply the trip updates of a message")
+      .tags(baseTags)
+      .register(Metrics.globalRegistry)
+      .record(result.processingTime());
+  }
+
   private Tags andProducerMetrics(Tags tags, @Nullable String producer) {
     if (producer != null && !producer.isEmpty()) {
       return tags.and(Tag.of("producer", producer));
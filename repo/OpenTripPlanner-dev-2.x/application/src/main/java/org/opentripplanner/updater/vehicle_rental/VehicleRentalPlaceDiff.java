@@ -0,0 +1,110 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
+import org.opentripplanner.street.model.RentalFormFactor;
+
+/**
+ * The difference between the rental places applied by the previous update from a source and the
+ * places in a new update. Only the places in the diff need to be applied to the repository and
+ * the street graph, large free-floating feeds often have most vehicles unchanged between two
+ * polls.
+ * <p>
+ * A place is relinked if it has moved, or if the form factors it can be rented or returned with
+ * have changed, since the rental edges are created when the place is linked.
+ */
+class VehicleRentalPlaceDiff {
+
+  private final List<VehicleRentalPlace> added = new ArrayList<>();
+  private final List<VehicleRentalPlace> updated = new ArrayList<>();
+  private final List<VehicleRentalPlace> relinked = new ArrayList<>();
+  private final List<FeedScopedId> removed = new ArrayList<>();
+  private int unchanged = 0;
+
+  private VehicleRentalPlaceDiff() {}
+
+  /**
+   * @param previous The places applied by the previous update, by id.
+   * @param places   The places in the new update, if an id occurs more than once the last place
+   *                 is used.
+   */
+  static VehicleRentalPlaceDiff of(
+    Map<FeedScopedId, VehicleRentalPlace> previous,
+    Collection<VehicleRentalPlace> places
+  ) {
+    var placesById = new LinkedHashMap<FeedScopedId, VehicleRentalPlace>();
+    places.forEach(it -> placesById.put(it.id(), it));
+
+    var diff = new VehicleRentalPlaceDiff();
+    for (var place : placesById.values()) {
+      var old = previous.get(place.id());
+      if (old == null) {
+        diff.added.add(place);
+      } else if (old.equals(place)) {
+        ++diff.unchanged;
+      } else if (needsRelinking(old, place)) {
+        diff.relinked.add(place);
+      } else {
+        diff.updated.add(place);
+      }
+    }
+    for (var id : previous.keySet()) {
+      if (!placesById.containsKey(id)) {
+        diff.removed.add(id);
+      }
+    }
+    return diff;
+  }
+
+  /** New places, these need to be linked to the street graph. */
+  List<VehicleRentalPlace> added() {
+    return added;
+  }
+
+  /** Changed places which can keep their links to the street graph. */
+  List<VehicleRentalPlace> updated() {
+    return updated;
+  }
+
+  /** Changed places which need to be unlinked and linked again. */
+  List<VehicleRentalPlace> relinked() {
+    return relinked;
+  }
+
+  /** Places which are not in the new update. */
+  List<FeedScopedId> removed() {
+    return removed;
+  }
+
+  /** The number of places which are equal to the previously applied places. */
+  int unchanged() {
+    return unchanged;
+  }
+
+  boolean isEmpty() {
+    return added.isEmpty() && updated.isEmpty() && relinked.isEmpty() && removed.isEmpty();
+  }
+
+  static Set<RentalFormFactor> formFactors(VehicleRentalPlace place) {
+    return Stream.concat(
+      place.availablePickupFormFactors(false).stream(),
+      place.availableDropoffFormFactors(false).stream()
+    ).collect(Collectors.toSet());
+  }
+
+  private static boolean needsRelinking(VehicleRentalPlace old, VehicleRentalPlace place) {
+    return (
+      Double.compare(old.latitude(), place.latitude()) != 0 ||
+      Double.compare(old.longitude(), place.longitude()) != 0 ||
+      !formFactors(old).equals(formFactors(place))
+    );
+  }
+}
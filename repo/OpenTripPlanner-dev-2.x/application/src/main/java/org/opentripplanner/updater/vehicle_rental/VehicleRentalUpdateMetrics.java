@@ -0,0 +1,83 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.opentripplanner.framework.application.OTPFeature;
+
+/**
+ * Records micrometer metrics for vehicle rental updaters.
+ * <p>
+ * It records the number of added, updated, relinked, removed and unchanged rental places of the
+ * most recent update as gauges, and the time it took to apply each update as a timer.
+ */
+class VehicleRentalUpdateMetrics {
+
+  static final Consumer<VehicleRentalUpdateResult> NOOP = ignored -> {};
+
+  private static final String METRICS_PREFIX = "vehicle_rental_updates";
+
+  private final List<Tag> baseTags;
+  private final AtomicInteger addedGauge;
+  private final AtomicInteger updatedGauge;
+  private final AtomicInteger relinkedGauge;
+  private final AtomicInteger removedGauge;
+  private final AtomicInteger unchangedGauge;
+  private final Timer processingTimer;
+
+  private VehicleRentalUpdateMetrics(String configRef, String source) {
+    this.baseTags = List.of(Tag.of("configRef", configRef), Tag.of("source", source));
+    this.addedGauge = getGauge("added", "Rental places added at the most recent update");
+    this.updatedGauge = getGauge(
+      "updated",
+      "Rental places updated, without moving, at the most recent update"
+    );
+    this.relinkedGauge = getGauge(
+      "relinked",
+      "Rental places linked to the street graph again at the most recent update"
+    );
+    this.removedGauge = getGauge("removed", "Rental places removed at the most recent update");
+    this.unchangedGauge = getGauge(
+      "unchanged",
+      "Rental places that were unchanged at the most recent update"
+    );
+    this.processingTimer = Timer.builder(METRICS_PREFIX + ".processing_time")
+      .description("Time to apply the rental places of an update")
+      .tags(baseTags)
+      .register(Metrics.globalRegistry);
+  }
+
+  /**
+   * Return a consumer recording the metrics if the actuator API is enabled, or else a no-op
+   * consumer.
+   */
+  static Consumer<VehicleRentalUpdateResult> of(String configRef, String source) {
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      return new VehicleRentalUpdateMetrics(configRef, source)::record;
+    } else {
+      return NOOP;
+    }
+  }
+
+  private void record(VehicleRentalUpdateResult result) {
+    addedGauge.set(result.added());
+    updatedGauge.set(result.updated());
+    relinkedGauge.set(result.relinked());
+    removedGauge.set(result.removed());
+    unchangedGauge.set(result.unchanged());
+    processingTimer.record(result.processingTime());
+  }
+
+  private AtomicInteger getGauge(String name, String description) {
+    var atomicInt = new AtomicInteger(0);
+    Gauge.builder(METRICS_PREFIX + "." + name, atomicInt::get)
+      .description(description)
+      .tags(baseTags)
+      .register(Metrics.globalRegistry);
+    return atomicInt;
+  }
+}
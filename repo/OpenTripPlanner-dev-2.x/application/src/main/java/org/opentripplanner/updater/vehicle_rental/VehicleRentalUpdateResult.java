@@ -0,0 +1,40 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import java.time.Duration;
+import org.opentripplanner.utils.tostring.ToStringBuilder;
+
+/**
+ * The number of rental places changed by an update, and the time it took to apply them to the
+ * repository and the street graph.
+ */
+record VehicleRentalUpdateResult(
+  int added,
+  int updated,
+  int relinked,
+  int removed,
+  int unchanged,
+  Duration processingTime
+) {
+  static VehicleRentalUpdateResult of(VehicleRentalPlaceDiff diff, Duration processingTime) {
+    return new VehicleRentalUpdateResult(
+      diff.added().size(),
+      diff.updated().size(),
+      diff.relinked().size(),
+      diff.removed().size(),
+      diff.unchanged(),
+      processingTime
+    );
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.of(VehicleRentalUpdateResult.class)
+      .addNum("added", added)
+      .addNum("updated", updated)
+      .addNum("relinked", relinked)
+      .addNum("removed", removed)
+      .addNum("unchanged", unchanged)
+      .addDuration("processingTime", processingTime)
+      .toString();
+  }
+}
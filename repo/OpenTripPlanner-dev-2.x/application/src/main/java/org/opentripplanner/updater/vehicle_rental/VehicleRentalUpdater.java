@@ -1,16 +1,13 @@
 package org.opentripplanner.updater.vehicle_rental;
 
+import com.google.common.collect.Maps;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.routing.linking.DisposableEdgeCollection;
 import org.opentripplanner.routing.linking.VertexLinker;
@@ -60,6 +57,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
   private final VertexLinker linker;
 
   private final VehicleRentalRepository service;
+  private final Consumer<VehicleRentalUpdateResult> updateMetrics;
 
   public VehicleRentalUpdater(
     VehicleRentalUpdaterParameters parameters,
@@ -77,6 +75,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       parameters.sourceParameters().url()
     );
     this.unlinkedPlaceThrottle = Throttle.ofOneSecond();
+    this.updateMetrics = VehicleRentalUpdateMetrics.of(parameters.configRef(), nameForLogging);
 
     // Creation of network linker library will not modify the graph
     this.linker = vertexLinker;
@@ -148,80 +147,39 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
     @Override
     public void run(RealTimeUpdateContext context) {
-      // Apply stations to graph
-      Set<FeedScopedId> stationSet = new HashSet<>();
+      long updateStart = System.nanoTime();
       var vertexFactory = new VertexFactory(context.graph());
+      var diff = VehicleRentalPlaceDiff.of(
+        Maps.transformValues(verticesByStation, VehicleRentalPlaceVertex::getStation),
+        stations
+      );
 
-      /* add any new stations and update vehicle counts for existing stations */
-      for (VehicleRentalPlace station : stations) {
+      for (VehicleRentalPlace station : diff.added()) {
         service.addVehicleRentalStation(station);
-        stationSet.add(station.id());
-        VehicleRentalPlaceVertex vehicleRentalVertex = verticesByStation.get(station.id());
-
-        if (vehicleRentalVertex == null) {
-          vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
-          DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
-            vehicleRentalVertex,
-            new TraverseModeSet(TraverseMode.WALK),
-            LinkingDirection.BIDIRECTIONAL,
-            (vertex, streetVertex) ->
-              List.of(
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  (VehicleRentalPlaceVertex) vertex,
-                  streetVertex
-                ),
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  streetVertex,
-                  (VehicleRentalPlaceVertex) vertex
-                )
-              )
-          );
-          if (vehicleRentalVertex.getOutgoing().isEmpty()) {
-            // Copy reference to pass into lambda
-            var vrv = vehicleRentalVertex;
-            unlinkedPlaceThrottle.throttle(() ->
-              // the toString includes the text "Bike rental station"
-              LOG.warn(
-                "VehicleRentalPlace is unlinked for {}: {}  {}",
-                nameForLogging,
-                vrv,
-                unlinkedPlaceThrottle.setupInfo()
-              )
-            );
-          }
-          Set<RentalFormFactor> formFactors = Stream.concat(
-            station.availablePickupFormFactors(false).stream(),
-            station.availableDropoffFormFactors(false).stream()
-          ).collect(Collectors.toSet());
-          for (RentalFormFactor formFactor : formFactors) {
-            tempEdges.addEdge(
-              VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
-            );
-          }
-          verticesByStation.put(station.id(), vehicleRentalVertex);
-          tempEdgesByStation.put(station.id(), tempEdges);
-        } else {
-          vehicleRentalVertex.setStation(station);
-        }
+        linkStation(station, vertexFactory);
       }
-
-      /* remove existing stations that were not present in the update */
-      List<FeedScopedId> toRemove = new ArrayList<>();
-      for (Entry<FeedScopedId, VehicleRentalPlaceVertex> entry : verticesByStation.entrySet()) {
-        FeedScopedId station = entry.getKey();
-        if (stationSet.contains(station)) {
-          continue;
-        }
-        toRemove.add(station);
-        service.removeVehicleRentalStation(station);
+      for (VehicleRentalPlace station : diff.updated()) {
+        service.addVehicleRentalStation(station);
+        verticesByStation.get(station.id()).setStation(station);
       }
-      for (FeedScopedId station : toRemove) {
-        // post-iteration removal to avoid concurrent modification
-        verticesByStation.remove(station);
-        tempEdgesByStation.get(station).disposeEdges();
-        tempEdgesByStation.remove(station);
+      // the vertex of a place which has moved is replaced, it can not be moved
+      for (VehicleRentalPlace station : diff.relinked()) {
+        service.addVehicleRentalStation(station);
+        unlinkStation(station.id());
+        linkStation(station, vertexFactory);
+      }
+      for (FeedScopedId station : diff.removed()) {
+        service.removeVehicleRentalStation(station);
+        unlinkStation(station);
       }
 
+      var result = VehicleRentalUpdateResult.of(
+        diff,
+        Duration.ofNanos(System.nanoTime() - updateStart)
+      );
+      LOG.debug("Applied vehicle rental update for {}: {}", nameForLogging, result);
+      updateMetrics.accept(result);
+
       // this check relies on the generated equals for the record which also recursively checks that
       // the JTS geometries are equal
       if (!geofencingZones.isEmpty() && !geofencingZones.equals(latestAppliedGeofencingZones)) {
@@ -244,5 +202,48 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
         );
       }
     }
+
+    private void linkStation(VehicleRentalPlace station, VertexFactory vertexFactory) {
+      VehicleRentalPlaceVertex vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
+      DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
+        vehicleRentalVertex,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BIDIRECTIONAL,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) vertex,
+              streetVertex
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) vertex
+            )
+          )
+      );
+      if (vehicleRentalVertex.getOutgoing().isEmpty()) {
+        unlinkedPlaceThrottle.throttle(() ->
+          // the toString includes the text "Bike rental station"
+          LOG.warn(
+            "VehicleRentalPlace is unlinked for {}: {}  {}",
+            nameForLogging,
+            vehicleRentalVertex,
+            unlinkedPlaceThrottle.setupInfo()
+          )
+        );
+      }
+      for (RentalFormFactor formFactor : VehicleRentalPlaceDiff.formFactors(station)) {
+        tempEdges.addEdge(
+          VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
+        );
+      }
+      verticesByStation.put(station.id(), vehicleRentalVertex);
+      tempEdgesByStation.put(station.id(), tempEdges);
+    }
+
+    private void unlinkStation(FeedScopedId station) {
+      verticesByStation.remove(station);
+      tempEdgesByStation.remove(station).disposeEdges();
+    }
   }
 }
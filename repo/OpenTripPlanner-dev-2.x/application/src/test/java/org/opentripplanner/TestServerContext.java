@@ -121,6 +121,8 @@ public class TestServerContext {
       createViaTransferResolver(graph, transitService),
       createWorldEnvelopeService(),
       null,
+      null,
+      null,
       createEmissionsItineraryDecorator(),
       null,
       null,
@@ -129,6 +131,9 @@ public class TestServerContext {
       null,
       null,
       null,
+      null,
+      null,
+      null,
       null
     );
   }
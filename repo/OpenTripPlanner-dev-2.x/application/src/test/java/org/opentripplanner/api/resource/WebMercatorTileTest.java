@@ -1,6 +1,7 @@
 package org.opentripplanner.api.resource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -22,4 +23,18 @@ class WebMercatorTileTest {
     assertEquals(85.0511, northEastQuarter.getMaxY(), 0.0001);
     assertEquals(0, northEastQuarter.getMinY());
   }
+
+  @Test
+  void coordinateToTile() {
+    assertEquals(542, WebMercatorTile.lon2tile(10.75, 10));
+    assertEquals(297, WebMercatorTile.lat2tile(59.91, 10));
+
+    var envelope = WebMercatorTile.tile2Envelope(542, 297, 10);
+    assertTrue(envelope.contains(10.75, 59.91));
+
+    // Coordinates outside the web mercator bounds are clamped
+    assertEquals(0, WebMercatorTile.lat2tile(89.9, 3));
+    assertEquals(7, WebMercatorTile.lat2tile(-89.9, 3));
+    assertEquals(7, WebMercatorTile.lon2tile(180, 3));
+  }
 }
@@ -0,0 +1,140 @@
+package org.opentripplanner.apis.gtfs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class GraphQLResultCacheTest {
+
+  private static final String NEAREST_QUERY =
+    "query($lat: Float!, $lon: Float!) { nearest(lat: $lat, lon: $lon) { edges { cursor } } }";
+
+  private final GraphQLResultCache subject = new GraphQLResultCache(
+    new GraphQLResultCacheParameters(Duration.ofMinutes(1), 100, 3, Set.of("nearest", "stop")),
+    null
+  );
+
+  @Test
+  void cacheableQuery() {
+    var variables = Map.<String, Object>of("lat", 60.0, "lon", 10.0);
+    var key = subject.keyOf(NEAREST_QUERY, variables, null, Locale.ENGLISH, 1);
+    assertNotNull(key);
+
+    assertNull(subject.get(key));
+    subject.put(key, "response");
+    assertEquals("response", subject.get(key));
+  }
+
+  @Test
+  void queryIsNormalized() {
+    var key = subject.keyOf(NEAREST_QUERY, Map.of(), null, Locale.ENGLISH, 1);
+    var reformatted = subject.keyOf(
+      NEAREST_QUERY.replace(" {", "\n  {").replace("(", " ( "),
+      Map.of(),
+      null,
+      Locale.ENGLISH,
+      1
+    );
+    assertEquals(key, reformatted);
+  }
+
+  @Test
+  void coordinatesAreRounded() {
+    var variables = new HashMap<String, Object>(
+      Map.of("lat", 59.91234, "lon", 10.75678, "maxDistance", 1.23456)
+    );
+    var key = subject.keyOf(NEAREST_QUERY, variables, null, Locale.ENGLISH, 1);
+    assertNotNull(key);
+    // The query is executed with the original variables, only the key is rounded
+    assertEquals(59.91234, variables.get("lat"));
+    assertEquals(59.912, key.variables().get("lat"));
+    assertEquals(10.757, key.variables().get("lon"));
+    // Only coordinates are rounded
+    assertEquals(1.23456, key.variables().get("maxDistance"));
+
+    var nearby = subject.keyOf(
+      NEAREST_QUERY,
+      Map.of("lat", 59.91201, "lon", 10.75701, "maxDistance", 1.23456),
+      null,
+      Locale.ENGLISH,
+      1
+    );
+    assertEquals(key, nearby);
+  }
+
+  @Test
+  void nestedCoordinatesAreRounded() {
+    var key = subject.keyOf(
+      "query($from: InputCoordinates) { stop(id: \"F:1\") { name } }",
+      Map.of("from", Map.of("lat", 1.23456, "lon", 2.34567), "ids", List.of("A")),
+      null,
+      Locale.ENGLISH,
+      1
+    );
+    assertNotNull(key);
+    assertEquals(
+      Map.of("from", Map.of("lat", 1.235, "lon", 2.346), "ids", List.of("A")),
+      key.variables()
+    );
+  }
+
+  @Test
+  void queryNotCacheable() {
+    // Root field not in the list of cacheable queries
+    assertNull(subject.keyOf("{ routes { gtfsId } }", null, null, Locale.ENGLISH, 1));
+    // One of the root fields not cacheable
+    assertNull(
+      subject.keyOf(
+        "{ stop(id: \"F:1\") { name } routes { gtfsId } }",
+        null,
+        null,
+        Locale.ENGLISH,
+        1
+      )
+    );
+    // Fragments on the root type
+    assertNull(
+      subject.keyOf(
+        "{ ...f } fragment f on QueryType { stop(id: \"F:1\") { name } }",
+        null,
+        null,
+        Locale.ENGLISH,
+        1
+      )
+    );
+    // Syntax error
+    assertNull(subject.keyOf("{ stop(id: ", null, null, Locale.ENGLISH, 1));
+  }
+
+  @Test
+  void selectOperationByName() {
+    var query = "query A { stop(id: \"F:1\") { name } } query B { routes { gtfsId } }";
+    assertNotNull(subject.keyOf(query, null, "A", Locale.ENGLISH, 1));
+    assertNull(subject.keyOf(query, null, "B", Locale.ENGLISH, 1));
+    assertNull(subject.keyOf(query, null, null, Locale.ENGLISH, 1));
+  }
+
+  @Test
+  void newSnapshotInvalidatesCache() {
+    var key = subject.keyOf(NEAREST_QUERY, Map.of(), null, Locale.ENGLISH, 1);
+    subject.put(key, "response");
+    assertEquals(1, subject.size());
+
+    var newKey = subject.keyOf(NEAREST_QUERY, Map.of(), null, Locale.ENGLISH, 2);
+    assertNull(subject.get(newKey));
+    assertEquals(0, subject.size());
+
+    // A response for an outdated snapshot is not cached
+    subject.put(key, "outdated response");
+    assertNull(subject.get(key));
+    assertEquals(0, subject.size());
+  }
+}
@@ -0,0 +1,144 @@
+package org.opentripplanner.apis.support.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.PATTERNS_FOR_STOP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.REGULAR_STOP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.STOP_ENTITY_ALERTS;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TRIP;
+import static org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TRIP_TIMES_ON_DATE;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.Statistics;
+import org.opentripplanner.apis.support.graphql.TransitDataLoaderRegistry.TripAndDate;
+import org.opentripplanner.transit.model._data.TransitTestEnvironment;
+import org.opentripplanner.transit.model._data.TransitTestEnvironmentBuilder;
+import org.opentripplanner.transit.model._data.TripInput;
+import org.opentripplanner.transit.model.site.RegularStop;
+
+class TransitDataLoaderRegistryTest {
+
+  private final TransitTestEnvironmentBuilder ENV_BUILDER = TransitTestEnvironment.of();
+  private final RegularStop STOP_A = ENV_BUILDER.stop("A");
+  private final RegularStop STOP_B = ENV_BUILDER.stop("B");
+
+  private final TransitTestEnvironment env = ENV_BUILDER.addTrip(
+    TripInput.of("T1").addStop(STOP_A, "0:00:10", "0:00:11").addStop(STOP_B, "0:00:20", "0:00:21")
+  ).build();
+
+  @Test
+  void loadEachKeyOnce() {
+    var registry = new TransitDataLoaderRegistry(env.transitService(), false);
+    var environment = environment(registry);
+
+    var first = TransitDataLoaderRegistry.load(
+      environment,
+      PATTERNS_FOR_STOP,
+      STOP_A,
+      env.transitService()
+    );
+    var second = TransitDataLoaderRegistry.load(
+      environment,
+      PATTERNS_FOR_STOP,
+      STOP_A,
+      env.transitService()
+    );
+
+    assertEquals(1, first.size());
+    assertSame(first, second);
+
+    var statistics = new HashMap<String, Statistics>();
+    registry.forEachStatistics(statistics::put);
+    assertEquals(1, statistics.size());
+    assertEquals(2, statistics.get(PATTERNS_FOR_STOP.name()).loads());
+    assertEquals(1, statistics.get(PATTERNS_FOR_STOP.name()).fetches());
+  }
+
+  @Test
+  void loadWithoutRegistry() {
+    var environment = environment(null);
+
+    var patterns = TransitDataLoaderRegistry.load(
+      environment,
+      PATTERNS_FOR_STOP,
+      STOP_B,
+      env.transitService()
+    );
+    assertEquals(env.transitService().findPatterns(STOP_B, true), patterns);
+  }
+
+  @Test
+  void noStopEntityAlerts() {
+    var registry = new TransitDataLoaderRegistry(env.transitService(), false);
+
+    var alerts = TransitDataLoaderRegistry.load(
+      environment(registry),
+      STOP_ENTITY_ALERTS,
+      STOP_A.getId(),
+      env.transitService()
+    );
+    assertTrue(alerts.isEmpty());
+  }
+
+  @Test
+  void batchKeysUntilTheLoadersAreDispatched() {
+    var registry = new TransitDataLoaderRegistry(env.transitService(), true);
+    var environment = environment(registry);
+
+    var stopA = TransitDataLoaderRegistry.loadAsync(
+      environment,
+      REGULAR_STOP,
+      STOP_A.getId(),
+      env.transitService()
+    );
+    var stopB = TransitDataLoaderRegistry.loadAsync(
+      environment,
+      REGULAR_STOP,
+      STOP_B.getId(),
+      env.transitService()
+    );
+    assertFalse(stopA.isDone());
+
+    registry.dispatchAll();
+
+    assertSame(STOP_A, stopA.join());
+    assertSame(STOP_B, stopB.join());
+    var statistics = new HashMap<String, Statistics>();
+    registry.forEachStatistics(statistics::put);
+    assertEquals(2, statistics.get(REGULAR_STOP.name()).fetches());
+  }
+
+  @Test
+  void loadSynchronouslyWithBatchingEnabled() {
+    var registry = new TransitDataLoaderRegistry(env.transitService(), true);
+    var trip = env.tripData("T1").trip();
+
+    var tripTimes = TransitDataLoaderRegistry.load(
+      environment(registry),
+      TRIP_TIMES_ON_DATE,
+      new TripAndDate(trip, env.defaultServiceDate()),
+      env.transitService()
+    );
+
+    assertEquals(2, tripTimes.size());
+
+    var loadedTrip = TransitDataLoaderRegistry.load(
+      environment(registry),
+      TRIP,
+      trip.getId(),
+      env.transitService()
+    );
+    assertSame(trip, loadedTrip);
+  }
+
+  private static DataFetchingEnvironment environment(TransitDataLoaderRegistry registry) {
+    return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+      .dataLoaderRegistry(registry)
+      .build();
+  }
+}
@@ -467,4 +467,63 @@ class PassengerDelayConstraintsTest {
       )
     );
   }
+
+  @Test
+  void lowerBoundExceedsMaxDelay_noExistingStops_neverPrunes() {
+    Duration[] originalTimes = { Duration.ZERO, Duration.ofMinutes(10) };
+    Duration[] prefix = { Duration.ZERO, Duration.ofMinutes(60) };
+
+    assertFalse(constraints.lowerBoundExceedsMaxDelay(originalTimes, prefix, 1, 1, 2));
+  }
+
+  @Test
+  void lowerBoundExceedsMaxDelay_unroutedStopAlreadyLate_prunes() {
+    // Original: 0 -> stop1@10min -> end@20min
+    Duration[] originalTimes = { Duration.ZERO, Duration.ofMinutes(10), Duration.ofMinutes(20) };
+
+    // Modified: boarding -> pickup -> dropoff -> stop1 -> alighting, only the first segment
+    // is routed. Stop1 can not be reached before 16 min, a delay of at least 6 min.
+    Duration[] prefix = new Duration[5];
+    prefix[0] = Duration.ZERO;
+    prefix[1] = Duration.ofMinutes(16);
+
+    assertTrue(constraints.lowerBoundExceedsMaxDelay(originalTimes, prefix, 1, 1, 2));
+  }
+
+  @Test
+  void lowerBoundExceedsMaxDelay_unroutedStopWithinBudget_keeps() {
+    Duration[] originalTimes = { Duration.ZERO, Duration.ofMinutes(10), Duration.ofMinutes(20) };
+
+    Duration[] prefix = new Duration[5];
+    prefix[0] = Duration.ZERO;
+    prefix[1] = Duration.ofMinutes(14);
+
+    assertFalse(constraints.lowerBoundExceedsMaxDelay(originalTimes, prefix, 1, 1, 2));
+  }
+
+  @Test
+  void lowerBoundExceedsMaxDelay_routedStopLate_prunes() {
+    // Original: 0 -> stop1@10min -> stop2@20min -> end@30min
+    Duration[] originalTimes = {
+      Duration.ZERO,
+      Duration.ofMinutes(10),
+      Duration.ofMinutes(20),
+      Duration.ofMinutes(30),
+    };
+
+    // Modified: boarding -> stop1 -> pickup -> dropoff -> stop2 -> alighting
+    // Routed up to and including stop2, which is delayed 7 min
+    Duration[] prefix = {
+      Duration.ZERO,
+      Duration.ofMinutes(10),
+      Duration.ofMinutes(14),
+      Duration.ofMinutes(20),
+      Duration.ofMinutes(27),
+      null,
+    };
+
+    assertTrue(constraints.lowerBoundExceedsMaxDelay(originalTimes, prefix, 4, 2, 3));
+    // Before stop2 is reached the bound is only 20 - 20 = 0 min
+    assertFalse(constraints.lowerBoundExceedsMaxDelay(originalTimes, prefix, 3, 2, 3));
+  }
 }
@@ -0,0 +1,198 @@
+package org.opentripplanner.ext.carpooling.routing;
+
+import static org.opentripplanner.ext.carpooling.CarpoolGraphPathBuilder.createGraphPath;
+import static org.opentripplanner.ext.carpooling.CarpoolTestCoordinates.OSLO_CENTER;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.ext.carpooling.TestCarpoolTripBuilder;
+import org.opentripplanner.ext.carpooling.constraints.PassengerDelayConstraints;
+import org.opentripplanner.ext.carpooling.model.CarpoolStop;
+import org.opentripplanner.ext.carpooling.model.CarpoolTrip;
+import org.opentripplanner.ext.carpooling.util.BeelineEstimator;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.linking.LinkingContext;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Compare the sequential and the pooled insertion evaluation over a synthetic pool of carpool
+ * trips. Street routing is simulated by a routing function which spends CPU time proportional to
+ * the beeline distance, like an A* search does. This is not a unit test, run it manually:
+ * <pre>
+ * InsertionEvaluatorBenchmark [nTrips] [nStopsPerTrip] [nThreads]
+ * </pre>
+ */
+public class InsertionEvaluatorBenchmark {
+
+  private static final int WARM_UP_ROUNDS = 3;
+  private static final int ROUNDS = 10;
+  private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+  /** Simulated routing cost, 1 µs per 10 meters gives ~0.5ms for a 5 km segment. */
+  private static final long NANOS_PER_METER = 100;
+
+  private final PassengerDelayConstraints delayConstraints = new PassengerDelayConstraints();
+  private final InsertionPositionFinder positionFinder = new InsertionPositionFinder(
+    delayConstraints,
+    new BeelineEstimator()
+  );
+  private final AtomicInteger routingCalls = new AtomicInteger();
+
+  public static void main(String[] args) {
+    int nTrips = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    int nStops = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    int nThreads = args.length > 2
+      ? Integer.parseInt(args[2])
+      : Runtime.getRuntime().availableProcessors();
+
+    new InsertionEvaluatorBenchmark().run(nTrips, nStops, nThreads);
+  }
+
+  private void run(int nTrips, int nStops, int nThreads) {
+    var random = new Random(42);
+    var trips = createTripPool(random, nTrips, nStops);
+    var pickup = randomPoint(random);
+    var dropoff = pickup.moveNorthMeters(4_000);
+
+    System.out.printf(
+      "Carpool insertion benchmark: %d trips, %d stops/trip, %d threads%n",
+      nTrips,
+      nStops,
+      nThreads
+    );
+
+    var pool = new InsertionPool(nThreads);
+    try {
+      for (int i = 0; i < WARM_UP_ROUNDS; ++i) {
+        evaluate(
+          trips,
+          pickup,
+          dropoff,
+          new InsertionEvaluator(this::route, delayConstraints, null)
+        );
+        evaluate(
+          trips,
+          pickup,
+          dropoff,
+          new InsertionEvaluator(this::route, delayConstraints, null, pool, TIMEOUT)
+        );
+      }
+
+      long sequentialNanos = 0;
+      long pooledNanos = 0;
+      int sequentialCalls = 0;
+      int pooledCalls = 0;
+      int sequentialMatches = 0;
+      int pooledMatches = 0;
+
+      for (int i = 0; i < ROUNDS; ++i) {
+        routingCalls.set(0);
+        long start = System.nanoTime();
+        sequentialMatches = evaluate(
+          trips,
+          pickup,
+          dropoff,
+          new InsertionEvaluator(this::route, delayConstraints, null)
+        );
+        sequentialNanos += System.nanoTime() - start;
+        sequentialCalls = routingCalls.get();
+
+        routingCalls.set(0);
+        start = System.nanoTime();
+        pooledMatches = evaluate(
+          trips,
+          pickup,
+          dropoff,
+          new InsertionEvaluator(this::route, delayConstraints, null, pool, TIMEOUT)
+        );
+        pooledNanos += System.nanoTime() - start;
+        pooledCalls = routingCalls.get();
+      }
+
+      print("Sequential", sequentialNanos, sequentialCalls, sequentialMatches);
+      print("Pooled", pooledNanos, pooledCalls, pooledMatches);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private int evaluate(
+    List<CarpoolTrip> trips,
+    WgsCoordinate pickup,
+    WgsCoordinate dropoff,
+    InsertionEvaluator evaluator
+  ) {
+    int matches = 0;
+    for (CarpoolTrip trip : trips) {
+      var positions = positionFinder.findViablePositions(trip, pickup, dropoff);
+      if (positions.isEmpty()) {
+        continue;
+      }
+      if (evaluator.findBestInsertion(trip, positions, pickup, dropoff) != null) {
+        ++matches;
+      }
+    }
+    return matches;
+  }
+
+  private GraphPath<State, Edge, Vertex> route(
+    GenericLocation from,
+    GenericLocation to,
+    LinkingContext linkingContext
+  ) {
+    routingCalls.incrementAndGet();
+    double distance = new WgsCoordinate(from.getCoordinate()).distanceTo(
+      new WgsCoordinate(to.getCoordinate())
+    );
+    long end = System.nanoTime() + (long) distance * NANOS_PER_METER;
+    while (System.nanoTime() < end) {
+      Thread.onSpinWait();
+    }
+    return createGraphPath(Duration.ofSeconds(30 + (long) (distance / 10.0)));
+  }
+
+  /**
+   * Trips heading roughly north through the city, with the given number of intermediate stops
+   * scattered along the way.
+   */
+  private static List<CarpoolTrip> createTripPool(Random random, int nTrips, int nStops) {
+    var trips = new ArrayList<CarpoolTrip>(nTrips);
+    for (int i = 0; i < nTrips; ++i) {
+      var origin = randomPoint(random).moveSouthMeters(3_000);
+      var stops = new ArrayList<CarpoolStop>(nStops);
+      for (int s = 0; s < nStops; ++s) {
+        var stop = origin
+          .moveNorthMeters((s + 1) * 10_000.0 / (nStops + 1))
+          .moveEastMeters(random.nextInt(2_000) - 1_000);
+        stops.add(TestCarpoolTripBuilder.createStopAt(s, stop));
+      }
+      trips.add(
+        TestCarpoolTripBuilder.createTripWithStops(origin, stops, origin.moveNorthMeters(10_000))
+      );
+    }
+    return trips;
+  }
+
+  private static WgsCoordinate randomPoint(Random random) {
+    return OSLO_CENTER.moveEastMeters(random.nextInt(4_000) - 2_000).moveNorthMeters(
+      random.nextInt(4_000) - 2_000
+    );
+  }
+
+  private static void print(String name, long nanos, int routingCalls, int matches) {
+    System.out.printf(
+      "%-10s  avg: %6d ms  routing calls: %6d  matches: %d%n",
+      name,
+      TimeUnit.NANOSECONDS.toMillis(nanos / ROUNDS),
+      routingCalls,
+      matches
+    );
+  }
+}
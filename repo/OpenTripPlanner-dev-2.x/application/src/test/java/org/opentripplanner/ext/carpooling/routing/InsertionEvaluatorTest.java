@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.ext.carpooling.CarpoolGraphPathBuilder.createGraphPath;
 import static org.opentripplanner.ext.carpooling.CarpoolTestCoordinates.OSLO_CENTER;
@@ -21,22 +22,45 @@ import static org.opentripplanner.ext.carpooling.TestCarpoolTripBuilder.createTr
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.ext.carpooling.constraints.PassengerDelayConstraints;
 import org.opentripplanner.ext.carpooling.model.CarpoolTrip;
 import org.opentripplanner.ext.carpooling.util.BeelineEstimator;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.linking.LinkingContext;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.state.State;
 
 class InsertionEvaluatorTest {
 
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private static InsertionPool pool;
+
   private PassengerDelayConstraints delayConstraints;
   private InsertionPositionFinder positionFinder;
 
+  @BeforeAll
+  static void setupPool() {
+    pool = new InsertionPool(4);
+  }
+
+  @AfterAll
+  static void shutdownPool() {
+    pool.shutdown();
+  }
+
   @BeforeEach
   void setup() {
     delayConstraints = new PassengerDelayConstraints();
@@ -414,4 +438,131 @@ class InsertionEvaluatorTest {
     assertTrue(result.totalDuration().compareTo(Duration.ZERO) > 0);
     assertTrue(result.baselineDuration().compareTo(Duration.ZERO) > 0);
   }
+
+  @Test
+  void findBestInsertion_pooled_selectsSameInsertionAsSequential() {
+    var trip = createTripWithStops(OSLO_CENTER, List.of(createStopAt(0, OSLO_EAST)), OSLO_NORTH);
+    var positions = positionFinder.findViablePositions(trip, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+    RoutingFunction routingFunction = InsertionEvaluatorTest::routeByDistance;
+
+    var sequential = new InsertionEvaluator(routingFunction, delayConstraints, null)
+      .findBestInsertion(trip, positions, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+    var pooled = new InsertionEvaluator(routingFunction, delayConstraints, null, pool, TIMEOUT)
+      .findBestInsertion(trip, positions, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+
+    assertNotNull(sequential);
+    assertNotNull(pooled);
+    assertEquals(sequential.pickupPosition(), pooled.pickupPosition());
+    assertEquals(sequential.dropoffPosition(), pooled.dropoffPosition());
+    assertEquals(sequential.totalDuration(), pooled.totalDuration());
+  }
+
+  @Test
+  void findBestInsertion_pooled_routesEachSegmentOnce() {
+    var trip = createTripWithStops(OSLO_CENTER, List.of(createStopAt(0, OSLO_EAST)), OSLO_NORTH);
+    var positions = positionFinder.findViablePositions(trip, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+
+    Set<String> routed = ConcurrentHashMap.newKeySet();
+    Set<String> duplicates = ConcurrentHashMap.newKeySet();
+    RoutingFunction routingFunction = (from, to, linkingContext) -> {
+      var key = from.getCoordinate() + " → " + to.getCoordinate();
+      if (!routed.add(key)) {
+        duplicates.add(key);
+      }
+      return routeByDistance(from, to, linkingContext);
+    };
+
+    var evaluator = new InsertionEvaluator(routingFunction, delayConstraints, null, pool, TIMEOUT);
+    evaluator.findBestInsertion(trip, positions, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+    // Evaluating the same trip again is served from the cache
+    evaluator.findBestInsertion(trip, positions, OSLO_MIDPOINT_NORTH, OSLO_NORTHEAST);
+
+    assertTrue(duplicates.isEmpty(), "Segments routed more than once: " + duplicates);
+    assertEquals(routed.size(), evaluator.routedSegmentCount());
+  }
+
+  @Test
+  void findBestInsertion_pooled_exceedsDeviationBudget_returnsNull() {
+    var trip = createTripWithDeviationBudget(Duration.ofMinutes(5), OSLO_CENTER, OSLO_NORTH);
+    var positions = positionFinder.findViablePositions(trip, OSLO_EAST, OSLO_WEST);
+    var mockPath = createGraphPath(Duration.ofMinutes(20));
+
+    var evaluator = new InsertionEvaluator(
+      (from, to, linkingContext) -> mockPath,
+      delayConstraints,
+      null,
+      pool,
+      TIMEOUT
+    );
+
+    assertNull(evaluator.findBestInsertion(trip, positions, OSLO_EAST, OSLO_WEST));
+  }
+
+  @Test
+  void findBestInsertion_pooled_baselineRoutingFails_returnsNull() {
+    var trip = createSimpleTrip(OSLO_CENTER, OSLO_NORTH);
+    var positions = List.of(new InsertionPosition(1, 2));
+
+    var evaluator = new InsertionEvaluator(
+      (from, to, linkingContext) -> null,
+      delayConstraints,
+      null,
+      pool,
+      TIMEOUT
+    );
+
+    assertNull(evaluator.findBestInsertion(trip, positions, OSLO_EAST, OSLO_WEST));
+  }
+
+  @Test
+  void findBestInsertion_pooled_timeout_cancelsRouting() {
+    var trip = createSimpleTrip(OSLO_CENTER, OSLO_NORTH);
+    var positions = List.of(new InsertionPosition(1, 2));
+    var interrupted = new CountDownLatch(1);
+
+    var evaluator = new InsertionEvaluator(
+      (from, to, linkingContext) -> {
+        try {
+          Thread.sleep(Duration.ofMinutes(1));
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+        return null;
+      },
+      delayConstraints,
+      null,
+      pool,
+      Duration.ofMillis(50)
+    );
+
+    assertThrows(OTPRequestTimeoutException.class, () ->
+      evaluator.findBestInsertion(trip, positions, OSLO_EAST, OSLO_WEST)
+    );
+    assertDoesNotThrow(() -> assertTrue(interrupted.await(10, TimeUnit.SECONDS)));
+  }
+
+  @Test
+  void findBestInsertion_sequential_doesNotTrackSegments() {
+    var evaluator = new InsertionEvaluator(
+      InsertionEvaluatorTest::routeByDistance,
+      delayConstraints,
+      null
+    );
+    assertEquals(-1, evaluator.routedSegmentCount());
+  }
+
+  /**
+   * Deterministic routing function where the duration is proportional to the beeline distance,
+   * so different segments get different durations.
+   */
+  private static GraphPath<State, Edge, Vertex> routeByDistance(
+    GenericLocation from,
+    GenericLocation to,
+    LinkingContext linkingContext
+  ) {
+    var distance = new WgsCoordinate(from.getCoordinate()).distanceTo(
+      new WgsCoordinate(to.getCoordinate())
+    );
+    return createGraphPath(Duration.ofSeconds(60 + (long) (distance / 10.0)));
+  }
 }
@@ -0,0 +1,109 @@
+package org.opentripplanner.graph_builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.graph_builder.GraphBuilderModuleScheduler.Resource.STREETS;
+import static org.opentripplanner.graph_builder.GraphBuilderModuleScheduler.Resource.TRANSIT;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GraphBuilderModuleSchedulerTest {
+
+  private final GraphBuilderModuleScheduler subject = new GraphBuilderModuleScheduler();
+  private final List<String> events = new CopyOnWriteArrayList<>();
+
+  @Test
+  void dependencies() {
+    subject.add(() -> {}, Set.of(STREETS));
+    subject.add(() -> {}, Set.of(TRANSIT));
+    subject.add(() -> {}, Set.of(TRANSIT));
+    subject.add(() -> {});
+    subject.add(() -> {}, Set.of(STREETS));
+
+    assertEquals(List.of(), subject.dependencies(0));
+    assertEquals(List.of(), subject.dependencies(1));
+    assertEquals(List.of(1), subject.dependencies(2));
+    assertEquals(List.of(0, 1, 2), subject.dependencies(3));
+    assertEquals(List.of(0, 3), subject.dependencies(4));
+  }
+
+  @Test
+  void modulesChangingTheWholeModelRunInOrder() {
+    for (int i = 0; i < 5; ++i) {
+      var name = "M" + i;
+      subject.add(() -> events.add(name));
+    }
+
+    subject.run();
+
+    assertEquals(List.of("M0", "M1", "M2", "M3", "M4"), events);
+    assertEquals(5, subject.profiles().size());
+  }
+
+  @Test
+  void modulesChangingDifferentPartsOfTheModelRunConcurrently() {
+    var transitStarted = new CountDownLatch(1);
+    subject.add(
+      () -> {
+        try {
+          // Without concurrency this times out, since the transit module has not started
+          assertTrue(transitStarted.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        events.add("streets");
+      },
+      Set.of(STREETS)
+    );
+    subject.add(
+      () -> {
+        transitStarted.countDown();
+        events.add("transit");
+      },
+      Set.of(TRANSIT)
+    );
+    subject.add(() -> events.add("linking"));
+
+    subject.run();
+
+    assertEquals(List.of("transit", "streets", "linking"), events);
+  }
+
+  @Test
+  void failingModule() {
+    var error = new IllegalArgumentException("Bad input");
+    subject.add(
+      () -> {
+        throw error;
+      },
+      Set.of(TRANSIT)
+    );
+    subject.add(() -> events.add("streets"), Set.of(STREETS));
+    subject.add(() -> events.add("linking"));
+
+    var ex = assertThrows(IllegalArgumentException.class, subject::run);
+
+    assertSame(error, ex);
+    assertEquals(List.of("streets"), events);
+    assertEquals(1, subject.profiles().size());
+  }
+
+  @Test
+  void profilesAsTable() {
+    subject.add(() -> {});
+
+    subject.run();
+
+    var table = subject.profilesAsTable();
+    assertTrue(table.contains("Module"), table);
+    assertTrue(table.contains("Heap used"), table);
+    assertTrue(table.contains(" MB"), table);
+  }
+}
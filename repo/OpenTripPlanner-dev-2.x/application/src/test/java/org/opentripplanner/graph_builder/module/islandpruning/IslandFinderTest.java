@@ -0,0 +1,266 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.StreetTransitStopLink;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.SiteRepository;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+/**
+ * Test that the {@link IslandFinder} finds the same islands as the breadth-first traversal it
+ * replaced, see {@link LegacyIslandFinder}, and that pruning the islands of all modes found up
+ * front gives the same graph as finding the islands of each mode after the previous mode is
+ * pruned.
+ */
+class IslandFinderTest {
+
+  private static final int THRESHOLD_WITHOUT_STOPS = 5;
+  private static final int THRESHOLD_WITH_STOPS = 4;
+
+  /** Large enough to return all islands except the largest as small islands. */
+  private static final double ALL_ISLANDS = 1000;
+
+  /** The modes in the order they are pruned. */
+  private static final List<TraverseMode> MODES = List.of(
+    TraverseMode.BICYCLE,
+    TraverseMode.WALK,
+    TraverseMode.CAR
+  );
+
+  private static final List<TraverseMode> NO_THRU_MODES = List.of(
+    TraverseMode.WALK,
+    TraverseMode.BICYCLE,
+    TraverseMode.CAR
+  );
+
+  @ParameterizedTest
+  @EnumSource(value = TraverseMode.class, names = { "WALK", "BICYCLE", "CAR" })
+  void findTheSameIslandsAsTheLegacyTraversal(TraverseMode mode) {
+    var graph = buildGraph();
+
+    var subject = new IslandFinder(
+      new VertexIndex(graph.getVertices()),
+      mode,
+      ALL_ISLANDS,
+      ALL_ISLANDS
+    ).find();
+    var expected = new LegacyIslandFinder(graph, mode, ALL_ISLANDS, ALL_ISLANDS);
+
+    assertIslands(expected.extendedIslands(), subject.extendedIslands());
+    assertIslands(expected.islands(), subject.islands());
+  }
+
+  @Test
+  void pruneTheSameAsTheLegacyTraversal() {
+    var graph = buildGraph();
+    pruneIslands(graph).buildGraph();
+
+    // Find the islands of each mode after the previous mode is pruned, like before
+    var expectedGraph = buildGraph();
+    var legacy = pruneIslands(expectedGraph);
+    for (var mode : MODES) {
+      var islands = new LegacyIslandFinder(
+        expectedGraph,
+        mode,
+        THRESHOLD_WITH_STOPS,
+        THRESHOLD_WITHOUT_STOPS
+      );
+      legacy.pruneIslands(mode, islands.extendedIslands(), islands.islands());
+    }
+
+    assertEquals(describeEdges(expectedGraph), describeEdges(graph));
+
+    // Make sure the graph has islands of each kind, so the comparison is not trivial
+    var edges = describeEdges(graph);
+    assertFalse(hasEdge(edges, "I1a_I1b"), "Island with a stop is removed");
+    assertFalse(hasEdge(edges, "S_I1"), "Stop on a pruned island is unlinked");
+    assertTrue(hasEdge(edges, "S_MAIN"), "Stop on the main graph is kept");
+    assertFalse(hasEdge(edges, "W1_W2"), "Walk-only island is removed");
+    assertFalse(hasEdge(edges, "C1_C2"), "Car-only island is removed");
+    assertTrue(edges.contains("C1_M03 PEDESTRIAN"), "Walk access to car-only island is kept");
+    assertTrue(edges.contains("P1_P2 ALL noThru: WALK BICYCLE CAR"), "Island behind noThru");
+  }
+
+  /**
+   * <pre>
+   *   M00 - M01 - M02 - M03 -(walk)- C1 =(car)= C2 -(walk)- M13
+   *    |     |     |     |
+   *   M10 - M11 - M12 - M13 -(noThru)- P1 - P2
+   *    |     |     |     |
+   *   M20 - M21 - M22 - M23 -(noThru)- N1
+   *                |
+   *              S_MAIN       I1a - I1b - I1c - S_I1       W1 -(walk)- W2
+   * </pre>
+   */
+  private static Graph buildGraph() {
+    var graph = new Graph();
+    var m = new StreetVertex[3][4];
+    for (int row = 0; row < 3; ++row) {
+      for (int col = 0; col < 4; ++col) {
+        m[row][col] = vertex(graph, "M" + row + col, row, col);
+        if (col > 0) {
+          street(m[row][col - 1], m[row][col], StreetTraversalPermission.ALL);
+        }
+        if (row > 0) {
+          street(m[row - 1][col], m[row][col], StreetTraversalPermission.ALL);
+        }
+      }
+    }
+    link(graph, "S_MAIN", m[2][2]);
+
+    // Only reachable by car through the noThru edges, but walk to and from the main graph
+    var c1 = vertex(graph, "C1", -1, 3);
+    var c2 = vertex(graph, "C2", -1, 4);
+    street(c1, c2, StreetTraversalPermission.CAR);
+    street(c1, m[0][3], StreetTraversalPermission.PEDESTRIAN);
+    street(c2, m[1][3], StreetTraversalPermission.PEDESTRIAN);
+
+    // Islands only reachable through noThru edges
+    var p1 = vertex(graph, "P1", 1, 5);
+    var p2 = vertex(graph, "P2", 1, 6);
+    street(p1, p2, StreetTraversalPermission.ALL);
+    noThruStreet(m[1][3], p1);
+    var n1 = vertex(graph, "N1", 2, 5);
+    noThruStreet(m[2][3], n1);
+
+    // A disconnected island with a stop, reachable by car
+    var i1a = vertex(graph, "I1a", 5, 0);
+    var i1b = vertex(graph, "I1b", 5, 1);
+    var i1c = vertex(graph, "I1c", 5, 2);
+    street(i1a, i1b, StreetTraversalPermission.ALL);
+    street(i1b, i1c, StreetTraversalPermission.ALL);
+    link(graph, "S_I1", i1a);
+
+    // A disconnected walk-only island
+    var w1 = vertex(graph, "W1", 5, 5);
+    var w2 = vertex(graph, "W2", 5, 6);
+    street(w1, w2, StreetTraversalPermission.PEDESTRIAN);
+
+    return graph;
+  }
+
+  private static PruneIslands pruneIslands(Graph graph) {
+    var pruneIslands = new PruneIslands(
+      graph,
+      new TimetableRepository(new SiteRepository(), new Deduplicator()),
+      DataImportIssueStore.NOOP,
+      null
+    );
+    pruneIslands.setPruningThresholdIslandWithoutStops(THRESHOLD_WITHOUT_STOPS);
+    pruneIslands.setPruningThresholdIslandWithStops(THRESHOLD_WITH_STOPS);
+    pruneIslands.setAdaptivePruningFactor(1.0);
+    pruneIslands.setAdaptivePruningDistance(250);
+    return pruneIslands;
+  }
+
+  private static StreetVertex vertex(Graph graph, String label, int row, int col) {
+    var vertex = StreetModelForTest.intersectionVertex(
+      label,
+      60.0 - row * 0.001,
+      10.0 + col * 0.001
+    );
+    graph.addVertex(vertex);
+    return vertex;
+  }
+
+  private static void street(StreetVertex a, StreetVertex b, StreetTraversalPermission perm) {
+    StreetModelForTest.streetEdge(a, b, 100, perm);
+    StreetModelForTest.streetEdge(b, a, 100, perm);
+  }
+
+  private static void noThruStreet(StreetVertex a, StreetVertex b) {
+    noThruEdge(a, b);
+    noThruEdge(b, a);
+  }
+
+  private static void noThruEdge(StreetVertex from, StreetVertex to) {
+    StreetModelForTest.streetEdgeBuilder(from, to, 100, StreetTraversalPermission.ALL)
+      .withWalkNoThruTraffic(true)
+      .withBicycleNoThruTraffic(true)
+      .withMotorVehicleNoThruTraffic(true)
+      .buildAndConnect();
+  }
+
+  private static void link(Graph graph, String stopId, StreetVertex street) {
+    var stop = TransitStopVertex.of()
+      .withId(id(stopId))
+      .withPoint(GeometryUtils.getGeometryFactory().createPoint(street.getCoordinate()))
+      .build();
+    graph.addVertex(stop);
+    StreetTransitStopLink.createStreetTransitStopLink(street, stop);
+    StreetTransitStopLink.createStreetTransitStopLink(stop, street);
+  }
+
+  private static void assertIslands(IslandFinder.Islands expected, IslandFinder.Islands actual) {
+    assertEquals(expected.count(), actual.count());
+    assertEquals(expected.withStopsCount(), actual.withStopsCount());
+    assertEquals(labels(expected.smallIslands()), labels(actual.smallIslands()));
+  }
+
+  private static List<Set<String>> labels(List<Subgraph> islands) {
+    var result = new ArrayList<Set<String>>();
+    for (var island : islands) {
+      var labels = new TreeSet<String>();
+      addLabels(island.streetIterator(), labels);
+      addLabels(island.stopIterator(), labels);
+      result.add(labels);
+    }
+    return result;
+  }
+
+  private static void addLabels(Iterator<? extends Vertex> vertices, Set<String> labels) {
+    vertices.forEachRemaining(v -> labels.add(v.getLabelString()));
+  }
+
+  /**
+   * Describe the permission and the noThruTraffic modes of each street edge, and the stop links.
+   */
+  private static Set<String> describeEdges(Graph graph) {
+    var result = new TreeSet<String>();
+    for (Vertex vertex : graph.getVertices()) {
+      for (Edge edge : vertex.getOutgoing()) {
+        if (edge instanceof StreetEdge se) {
+          var noThru = new StringBuilder();
+          for (var mode : NO_THRU_MODES) {
+            if (se.isNoThruTraffic(mode)) {
+              noThru.append(' ').append(mode);
+            }
+          }
+          result.add(
+            se.getName() + " " + se.getPermission() + (noThru.isEmpty() ? "" : " noThru:" + noThru)
+          );
+        } else {
+          result.add(edge.getFromVertex().getLabel() + "->" + edge.getToVertex().getLabel());
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean hasEdge(Set<String> edges, String label) {
+    return edges.stream().anyMatch(edge -> edge.contains(label));
+  }
+}
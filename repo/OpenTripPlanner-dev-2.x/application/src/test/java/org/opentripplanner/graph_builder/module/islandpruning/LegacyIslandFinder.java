@@ -0,0 +1,199 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * The island detection of {@link PruneIslands} before it was replaced by the
+ * {@link IslandFinder}. It finds the islands with breadth-first searches over a map of the
+ * neighbours of each vertex. It is kept as the reference the {@link IslandFinder} is tested
+ * against, see {@link IslandFinderTest}.
+ */
+class LegacyIslandFinder {
+
+  private final Graph graph;
+  private final TraverseMode traverseMode;
+  private final double maxStreetSizeWithStops;
+  private final double maxStreetSizeWithoutStops;
+
+  private final List<Subgraph> extendedIslands = new ArrayList<>();
+  private final List<Subgraph> islands = new ArrayList<>();
+
+  LegacyIslandFinder(
+    Graph graph,
+    TraverseMode traverseMode,
+    double maxStreetSizeWithStops,
+    double maxStreetSizeWithoutStops
+  ) {
+    this.graph = graph;
+    this.traverseMode = traverseMode;
+    this.maxStreetSizeWithStops = maxStreetSizeWithStops;
+    this.maxStreetSizeWithoutStops = maxStreetSizeWithoutStops;
+    find();
+  }
+
+  IslandFinder.Islands extendedIslands() {
+    return toIslands(extendedIslands);
+  }
+
+  IslandFinder.Islands islands() {
+    return toIslands(islands);
+  }
+
+  private void find() {
+    Map<Vertex, Subgraph> subgraphs = new HashMap<>();
+    Map<Vertex, Subgraph> extgraphs = new HashMap<>();
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex = new HashMap<>();
+
+    collectNeighbourVertices(neighborsForVertex, false);
+    collectSubGraphs(neighborsForVertex, subgraphs, null, null);
+
+    collectNeighbourVertices(neighborsForVertex, true);
+    collectSubGraphs(neighborsForVertex, extgraphs, null, extendedIslands);
+
+    extgraphs = new HashMap<>();
+    collectSubGraphs(neighborsForVertex, extgraphs, subgraphs, islands);
+    collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
+  }
+
+  /**
+   * Select the islands small enough to be pruned, like {@code PruneIslands.processIslands} did.
+   */
+  private IslandFinder.Islands toIslands(List<Subgraph> all) {
+    Subgraph largest = null;
+    int maxSize = 0;
+    for (Subgraph island : all) {
+      if (island.streetSize() >= maxSize) {
+        maxSize = island.streetSize();
+        largest = island;
+      }
+    }
+    int withStopsCount = 0;
+    var small = new ArrayList<Subgraph>();
+    for (Subgraph island : all) {
+      if (island == largest) {
+        continue;
+      }
+      if (island.stopSize() > 0) {
+        ++withStopsCount;
+      }
+      double maxStreetSize = island.stopSize() > 0
+        ? maxStreetSizeWithStops
+        : maxStreetSizeWithoutStops;
+      if (island.streetSize() < maxStreetSize) {
+        small.add(island);
+      }
+    }
+    return new IslandFinder.Islands(all.size(), withStopsCount, small);
+  }
+
+  private void collectNeighbourVertices(
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    boolean shouldMatchNoThruType
+  ) {
+    StreetMode streetMode = switch (traverseMode) {
+      case WALK -> StreetMode.WALK;
+      case BICYCLE -> StreetMode.BIKE;
+      case CAR -> StreetMode.CAR;
+      default -> throw new IllegalArgumentException();
+    };
+
+    StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
+
+    for (Vertex gv : graph.getVertices()) {
+      if (!(gv instanceof StreetVertex)) {
+        continue;
+      }
+      State s0 = new State(gv, request);
+      for (Edge e : gv.getOutgoing()) {
+        if (
+          e instanceof StreetEdge &&
+          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
+        ) {
+          continue;
+        }
+        State[] states = e.traverse(s0);
+        if (State.isEmpty(states)) {
+          continue;
+        }
+        Arrays.stream(states)
+          .map(State::getVertex)
+          .forEach(out -> {
+            neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>()).add(out);
+            neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>()).add(gv);
+          });
+      }
+    }
+  }
+
+  private void collectSubGraphs(
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    Map<Vertex, Subgraph> newgraphs,
+    Map<Vertex, Subgraph> subgraphs,
+    List<Subgraph> islands
+  ) {
+    for (Vertex gv : graph.getVertices()) {
+      if (!(gv instanceof StreetVertex)) {
+        continue;
+      }
+      if (subgraphs != null && !subgraphs.containsKey(gv)) {
+        continue;
+      }
+      if (newgraphs.containsKey(gv) || !neighborsForVertex.containsKey(gv)) {
+        continue;
+      }
+      Subgraph subgraph = computeConnectedSubgraph(neighborsForVertex, gv, subgraphs, newgraphs);
+      for (Iterator<Vertex> vIter = subgraph.streetIterator(); vIter.hasNext();) {
+        newgraphs.put(vIter.next(), subgraph);
+      }
+      if (islands != null) {
+        islands.add(subgraph);
+      }
+    }
+  }
+
+  private static Subgraph computeConnectedSubgraph(
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    Vertex startVertex,
+    Map<Vertex, Subgraph> anchors,
+    Map<Vertex, Subgraph> alreadyMapped
+  ) {
+    Subgraph subgraph = new Subgraph();
+    Queue<Vertex> q = new LinkedList<>();
+    Subgraph anchor = anchors == null ? null : anchors.get(startVertex);
+
+    q.add(startVertex);
+    while (!q.isEmpty()) {
+      Vertex vertex = q.poll();
+      for (Vertex neighbor : neighborsForVertex.get(vertex)) {
+        if (!subgraph.contains(neighbor) && !alreadyMapped.containsKey(neighbor)) {
+          if (anchor != null) {
+            Subgraph compare = anchors.get(neighbor);
+            // do not enter a new island
+            if (compare != null && compare != anchor) {
+              continue;
+            }
+          }
+          subgraph.addVertex(neighbor);
+          q.add(neighbor);
+        }
+      }
+    }
+    return subgraph;
+  }
+}
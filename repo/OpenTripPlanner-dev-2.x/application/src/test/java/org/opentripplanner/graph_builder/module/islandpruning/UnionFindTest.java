@@ -0,0 +1,46 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class UnionFindTest {
+
+  @Test
+  void eachElementStartsInItsOwnSet() {
+    var subject = new UnionFind(3);
+    assertEquals(0, subject.find(0));
+    assertEquals(1, subject.find(1));
+    assertEquals(2, subject.find(2));
+  }
+
+  @Test
+  void union() {
+    var subject = new UnionFind(6);
+    assertTrue(subject.union(0, 1));
+    assertTrue(subject.union(2, 3));
+    assertTrue(subject.union(1, 3));
+    assertFalse(subject.union(0, 2));
+    assertTrue(subject.union(4, 5));
+
+    assertEquals(subject.find(0), subject.find(3));
+    assertEquals(subject.find(4), subject.find(5));
+    assertNotEquals(subject.find(0), subject.find(5));
+  }
+
+  @Test
+  void longChain() {
+    int size = 100_000;
+    var subject = new UnionFind(size);
+    for (int i = 1; i < size; ++i) {
+      subject.union(i - 1, i);
+    }
+    int root = subject.find(0);
+    for (int i = 0; i < size; ++i) {
+      assertEquals(root, subject.find(i));
+    }
+  }
+}
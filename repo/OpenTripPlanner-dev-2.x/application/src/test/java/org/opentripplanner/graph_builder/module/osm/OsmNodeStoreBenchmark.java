@@ -0,0 +1,107 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import com.sun.management.ThreadMXBean;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.LongFunction;
+import org.opentripplanner.graph_builder.module.osm.moduletests._support.TestOsmProvider;
+import org.opentripplanner.osm.OsmProvider;
+import org.opentripplanner.osm.model.OsmNode;
+
+/**
+ * Compare the heap retained by the untagged nodes of the {@link OsmDatabase}, when kept as
+ * objects in a hash map (as before the {@link OsmNodeStore}) and in the node store. The bytes
+ * allocated per lookup are measured by looking up the nodes of the segments of random ways, like
+ * the graph build does. This is not a unit test, run it manually with a fixed heap size, for
+ * example {@code -Xms4g -Xmx4g}:
+ * <pre>
+ * OsmNodeStoreBenchmark [nNodes]
+ * </pre>
+ */
+public class OsmNodeStoreBenchmark {
+
+  private static final OsmProvider PROVIDER = TestOsmProvider.of().build();
+  private static final int N_LOOKUPS = 10_000_000;
+  private static final int WAY_LENGTH = 10;
+
+  public static void main(String[] args) {
+    int nNodes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+    System.out.printf("OSM node store benchmark: %d nodes%n", nNodes);
+
+    long before = usedHeap();
+    TLongObjectMap<OsmNode> map = new TLongObjectHashMap<>();
+    for (long id = 0; id < nNodes; ++id) {
+      var node = node(id);
+      map.put(node.getId(), node);
+    }
+    print("Map", before, nNodes, map::get);
+    map = null;
+
+    before = usedHeap();
+    var store = new OsmNodeStore();
+    for (long id = 0; id < nNodes; ++id) {
+      store.put(node(id));
+    }
+    store.compact();
+    print("Store", before, nNodes, store::get);
+  }
+
+  /**
+   * The nodes are reachable through the lookup function, so they are retained when the heap is
+   * measured.
+   */
+  private static void print(String name, long heapBefore, int nNodes, LongFunction<OsmNode> get) {
+    long heap = usedHeap() - heapBefore;
+    long bytes = allocatedBytes();
+    lookupWays(get, nNodes);
+    bytes = allocatedBytes() - bytes;
+
+    System.out.printf(
+      "%-6s retained %6d MB %6.1f bytes/node, lookup %5.1f bytes/get%n",
+      name,
+      heap / (1024 * 1024),
+      (double) heap / nNodes,
+      (double) bytes / N_LOOKUPS
+    );
+  }
+
+  /**
+   * Look up the nodes of the segments of random ways, each node except the first and last is
+   * looked up twice in a row.
+   */
+  private static void lookupWays(LongFunction<OsmNode> get, int nNodes) {
+    var random = new Random(42);
+    double sum = 0;
+    for (int i = 0; i < N_LOOKUPS; i += 2 * (WAY_LENGTH - 1)) {
+      long start = random.nextInt(nNodes - WAY_LENGTH);
+      for (long id = start; id < start + WAY_LENGTH - 1; ++id) {
+        sum += get.apply(id).lat + get.apply(id + 1).lat;
+      }
+    }
+    if (sum < 0) {
+      throw new IllegalStateException();
+    }
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+    }
+    var runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static long allocatedBytes() {
+    return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+  }
+
+  private static OsmNode node(long id) {
+    var node = new OsmNode(59.0 + id * 1e-7, 10.0 + id * 1e-7);
+    node.setId(id);
+    node.setOsmProvider(PROVIDER);
+    return node;
+  }
+}
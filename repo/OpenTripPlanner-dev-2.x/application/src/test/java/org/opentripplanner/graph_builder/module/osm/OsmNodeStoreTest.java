@@ -0,0 +1,159 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.graph_builder.module.osm.moduletests._support.TestOsmProvider;
+import org.opentripplanner.osm.OsmProvider;
+import org.opentripplanner.osm.model.OsmNode;
+
+class OsmNodeStoreTest {
+
+  private static final OsmProvider PROVIDER_A = TestOsmProvider.of().build();
+  private static final OsmProvider PROVIDER_B = TestOsmProvider.of().build();
+
+  private final OsmNodeStore subject = new OsmNodeStore();
+
+  @Test
+  void getNodesAddedInOrder() {
+    for (long id = 1; id <= 3000; ++id) {
+      subject.put(node(id, PROVIDER_A));
+    }
+    assertEquals(3000, subject.size());
+    assertEquals(0, subject.objectCount());
+    assertNode(1, PROVIDER_A);
+    assertNode(1500, PROVIDER_A);
+    assertNode(3000, PROVIDER_A);
+    assertNull(subject.get(0));
+    assertNull(subject.get(3001));
+  }
+
+  @Test
+  void getNodesAddedOutOfOrder() {
+    for (long id = 1000; id < 2000; ++id) {
+      subject.put(node(id, PROVIDER_A));
+    }
+    // A second file with overlapping ids, duplicates are ignored
+    for (long id = 0; id < 3000; id += 3) {
+      subject.put(node(id, PROVIDER_B));
+    }
+    assertNodes();
+    subject.compact();
+    assertNodes();
+
+    // The store can still be used after it is compacted
+    subject.put(node(-5, PROVIDER_B));
+    subject.put(node(5000, PROVIDER_B));
+    assertNode(-5, PROVIDER_B);
+    assertNode(5000, PROVIDER_B);
+    assertNodes();
+  }
+
+  @Test
+  void keepTaggedNodesAsObjects() {
+    var tagged = node(7, PROVIDER_A);
+    tagged.addTag("highway", "traffic_signals");
+    subject.put(node(6, PROVIDER_A));
+    subject.put(tagged);
+    subject.put(node(8, PROVIDER_A));
+
+    assertSame(tagged, subject.get(7));
+    assertEquals(1, subject.objectCount());
+    assertEquals(3, subject.size());
+  }
+
+  @Test
+  void repeatedLookupsReturnTheSameNode() {
+    subject.put(node(1, PROVIDER_A));
+    subject.put(node(2, PROVIDER_A));
+
+    assertSame(subject.get(1), subject.get(1));
+    assertNotSame(subject.get(1), subject.get(2));
+  }
+
+  @Test
+  void storedNodesAreEqualById() {
+    // Nodes far apart in the arrays replace each other in the node cache
+    for (long id = 0; id <= 10_000; ++id) {
+      subject.put(node(id, PROVIDER_A));
+    }
+    var node = subject.get(1);
+    subject.get(1 + 8192);
+    var other = subject.get(1);
+
+    assertNotSame(node, other);
+    assertEquals(node, other);
+    assertEquals(node.hashCode(), other.hashCode());
+    assertNotEquals(node, subject.get(2));
+  }
+
+  @Test
+  void keepTagsAddedToStoredNodes() {
+    for (long id = 0; id <= 10_000; ++id) {
+      subject.put(node(id, PROVIDER_A));
+    }
+    var node = subject.get(1);
+    node.addTag("highway", "crossing");
+    // Evict the node from the node cache
+    subject.get(1 + 8192);
+
+    assertSame(node, subject.get(1));
+    assertEquals("crossing", subject.get(1).getTag("highway"));
+    assertEquals(10_001, subject.size());
+    assertEquals(1, subject.objectCount());
+
+    // Tags added to another node with the same id are kept too
+    var copy = subject.get(2);
+    subject.get(2 + 8192);
+    var other = subject.get(2);
+    copy.addTag("barrier", "gate");
+    other.addTag("access", "no");
+    assertEquals("gate", subject.get(2).getTag("barrier"));
+    assertEquals("no", subject.get(2).getTag("access"));
+    assertEquals(10_001, subject.size());
+
+    subject.compact();
+    assertSame(node, subject.get(1));
+    assertEquals(10_001, subject.size());
+  }
+
+  private void assertNodes() {
+    assertEquals(1000 + 667, subject.size());
+    assertNode(0, PROVIDER_B);
+    assertNode(999, PROVIDER_B);
+    assertNode(1002, PROVIDER_A);
+    assertNode(1999, PROVIDER_A);
+    assertNode(2001, PROVIDER_B);
+    assertNode(2997, PROVIDER_B);
+    assertFalse(subject.containsKey(2998));
+    assertNull(subject.get(2999));
+  }
+
+  private void assertNode(long id, OsmProvider provider) {
+    var node = subject.get(id);
+    assertEquals(id, node.getId());
+    assertEquals(lat(id), node.lat);
+    assertEquals(lon(id), node.lon);
+    assertSame(provider, node.getOsmProvider());
+  }
+
+  private static OsmNode node(long id, OsmProvider provider) {
+    var node = new OsmNode(lat(id), lon(id));
+    node.setId(id);
+    node.setOsmProvider(provider);
+    return node;
+  }
+
+  private static double lat(long id) {
+    return 59.0 + id / 10_000.0;
+  }
+
+  private static double lon(long id) {
+    return 10.0 - id / 10_000.0;
+  }
+}
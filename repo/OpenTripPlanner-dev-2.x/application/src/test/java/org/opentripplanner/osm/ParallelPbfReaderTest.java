@@ -0,0 +1,132 @@
+package org.opentripplanner.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.protobuf.ByteString;
+import crosby.binary.Fileformat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelPbfReaderTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final ParallelPbfReader subject = new ParallelPbfReader(executor, 3);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void decodeBlocksInFileOrder() throws IOException {
+    var expected = IntStream.range(0, 20).mapToObj(i -> "OSMData:block " + i).toList();
+    var file = new ByteArrayOutputStream();
+    for (int i = 0; i < 20; ++i) {
+      writeBlock(file, "OSMData", "block " + i, i % 2 == 0);
+    }
+
+    var result = new ArrayList<String>();
+    subject.read(
+      new ByteArrayInputStream(file.toByteArray()),
+      (type, data) -> {
+        var text = new String(data, StandardCharsets.UTF_8);
+        // The first blocks take the longest to decode
+        sleep(20 - Integer.parseInt(text.substring(6)));
+        return type + ":" + text;
+      },
+      result::add
+    );
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void readEmptyFile() throws IOException {
+    var result = new ArrayList<String>();
+    subject.read(new ByteArrayInputStream(new byte[0]), (type, data) -> type, result::add);
+    assertEquals(List.of(), result);
+  }
+
+  @Test
+  void decodeFailureIsThrownInCallingThread() throws IOException {
+    var file = new ByteArrayOutputStream();
+    writeBlock(file, "OSMHeader", "header", false);
+    writeBlock(file, "OSMData", "data", true);
+
+    var ex = assertThrows(IllegalStateException.class, () ->
+      subject.read(
+        new ByteArrayInputStream(file.toByteArray()),
+        (type, data) -> {
+          if (type.equals("OSMData")) {
+            throw new IllegalStateException("Expected failure");
+          }
+          return type;
+        },
+        type -> {}
+      )
+    );
+    assertEquals("Expected failure", ex.getMessage());
+  }
+
+  @Test
+  void truncatedFile() throws IOException {
+    var file = new ByteArrayOutputStream();
+    writeBlock(file, "OSMData", "data", true);
+    var bytes = file.toByteArray();
+    var truncated = new ByteArrayInputStream(bytes, 0, bytes.length - 2);
+
+    assertThrows(IOException.class, () -> subject.read(truncated, (type, data) -> type, t -> {}));
+  }
+
+  private static void writeBlock(
+    ByteArrayOutputStream file,
+    String type,
+    String content,
+    boolean compress
+  ) throws IOException {
+    var raw = content.getBytes(StandardCharsets.UTF_8);
+    var blob = Fileformat.Blob.newBuilder().setRawSize(raw.length);
+    if (compress) {
+      var deflater = new Deflater();
+      deflater.setInput(raw);
+      deflater.finish();
+      var buffer = new byte[raw.length + 64];
+      int size = deflater.deflate(buffer);
+      deflater.end();
+      blob.setZlibData(ByteString.copyFrom(buffer, 0, size));
+    } else {
+      blob.setRaw(ByteString.copyFrom(raw));
+    }
+    var blobBytes = blob.build().toByteArray();
+    var header = Fileformat.BlobHeader.newBuilder()
+      .setType(type)
+      .setDatasize(blobBytes.length)
+      .build()
+      .toByteArray();
+
+    var out = new DataOutputStream(file);
+    out.writeInt(header.length);
+    out.write(header);
+    out.write(blobBytes);
+    out.flush();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -13,6 +13,7 @@ import static org.opentripplanner.routing.api.request.preference.ItineraryFilter
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -281,6 +282,23 @@ class ItineraryListFilterChainTest implements PlanTestConstants {
     assertEquals("I+C+C", state.get());
   }
 
+  @Test
+  void filterTimingSubscriber() {
+    var names = new ArrayList<String>();
+    ItineraryDecorator emissionDecorator = it -> it;
+    createBuilder(false, false, 10)
+      .withEmissions(emissionDecorator)
+      .withFilterTimingSubscriber((name, nanos) -> {
+        assertTrue(nanos >= 0);
+        names.add(name);
+      })
+      .build()
+      .filter(List.of(i1, i2));
+
+    assertTrue(names.contains("transit-vs-walk-filter"), names.toString());
+    assertTrue(names.getLast().startsWith("DecorateFilter("), names.toString());
+  }
+
   @Nested
   class MaxItinerariesBuilderTest {
 
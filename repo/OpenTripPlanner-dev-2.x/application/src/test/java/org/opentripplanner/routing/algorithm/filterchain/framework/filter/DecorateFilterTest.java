@@ -5,9 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.model.Cost;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.PlanTestConstants;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
@@ -16,6 +23,9 @@ class DecorateFilterTest implements ItineraryDecorator, PlanTestConstants {
 
   private static final Itinerary i1 = newItinerary(A, 6).walk(1, B).build();
   private static final Itinerary i2 = newItinerary(A).bicycle(6, 8, B).build();
+  private static final Itinerary i3 = newItinerary(A).bus(21, 6, 9, B).build();
+
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
 
   private Iterator<Itinerary> expectedQueue;
 
@@ -56,4 +66,91 @@ class DecorateFilterTest implements ItineraryDecorator, PlanTestConstants {
     new DecorateFilter(this).filter(input);
     assertTrue(!expectedQueue.hasNext(), "All elements are processed");
   }
+
+  @Test
+  void applyAllDecoratorsInOrder() {
+    ItineraryDecorator first = it -> withCost(it, 10);
+    ItineraryDecorator second = it -> withCost(it, it.generalizedCost() + 1);
+
+    var result = new DecorateFilter(List.of(first, second), null, Duration.ZERO).filter(
+      List.of(i1, i2)
+    );
+
+    assertEquals(List.of(11, 11), result.stream().map(Itinerary::generalizedCost).toList());
+  }
+
+  @Test
+  void decorateInParallel() {
+    var latch = new CountDownLatch(2);
+    ItineraryDecorator decorator = it -> {
+      // Both itineraries must be decorated at the same time for this to return
+      latch.countDown();
+      await(latch);
+      return withCost(it, 7);
+    };
+
+    var result = new DecorateFilter(List.of(decorator), EXECUTOR, Duration.ofSeconds(10)).filter(
+      List.of(i1, i2)
+    );
+
+    assertEquals(List.of(7, 7), result.stream().map(Itinerary::generalizedCost).toList());
+  }
+
+  @Test
+  void decorateInRequestThreadIfTheTimeBudgetIsExceeded() {
+    var testThread = Thread.currentThread();
+    var release = new CountDownLatch(1);
+    ItineraryDecorator decorator = it -> {
+      if (Thread.currentThread() != testThread) {
+        await(release);
+      }
+      return withCost(it, 7);
+    };
+
+    var result = new DecorateFilter(
+      List.of(decorator),
+      EXECUTOR,
+      Duration.ofMillis(100)
+    ).filter(List.of(i1, i2, i3));
+    release.countDown();
+
+    assertEquals(List.of(7, 7, 7), result.stream().map(Itinerary::generalizedCost).toList());
+  }
+
+  @Test
+  void decorateInRequestThreadIfThePoolIsBusy() {
+    var release = new CountDownLatch(1);
+    for (int i = 0; i < 2; ++i) {
+      EXECUTOR.execute(() -> await(release));
+    }
+
+    try {
+      var result = new DecorateFilter(
+        List.of(it -> withCost(it, 7)),
+        EXECUTOR,
+        Duration.ofSeconds(10)
+      ).filter(List.of(i1, i2, i3));
+
+      assertEquals(List.of(7, 7, 7), result.stream().map(Itinerary::generalizedCost).toList());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @AfterAll
+  static void shutdown() {
+    EXECUTOR.shutdownNow();
+  }
+
+  private static Itinerary withCost(Itinerary itinerary, int cost) {
+    return itinerary.copyOf().withGeneralizedCost(Cost.costOfSeconds(cost)).build();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
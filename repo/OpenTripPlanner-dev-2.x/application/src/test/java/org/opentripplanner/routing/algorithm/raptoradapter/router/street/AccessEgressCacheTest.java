@@ -0,0 +1,213 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.CachedAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.DefaultAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.RoutingAccessEgress;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.state.TestStateBuilder;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.site.RegularStop;
+
+class AccessEgressCacheTest {
+
+  private static final Duration MAX_DURATION = Duration.ofMinutes(20);
+  private static final GenericLocation A = new GenericLocation("A", null, 60.0, 10.0);
+  private static final GenericLocation B = GenericLocation.fromCoordinate(60.1, 10.1);
+  private static final RegularStop STOP = TimetableRepositoryForTest.of()
+    .stop("S1", 60.001, 10.0)
+    .build();
+
+  private final AccessEgressCache subject = new AccessEgressCache();
+  private int searches = 0;
+
+  @Nullable
+  private State lastState = null;
+
+  @Test
+  void shareSearchForSamePlace() {
+    var first = find(request(A, B), StreetMode.WALK, AccessEgressType.ACCESS);
+    // Same origin, the label does not matter
+    var second = find(
+      request(new GenericLocation("Other label", null, 60.0, 10.0), A),
+      StreetMode.WALK,
+      AccessEgressType.ACCESS
+    );
+    assertEquals(first, second);
+    assertEquals(1, searches);
+    assertEquals(1, subject.size());
+  }
+
+  @Test
+  void doNotShareSearchForDifferentKeys() {
+    find(request(A, B), StreetMode.WALK, AccessEgressType.ACCESS);
+    find(request(A, B), StreetMode.BIKE, AccessEgressType.ACCESS);
+    find(request(A, B), StreetMode.WALK, AccessEgressType.EGRESS);
+    find(request(B, A), StreetMode.WALK, AccessEgressType.ACCESS);
+    find(
+      request(A, B).copyOf().withPreferences(p -> p.withWalk(w -> w.withSpeed(2.0))).buildRequest(),
+      StreetMode.WALK,
+      AccessEgressType.ACCESS
+    );
+    assertEquals(5, searches);
+  }
+
+  @Test
+  void timeDependentModesAreNotCached() {
+    find(request(A, B), StreetMode.BIKE_RENTAL, AccessEgressType.ACCESS);
+    find(request(A, B), StreetMode.BIKE_RENTAL, AccessEgressType.ACCESS);
+    find(request(A, B), StreetMode.CAR_TO_PARK, AccessEgressType.ACCESS);
+    find(request(A, B), StreetMode.CAR_TO_PARK, AccessEgressType.ACCESS);
+    assertEquals(4, searches);
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void failedSearchIsNotCached() {
+    var request = request(A, B);
+    assertThrows(IllegalStateException.class, () ->
+      subject.findAccessEgresses(
+        request,
+        StreetMode.WALK,
+        AccessEgressType.ACCESS,
+        MAX_DURATION,
+        100,
+        () -> {
+          throw new IllegalStateException();
+        }
+      )
+    );
+    find(request, StreetMode.WALK, AccessEgressType.ACCESS);
+    assertEquals(1, searches);
+  }
+
+  @Test
+  void sharedCacheIsKeyedOnExactPlace() {
+    var cache = sharedCache(new AtomicLong());
+    find(cache, request(A, B), StreetMode.WALK);
+    find(cache, request(GenericLocation.fromCoordinate(60.0, 10.0), B), StreetMode.WALK);
+    assertEquals(1, searches);
+    // Less than a meter away, the street paths would start somewhere else
+    find(cache, request(GenericLocation.fromCoordinate(60.000002, 10.000002), B), StreetMode.WALK);
+    assertEquals(2, searches);
+  }
+
+  @Test
+  void sharedCacheIsClearedWhenStreetsChange() {
+    var streetVersion = new AtomicLong();
+    var cache = sharedCache(streetVersion);
+    find(cache, request(A, B), StreetMode.WALK);
+    find(cache, request(A, B), StreetMode.WALK);
+    assertEquals(1, searches);
+
+    streetVersion.incrementAndGet();
+    find(cache, request(A, B), StreetMode.WALK);
+    assertEquals(2, searches);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void carSearchIsCachedPerDepartureTime() {
+    var time = Instant.parse("2026-03-02T07:00:00Z");
+    find(request(A, B, time), StreetMode.CAR, AccessEgressType.ACCESS);
+    find(request(A, B, time), StreetMode.CAR, AccessEgressType.ACCESS);
+    assertEquals(1, searches);
+    find(request(A, B, time.plusSeconds(60)), StreetMode.CAR, AccessEgressType.ACCESS);
+    assertEquals(2, searches);
+
+    // Walking does not depend on the time of day
+    find(request(A, B, time), StreetMode.WALK, AccessEgressType.ACCESS);
+    find(request(A, B, time.plusSeconds(3600)), StreetMode.WALK, AccessEgressType.ACCESS);
+    assertEquals(3, searches);
+  }
+
+  @Test
+  void cacheDurationAndCostNotPath() {
+    var state = TestStateBuilder.ofWalking().streetEdge().streetEdge().stop(STOP).build();
+    lastState = state;
+
+    var first = find(request(A, B), StreetMode.WALK, AccessEgressType.ACCESS);
+    var second = find(request(A, B), StreetMode.WALK, AccessEgressType.ACCESS);
+    assertEquals(1, searches);
+
+    var searched = assertInstanceOf(DefaultAccessEgress.class, first.getFirst());
+    var cached = assertInstanceOf(CachedAccessEgress.class, second.getFirst());
+    assertEquals(searched.stop(), cached.stop());
+    assertEquals(searched.durationInSeconds(), cached.durationInSeconds());
+    assertEquals(searched.c1(), cached.c1());
+    assertEquals(searched.isWalkOnly(), cached.isWalkOnly());
+
+    // The path is only searched for when it is used, and only once, by repeating the search
+    // which filled the cache
+    assertSame(state, cached.getLastState());
+    assertSame(state, cached.getLastState());
+    assertEquals(2, searches);
+  }
+
+  private List<RoutingAccessEgress> find(
+    RouteRequest request,
+    StreetMode mode,
+    AccessEgressType type
+  ) {
+    return find(subject, request, mode, type);
+  }
+
+  private List<RoutingAccessEgress> find(
+    AccessEgressCache cache,
+    RouteRequest request,
+    StreetMode mode
+  ) {
+    return find(cache, request, mode, AccessEgressType.ACCESS);
+  }
+
+  private List<RoutingAccessEgress> find(
+    AccessEgressCache cache,
+    RouteRequest request,
+    StreetMode mode,
+    AccessEgressType type
+  ) {
+    return cache.findAccessEgresses(
+      request,
+      mode,
+      type,
+      MAX_DURATION,
+      100,
+      () -> {
+        ++searches;
+        return lastState == null
+          ? List.of()
+          : List.of(NearbyStop.nearbyStopForState(lastState, STOP));
+      }
+    );
+  }
+
+  private static AccessEgressCache sharedCache(AtomicLong streetVersion) {
+    return AccessEgressCache.ofShared(
+      new AccessEgressCacheParameters(Duration.ofMinutes(1), 100),
+      streetVersion::get,
+      null
+    );
+  }
+
+  private static RouteRequest request(GenericLocation from, GenericLocation to) {
+    return RouteRequest.of().withFrom(from).withTo(to).buildRequest();
+  }
+
+  private static RouteRequest request(GenericLocation from, GenericLocation to, Instant time) {
+    return RouteRequest.of().withFrom(from).withTo(to).withDateTime(time).buildRequest();
+  }
+}
@@ -0,0 +1,132 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+
+/**
+ * Compare the transfer indexes. For each index the heap retained by the cached index is measured
+ * after a request has visited all stops, this is what each cached transfer request costs after
+ * warm-up. Then the time and memory allocated when iterating over the transfers of all stops, like
+ * Raptor does in each round, is measured for a new request. The first pass creates the transfers
+ * of each stop, the following passes measure the iteration only. This is not a unit test, run it
+ * manually with a fixed heap size, for example {@code -Xms2g -Xmx2g}:
+ * <pre>
+ * RaptorTransferIndexBenchmark [nStops] [nTransfersPerStop]
+ * </pre>
+ */
+public class RaptorTransferIndexBenchmark {
+
+  private static final int ROUNDS = 20;
+
+  public static void main(String[] args) {
+    int nStops = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    int nTransfers = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    var transfers = TransfersByStop.of(createTransfers(new Random(42), nStops, nTransfers));
+    var request = StreetSearchRequest.of().withMode(StreetMode.WALK).build();
+
+    System.out.printf(
+      "Raptor transfer index benchmark: %d stops, %d transfers/stop%n",
+      nStops,
+      nTransfers
+    );
+    run("PreCached", transfers, t -> new PreCachedRaptorTransferIndex(t, request));
+    run("OnDemand", transfers, t ->
+      new OnDemandRaptorTransferIndex(t.transfersByStopIndex(), request)
+    );
+  }
+
+  private static void run(
+    String name,
+    TransfersByStop transfers,
+    Function<TransfersByStop, RaptorTransferIndex> indexFactory
+  ) {
+    int nStops = transfers.numberOfStops();
+
+    long heap = usedHeap();
+    var index = indexFactory.apply(transfers);
+    long nTransfers = iterateAll(index.forRequest(), nStops);
+    heap = usedHeap() - heap;
+
+    var requestIndex = index.forRequest();
+    long start = System.nanoTime();
+    long bytes = allocatedBytes();
+    iterateAll(requestIndex, nStops);
+    long firstNanos = System.nanoTime() - start;
+    long firstBytes = allocatedBytes() - bytes;
+
+    start = System.nanoTime();
+    bytes = allocatedBytes();
+    long nIterated = 0;
+    for (int i = 0; i < ROUNDS; ++i) {
+      nIterated += iterateAll(requestIndex, nStops);
+    }
+    long nanos = System.nanoTime() - start;
+    bytes = allocatedBytes() - bytes;
+
+    System.out.printf(
+      "%-10s cached index %5d KB %5.1f bytes/transfer, request first pass %5d ms %7d KB, " +
+      "then %5.1f ns/transfer %5.1f bytes/transfer%n",
+      name,
+      heap / 1024,
+      (double) heap / nTransfers,
+      firstNanos / 1_000_000,
+      firstBytes / 1024,
+      (double) nanos / nIterated,
+      (double) bytes / nIterated
+    );
+  }
+
+  /**
+   * Iterate over the forward and reversed transfers of all stops, and return the number of
+   * transfers.
+   */
+  private static long iterateAll(RaptorTransferIndex index, int nStops) {
+    long n = 0;
+    long sum = 0;
+    for (int stop = 0; stop < nStops; ++stop) {
+      for (var it = index.getForwardTransfers(stop).iterator(); it.hasNext(); ++n) {
+        sum += it.next().durationInSeconds();
+      }
+      for (var it = index.getReversedTransfers(stop).iterator(); it.hasNext(); ++n) {
+        sum += it.next().durationInSeconds();
+      }
+    }
+    if (sum < 0) {
+      throw new IllegalStateException();
+    }
+    return n;
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+    }
+    var runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static long allocatedBytes() {
+    return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+  }
+
+  private static List<List<Transfer>> createTransfers(Random random, int nStops, int nTransfers) {
+    var modes = EnumSet.of(StreetMode.WALK, StreetMode.BIKE);
+    var result = new ArrayList<List<Transfer>>(nStops);
+    for (int stop = 0; stop < nStops; ++stop) {
+      var transfers = new ArrayList<Transfer>(nTransfers);
+      for (int i = 0; i < nTransfers; ++i) {
+        transfers.add(new Transfer(random.nextInt(nStops), 50 + random.nextInt(1000), modes));
+      }
+      result.add(transfers);
+    }
+    return result;
+  }
+}
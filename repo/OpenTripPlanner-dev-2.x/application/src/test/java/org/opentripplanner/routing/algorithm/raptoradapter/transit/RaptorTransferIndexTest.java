@@ -99,15 +99,43 @@ class RaptorTransferIndexTest {
     });
   }
 
+  @Test
+  void transfersAreCreatedOncePerStop() {
+    var streetSearchRequest = StreetSearchRequest.of().withMode(WALK).build();
+    performTestOnBothImplementations(streetSearchRequest, index -> {
+      var requestIndex = index.forRequest();
+      assertThat(requestIndex.getForwardTransfers(0)).isSameInstanceAs(
+        requestIndex.getForwardTransfers(0)
+      );
+      assertThat(requestIndex.getReversedTransfers(2)).isSameInstanceAs(
+        requestIndex.getReversedTransfers(2)
+      );
+    });
+  }
+
+  @Test
+  void preCachedTransfersAreCreatedPerRequest() {
+    var streetSearchRequest = StreetSearchRequest.of().withMode(WALK).build();
+    var index = new PreCachedRaptorTransferIndex(TransfersByStop.of(DATA), streetSearchRequest);
+
+    var first = index.forRequest();
+    var second = index.forRequest();
+    assertThat(second.getForwardTransfers(0)).isNotSameInstanceAs(first.getForwardTransfers(0));
+    assertThat(second.getForwardTransfers(0)).containsExactlyElementsIn(
+      first.getForwardTransfers(0)
+    );
+  }
+
   private void performTestOnBothImplementations(
     StreetSearchRequest streetSearchRequest,
     Consumer<RaptorTransferIndex> verifier
   ) {
     for (var index : List.of(
-      RaptorTransferIndex.createInitialSetup(DATA, streetSearchRequest),
-      RaptorTransferIndex.createRequestScope(DATA, streetSearchRequest)
+      RaptorTransferIndex.createInitialSetup(TransfersByStop.of(DATA), streetSearchRequest),
+      RaptorTransferIndex.createRequestScope(TransfersByStop.of(DATA), streetSearchRequest)
     )) {
       verifier.accept(index);
+      verifier.accept(index.forRequest());
     }
   }
 
@@ -0,0 +1,54 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.api.request.StreetMode;
+
+class TransfersByStopTest {
+
+  private static final Transfer T1 = new Transfer(2, 100, EnumSet.of(StreetMode.WALK));
+  private static final Transfer T2 = new Transfer(1, 200, EnumSet.of(StreetMode.WALK));
+  private static final Transfer T3 = new Transfer(2, 300, EnumSet.of(StreetMode.WALK));
+
+  private static final List<List<Transfer>> DATA = List.of(List.of(T1, T2), List.of(), List.of(T3));
+
+  private final TransfersByStop subject = TransfersByStop.of(DATA);
+
+  @Test
+  void forwardTransfers() {
+    assertEquals(3, subject.numberOfStops());
+    assertEquals(3, subject.numberOfTransfers());
+
+    assertEquals(0, subject.offset(0));
+    assertEquals(2, subject.offset(1));
+    assertEquals(2, subject.offset(2));
+    assertEquals(3, subject.offset(3));
+
+    assertSame(T1, subject.transfer(0));
+    assertEquals(2, subject.toStop(0));
+    assertSame(T2, subject.transfer(1));
+    assertSame(T3, subject.transfer(2));
+    assertSame(DATA, subject.transfersByStopIndex());
+  }
+
+  @Test
+  void reversedTransfers() {
+    // No transfers to stop 0, one to stop 1 and two to stop 2
+    assertEquals(0, subject.reversedOffset(0));
+    assertEquals(0, subject.reversedOffset(1));
+    assertEquals(1, subject.reversedOffset(2));
+    assertEquals(3, subject.reversedOffset(3));
+
+    assertEquals(0, subject.reversedFromStop(0));
+    assertSame(T2, subject.transfer(subject.reversedSlot(0)));
+
+    assertEquals(0, subject.reversedFromStop(1));
+    assertSame(T1, subject.transfer(subject.reversedSlot(1)));
+    assertEquals(2, subject.reversedFromStop(2));
+    assertSame(T3, subject.transfer(subject.reversedSlot(2)));
+  }
+}
@@ -0,0 +1,93 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransitData;
+import org.opentripplanner.transit.model._data.TransitTestEnvironment;
+import org.opentripplanner.transit.model._data.TransitTestEnvironmentBuilder;
+import org.opentripplanner.transit.model._data.TripInput;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.timetable.Timetable;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+class RealTimeRaptorTransitDataUpdaterTest {
+
+  private static final LocalDate DATE_1 = LocalDate.of(2024, 5, 7);
+  private static final LocalDate DATE_2 = DATE_1.plusDays(1);
+
+  private final TransitTestEnvironmentBuilder envBuilder = TransitTestEnvironment.of(DATE_1);
+  private final RegularStop STOP_A = envBuilder.stop("A");
+  private final RegularStop STOP_B = envBuilder.stop("B");
+  private final TimetableRepository timetableRepository = envBuilder
+    .addTrip(
+      TripInput.of("T1")
+        .withServiceDates(DATE_1, DATE_2)
+        .addStop(STOP_A, "12:00", "12:01")
+        .addStop(STOP_B, "12:10", "12:11")
+    )
+    .build()
+    .timetableRepository();
+  private final TripPattern pattern = timetableRepository.getAllTripPatterns().iterator().next();
+
+  private final RealTimeRaptorTransitDataUpdater subject = new RealTimeRaptorTransitDataUpdater(
+    timetableRepository,
+    new SimpleMeterRegistry()
+  );
+
+  @Test
+  void patchOnlyTheDatesOfTheUpdatedTimetables() {
+    var before = realtimeData();
+    var date1Before = before.getTripPatternsForRunningDate(DATE_1);
+    var date2Before = before.getTripPatternsForRunningDate(DATE_2);
+    assertEquals(1, date1Before.size());
+    assertEquals(1, date2Before.size());
+
+    update(DATE_1);
+
+    var after = realtimeData();
+    assertNotSame(before, after);
+
+    var date1After = after.getTripPatternsForRunningDate(DATE_1);
+    assertNotSame(date1Before, date1After);
+    assertEquals(1, date1After.size());
+    assertNotSame(date1Before.iterator().next(), date1After.iterator().next());
+
+    // The list of the other date is shared with the previous RaptorTransitData
+    assertSame(date2Before, after.getTripPatternsForRunningDate(DATE_2));
+    // The published list of the previous RaptorTransitData is never modified
+    assertSame(date1Before, before.getTripPatternsForRunningDate(DATE_1));
+  }
+
+  @Test
+  void keepConstrainedTransfersIfNoPatternsAreAdded() {
+    // The first update always generates the constrained transfers
+    update(DATE_1);
+    var constrainedTransfers = realtimeData().getConstrainedTransfers();
+    assertNotNull(constrainedTransfers);
+
+    update(DATE_2);
+
+    assertSame(constrainedTransfers, realtimeData().getConstrainedTransfers());
+  }
+
+  private void update(LocalDate serviceDate) {
+    Timetable timetable = pattern
+      .getScheduledTimetable()
+      .copyOf()
+      .withServiceDate(serviceDate)
+      .build();
+    subject.update(List.of(timetable), id -> null);
+  }
+
+  private RaptorTransitData realtimeData() {
+    return timetableRepository.getRealtimeRaptorTransitData();
+  }
+}
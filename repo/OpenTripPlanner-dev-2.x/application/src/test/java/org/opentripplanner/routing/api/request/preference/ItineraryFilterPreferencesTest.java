@@ -14,6 +14,7 @@ class ItineraryFilterPreferencesTest {
   private static final boolean ACCESSIBILITY_SCORE = true;
   private static final double BIKE_RENTAL_DISTANCE_RATIO = 0.37;
   private static final ItineraryFilterDebugProfile DEBUG = ItineraryFilterDebugProfile.LIST_ALL;
+  private static final Duration DECORATION_TIMEOUT = Duration.ofSeconds(1);
   private static final boolean FILTER_ITINERARIES_WITH_SAME_FIRST_OR_LAST_TRIP = true;
   private static final double GROUPED_OTHER_THAN_SAME_LEGS_MAX_COST_MULTIPLIER = 4.0;
   private static final double GROUP_SIMILARITY_KEEP_ONE = 0.8;
@@ -33,6 +34,7 @@ class ItineraryFilterPreferencesTest {
     .withAccessibilityScore(ACCESSIBILITY_SCORE)
     .withBikeRentalDistanceRatio(BIKE_RENTAL_DISTANCE_RATIO)
     .withDebug(DEBUG)
+    .withDecorationTimeout(DECORATION_TIMEOUT)
     .withFilterItinerariesWithSameFirstOrLastTrip(FILTER_ITINERARIES_WITH_SAME_FIRST_OR_LAST_TRIP)
     .withGroupedOtherThanSameLegsMaxCostMultiplier(GROUPED_OTHER_THAN_SAME_LEGS_MAX_COST_MULTIPLIER)
     .withGroupSimilarityKeepOne(GROUP_SIMILARITY_KEEP_ONE)
@@ -59,6 +61,11 @@ class ItineraryFilterPreferencesTest {
     assertEquals(DEBUG, subject.debug());
   }
 
+  @Test
+  void decorationTimeout() {
+    assertEquals(DECORATION_TIMEOUT, subject.decorationTimeout());
+  }
+
   @Test
   void filterItinerariesWithSameFirstOrLastTrip() {
     assertEquals(
@@ -141,6 +148,7 @@ class ItineraryFilterPreferencesTest {
       "accessibilityScore, " +
       "bikeRentalDistanceRatio: 0.37, " +
       "debug: LIST_ALL, " +
+      "decorationTimeout: 1s, " +
       "filterItinerariesWithSameFirstOrLastTrip, " +
       "groupedOtherThanSameLegsMaxCostMultiplier: 4.0, " +
       "groupSimilarityKeepOne: 0.8, " +
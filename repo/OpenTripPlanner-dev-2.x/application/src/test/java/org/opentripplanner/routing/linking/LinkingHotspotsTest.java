@@ -0,0 +1,66 @@
+package org.opentripplanner.routing.linking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+
+class LinkingHotspotsTest {
+
+  private static final StreetVertex A_WALK = StreetModelForTest.intersectionVertex(60.0, 10.0);
+  private static final StreetVertex A_CAR = StreetModelForTest.intersectionVertex(60.0, 10.001);
+  private static final StreetVertex B_WALK = StreetModelForTest.intersectionVertex(60.001, 10.0);
+
+  // A and B are about 56 meters apart
+  private static final LinkingHotspots SUBJECT = new LinkingHotspots(
+    50,
+    List.of(
+      new LinkingHotspots.Hotspot(
+        "A",
+        new Coordinate(10.0, 60.0),
+        Map.of(TraverseMode.WALK, Set.of(A_WALK), TraverseMode.CAR, Set.of(A_CAR))
+      ),
+      new LinkingHotspots.Hotspot(
+        "B",
+        new Coordinate(10.0, 60.0005),
+        Map.of(TraverseMode.WALK, Set.of(B_WALK))
+      )
+    )
+  );
+
+  private static final TraverseModeSet WALK = new TraverseModeSet(TraverseMode.WALK);
+
+  @Test
+  void findClosestHotspot() {
+    assertEquals(Set.of(A_WALK), SUBJECT.findLinkPoints(new Coordinate(10.0, 60.0002), WALK));
+    assertEquals(Set.of(B_WALK), SUBJECT.findLinkPoints(new Coordinate(10.0, 60.0003), WALK));
+  }
+
+  @Test
+  void noHotspotWithinRadius() {
+    assertNull(SUBJECT.findLinkPoints(new Coordinate(10.001, 60.0), WALK));
+  }
+
+  @Test
+  void allModesMustBeLinked() {
+    var walkAndCar = new TraverseModeSet(TraverseMode.WALK, TraverseMode.CAR);
+    assertEquals(
+      Set.of(A_WALK, A_CAR),
+      SUBJECT.findLinkPoints(new Coordinate(10.0, 60.0), walkAndCar)
+    );
+    assertNull(SUBJECT.findLinkPoints(new Coordinate(10.0, 60.0005), walkAndCar));
+  }
+
+  @Test
+  void empty() {
+    assertNull(LinkingHotspots.EMPTY.findLinkPoints(new Coordinate(10.0, 60.0), WALK));
+  }
+}
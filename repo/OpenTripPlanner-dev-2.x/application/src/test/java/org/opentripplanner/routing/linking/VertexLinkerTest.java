@@ -3,9 +3,13 @@ package org.opentripplanner.routing.linking;
 import static com.google.common.truth.Truth.assertThat;
 import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.core.model.i18n.I18NString;
 import org.opentripplanner.core.model.id.FeedScopedId;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.routing.graph.Graph;
@@ -13,6 +17,9 @@ import org.opentripplanner.street.model._data.StreetModelForTest;
 import org.opentripplanner.street.model.edge.LinkingDirection;
 import org.opentripplanner.street.model.vertex.SplitterVertex;
 import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TemporarySplitterVertex;
+import org.opentripplanner.street.model.vertex.TemporaryStreetLocation;
+import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
 
 class VertexLinkerTest {
@@ -60,4 +67,53 @@ class VertexLinkerTest {
       assertThat(splitter.areaStops()).containsExactly(AREA_STOP_1, AREA_STOP_2);
     });
   }
+
+  @Test
+  void linkToHotspot() {
+    var v1 = StreetModelForTest.intersectionVertex(0.0, 0.0);
+    var v2 = StreetModelForTest.intersectionVertex(0.0, 0.002);
+    StreetModelForTest.streetEdge(v1, v2);
+
+    var graph = new Graph();
+    graph.addVertex(v1);
+    graph.addVertex(v2);
+    graph.index();
+
+    var linker = VertexLinkerTestFactory.of(graph);
+    var walk = new TraverseModeSet(TraverseMode.WALK);
+
+    var hotspot = new Coordinate(0.001, 0.0001);
+    var linkPoints = linker.splitPermanently(hotspot, I18NString.of("hotspot"), walk);
+    assertThat(linkPoints).hasSize(1);
+    assertThat(graph.getVerticesOfType(SplitterVertex.class)).containsExactlyElementsIn(linkPoints);
+
+    var linkPointsByMode = Map.of(TraverseMode.WALK, linkPoints);
+    var hotspots = List.of(new LinkingHotspots.Hotspot("hotspot", hotspot, linkPointsByMode));
+    graph.setLinkingHotspots(new LinkingHotspots(20, hotspots));
+
+    // A location close to the hotspot is linked to the hotspot link point
+    var linked = linkForRequest(linker, new Coordinate(0.00101, 0.0001), walk);
+    assertThat(linked).containsExactlyElementsIn(linkPoints);
+
+    // A location further away splits the street itself
+    linked = linkForRequest(linker, new Coordinate(0.0015, 0.0001), walk);
+    assertThat(linked).hasSize(1);
+    assertThat(linked.getFirst()).isInstanceOf(TemporarySplitterVertex.class);
+  }
+
+  private static List<StreetVertex> linkForRequest(
+    VertexLinker linker,
+    Coordinate coordinate,
+    TraverseModeSet modes
+  ) {
+    var location = new TemporaryStreetLocation(coordinate, I18NString.of("origin"));
+    var linked = new ArrayList<StreetVertex>();
+    linker
+      .linkVertexForRequest(location, modes, LinkingDirection.INCOMING, (vertex, streetVertex) -> {
+        linked.add(streetVertex);
+        return List.of();
+      })
+      .disposeEdges();
+    return linked;
+  }
 }
@@ -2,10 +2,13 @@ package org.opentripplanner.service.vehiclerental.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.service.vehiclerental.model.TestFreeFloatingRentalVehicleBuilder;
 import org.opentripplanner.service.vehiclerental.model.TestVehicleRentalStationBuilder;
+import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalStation;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalVehicle;
 
@@ -31,4 +34,26 @@ class DefaultVehicleRentalServiceTest {
     assertEquals(1, vehicleRentalStationForEnvelope.size());
     assertEquals(vehicleRentalStation, vehicleRentalStationForEnvelope.get(0));
   }
+
+  @Test
+  void changeListenerIsNotifiedOfChanges() {
+    var subject = new DefaultVehicleRentalService();
+    var changes = new ArrayList<String>();
+    subject.addChangeListener((before, after) ->
+      changes.add(vehicles(before) + " -> " + vehicles(after))
+    );
+
+    subject.addVehicleRentalStation(new TestVehicleRentalStationBuilder().withVehicles(3).build());
+    subject.addVehicleRentalStation(new TestVehicleRentalStationBuilder().withVehicles(3).build());
+    var updated = new TestVehicleRentalStationBuilder().withVehicles(2).build();
+    subject.addVehicleRentalStation(updated);
+    subject.removeVehicleRentalStation(updated.id());
+    subject.removeVehicleRentalStation(updated.id());
+
+    assertEquals(List.of("null -> 3", "3 -> 2", "2 -> null"), changes);
+  }
+
+  private static String vehicles(@Nullable VehicleRentalPlace place) {
+    return place == null ? "null" : Integer.toString(place.vehiclesAvailable());
+  }
 }
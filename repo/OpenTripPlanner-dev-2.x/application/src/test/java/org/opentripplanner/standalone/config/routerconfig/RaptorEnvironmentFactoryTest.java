@@ -0,0 +1,26 @@
+package org.opentripplanner.standalone.config.routerconfig;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class RaptorEnvironmentFactoryTest {
+
+  @Test
+  void threadPoolIsCreatedOnce() {
+    var subject = RaptorEnvironmentFactory.create(2);
+    try {
+      assertNotNull(subject.threadPool());
+      assertSame(subject.threadPool(), subject.threadPool());
+    } finally {
+      subject.threadPool().shutdown();
+    }
+  }
+
+  @Test
+  void noThreadPool() {
+    assertNull(RaptorEnvironmentFactory.create(0).threadPool());
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.vectortiles.VectorTileCacheParameters;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.ext.vectortiles.layers.LayerFilters;
 import org.opentripplanner.inspector.vector.LayerParameters;
@@ -30,7 +31,8 @@ class VectorTileConfigTest {
     var config = new VectorTileConfig(
       List.of(layerConfig("a", minZoom, maxZoom), layerConfig("b", minZoom + 1, maxZoom - 1)),
       null,
-      null
+      null,
+      VectorTileCacheParameters.DEFAULT
     );
     assertEquals(minZoom, config.minZoom(Set.of("a", "b")));
     assertEquals(maxZoom, config.maxZoom(Set.of("a", "b")));
@@ -3,8 +3,11 @@ package org.opentripplanner.standalone.config.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.opentripplanner.standalone.config.framework.json.JsonSupport.jsonNodeFromResource;
 
+import java.time.Duration;
+import java.util.Currency;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.ridehailing.LocalFleetServiceParameters;
 import org.opentripplanner.ext.ridehailing.RideHailingServiceParameters;
 import org.opentripplanner.standalone.config.RouterConfig;
 
@@ -25,5 +28,17 @@ public class RideHailingServicesConfigTest {
       ),
       c.rideHailingServiceParameters()
     );
+    assertEquals(
+      List.of(
+        new LocalFleetServiceParameters(
+          "/var/otp/fleet-positions.json",
+          Duration.ofMinutes(10),
+          Currency.getInstance("EUR"),
+          3.5,
+          1.2
+        )
+      ),
+      c.localFleetServiceParameters()
+    );
   }
 }
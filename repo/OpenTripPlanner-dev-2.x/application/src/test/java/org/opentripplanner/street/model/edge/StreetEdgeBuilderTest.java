@@ -1,8 +1,11 @@
 package org.opentripplanner.street.model.edge;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.core.model.i18n.I18NString;
@@ -67,6 +70,19 @@ class StreetEdgeBuilderTest {
     assertAllProperties(streetEdge);
   }
 
+  @ParameterizedTest
+  @EnumSource(StreetTraversalPermission.class)
+  void permissionIsStoredWithTheFlags(StreetTraversalPermission permission) {
+    StreetEdge streetEdge = buildStreetEdge();
+    streetEdge.setPermission(permission);
+    assertEquals(permission, streetEdge.getPermission());
+    streetEdge.setWalkNoThruTraffic(false);
+    assertEquals(permission, streetEdge.getPermission());
+    assertFalse(streetEdge.isWalkNoThruTraffic());
+    assertEquals(STAIRS, streetEdge.isStairs());
+    assertEquals(BICYCLE_NO_THRU_TRAFFIC, streetEdge.isBicycleNoThruTraffic());
+  }
+
   private static StreetEdge buildStreetEdge() {
     return new StreetEdgeBuilder<>()
       .withFromVertex(FROM_VERTEX)
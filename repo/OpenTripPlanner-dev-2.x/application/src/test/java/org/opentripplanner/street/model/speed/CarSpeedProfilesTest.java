@@ -0,0 +1,77 @@
+package org.opentripplanner.street.model.speed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model.edge.StreetEdge;
+
+class CarSpeedProfilesTest {
+
+  private static final ZoneId TIME_ZONE = ZoneId.of("Europe/Oslo");
+  private static final double DEFAULT_SPEED = 20;
+
+  private final StreetEdge edge = streetEdge(
+    intersectionVertex(60.0, 10.0),
+    intersectionVertex(60.001, 10.0)
+  );
+  private final StreetEdge other = streetEdge(
+    intersectionVertex(60.001, 10.0),
+    intersectionVertex(60.002, 10.0)
+  );
+
+  private final CarSpeedProfiles subject = CarSpeedProfiles.of(TIME_ZONE)
+    .withSpeed(edge, DayOfWeek.MONDAY, LocalTime.of(8, 0), 18)
+    .withSpeed(edge, DayOfWeek.SUNDAY, LocalTime.of(23, 45), 36)
+    .withSpeed(edge, DayOfWeek.TUESDAY, LocalTime.of(3, 0), 200)
+    .build();
+
+  @Test
+  void speedInPeriod() {
+    assertEquals(5.0, speed(edge, "2026-03-02T08:00"), 0.01);
+    assertEquals(5.0, speed(edge, "2026-03-02T08:14:59"), 0.01);
+    assertEquals(10.0, speed(edge, "2026-03-08T23:59"), 0.01);
+  }
+
+  @Test
+  void defaultSpeedWithoutData() {
+    assertEquals(DEFAULT_SPEED, speed(edge, "2026-03-02T08:15"));
+    assertEquals(DEFAULT_SPEED, speed(edge, "2026-03-03T08:00"));
+    assertEquals(DEFAULT_SPEED, speed(other, "2026-03-02T08:00"));
+  }
+
+  @Test
+  void speedIsNotAboveStaticSpeed() {
+    assertEquals(DEFAULT_SPEED, speed(edge, "2026-03-03T03:00"));
+  }
+
+  @Test
+  void localTimeAcrossDaylightSavingTime() {
+    // Summer time in Oslo is UTC+2, the first Monday after the change is 2026-03-30
+    assertEquals(5.0, speed(edge, "2026-03-30T08:00"), 0.01);
+  }
+
+  @Test
+  void invalidSpeed() {
+    var builder = CarSpeedProfiles.of(TIME_ZONE);
+    assertThrows(IllegalArgumentException.class, () ->
+      builder.withSpeed(edge, DayOfWeek.MONDAY, LocalTime.NOON, 0)
+    );
+  }
+
+  @Test
+  void size() {
+    assertEquals(1, subject.size());
+  }
+
+  private double speed(StreetEdge edge, String localDateTime) {
+    var time = LocalDateTime.parse(localDateTime).atZone(TIME_ZONE).toEpochSecond();
+    return subject.carSpeed(edge, time, DEFAULT_SPEED);
+  }
+}
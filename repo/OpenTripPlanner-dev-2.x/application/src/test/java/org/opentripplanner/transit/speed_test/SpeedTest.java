@@ -18,6 +18,7 @@ import org.opentripplanner.ext.fares.service.gtfs.v1.DefaultFareService;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
@@ -104,6 +105,7 @@ public class SpeedTest {
       timetableRepository,
       new DefaultCarpoolingRepository(),
       new TimetableSnapshotManager(null, TimetableSnapshotParameters.DEFAULT, LocalDate::now),
+      List.of(),
       config.updatersConfig
     );
     if (timetableRepository.getUpdaterManager() != null) {
@@ -117,6 +119,15 @@ public class SpeedTest {
 
     var vertexLinker = VertexLinkerTestFactory.of(graph);
 
+    var accessEgressCacheParameters = config.transitRoutingParams.accessEgressCache();
+    var accessEgressCache = accessEgressCacheParameters.isEnabled()
+      ? AccessEgressCache.ofShared(
+          accessEgressCacheParameters,
+          graph::streetVersion,
+          timer.getRegistry()
+        )
+      : null;
+
     this.serverContext = new DefaultServerRequestContext(
       DebugUiConfig.DEFAULT,
       new DefaultFareService(),
@@ -139,6 +150,11 @@ public class SpeedTest {
       vertexLinker,
       TestServerContext.createViaTransferResolver(graph, transitService),
       TestServerContext.createWorldEnvelopeService(),
+      accessEgressCache,
+      null,
+      null,
+      null,
+      null,
       null,
       null,
       null,
@@ -0,0 +1,83 @@
+package org.opentripplanner.updater.car_speed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model.vertex.VertexFactory;
+
+class CarSpeedProfileUpdaterTest {
+
+  private static final ZoneId TIME_ZONE = ZoneId.of("Europe/Oslo");
+  private static final long MONDAY_MORNING = LocalDateTime.parse("2026-03-02T07:30")
+    .atZone(TIME_ZONE)
+    .toEpochSecond();
+
+  @Test
+  void readCsv() throws IOException {
+    var csv = """
+      from_node_id,to_node_id,day_of_week,time,speed_kmh,source
+      1,2,1,07:30,18.5,probe
+      2,1,7,23:45,36,probe
+      2,3,x,07:30,20,probe
+      2,3,1,07:30,-1,probe
+      """;
+
+    var records = read(csv);
+
+    assertEquals(
+      List.of(
+        new CarSpeedRecord(1, 2, DayOfWeek.MONDAY, LocalTime.of(7, 30), 18.5),
+        new CarSpeedRecord(2, 1, DayOfWeek.SUNDAY, LocalTime.of(23, 45), 36)
+      ),
+      records
+    );
+  }
+
+  @Test
+  void missingColumn() {
+    assertThrows(IOException.class, () -> read("from_node_id,to_node_id,time,speed_kmh\n"));
+  }
+
+  @Test
+  void mapToEdges() {
+    var graph = new Graph();
+    var factory = new VertexFactory(graph);
+    var v1 = factory.osm(new Coordinate(10.0, 60.0), 1, false, false);
+    var v2 = factory.osm(new Coordinate(10.0, 60.001), 2, false, false);
+    var v3 = factory.osm(new Coordinate(10.0, 60.002), 3, false, false);
+    var forward = streetEdge(v1, v2, 100, StreetTraversalPermission.ALL);
+    var backward = streetEdge(v2, v1, 100, StreetTraversalPermission.ALL);
+    var pedestrian = streetEdge(v2, v3, 100, StreetTraversalPermission.PEDESTRIAN);
+
+    var records = List.of(
+      new CarSpeedRecord(1, 2, DayOfWeek.MONDAY, LocalTime.of(7, 30), 18),
+      new CarSpeedRecord(2, 3, DayOfWeek.MONDAY, LocalTime.of(7, 30), 18),
+      new CarSpeedRecord(3, 4, DayOfWeek.MONDAY, LocalTime.of(7, 30), 18)
+    );
+
+    var profiles = CarSpeedProfileUpdater.mapToEdges(graph, records, TIME_ZONE);
+
+    assertEquals(1, profiles.size());
+    assertEquals(5.0, profiles.carSpeed(forward, MONDAY_MORNING, 20), 0.01);
+    assertEquals(20, profiles.carSpeed(backward, MONDAY_MORNING, 20));
+    assertEquals(20, profiles.carSpeed(pedestrian, MONDAY_MORNING, 20));
+  }
+
+  private static List<CarSpeedRecord> read(String csv) throws IOException {
+    var input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    return CarSpeedProfileCsvReader.read(input, "test.csv");
+  }
+}
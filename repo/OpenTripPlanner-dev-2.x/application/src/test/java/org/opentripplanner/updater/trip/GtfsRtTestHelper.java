@@ -5,11 +5,13 @@ import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET
 import com.google.transit.realtime.GtfsRealtime;
 import java.time.LocalDate;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.opentripplanner.transit.model._data.TransitTestEnvironment;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.trip.gtfs.BackwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.ForwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.gtfs.GtfsRealTimeTripUpdateAdapter;
+import org.opentripplanner.updater.trip.gtfs.TripUpdateFingerprints;
 
 public class GtfsRtTestHelper {
 
@@ -79,6 +81,14 @@ public class GtfsRtTestHelper {
   public UpdateResult applyTripUpdates(
     List<GtfsRealtime.TripUpdate> updates,
     UpdateIncrementality incrementality
+  ) {
+    return applyTripUpdates(updates, incrementality, null);
+  }
+
+  public UpdateResult applyTripUpdates(
+    List<GtfsRealtime.TripUpdate> updates,
+    UpdateIncrementality incrementality,
+    @Nullable TripUpdateFingerprints fingerprints
   ) {
     UpdateResult updateResult = gtfsAdapter.applyTripUpdates(
       null,
@@ -86,7 +96,8 @@ public class GtfsRtTestHelper {
       BackwardsDelayPropagationType.REQUIRED_NO_DATA,
       incrementality,
       updates,
-      transitTestEnvironment.feedId()
+      transitTestEnvironment.feedId(),
+      fingerprints
     );
     commitTimetableSnapshot();
     return updateResult;
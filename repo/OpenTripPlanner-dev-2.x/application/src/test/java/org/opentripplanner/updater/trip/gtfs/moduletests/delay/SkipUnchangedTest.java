@@ -0,0 +1,121 @@
+package org.opentripplanner.updater.trip.gtfs.moduletests.delay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.updater.trip.UpdateIncrementality.DIFFERENTIAL;
+import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.transit.model._data.TransitTestEnvironment;
+import org.opentripplanner.transit.model._data.TransitTestEnvironmentBuilder;
+import org.opentripplanner.transit.model._data.TripInput;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.updater.trip.GtfsRtTestHelper;
+import org.opentripplanner.updater.trip.RealtimeTestConstants;
+import org.opentripplanner.updater.trip.gtfs.TripUpdateFingerprints;
+
+/**
+ * Trip updates that are unchanged since they were last applied should be skipped.
+ */
+class SkipUnchangedTest implements RealtimeTestConstants {
+
+  private final TransitTestEnvironmentBuilder ENV_BUILDER = TransitTestEnvironment.of();
+  private final RegularStop STOP_A = ENV_BUILDER.stop(STOP_A_ID);
+  private final RegularStop STOP_B = ENV_BUILDER.stop(STOP_B_ID);
+
+  private final TransitTestEnvironment env = ENV_BUILDER.addTrip(
+    TripInput.of(TRIP_1_ID)
+      .addStop(STOP_A, "0:00:10", "0:00:11")
+      .addStop(STOP_B, "0:00:20", "0:00:21")
+  ).build();
+  private final GtfsRtTestHelper rt = GtfsRtTestHelper.of(env);
+  private final TripUpdateFingerprints fingerprints = new TripUpdateFingerprints();
+
+  @Test
+  void skipUnchangedDifferentialUpdate() {
+    var delayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 1).build();
+
+    var result = rt.applyTripUpdates(List.of(delayed), DIFFERENTIAL, fingerprints);
+    assertEquals(1, result.successful());
+    assertEquals(0, result.skipped());
+
+    // Only the timestamp is changed
+    var restamped = delayed.toBuilder().setTimestamp(1_700_000_000).build();
+    result = rt.applyTripUpdates(List.of(restamped), DIFFERENTIAL, fingerprints);
+    assertEquals(0, result.successful());
+    assertEquals(1, result.skipped());
+    assertEquals(
+      "UPDATED | A [ND] 0:00:10 0:00:11 | B 0:00:21 0:00:22",
+      env.tripData(TRIP_1_ID).showTimetable()
+    );
+
+    var moreDelayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 2).build();
+    result = rt.applyTripUpdates(List.of(moreDelayed), DIFFERENTIAL, fingerprints);
+    assertEquals(1, result.successful());
+    assertEquals(0, result.skipped());
+    assertEquals(
+      "UPDATED | A [ND] 0:00:10 0:00:11 | B 0:00:22 0:00:23",
+      env.tripData(TRIP_1_ID).showTimetable()
+    );
+  }
+
+  @Test
+  void skipUnchangedFullDataset() {
+    var delayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 1).build();
+
+    var result = rt.applyTripUpdates(List.of(delayed), FULL_DATASET, fingerprints);
+    assertEquals(1, result.successful());
+
+    result = rt.applyTripUpdates(List.of(delayed), FULL_DATASET, fingerprints);
+    assertEquals(0, result.successful());
+    assertEquals(1, result.skipped());
+    assertEquals(
+      "UPDATED | A [ND] 0:00:10 0:00:11 | B 0:00:21 0:00:22",
+      env.tripData(TRIP_1_ID).showTimetable()
+    );
+  }
+
+  @Test
+  void applyFullDatasetAfterDifferentialUpdate() {
+    var delayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 1).build();
+    var moreDelayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 2).build();
+
+    rt.applyTripUpdates(List.of(delayed), FULL_DATASET, fingerprints);
+    rt.applyTripUpdates(List.of(moreDelayed), DIFFERENTIAL, fingerprints);
+
+    var result = rt.applyTripUpdates(List.of(delayed), FULL_DATASET, fingerprints);
+    assertEquals(1, result.successful());
+    assertEquals(0, result.skipped());
+    assertEquals(
+      "UPDATED | A [ND] 0:00:10 0:00:11 | B 0:00:21 0:00:22",
+      env.tripData(TRIP_1_ID).showTimetable()
+    );
+  }
+
+  @Test
+  void retryFailedUpdate() {
+    var invalid = rt.tripUpdateScheduled("unknown-trip").addDelayedStopTime(1, 1).build();
+
+    var result = rt.applyTripUpdates(List.of(invalid), DIFFERENTIAL, fingerprints);
+    assertEquals(1, result.failed());
+
+    result = rt.applyTripUpdates(List.of(invalid), DIFFERENTIAL, fingerprints);
+    assertEquals(1, result.failed());
+    assertEquals(0, result.skipped());
+  }
+
+  @Test
+  void retryFullDatasetWithFailedUpdate() {
+    var delayed = rt.tripUpdateScheduled(TRIP_1_ID).addDelayedStopTime(1, 1).build();
+    var invalid = rt.tripUpdateScheduled("unknown-trip").addDelayedStopTime(1, 1).build();
+
+    var result = rt.applyTripUpdates(List.of(delayed, invalid), FULL_DATASET, fingerprints);
+    assertEquals(1, result.successful());
+    assertEquals(1, result.failed());
+
+    result = rt.applyTripUpdates(List.of(delayed, invalid), FULL_DATASET, fingerprints);
+    assertEquals(1, result.successful());
+    assertEquals(1, result.failed());
+    assertEquals(0, result.skipped());
+  }
+}
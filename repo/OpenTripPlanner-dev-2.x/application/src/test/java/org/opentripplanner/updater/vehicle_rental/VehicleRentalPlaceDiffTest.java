@@ -0,0 +1,97 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.core.model.id.FeedScopedId;
+import org.opentripplanner.service.vehiclerental.model.TestFreeFloatingRentalVehicleBuilder;
+import org.opentripplanner.service.vehiclerental.model.TestVehicleRentalStationBuilder;
+import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
+import org.opentripplanner.service.vehiclerental.model.VehicleRentalVehicle;
+
+class VehicleRentalPlaceDiffTest {
+
+  private static final VehicleRentalVehicle SCOOTER = vehicle("scooter");
+  private static final VehicleRentalVehicle BICYCLE = vehicle("bicycle");
+
+  @Test
+  void addAndRemove() {
+    var diff = VehicleRentalPlaceDiff.of(places(SCOOTER), List.of(BICYCLE));
+
+    assertEquals(List.of(BICYCLE), diff.added());
+    assertEquals(List.of(SCOOTER.id()), diff.removed());
+    assertEquals(List.of(), diff.updated());
+    assertEquals(List.of(), diff.relinked());
+    assertEquals(0, diff.unchanged());
+  }
+
+  @Test
+  void unchanged() {
+    var copy = SCOOTER.copyOf().build();
+    var diff = VehicleRentalPlaceDiff.of(places(SCOOTER, BICYCLE), List.of(copy, BICYCLE));
+
+    assertTrue(diff.isEmpty());
+    assertEquals(2, diff.unchanged());
+  }
+
+  @Test
+  void updated() {
+    var reserved = SCOOTER.copyOf().withIsReserved(true).build();
+    var diff = VehicleRentalPlaceDiff.of(places(SCOOTER), List.of(reserved));
+
+    assertEquals(List.of(reserved), diff.updated());
+    assertEquals(List.of(), diff.relinked());
+  }
+
+  @Test
+  void moved() {
+    var moved = SCOOTER.copyOf().withLatitude(SCOOTER.latitude() + 0.001).build();
+    var diff = VehicleRentalPlaceDiff.of(places(SCOOTER), List.of(moved));
+
+    assertEquals(List.of(moved), diff.relinked());
+    assertEquals(List.of(), diff.updated());
+  }
+
+  @Test
+  void changedFormFactors() {
+    var station = TestVehicleRentalStationBuilder.of().withVehicleTypeBicycle(5, 5).build();
+    var fewerBicycles = TestVehicleRentalStationBuilder.of().withVehicleTypeBicycle(4, 6).build();
+    var withCars = TestVehicleRentalStationBuilder.of()
+      .withVehicleTypeBicycle(5, 5)
+      .withVehicleTypeCar(1, 1)
+      .build();
+
+    var diff = VehicleRentalPlaceDiff.of(places(station), List.of(fewerBicycles));
+    assertEquals(List.of(fewerBicycles), diff.updated());
+
+    diff = VehicleRentalPlaceDiff.of(places(station), List.of(withCars));
+    assertEquals(List.of(withCars), diff.relinked());
+  }
+
+  @Test
+  void duplicateIdsInUpdate() {
+    var moved = SCOOTER.copyOf().withLongitude(SCOOTER.longitude() + 0.001).build();
+    var diff = VehicleRentalPlaceDiff.of(Map.of(), List.of(SCOOTER, moved));
+
+    assertEquals(List.of(moved), diff.added());
+    assertFalse(diff.isEmpty());
+  }
+
+  private static VehicleRentalVehicle vehicle(String id) {
+    return TestFreeFloatingRentalVehicleBuilder.of()
+      .build()
+      .copyOf()
+      .withId(new FeedScopedId(TestFreeFloatingRentalVehicleBuilder.NETWORK_1, id))
+      .build();
+  }
+
+  private static Map<FeedScopedId, VehicleRentalPlace> places(VehicleRentalPlace... places) {
+    return Arrays.stream(places).collect(Collectors.toMap(VehicleRentalPlace::id, it -> it));
+  }
+}
@@ -20,6 +20,17 @@ public interface RaptorTuningParameters {
     return 60;
   }
 
+  /**
+   * The minimum duration of each slice, when the search-window of a multi-criteria Range Raptor
+   * search is split into slices searched in parallel. The slices are only searched in parallel
+   * if a {@link RaptorEnvironment#threadPool()} is provided. Zero disables the splitting.
+   * <p>
+   * see {@link org.opentripplanner.standalone.config.routerconfig.TransitRoutingConfig}
+   */
+  default int searchWindowSliceInSeconds() {
+    return 0;
+  }
+
   /**
    * Coefficients used to calculate raptor-search-window parameters dynamically from heuristics.
    */
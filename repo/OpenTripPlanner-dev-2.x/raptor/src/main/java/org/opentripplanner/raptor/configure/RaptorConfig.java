@@ -1,12 +1,16 @@
 package org.opentripplanner.raptor.configure;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.request.RaptorEnvironment;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.rangeraptor.ConcurrentCompositeRaptorRouter;
+import org.opentripplanner.raptor.rangeraptor.ConcurrentSearchWindowRaptorRouter;
 import org.opentripplanner.raptor.rangeraptor.DefaultRangeRaptorWorker;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptor;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptorWorkerComposite;
@@ -25,6 +29,7 @@ import org.opentripplanner.raptor.rangeraptor.standard.configure.StdRangeRaptorC
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorSearchWindowCalculator;
 import org.opentripplanner.raptor.spi.ExtraMcRouterSearch;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 
 /**
  * This class is responsible for creating a new search and holding application scoped Raptor state.
@@ -76,15 +81,17 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     Heuristics heuristics,
     @Nullable ExtraMcRouterSearch<T> extraMcSearch
   ) {
-    var mainSearch = createRangeRaptorWithMcWorker(transitData, request, heuristics);
-
     if (extraMcSearch == null) {
-      return mainSearch;
+      return createRangeRaptorWithMcWorker(transitData, request, heuristics, true);
     }
+    // The two searches run in the thread pool, so they must not split the search-window. A pool
+    // thread waiting for slices queued in the same bounded pool may wait forever under load.
+    var mainSearch = createRangeRaptorWithMcWorker(transitData, request, heuristics, false);
     var alternativeSearch = createRangeRaptorWithMcWorker(
       extraMcSearch.createTransitDataAlternativeSearch(transitData),
       request,
-      heuristics
+      heuristics,
+      false
     );
     return new ConcurrentCompositeRaptorRouter<>(
       mainSearch,
@@ -95,36 +102,116 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     );
   }
 
+  /**
+   * @param splitSearchWindow Split the search-window into slices searched in the thread pool. This
+   *                          must be {@code false} if the router is run in the thread pool.
+   */
   private RaptorRouter<T> createRangeRaptorWithMcWorker(
     RaptorTransitDataProvider<T> transitData,
     RaptorRequest<T> request,
-    Heuristics heuristics
+    Heuristics heuristics,
+    boolean splitSearchWindow
   ) {
-    var context = context(transitData, request);
-    RangeRaptorWorker<T> worker = null;
-    McStopArrivals<T> nextStopArrivals = null;
-
     if (request.searchParams().isVisitViaSearch()) {
-      for (SearchContextViaSegments<T> ctxSegment : context.segments().reversed()) {
-        var c = new McRangeRaptorConfig<>(
-          ctxSegment,
-          passThroughPointsService
-        ).connectWithNextLegArrivals(nextStopArrivals);
-        var w = createWorker(ctxSegment, c.state(), c.strategy());
-        worker = RangeRaptorWorkerComposite.of(w, worker);
-        nextStopArrivals = c.stopArrivals();
-      }
-    } else {
+      return createRangeRaptorWithMcViaWorker(transitData, request);
+    }
+    var slices = splitSearchWindow ? splitSearchWindow(request) : List.of(request);
+    var routers = new ArrayList<RaptorRouter<T>>();
+    ParetoComparator<RaptorPath<T>> pathComparator = null;
+
+    for (int i = 0; i < slices.size(); ++i) {
+      var context = context(transitData, slices.get(i));
       // The first segment is the only segment
       var segment = context.segments().getFirst();
       var c = new McRangeRaptorConfig<>(segment, passThroughPointsService).withHeuristics(
         heuristics
       );
-      worker = createWorker(segment, c.state(), c.strategy());
+      var worker = createWorker(segment, c.state(), c.strategy());
+      // The last slice is searched last in a sequential search, it includes the start of the
+      // search-window where the access with a time-penalty is searched
+      routers.add(createRangeRaptor(context, worker, i == slices.size() - 1));
+      pathComparator = c.pathParetoComparator();
+    }
+    if (routers.size() == 1) {
+      return routers.getFirst();
+    }
+    return new ConcurrentSearchWindowRaptorRouter<>(
+      routers,
+      pathComparator,
+      threadPool(),
+      environment::mapInterruptedException
+    );
+  }
+
+  private RaptorRouter<T> createRangeRaptorWithMcViaWorker(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> request
+  ) {
+    var context = context(transitData, request);
+    RangeRaptorWorker<T> worker = null;
+    McStopArrivals<T> nextStopArrivals = null;
+
+    for (SearchContextViaSegments<T> ctxSegment : context.segments().reversed()) {
+      var c = new McRangeRaptorConfig<>(
+        ctxSegment,
+        passThroughPointsService
+      ).connectWithNextLegArrivals(nextStopArrivals);
+      var w = createWorker(ctxSegment, c.state(), c.strategy());
+      worker = RangeRaptorWorkerComposite.of(w, worker);
+      nextStopArrivals = c.stopArrivals();
     }
     return createRangeRaptor(context, worker);
   }
 
+  /**
+   * Split the search-window of a multi-criteria search into slices, which can be searched in
+   * parallel. The slices are returned in the order the departure minutes are iterated over by
+   * Range Raptor, so the slice at the start of the search-window is last. The request is
+   * returned as the only slice if the search-window is too small to split, or if the search
+   * can not run in parallel.
+   */
+  private List<RaptorRequest<T>> splitSearchWindow(RaptorRequest<T> request) {
+    var s = request.searchParams();
+    int step = tuningParameters.iterationDepartureStepInSeconds();
+    int sliceSeconds = tuningParameters.searchWindowSliceInSeconds();
+    boolean forward = request.searchDirection().isForward();
+
+    if (
+      sliceSeconds <= 0 ||
+      !isMultiThreaded() ||
+      !request.runInParallel() ||
+      !(forward ? s.isEarliestDepartureTimeSet() : s.isLatestArrivalTimeSet()) ||
+      s.searchWindowInSeconds() % step != 0
+    ) {
+      return List.of(request);
+    }
+    // Each slice must have at least two iterations, a one-iteration search is not a range search
+    int minIterationsPerSlice = Math.max(2, Math.ceilDiv(sliceSeconds, step));
+    int searchWindow = s.searchWindowInSeconds();
+    int nIterations = searchWindow / step;
+    int nSlices = nIterations / minIterationsPerSlice;
+
+    if (nSlices < 2) {
+      return List.of(request);
+    }
+    var slices = new ArrayList<RaptorRequest<T>>(nSlices);
+    int iterationsDone = 0;
+
+    for (int i = 0; i < nSlices; ++i) {
+      int sliceIterations = nIterations / nSlices + (i < nIterations % nSlices ? 1 : 0);
+      iterationsDone += sliceIterations;
+      int offset = iterationsDone * step;
+      var builder = request.mutate().searchParams().searchWindowInSeconds(sliceIterations * step);
+      if (forward) {
+        builder.earliestDepartureTime(s.earliestDepartureTime() + searchWindow - offset);
+      } else {
+        builder.latestArrivalTime(s.latestArrivalTime() - searchWindow + offset);
+      }
+      slices.add(builder.build());
+    }
+    return slices;
+  }
+
   public RaptorRouter<T> createRangeRaptorWithHeuristicSearch(
     RaptorTransitDataProvider<T> transitData,
     RaptorRequest<T> request
@@ -193,6 +280,14 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
   }
 
   private RaptorRouter<T> createRangeRaptor(SearchContext<T> ctx, RangeRaptorWorker<T> worker) {
+    return createRangeRaptor(ctx, worker, true);
+  }
+
+  private RaptorRouter<T> createRangeRaptor(
+    SearchContext<T> ctx,
+    RangeRaptorWorker<T> worker,
+    boolean searchAccessWithTimePenalty
+  ) {
     return new RangeRaptor<>(
       worker,
       ctx.transitData(),
@@ -201,7 +296,8 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       ctx.calculator(),
       ctx.createLifeCyclePublisher(),
       ctx.performanceTimers(),
-      environment.timeoutHook()
+      environment.timeoutHook(),
+      searchAccessWithTimePenalty
     );
   }
 }
@@ -0,0 +1,90 @@
+package org.opentripplanner.raptor.rangeraptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouter;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+
+/**
+ * Run one Raptor router for each slice of the search-window concurrently, and merge the paths
+ * found into one pareto-set. Each router has its own state, so the slices are searched
+ * independently. The first slice is searched in the caller thread, the rest in the thread pool.
+ * <p>
+ * A sequential Range Raptor search reuses the arrivals of the later departure minutes when
+ * searching the earlier minutes, so the total amount of work is larger when the search-window
+ * is split. This reduces the response time when there are idle cores, not the cost of a search.
+ * <p>
+ * The slices should be ordered in the Range Raptor iteration order, the paths of the first slice
+ * are added to the result first.
+ * <p>
+ * The caller blocks until the slices in the thread pool are done, so this router must not be run
+ * in the same thread pool. If it is, all the pool threads may end up waiting for slices queued
+ * behind them.
+ *
+ * @see CompositeResult for joining results.
+ */
+public class ConcurrentSearchWindowRaptorRouter<T extends RaptorTripSchedule>
+  implements RaptorRouter<T> {
+
+  private final List<RaptorRouter<T>> slices;
+  private final ParetoComparator<RaptorPath<T>> pathComparator;
+  private final ExecutorService executorService;
+  private final Function<InterruptedException, RuntimeException> mapInterruptedException;
+
+  public ConcurrentSearchWindowRaptorRouter(
+    List<RaptorRouter<T>> slices,
+    ParetoComparator<RaptorPath<T>> pathComparator,
+    ExecutorService executorService,
+    Function<InterruptedException, RuntimeException> mapInterruptedException
+  ) {
+    if (slices.isEmpty()) {
+      throw new IllegalArgumentException("At least one search-window slice is required.");
+    }
+    this.slices = List.copyOf(slices);
+    this.pathComparator = pathComparator;
+    this.executorService = executorService;
+    this.mapInterruptedException = mapInterruptedException;
+  }
+
+  @Override
+  public RaptorRouterResult<T> route() {
+    var futures = new ArrayList<Future<RaptorRouterResult<T>>>();
+    for (var slice : slices.subList(1, slices.size())) {
+      futures.add(executorService.submit(slice::route));
+    }
+    try {
+      var result = slices.getFirst().route();
+      for (var future : futures) {
+        result = new CompositeResult<>(result, future.get(), this::merge);
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw mapInterruptedException.apply(e);
+    } catch (ExecutionException e) {
+      throw (e.getCause() instanceof RuntimeException re) ? re : new RuntimeException(e);
+    } finally {
+      // Stop the remaining slices if the search failed, this does nothing if the search succeeded
+      futures.forEach(it -> it.cancel(true));
+    }
+  }
+
+  private Collection<RaptorPath<T>> merge(
+    Collection<RaptorPath<T>> paths,
+    Collection<RaptorPath<T>> slicePaths
+  ) {
+    var result = new ParetoSet<>(pathComparator);
+    result.addAll(paths);
+    result.addAll(slicePaths);
+    return result;
+  }
+}
@@ -69,6 +69,12 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
 
   private final int minNumberOfRounds;
 
+  /**
+   * When the search-window is split into slices searched in parallel, only the slice at the
+   * start of the search-window should search the access paths with a time-penalty.
+   */
+  private final boolean searchAccessWithTimePenalty;
+
   public RangeRaptor(
     RangeRaptorWorker<T> worker,
     RaptorTransitDataProvider<T> transitData,
@@ -78,6 +84,30 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     LifeCycleEventPublisher lifeCyclePublisher,
     RaptorTimers timers,
     Runnable timeoutHook
+  ) {
+    this(
+      worker,
+      transitData,
+      accessPaths,
+      roundTracker,
+      calculator,
+      lifeCyclePublisher,
+      timers,
+      timeoutHook,
+      true
+    );
+  }
+
+  public RangeRaptor(
+    RangeRaptorWorker<T> worker,
+    RaptorTransitDataProvider<T> transitData,
+    AccessPaths accessPaths,
+    RoundTracker roundTracker,
+    RaptorTransitCalculator<T> calculator,
+    LifeCycleEventPublisher lifeCyclePublisher,
+    RaptorTimers timers,
+    Runnable timeoutHook,
+    boolean searchAccessWithTimePenalty
   ) {
     this.worker = requireNonNull(worker);
     this.transitData = requireNonNull(transitData);
@@ -88,6 +118,7 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     this.roundTracker = requireNonNull(roundTracker);
     this.lifeCycle = requireNonNull(lifeCyclePublisher);
     this.timeoutHook = requireNonNull(timeoutHook);
+    this.searchAccessWithTimePenalty = searchAccessWithTimePenalty;
   }
 
   public RaptorRouterResult<T> route() {
@@ -108,7 +139,7 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
 
       // Iterate over virtual departure times - this is needed to allow access with a time-penalty
       // which falls outside the search-window due to the added time-penalty.
-      if (!calculator.oneIterationOnly()) {
+      if (searchAccessWithTimePenalty && !calculator.oneIterationOnly()) {
         final IntIterator as = accessPaths.iterateOverPathsWithPenalty(iterationDepartureTime);
         while (as.hasNext()) {
           iterationDepartureTime = as.next();
@@ -9,15 +9,15 @@ import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.rangeraptor.debug.DebugHandlerFactory;
-import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.EgressPaths;
 import org.opentripplanner.raptor.spi.IntIterator;
 import org.opentripplanner.raptor.util.BitSetIterator;
-import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 
 /**
  * This class serve as a wrapper for all stop arrival pareto set, one set for each stop. It also
@@ -33,7 +33,10 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
 
   private final DebugHandlerFactory<T> debugHandlerFactory;
   private final DebugStopArrivalsStatistics debugStats;
-  private final ParetoComparator<McStopArrival<T>> comparator;
+  private final RelaxFunction relaxC1;
+
+  @Nullable
+  private final DominanceFunction c2DominanceFunction;
 
   /**
    * Set the time at a transit index if it is optimal. This sets both the best time and the
@@ -41,13 +44,16 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
    *
    * @param nextLegArrivals When chaining two Raptor searches together, the next-leg is the next
    *                search we are copying state into.
+   * @param relaxC1 The relax-function used to compare c1 of arrivals at the same stop.
+   * @param c2DominanceFunction The c2 dominance-function, {@code null} if c2 is not used.
    */
   public McStopArrivals(
     int nStops,
     @Nullable EgressPaths egressPaths,
     List<ViaConnectionStopArrivalEventListener<T>> viaConnectionListeners,
     DestinationArrivalPaths<T> paths,
-    ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory,
+    RelaxFunction relaxC1,
+    @Nullable DominanceFunction c2DominanceFunction,
     DebugHandlerFactory<T> debugHandlerFactory
   ) {
     // Assert only-one-of next or egressPaths is set
@@ -62,7 +68,8 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     //noinspection unchecked
     this.arrivals = (StopArrivalParetoSet<T>[]) new StopArrivalParetoSet[nStops];
     this.touchedStops = new BitSet(nStops);
-    this.comparator = comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival();
+    this.relaxC1 = relaxC1;
+    this.c2DominanceFunction = c2DominanceFunction;
     this.debugHandlerFactory = debugHandlerFactory;
     this.debugStats = new DebugStopArrivalsStatistics(debugHandlerFactory.debugLogger());
 
@@ -140,9 +147,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
 
   private StopArrivalParetoSet<T> findOrCreateSet(final int stop) {
     if (arrivals[stop] == null) {
-      arrivals[stop] = StopArrivalParetoSet.of(comparator)
-        .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
-        .build();
+      arrivals[stop] = stopArrivalParetoSet(stop).build();
     }
     return arrivals[stop];
   }
@@ -152,10 +157,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
   ) {
     for (ViaConnectionStopArrivalEventListener<T> it : viaConnectionListeners) {
       int stop = it.fromStop();
-      this.arrivals[stop] = StopArrivalParetoSet.of(comparator)
-        .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
-        .withNextLegListener(it)
-        .build();
+      this.arrivals[stop] = stopArrivalParetoSet(stop).withNextLegListener(it).build();
     }
   }
 
@@ -175,14 +177,17 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
       .byStop()
       .forEachEntry((stop, list) -> {
         // The factory is creating the actual "glue"
-        this.arrivals[stop] = StopArrivalParetoSet.of(comparator)
-          .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
-          .withEgressListener(list, paths)
-          .build();
+        this.arrivals[stop] = stopArrivalParetoSet(stop).withEgressListener(list, paths).build();
         return true;
       });
   }
 
+  private StopArrivalParetoSet.Builder<T> stopArrivalParetoSet(int stop) {
+    return StopArrivalParetoSet.<T>of(relaxC1, c2DominanceFunction)
+      .withArrivedOnBoardDominance()
+      .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop));
+  }
+
   private int transitStopArrivalsMinInt(int stopIndex, Function<McStopArrival<T>, Integer> mapper) {
     var transitArrivals = arrivals[stopIndex].stream().filter(a -> a.arrivedBy(TRANSIT));
     return minInt(transitArrivals, mapper);
@@ -1,49 +1,417 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria;
 
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.api.view.ArrivalView;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
-import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
 import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListener;
 import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListenerComposite;
 import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
 
 /**
  * A pareto optimal set of stop arrivals for a given stop.
+ * <p>
+ * This is the stop arrival version of the {@link ParetoSetWithMarker}, it keeps the same elements
+ * in the same order as the generic set does using the comparators in
+ * {@link ArrivalParetoSetComparatorFactory}. Adding an arrival to a stop is the most frequent
+ * operation in the multi-criteria search, so the criteria of each element is copied into a
+ * primitive array. The criteria of one element is stored next to each other, so comparing a new
+ * arrival with all elements in the set reads one small array, instead of following a reference to
+ * each arrival and calling a comparator lambda. Both directions of the dominance are computed
+ * together, without branching on each criterion.
+ * <p>
+ * The criteria of a new arrival is written to the first free slot in the array before it is
+ * compared, and the criteria of the "good element" is kept in the last slot, so all comparisons
+ * are between two slots.
  *
  * @param <T> The TripSchedule type defined by the user of the raptor API.
  */
 class StopArrivalParetoSet<T extends RaptorTripSchedule>
-  extends ParetoSetWithMarker<McStopArrival<T>> {
+  extends AbstractCollection<McStopArrival<T>> {
+
+  /**
+   * Most stops have few arrivals, use the {@code STOP_ARRIVALS_STATISTICS} debug topic to see the
+   * number of arrivals and the array length used.
+   */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /* The position of each criterion in a slot */
+  private static final int ARRIVAL_TIME = 0;
+  private static final int PARETO_ROUND = 1;
+  private static final int C1 = 2;
+  private static final int ARRIVED_ON_BOARD = 3;
+  private static final int RELAXED_C1 = 4;
+  private static final int C2 = 5;
+
+  /** The slot size when only the first four criteria are used */
+  private static final int SLOT_SIZE_BASE = 4;
+  private static final int SLOT_SIZE_ALL = 6;
+
+  private static final int NO_DOMINANCE = 0;
+  private static final int LEFT_DOMINANCE = 1;
+  private static final int RIGHT_DOMINANCE = 2;
+
+  @Nullable
+  private final RelaxFunction relaxC1;
+
+  @Nullable
+  private final DominanceFunction c2DominanceFunction;
+
+  private final boolean includeArrivedOnBoard;
+  private final ParetoSetEventListener<ArrivalView<T>> eventListener;
+  private final int slotSize;
+
+  @SuppressWarnings("unchecked")
+  private McStopArrival<T>[] elements = new McStopArrival[INITIAL_CAPACITY];
+
+  /** The criteria of the elements, one slot for each element plus one for the good element */
+  private int[] criteria;
+
+  private int size = 0;
+  private int marker = 0;
+
+  /**
+   * The last element which rejected a new element, the same element probably dominate most of
+   * the new elements. The element may be dropped from the set later, its criteria is kept in the
+   * last slot of the criteria array.
+   */
+  private McStopArrival<T> goodElement = null;
 
   /**
    * Use the factory methods in this class to create a new instance.
    */
   private StopArrivalParetoSet(
-    ParetoComparator<McStopArrival<T>> comparator,
-    ParetoSetEventListener<ArrivalView<T>> listener
+    RelaxFunction relaxC1,
+    @Nullable DominanceFunction c2DominanceFunction,
+    boolean includeArrivedOnBoard,
+    ParetoSetEventListener<ArrivalView<T>> eventListener
   ) {
-    super(comparator, listener);
+    this.relaxC1 = relaxC1.isNormal() ? null : relaxC1;
+    this.c2DominanceFunction = c2DominanceFunction;
+    this.includeArrivedOnBoard = includeArrivedOnBoard;
+    this.eventListener = eventListener;
+    this.slotSize = this.relaxC1 == null && c2DominanceFunction == null
+      ? SLOT_SIZE_BASE
+      : SLOT_SIZE_ALL;
+    this.criteria = new int[(INITIAL_CAPACITY + 1) * slotSize];
   }
 
+  /**
+   * Create a set comparing the arrival-time, round and c1. The relax-function and the
+   * c2-dominance-function are used the same way as in the
+   * {@link ArrivalParetoSetComparatorFactory#factory(RelaxFunction, DominanceFunction)}.
+   */
   public static <T extends RaptorTripSchedule> Builder<T> of(
-    ParetoComparator<McStopArrival<T>> comparator
+    RelaxFunction relaxC1,
+    @Nullable DominanceFunction c2DominanceFunction
   ) {
-    return new Builder<>(comparator);
+    return new Builder<>(relaxC1, c2DominanceFunction);
+  }
+
+  @Override
+  public Iterator<McStopArrival<T>> iterator() {
+    return tailIterator(0);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean add(McStopArrival<T> newValue) {
+    assertEnoughSpaceForNewValue();
+    final int newIndex = size;
+    copyCriteria(newValue, newIndex);
+
+    if (size == 0) {
+      acceptAndAppendValue(newValue);
+      return true;
+    }
+
+    // Quick shortcut, one element probably dominate most of the new elements
+    if (goodElement != null && leftVectorDominatesRightVector(goodElementIndex(), newIndex)) {
+      notifyElementRejected(newValue, goodElement);
+      return false;
+    }
+
+    boolean mutualDominanceExist = false;
+    boolean equivalentVectorExist = false;
+
+    for (int i = 0; i < size; ++i) {
+      int dominance = dominance(newIndex, i);
+
+      if (dominance == (LEFT_DOMINANCE | RIGHT_DOMINANCE)) {
+        mutualDominanceExist = true;
+      } else if (dominance == LEFT_DOMINANCE) {
+        removeDominatedElementsFromRestOfSetAndAddNewElement(newValue, i);
+        return true;
+      } else if (dominance == RIGHT_DOMINANCE) {
+        goodElement = elements[i];
+        copySlot(i, goodElementIndex());
+        notifyElementRejected(newValue, goodElement);
+        return false;
+      } else {
+        equivalentVectorExist = true;
+      }
+    }
+
+    if (mutualDominanceExist && !equivalentVectorExist) {
+      acceptAndAppendValue(newValue);
+      return true;
+    }
+
+    // No dominance found, newValue is equivalent with all values in the set
+    notifyElementRejected(newValue, elements[0]);
+    return false;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+    marker = 0;
+    goodElement = null;
+  }
+
+  /**
+   * This is used for logging and tuning purposes - by looking at the statistics we can decide a
+   * good value for the initial size.
+   */
+  public int internalArrayLength() {
+    return elements.length;
+  }
+
+  public boolean hasElementsAfterMarker() {
+    return marker != size;
+  }
+
+  /**
+   * List all elements added after the marker.
+   */
+  public Iterable<McStopArrival<T>> elementsAfterMarker() {
+    final int startIndexInclusive = marker;
+    return () -> tailIterator(startIndexInclusive);
+  }
+
+  /**
+   * Move the marker after the last element in the set.
+   */
+  public void markAtEndOfSet() {
+    marker = size;
+  }
+
+  /* private methods */
+
+  /**
+   * Compare the elements at the left and the right index, and return {@code LEFT_DOMINANCE} if
+   * the left element is better in at least one criterion, {@code RIGHT_DOMINANCE} if the right
+   * element is better in at least one criterion, both or none. This does the same comparison as
+   * the comparators created by the {@link ArrivalParetoSetComparatorFactory}.
+   */
+  private int dominance(int leftIndex, int rightIndex) {
+    final int[] c = criteria;
+    final int l = leftIndex * slotSize;
+    final int r = rightIndex * slotSize;
+    final int lTime = c[l + ARRIVAL_TIME];
+    final int rTime = c[r + ARRIVAL_TIME];
+    final int lRound = c[l + PARETO_ROUND];
+    final int rRound = c[r + PARETO_ROUND];
+    final int lc1 = c[l + C1];
+    final int rc1 = c[r + C1];
+
+    // The non-short-circuit OR(|) is used to avoid branching on each criterion
+    boolean left = (lTime < rTime) | (lRound < rRound);
+    boolean right = (rTime < lTime) | (rRound < lRound);
+
+    if (includeArrivedOnBoard) {
+      left |= c[l + ARRIVED_ON_BOARD] > c[r + ARRIVED_ON_BOARD];
+      right |= c[r + ARRIVED_ON_BOARD] > c[l + ARRIVED_ON_BOARD];
+    }
+
+    if (relaxC1 == null) {
+      left |= lc1 < rc1;
+      right |= rc1 < lc1;
+      if (c2DominanceFunction != null) {
+        left |= c2DominanceFunction.leftDominateRight(c[l + C2], c[r + C2]);
+        right |= c2DominanceFunction.leftDominateRight(c[r + C2], c[l + C2]);
+      }
+    } else if (c2DominanceFunction == null) {
+      left |= lc1 < c[r + RELAXED_C1];
+      right |= rc1 < c[l + RELAXED_C1];
+    } else {
+      // If c2 is included, c1 is only relaxed when c2 dominates
+      final int lc2 = c[l + C2];
+      final int rc2 = c[r + C2];
+      left |= lc1 < (c2DominanceFunction.leftDominateRight(lc2, rc2) ? c[r + RELAXED_C1] : rc1);
+      right |= rc1 < (c2DominanceFunction.leftDominateRight(rc2, lc2) ? c[l + RELAXED_C1] : lc1);
+    }
+    return (left ? LEFT_DOMINANCE : NO_DOMINANCE) | (right ? RIGHT_DOMINANCE : NO_DOMINANCE);
+  }
+
+  private boolean leftVectorDominatesRightVector(int leftIndex, int rightIndex) {
+    return dominance(leftIndex, rightIndex) == LEFT_DOMINANCE;
+  }
+
+  /**
+   * Remove all elements dominated by the {@code newValue} starting from {@code index + 1}. The
+   * element at {@code index} is dropped. The criteria of the new value is in the slot after the
+   * last element.
+   */
+  private void removeDominatedElementsFromRestOfSetAndAddNewElement(
+    final McStopArrival<T> newValue,
+    final int index
+  ) {
+    final int newIndex = size;
+    // Let 'i' be the current element index for removal
+    int i = index;
+    // Let 'j' be the next element to compare
+    int j = index + 1;
+
+    notifyElementDropped(elements[i], newValue);
+
+    while (j < size) {
+      moveMarker(j, i);
+      // Move next element(j) forward if it is not dominated by the new value
+      if (!leftVectorDominatesRightVector(newIndex, j)) {
+        copySlot(j, i);
+        elements[i] = elements[j];
+        ++i;
+      } else {
+        notifyElementDropped(elements[j], newValue);
+      }
+      // Goto the next element
+      ++j;
+    }
+    moveMarker(j, i);
+    notifyElementAccepted(newValue);
+    copySlot(newIndex, i);
+    elements[i] = newValue;
+    size = i + 1;
+  }
+
+  private void acceptAndAppendValue(McStopArrival<T> newValue) {
+    notifyElementAccepted(newValue);
+    elements[size++] = newValue;
+  }
+
+  private void copyCriteria(McStopArrival<T> value, int index) {
+    final int s = index * slotSize;
+    criteria[s + ARRIVAL_TIME] = value.arrivalTime();
+    criteria[s + PARETO_ROUND] = value.paretoRound();
+    criteria[s + C1] = value.c1();
+    criteria[s + ARRIVED_ON_BOARD] = value.arrivedOnBoard() ? 1 : 0;
+    if (slotSize == SLOT_SIZE_ALL) {
+      criteria[s + RELAXED_C1] = relaxC1 == null ? value.c1() : relaxC1.relax(value.c1());
+      criteria[s + C2] = value.c2();
+    }
+  }
+
+  private void copySlot(int fromIndex, int toIndex) {
+    System.arraycopy(criteria, fromIndex * slotSize, criteria, toIndex * slotSize, slotSize);
+  }
+
+  private int goodElementIndex() {
+    return elements.length;
+  }
+
+  private void moveMarker(int fromIndex, int toIndex) {
+    if (fromIndex == marker) {
+      marker = toIndex;
+    }
+  }
+
+  /**
+   * Make sure there is a free slot after the last element for the criteria of a new value.
+   */
+  private void assertEnoughSpaceForNewValue() {
+    if (size < elements.length) {
+      return;
+    }
+    final int oldGoodElementIndex = goodElementIndex();
+    final int length = elements.length * 2;
+    elements = Arrays.copyOf(elements, length);
+    criteria = Arrays.copyOf(criteria, (length + 1) * slotSize);
+    copySlot(oldGoodElementIndex, goodElementIndex());
+  }
+
+  /**
+   * This tail iterator is made to be FAST, it is NOT thread-safe and it the underlying collection
+   * is changed the returned values of the iterator also changes. Do not update on this collection
+   * while using this iterator.
+   *
+   * @see ParetoSet#iterator()
+   */
+  private Iterator<McStopArrival<T>> tailIterator(final int startInclusive) {
+    return new Iterator<>() {
+      int i = startInclusive;
+
+      @Override
+      public boolean hasNext() {
+        return i < size;
+      }
+
+      @Override
+      public McStopArrival<T> next() {
+        return elements[i++];
+      }
+    };
+  }
+
+  private void notifyElementAccepted(McStopArrival<T> newElement) {
+    if (eventListener != null) {
+      eventListener.notifyElementAccepted(newElement);
+    }
+  }
+
+  private void notifyElementDropped(McStopArrival<T> element, McStopArrival<T> droppedBy) {
+    if (eventListener != null) {
+      eventListener.notifyElementDropped(element, droppedBy);
+    }
+  }
+
+  private void notifyElementRejected(McStopArrival<T> element, McStopArrival<T> rejectedBy) {
+    if (eventListener != null) {
+      eventListener.notifyElementRejected(element, rejectedBy);
+    }
   }
 
   static class Builder<T extends RaptorTripSchedule> {
 
+    private final RelaxFunction relaxC1;
+    private final DominanceFunction c2DominanceFunction;
+    private boolean includeArrivedOnBoard = false;
     private ParetoSetEventListener<ArrivalView<T>> debugListener = null;
     private ParetoSetEventListener<ArrivalView<T>> egressListener = null;
     private ParetoSetEventListener<ArrivalView<T>> nextSearchListener = null;
-    private final ParetoComparator<McStopArrival<T>> comparator;
 
-    Builder(ParetoComparator<McStopArrival<T>> comparator) {
-      this.comparator = comparator;
+    Builder(RelaxFunction relaxC1, @Nullable DominanceFunction c2DominanceFunction) {
+      this.relaxC1 = relaxC1;
+      this.c2DominanceFunction = c2DominanceFunction;
+    }
+
+    /**
+     * Include {@code arrivedOnBoard} in the comparison, an arrival on-board dominates an arrival
+     * on foot. See
+     * {@link ArrivalParetoSetComparatorFactory#compareArrivalTimeRoundCostAndOnBoardArrival()}.
+     */
+    Builder<T> withArrivedOnBoardDominance() {
+      this.includeArrivedOnBoard = true;
+      return this;
     }
 
     /**
@@ -78,7 +446,9 @@ class StopArrivalParetoSet<T extends RaptorTripSchedule>
       // The order of the listeners is important, we want the debug event for reaching a
       // stop to appear before the path is logged (in case both debuggers are enabled).
       return new StopArrivalParetoSet<>(
-        comparator,
+        relaxC1,
+        c2DominanceFunction,
+        includeArrivedOnBoard,
         ParetoSetEventListenerComposite.of(debugListener, nextSearchListener, egressListener)
       );
     }
@@ -5,6 +5,11 @@ import org.opentripplanner.raptor.api.model.DominanceFunction;
 import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 
+/**
+ * Create the comparators used to compare stop arrivals at the same stop. The stop arrival
+ * pareto-set used in the search does the same comparison on the criteria copied into primitive
+ * arrays, so changes to these comparators must be done in the {@code StopArrivalParetoSet} too.
+ */
 public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
   /**
    * This comparator is used to compare regular stop arrivals. It uses {@code arrivalTime},
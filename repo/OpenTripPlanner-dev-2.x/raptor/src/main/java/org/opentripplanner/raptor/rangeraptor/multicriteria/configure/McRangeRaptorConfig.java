@@ -5,6 +5,7 @@ import java.util.Objects;
 import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.DominanceFunction;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.request.MultiCriteriaRequest;
 import org.opentripplanner.raptor.api.request.RaptorTransitGroupPriorityCalculator;
 import org.opentripplanner.raptor.api.request.RaptorViaLocation;
@@ -19,8 +20,6 @@ import org.opentripplanner.raptor.rangeraptor.multicriteria.McRangeRaptorWorkerS
 import org.opentripplanner.raptor.rangeraptor.multicriteria.McStopArrivals;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.MultiCriteriaRoutingStrategy;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.ViaConnectionStopArrivalEventListener;
-import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
-import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrivalFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c1.StopArrivalFactoryC1;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c2.StopArrivalFactoryC2;
@@ -118,13 +117,21 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
         contextSegment.egressPaths(),
         createViaConnectionListeners(),
         createDestinationArrivalPaths(),
-        createFactoryParetoComparator(),
+        mcRequest().relaxC1(),
+        dominanceFunctionC2(),
         context().debugFactory()
       );
     }
     return arrivals;
   }
 
+  /**
+   * The comparator used to keep the pareto-optimal paths at the destination.
+   */
+  public ParetoComparator<RaptorPath<T>> pathParetoComparator() {
+    return createDestinationArrivalPaths().paretoComparator();
+  }
+
   /* private factory methods */
 
   private RoutingStrategy<T> createTransitWorkerStrategy(McRangeRaptorWorkerState<T> state) {
@@ -213,10 +220,6 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
     return paths;
   }
 
-  private ArrivalParetoSetComparatorFactory<McStopArrival<T>> createFactoryParetoComparator() {
-    return ArrivalParetoSetComparatorFactory.factory(mcRequest().relaxC1(), dominanceFunctionC2());
-  }
-
   private List<ViaConnectionStopArrivalEventListener<T>> createViaConnectionListeners() {
     return ViaConnectionStopArrivalEventListener.createEventListeners(
       contextSegment.viaConnections(),
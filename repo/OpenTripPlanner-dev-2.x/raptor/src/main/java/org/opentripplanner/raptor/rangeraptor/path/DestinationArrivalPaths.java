@@ -44,6 +44,7 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
   private static final Logger LOG = LoggerFactory.getLogger(DestinationArrivalPaths.class);
   private static final Throttle THROTTLE_MISS_MATCH = Throttle.ofOneSecond();
 
+  private final ParetoComparator<RaptorPath<T>> paretoComparator;
   private final ParetoSet<RaptorPath<T>> paths;
   private final RaptorTransitCalculator<T> transitCalculator;
 
@@ -71,6 +72,7 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     RaptorStopNameResolver stopNameResolver,
     WorkerLifeCycle lifeCycle
   ) {
+    this.paretoComparator = paretoComparator;
     this.paths = new ParetoSet<>(
       paretoComparator,
       debugHandlerFactory.paretoSetDebugPathListener()
@@ -137,6 +139,14 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     );
   }
 
+  /**
+   * The comparator used to keep the pareto-optimal paths. This is used to merge the paths of
+   * more than one search.
+   */
+  public ParetoComparator<RaptorPath<T>> paretoComparator() {
+    return paretoComparator;
+  }
+
   public Collection<RaptorPath<T>> listPaths() {
     return paths;
   }
@@ -208,6 +208,7 @@ public class RaptorArchitectureTest {
       OTP_UTILS,
       RAPTOR_API,
       RAPTOR_SPI,
+      RAPTOR_UTIL_PARETO_SET,
       RANGE_RAPTOR,
       RR_INTERNAL_API,
       RR_TRANSIT,
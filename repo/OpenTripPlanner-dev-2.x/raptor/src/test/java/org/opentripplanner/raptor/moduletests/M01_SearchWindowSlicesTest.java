@@ -0,0 +1,97 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.raptor._data.api.PathUtils.pathsToStringDetailed;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+import static org.opentripplanner.raptor.api.request.Optimization.PARALLEL;
+import static org.opentripplanner.raptor.api.request.RaptorProfile.MULTI_CRITERIA;
+import static org.opentripplanner.utils.time.TimeUtils.time;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorEnvironment;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.raptor.configure.RaptorTestFactory;
+import org.opentripplanner.raptor.moduletests.support.ModuleTestDebugLogging;
+
+/*
+ * FEATURE UNDER TEST
+ *
+ * Raptor should split the search-window of a multi-criteria search into slices searched in
+ * parallel, and the result should be the same as searching the whole search-window in one
+ * thread. The access has a time-penalty, the extra iterations needed to include it must only be
+ * searched by the slice at the start of the search-window.
+ */
+public class M01_SearchWindowSlicesTest implements RaptorTestConstants {
+
+  private static final ExecutorService THREAD_POOL = Executors.newFixedThreadPool(2);
+
+  private final TestTransitData data = new TestTransitData();
+  private final RaptorRequestBuilder<TestTripSchedule> requestBuilder = data.requestBuilder();
+
+  private final RaptorService<TestTripSchedule> raptorService = RaptorTestFactory.raptorService();
+
+  private final RaptorService<TestTripSchedule> slicedRaptorService = new RaptorService<>(
+    new RaptorConfig<>(
+      new RaptorTuningParameters() {
+        @Override
+        public int searchWindowSliceInSeconds() {
+          return 120;
+        }
+      },
+      new RaptorEnvironment() {
+        @Override
+        public ExecutorService threadPool() {
+          return THREAD_POOL;
+        }
+      }
+    )
+  );
+
+  @AfterAll
+  static void shutdown() {
+    THREAD_POOL.shutdown();
+  }
+
+  @BeforeEach
+  public void setup() {
+    data.withRoute(route("R1", STOP_A, STOP_B).withTimetable(schedule("0:10 0:40").repeat(10, 60)));
+    requestBuilder
+      .profile(MULTI_CRITERIA)
+      .enableOptimization(PARALLEL)
+      .searchParams()
+      .addAccessPaths(walk(STOP_A, D2m).withTimePenalty(D1m))
+      .addEgressPaths(walk(STOP_B, D1m))
+      .earliestDepartureTime(time("0:09"))
+      .latestArrivalTime(time("0:55"))
+      .searchWindow(Duration.ofMinutes(10))
+      .timetable(true);
+
+    ModuleTestDebugLogging.setupDebugLogging(data);
+  }
+
+  @Test
+  void sameResultAsSequentialSearch() {
+    var request = requestBuilder.build();
+
+    var expected = pathsToStringDetailed(raptorService.route(request, data));
+    var result = pathsToStringDetailed(slicedRaptorService.route(request, data));
+
+    // One path for each trip departing within the search-window
+    assertTrue(expected.lines().count() > 5, expected);
+    assertEquals(expected, result);
+  }
+}
@@ -0,0 +1,137 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
+
+/**
+ * Compare the {@link StopArrivalParetoSet} with the generic {@link ParetoSetWithMarker} using the
+ * comparator Raptor used before. Arrivals are added to all stops in turn, like Raptor does in
+ * each round, and the arrivals get earlier for each iteration, like in a Range Raptor search.
+ * This is not a unit test, run it manually:
+ * <pre>
+ * StopArrivalParetoSetBenchmark [nStops] [nArrivalsPerStop] [c2]
+ * </pre>
+ */
+public class StopArrivalParetoSetBenchmark {
+
+  private static final int WARM_UP_ROUNDS = 5;
+  private static final int ROUNDS = 10;
+
+  public static void main(String[] args) {
+    int nStops = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    int nArrivals = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    boolean c2 = args.length > 2 && Boolean.parseBoolean(args[2]);
+
+    new StopArrivalParetoSetBenchmark().run(nStops, nArrivals, c2);
+  }
+
+  private void run(int nStops, int nArrivals, boolean c2) {
+    DominanceFunction c2DominanceFunction = c2 ? (left, right) -> left < right : null;
+    var factory = ArrivalParetoSetComparatorFactory.<McStopArrival<TestTripSchedule>>factory(
+      RelaxFunction.NORMAL,
+      c2DominanceFunction
+    );
+    var comparator = factory.compareArrivalTimeRoundCostAndOnBoardArrival();
+    var arrivals = createArrivals(new Random(42), nStops, nArrivals);
+
+    System.out.printf(
+      "Stop arrival pareto-set benchmark: %d stops, %d arrivals/stop, c2: %s%n",
+      nStops,
+      nArrivals,
+      c2
+    );
+
+    Supplier<Collection<McStopArrival<TestTripSchedule>>> generic = () ->
+      new ParetoSetWithMarker<>(comparator);
+    Supplier<Collection<McStopArrival<TestTripSchedule>>> flat = () ->
+      StopArrivalParetoSet.<TestTripSchedule>of(RelaxFunction.NORMAL, c2DominanceFunction)
+        .withArrivedOnBoardDominance()
+        .build();
+
+    for (int i = 0; i < WARM_UP_ROUNDS; ++i) {
+      addAll(arrivals, generic);
+      addAll(arrivals, flat);
+    }
+
+    long genericNanos = 0;
+    long flatNanos = 0;
+    int genericSize = 0;
+    int flatSize = 0;
+
+    for (int i = 0; i < ROUNDS; ++i) {
+      long start = System.nanoTime();
+      genericSize = addAll(arrivals, generic);
+      genericNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      flatSize = addAll(arrivals, flat);
+      flatNanos += System.nanoTime() - start;
+    }
+
+    long nAdds = (long) ROUNDS * nStops * nArrivals;
+    print("ParetoSetWithMarker", genericNanos, nAdds, genericSize);
+    print("StopArrivalParetoSet", flatNanos, nAdds, flatSize);
+  }
+
+  /**
+   * Add the arrivals to a new set for each stop, and return the total number of arrivals kept.
+   */
+  private static int addAll(
+    List<TestStopArrival[]> arrivals,
+    Supplier<Collection<McStopArrival<TestTripSchedule>>> setFactory
+  ) {
+    var sets = new ArrayList<Collection<McStopArrival<TestTripSchedule>>>(arrivals.size());
+    for (int stop = 0; stop < arrivals.size(); ++stop) {
+      sets.add(setFactory.get());
+    }
+    int nArrivals = arrivals.getFirst().length;
+    for (int i = 0; i < nArrivals; ++i) {
+      for (int stop = 0; stop < sets.size(); ++stop) {
+        sets.get(stop).add(arrivals.get(stop)[i]);
+      }
+    }
+    return sets.stream().mapToInt(Collection::size).sum();
+  }
+
+  /**
+   * The arrivals are created stop by stop for each iteration, so the arrivals of one stop are
+   * spread in memory as they are in a Raptor search.
+   */
+  private static List<TestStopArrival[]> createArrivals(Random random, int nStops, int nArrivals) {
+    var arrivals = new ArrayList<TestStopArrival[]>(nStops);
+    for (int stop = 0; stop < nStops; ++stop) {
+      arrivals.add(new TestStopArrival[nArrivals]);
+    }
+    for (int i = 0; i < nArrivals; ++i) {
+      for (var stopArrivals : arrivals) {
+        stopArrivals[i] = new TestStopArrival(
+          3600 - i + random.nextInt(600),
+          random.nextInt(8),
+          random.nextInt(5000),
+          random.nextInt(4),
+          random.nextBoolean()
+        );
+      }
+    }
+    return arrivals;
+  }
+
+  private static void print(String name, long nanos, long nAdds, int size) {
+    System.out.printf(
+      "%-22s %7.1f ns/add  %8d ms total  %d arrivals kept%n",
+      name,
+      (double) nanos / nAdds,
+      nanos / 1_000_000,
+      size
+    );
+  }
+}
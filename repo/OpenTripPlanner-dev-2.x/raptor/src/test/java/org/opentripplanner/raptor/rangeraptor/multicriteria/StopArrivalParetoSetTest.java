@@ -0,0 +1,111 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
+import org.opentripplanner.raptor.api.model.GeneralizedCostRelaxFunction;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
+
+/**
+ * The {@link StopArrivalParetoSet} should keep the same arrivals in the same order as the generic
+ * {@link ParetoSetWithMarker} using the comparators in {@link ArrivalParetoSetComparatorFactory}.
+ */
+class StopArrivalParetoSetTest {
+
+  private static final int N_ARRIVALS = 5_000;
+  private static final RelaxFunction RELAX_C1 = GeneralizedCostRelaxFunction.of(1.25, 3);
+  private static final DominanceFunction C2_DOMINANCE = (left, right) -> left < right;
+
+  static Stream<Arguments> testCases() {
+    var cases = Stream.<Arguments>builder();
+    for (boolean onBoard : new boolean[] { false, true }) {
+      cases.add(Arguments.of("C1", RelaxFunction.NORMAL, null, onBoard));
+      cases.add(Arguments.of("C1 & C2", RelaxFunction.NORMAL, C2_DOMINANCE, onBoard));
+      cases.add(Arguments.of("Relax C1", RELAX_C1, null, onBoard));
+      cases.add(Arguments.of("Relax C1 & C2", RELAX_C1, C2_DOMINANCE, onBoard));
+    }
+    return cases.build();
+  }
+
+  @ParameterizedTest(name = "{0}, arrived on-board: {3}")
+  @MethodSource("testCases")
+  void sameResultAsGenericParetoSet(
+    String name,
+    RelaxFunction relaxC1,
+    DominanceFunction c2DominanceFunction,
+    boolean includeArrivedOnBoard
+  ) {
+    var factory = ArrivalParetoSetComparatorFactory.<McStopArrival<TestTripSchedule>>factory(
+      relaxC1,
+      c2DominanceFunction
+    );
+    var expected = new ParetoSetWithMarker<>(
+      includeArrivedOnBoard
+        ? factory.compareArrivalTimeRoundCostAndOnBoardArrival()
+        : factory.compareArrivalTimeRoundAndCost()
+    );
+    var builder = StopArrivalParetoSet.<TestTripSchedule>of(relaxC1, c2DominanceFunction);
+    if (includeArrivedOnBoard) {
+      builder.withArrivedOnBoardDominance();
+    }
+    var subject = builder.build();
+
+    var random = new Random(17);
+    for (int i = 0; i < N_ARRIVALS; ++i) {
+      var arrival = new TestStopArrival(
+        random.nextInt(40),
+        random.nextInt(5),
+        random.nextInt(60),
+        random.nextInt(4),
+        random.nextBoolean()
+      );
+      assertEquals(expected.add(arrival), subject.add(arrival), "Add arrival " + i);
+      assertSameArrivals(expected, subject, "Arrivals after " + i);
+      assertSameArrivals(
+        expected.elementsAfterMarker(),
+        subject.elementsAfterMarker(),
+        "Arrivals after marker " + i
+      );
+
+      if (random.nextInt(10) == 0) {
+        expected.markAtEndOfSet();
+        subject.markAtEndOfSet();
+      }
+      // Start over with an empty set now and then, to test sets of different sizes
+      if (random.nextInt(500) == 0) {
+        expected.clear();
+        subject.clear();
+      }
+    }
+  }
+
+  /**
+   * Stop arrivals do not support equals, so the arrivals are compared by identity.
+   */
+  private static void assertSameArrivals(
+    Iterable<McStopArrival<TestTripSchedule>> expected,
+    Iterable<McStopArrival<TestTripSchedule>> actual,
+    String message
+  ) {
+    var exp = new ArrayList<McStopArrival<TestTripSchedule>>();
+    var act = new ArrayList<McStopArrival<TestTripSchedule>>();
+    expected.forEach(exp::add);
+    actual.forEach(act::add);
+
+    assertEquals(exp.toString(), act.toString(), message);
+    for (int i = 0; i < exp.size(); ++i) {
+      assertSame(exp.get(i), act.get(i), message);
+    }
+  }
+}
@@ -14,11 +14,9 @@ import org.opentripplanner.raptor._data.transit.TestTransfer;
 import org.opentripplanner.raptor._data.transit.TestTripSchedule;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.RelaxFunction;
-import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c1.StopArrivalFactoryC1;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.ride.c1.PatternRideC1;
-import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 
 public class StopArrivalStateParetoSetTest {
 
@@ -66,18 +64,12 @@ public class StopArrivalStateParetoSetTest {
     20,
     BASE_C1
   );
-  public static final ArrivalParetoSetComparatorFactory<
-    McStopArrival<RaptorTripSchedule>
-  > COMPARATOR_FACTORY = ArrivalParetoSetComparatorFactory.factory(RelaxFunction.NORMAL, null);
-
   private static Stream<Arguments> testCases() {
-    ParetoComparator<McStopArrival<RaptorTripSchedule>> comparator =
-      COMPARATOR_FACTORY.compareArrivalTimeRoundAndCost();
     return Stream.of(
-      Arguments.of("Stop Arrival - regular", StopArrivalParetoSet.of(comparator).build()),
+      Arguments.of("Stop Arrival - regular", newSubject().build()),
       Arguments.of(
         "Stop Arrival - w/egress",
-        StopArrivalParetoSet.of(comparator).withEgressListener(List.of(), null).build()
+        newSubject().withEgressListener(List.of(), null).build()
       )
     );
   }
@@ -162,9 +154,7 @@ public class StopArrivalStateParetoSetTest {
    */
   @Test
   public void testTransitAndTransferDoesNotAffectDominance() {
-    ParetoComparator<McStopArrival<RaptorTripSchedule>> comparator =
-      COMPARATOR_FACTORY.compareArrivalTimeRoundAndCost();
-    var subject = StopArrivalParetoSet.of(comparator).build();
+    var subject = newSubject().build();
     subject.add(newAccessStopState(STOP_1, 20, ANY));
     subject.add(newTransitStopState(ROUND_1, STOP_2, 10, ANY));
     subject.add(newTransferStopState(ROUND_1, STOP_4, 8, ANY));
@@ -179,9 +169,8 @@ public class StopArrivalStateParetoSetTest {
    */
   @Test
   public void testTransitAndTransferDoesAffectDominanceForStopArrivalsWithEgress() {
-    var subject = StopArrivalParetoSet.of(
-      COMPARATOR_FACTORY.compareArrivalTimeRoundCostAndOnBoardArrival()
-    )
+    var subject = newSubject()
+      .withArrivedOnBoardDominance()
       .withEgressListener(List.of(), null)
       .build();
     subject.add(newAccessStopState(STOP_1, 20, ANY));
@@ -190,6 +179,10 @@ public class StopArrivalStateParetoSetTest {
     assertStopsInSet(subject, STOP_1, STOP_2, STOP_4);
   }
 
+  private static StopArrivalParetoSet.Builder<RaptorTripSchedule> newSubject() {
+    return StopArrivalParetoSet.of(RelaxFunction.NORMAL, null);
+  }
+
   private static McStopArrival<RaptorTripSchedule> newAccessStopState(
     int stop,
     int accessDurationInSeconds,
@@ -0,0 +1,54 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.PathLegType;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+
+/**
+ * A stop arrival with the given criteria, used to test the stop arrival pareto-set.
+ */
+class TestStopArrival extends McStopArrival<TestTripSchedule> {
+
+  private static final int STOP = 7;
+
+  private final int c2;
+  private final boolean arrivedOnBoard;
+
+  TestStopArrival(int arrivalTime, int paretoRound, int c1, int c2, boolean arrivedOnBoard) {
+    super(STOP, 0, arrivalTime, c1, paretoRound);
+    this.c2 = c2;
+    this.arrivedOnBoard = arrivedOnBoard;
+  }
+
+  @Override
+  public int c2() {
+    return c2;
+  }
+
+  @Override
+  public PathLegType arrivedBy() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean arrivedOnBoard() {
+    return arrivedOnBoard;
+  }
+
+  @Override
+  public McStopArrival<TestTripSchedule> addSlackToArrivalTime(int slack) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "(%d, %d, %d, %d, %s)",
+      arrivalTime(),
+      paretoRound(),
+      c1(),
+      c2,
+      arrivedOnBoard
+    );
+  }
+}